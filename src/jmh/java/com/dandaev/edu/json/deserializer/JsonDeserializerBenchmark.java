@@ -0,0 +1,71 @@
+package com.dandaev.edu.json.deserializer;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.dandaev.edu.entities.Product;
+import com.dandaev.edu.json.serializer.JsonSerializer;
+
+/**
+ * Пропускная способность {@link JsonDeserializer} на массиве
+ * {@link Product} размером от 1 КБ до 10 МБ: из готовой строки и из
+ * потока байтов UTF-8.
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar JsonDeserializerBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonDeserializerBenchmark {
+
+    /** Приблизительный размер документа в байтах. */
+    @Param({ "1024", "102400", "1048576", "10485760" })
+    public int size;
+
+    private String json;
+    private byte[] utf8;
+
+    @Setup
+    public void setUp() throws IllegalAccessException {
+        List<Product> products = new ArrayList<>();
+        Product sample = new Product(1L, "Product", 9.99, new Date(1_700_000_000_000L));
+        int perProduct = JsonSerializer.serialize(sample).length() + 1;
+        for (int i = 0; i <= size / perProduct; i++) {
+            products.add(new Product((long) i, "Product " + i, 9.99 + i, new Date(1_700_000_000_000L + i * 60_000L)));
+        }
+        json = JsonSerializer.serialize(products);
+        utf8 = json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public Product[] fromString() {
+        return JsonDeserializer.deserialize(json, Product[].class);
+    }
+
+    @Benchmark
+    public Product[] fromStream() throws IOException {
+        return JsonDeserializer.deserialize(new ByteArrayInputStream(utf8), Product[].class);
+    }
+}
@@ -0,0 +1,65 @@
+package com.dandaev.edu.json.serializer;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.dandaev.edu.entities.Product;
+
+/**
+ * Стратегии доступа к полям: {@code Field.get}, {@code VarHandle} и
+ * сгенерированные writer'ы. {@link Sample} состоит из примитивов,
+ * {@link Product} — из обёрток, даты и коллекций.
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar AccessorStrategyBenchmark -prof gc
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AccessorStrategyBenchmark {
+
+    @Param({ "REFLECTION", "METHOD_HANDLE", "GENERATED" })
+    public AccessorStrategy strategy;
+
+    private Sample sample;
+    private Product product;
+
+    @Setup
+    public void setUp() {
+        JsonSerializer.setAccessorStrategy(strategy);
+        sample = new Sample(42, 1_234_567_890_123L, 0.75, true, "sample");
+        product = new Product(1L, "Product", 9.99, new Date(1_700_000_000_000L));
+    }
+
+    @TearDown
+    public void tearDown() {
+        JsonSerializer.setAccessorStrategy(AccessorStrategy.GENERATED);
+    }
+
+    @Benchmark
+    public byte[] primitives() throws IllegalAccessException {
+        return JsonSerializer.serializeToUtf8(sample);
+    }
+
+    @Benchmark
+    public byte[] product() throws IllegalAccessException {
+        return JsonSerializer.serializeToUtf8(product);
+    }
+}
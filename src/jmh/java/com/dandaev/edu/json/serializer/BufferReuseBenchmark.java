@@ -0,0 +1,89 @@
+package com.dandaev.edu.json.serializer;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.dandaev.edu.entities.Product;
+
+/**
+ * Выделение памяти на вызов сериализации: исходный {@code StringBuilder}
+ * с удвоением, вызовы {@link JsonSerializer} с буферами из пула и
+ * {@link SerializationContext}, переиспользующий свои буферы без копирования
+ * результата. Смысл имеет только вместе с профилировщиком GC
+ * (столбец {@code gc.alloc.rate.norm}):
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar BufferReuseBenchmark -prof gc
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BufferReuseBenchmark {
+
+    /** Число {@link Product} в документе: около 200 байт и около 20 КБ. */
+    @Param({ "1", "100" })
+    public int size;
+
+    private Object value;
+    private SerializationContext context;
+
+    @Setup
+    public void setUp() {
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            products.add(new Product((long) i, "Product " + i, 9.99 + i, new Date(1_700_000_000_000L + i * 60_000L)));
+        }
+        value = size == 1 ? products.get(0) : products;
+    }
+
+    @Setup(Level.Iteration)
+    public void openContext() {
+        context = JsonSerializer.openContext();
+    }
+
+    @TearDown(Level.Iteration)
+    public void closeContext() {
+        context.close();
+    }
+
+    @Benchmark
+    public String legacy() throws IllegalAccessException {
+        return LegacyJsonSerializer.serialize(value);
+    }
+
+    @Benchmark
+    public String pooledString() throws IllegalAccessException {
+        return JsonSerializer.serialize(value);
+    }
+
+    @Benchmark
+    public byte[] pooledUtf8() throws IllegalAccessException {
+        return JsonSerializer.serializeToUtf8(value);
+    }
+
+    @Benchmark
+    public ByteBuffer contextUtf8() throws IllegalAccessException {
+        return context.serializeToUtf8(value);
+    }
+}
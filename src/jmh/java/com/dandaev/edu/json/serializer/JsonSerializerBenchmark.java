@@ -0,0 +1,69 @@
+package com.dandaev.edu.json.serializer;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.dandaev.edu.entities.Product;
+
+/**
+ * Сериализация {@link Product}: исходная реализация
+ * ({@link LegacyJsonSerializer}) против планов сериализации
+ * {@link JsonSerializer}.
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar JsonSerializerBenchmark -prof gc
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializerBenchmark {
+
+    /** Один объект или список из стольких объектов. */
+    @Param({ "1", "100" })
+    public int size;
+
+    private Object value;
+
+    @Setup
+    public void setUp() {
+        JsonSerializer.setAccessorStrategy(AccessorStrategy.GENERATED);
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            products.add(new Product((long) i, "Product " + i, 9.99 + i, new Date(1_700_000_000_000L + i * 60_000L)));
+        }
+        value = size == 1 ? products.get(0) : products;
+    }
+
+    @Benchmark
+    public String legacy() throws IllegalAccessException {
+        return LegacyJsonSerializer.serialize(value);
+    }
+
+    @Benchmark
+    public String plan() throws IllegalAccessException {
+        return JsonSerializer.serialize(value);
+    }
+
+    @Benchmark
+    public byte[] planUtf8() throws IllegalAccessException {
+        return JsonSerializer.serializeToUtf8(value);
+    }
+}
@@ -0,0 +1,143 @@
+package com.dandaev.edu.json.serializer;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+
+import com.dandaev.edu.annotations.jsonparser.JsonDate;
+import com.dandaev.edu.annotations.jsonparser.JsonField;
+import com.dandaev.edu.annotations.jsonparser.JsonSerializable;
+
+/**
+ * Исходная реализация {@link JsonSerializer} — точка отсчёта для бенчмарков:
+ * поиск полей и аннотаций на каждом вызове, {@code Field.get},
+ * {@code SimpleDateFormat} на каждую дату, строка на каждое значение и
+ * экранирование семью вызовами {@code replace}.
+ */
+final class LegacyJsonSerializer {
+
+    private LegacyJsonSerializer() {
+    }
+
+    static String serialize(Object obj) throws IllegalAccessException {
+        if (obj == null)
+            return "null";
+
+        Class<?> clazz = obj.getClass();
+        if (clazz.isPrimitive() || obj instanceof Number || obj instanceof Boolean) {
+            return obj.toString();
+        }
+        if (obj instanceof String) {
+            return "\"" + escapeJson(obj.toString()) + "\"";
+        }
+        if (obj instanceof java.util.Date) {
+            return "\"" + formatDate((java.util.Date) obj, "yyyy-MM-dd HH:mm:ss") + "\"";
+        }
+        if (clazz.isArray()) {
+            return serializeArray(obj);
+        }
+        if (obj instanceof Collection) {
+            return serializeCollection((Collection<?>) obj);
+        }
+        if (obj instanceof Map) {
+            return serializeMap((Map<?, ?>) obj);
+        }
+        if (!clazz.isAnnotationPresent(JsonSerializable.class)) {
+            throw new IllegalArgumentException("Class not annotated with @JsonSerializable: " + clazz.getName());
+        }
+        return serializeObject(obj);
+    }
+
+    private static String serializeObject(Object obj) throws IllegalAccessException {
+        StringBuilder json = new StringBuilder("{");
+        boolean firstField = true;
+
+        for (Field field : obj.getClass().getDeclaredFields()) {
+            if (field.isAnnotationPresent(JsonField.class)) {
+                JsonField annotation = field.getAnnotation(JsonField.class);
+                if (annotation.ignore()) {
+                    continue;
+                }
+
+                field.setAccessible(true);
+                Object value = field.get(obj);
+                if (value == null) {
+                    continue;
+                }
+
+                if (!firstField) {
+                    json.append(",");
+                }
+                firstField = false;
+
+                String fieldName = annotation.name().isEmpty() ? field.getName() : annotation.name();
+                json.append("\"").append(fieldName).append("\":");
+
+                if (field.isAnnotationPresent(JsonDate.class) && value instanceof java.util.Date) {
+                    JsonDate dateAnnotation = field.getAnnotation(JsonDate.class);
+                    json.append("\"").append(formatDate((java.util.Date) value, dateAnnotation.pattern())).append("\"");
+                } else {
+                    json.append(serialize(value));
+                }
+            }
+        }
+
+        json.append("}");
+        return json.toString();
+    }
+
+    private static String serializeMap(Map<?, ?> map) throws IllegalAccessException {
+        StringBuilder json = new StringBuilder("{");
+        boolean firstEntry = true;
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            if (!firstEntry) {
+                json.append(",");
+            }
+            firstEntry = false;
+            json.append("\"").append(escapeJson(entry.getKey().toString())).append("\":");
+            json.append(serialize(entry.getValue()));
+        }
+        json.append("}");
+        return json.toString();
+    }
+
+    private static String serializeArray(Object array) throws IllegalAccessException {
+        int length = Array.getLength(array);
+        StringBuilder json = new StringBuilder("[");
+        for (int i = 0; i < length; i++) {
+            if (i > 0)
+                json.append(",");
+            json.append(serialize(Array.get(array, i)));
+        }
+        json.append("]");
+        return json.toString();
+    }
+
+    private static String serializeCollection(Collection<?> collection) throws IllegalAccessException {
+        StringBuilder json = new StringBuilder("[");
+        Iterator<?> iterator = collection.iterator();
+        while (iterator.hasNext()) {
+            json.append(serialize(iterator.next()));
+            if (iterator.hasNext())
+                json.append(",");
+        }
+        json.append("]");
+        return json.toString();
+    }
+
+    private static String formatDate(java.util.Date date, String pattern) {
+        return new java.text.SimpleDateFormat(pattern).format(date);
+    }
+
+    static String escapeJson(String str) {
+        return str.replace("\\", "\\\\")
+                .replace("\"", "\\\"")
+                .replace("\b", "\\b")
+                .replace("\f", "\\f")
+                .replace("\n", "\\n")
+                .replace("\r", "\\r")
+                .replace("\t", "\\t");
+    }
+}
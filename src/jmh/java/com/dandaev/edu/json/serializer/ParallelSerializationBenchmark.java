@@ -0,0 +1,65 @@
+package com.dandaev.edu.json.serializer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Последовательная и параллельная ({@link ParallelOptions#defaults()})
+ * запись большого списка независимых объектов. Выигрыш зависит от числа
+ * ядер, поэтому вместе с результатом стоит указывать
+ * {@code Runtime.availableProcessors()}.
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar ParallelSerializationBenchmark
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParallelSerializationBenchmark {
+
+    /** Число элементов; 1000 ниже порога и проверяет, что малые списки не замедляются. */
+    @Param({ "1000", "100000", "500000" })
+    public int size;
+
+    @Param({ "false", "true" })
+    public boolean parallel;
+
+    private List<Sample> samples;
+
+    @Setup
+    public void setUp() {
+        JsonSerializer.setParallelOptions(parallel ? ParallelOptions.defaults() : null);
+        samples = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            samples.add(new Sample(i, i * 31L, i / 7.0, (i & 1) == 0, "item-" + i));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        JsonSerializer.setParallelOptions(null);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IllegalAccessException {
+        return JsonSerializer.serializeToUtf8(samples);
+    }
+}
@@ -0,0 +1,34 @@
+package com.dandaev.edu.json.serializer;
+
+import com.dandaev.edu.annotations.jsonparser.JsonField;
+import com.dandaev.edu.annotations.jsonparser.JsonSerializable;
+
+/**
+ * Объект для бенчмарков сериализатора: примитивные поля всех
+ * специализированных типов и одна строка.
+ */
+@JsonSerializable
+public class Sample {
+    @JsonField
+    private int count;
+
+    @JsonField
+    private long id;
+
+    @JsonField
+    private double ratio;
+
+    @JsonField
+    private boolean active;
+
+    @JsonField(name = "label")
+    private String name;
+
+    public Sample(int count, long id, double ratio, boolean active, String name) {
+        this.count = count;
+        this.id = id;
+        this.ratio = ratio;
+        this.active = active;
+        this.name = name;
+    }
+}
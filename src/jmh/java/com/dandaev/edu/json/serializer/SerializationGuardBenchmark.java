@@ -0,0 +1,65 @@
+package com.dandaev.edu.json.serializer;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.dandaev.edu.entities.Product;
+
+/**
+ * Стоимость проверок циклов и глубины на ацикличном графе: список из
+ * 100 {@link Product} с вложенными списками и отображениями.
+ * {@code off} — обе проверки выключены (значение по умолчанию).
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar SerializationGuardBenchmark -prof gc
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationGuardBenchmark {
+
+    @Param({ "off", "cycles", "depth", "both" })
+    public String guard;
+
+    private List<Product> products;
+
+    @Setup
+    public void setUp() {
+        JsonSerializer.setCycleDetection(guard.equals("cycles") || guard.equals("both"));
+        JsonSerializer.setMaxDepth(guard.equals("depth") || guard.equals("both") ? 64 : 0);
+        products = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            products.add(new Product((long) i, "Product " + i, 9.99 + i, new Date(1_700_000_000_000L + i * 60_000L)));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        JsonSerializer.setCycleDetection(false);
+        JsonSerializer.setMaxDepth(0);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws IllegalAccessException {
+        return JsonSerializer.serializeToUtf8(products);
+    }
+}
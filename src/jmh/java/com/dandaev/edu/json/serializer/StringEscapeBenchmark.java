@@ -0,0 +1,76 @@
+package com.dandaev.edu.json.serializer;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Экранирование строки около 1 КБ: семь вызовов {@code replace} исходной
+ * реализации против однопроходного {@link JsonWriter#writeString} в
+ * символьный и UTF-8 буфер.
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar StringEscapeBenchmark -prof gc
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StringEscapeBenchmark {
+
+    /**
+     * {@code ascii} — латиница без спецсимволов, {@code cyrillic} — кириллица,
+     * {@code escapes} — кавычки, обратные слэши, переводы строк и табуляции.
+     */
+    @Param({ "ascii", "cyrillic", "escapes" })
+    public String input;
+
+    private String value;
+    private CharJsonWriter chars;
+    private Utf8JsonWriter utf8;
+
+    @Setup
+    public void setUp() {
+        String unit = switch (input) {
+            case "ascii" -> "The quick brown fox jumps over the lazy dog. ";
+            case "cyrillic" -> "Съешь же ещё этих мягких французских булок. ";
+            case "escapes" -> "\"path\": \"C:\\temp\\file\"\n\tkey=\"value\"\r\n";
+            default -> throw new IllegalArgumentException("Unknown input: " + input);
+        };
+        value = unit.repeat(1024 / unit.length() + 1);
+        chars = new CharJsonWriter(4096);
+        utf8 = new Utf8JsonWriter(8192);
+    }
+
+    @Benchmark
+    public String legacy() {
+        return "\"" + LegacyJsonSerializer.escapeJson(value) + "\"";
+    }
+
+    @Benchmark
+    public int chars() {
+        chars.reset();
+        chars.writeString(value);
+        return chars.size();
+    }
+
+    @Benchmark
+    public int utf8() {
+        utf8.reset();
+        utf8.writeString(value);
+        return utf8.size();
+    }
+}
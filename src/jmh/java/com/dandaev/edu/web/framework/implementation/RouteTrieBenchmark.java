@@ -0,0 +1,100 @@
+package com.dandaev.edu.web.framework.implementation;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Поиск маршрута среди {@code routes} шаблонов: {@link RouteTrie} против
+ * исходного линейного перебора со {@code split} пути запроса на каждой
+ * проверке. Пути запросов выбираются случайно, часть из них не совпадает
+ * ни с одним маршрутом.
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar RouteTrieBenchmark -prof gc
+ * </pre>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class RouteTrieBenchmark {
+
+	@Param({ "100", "1000", "5000" })
+	public int routes;
+
+	private RouteTrie<String> trie;
+	private List<String[]> linear;
+	private String[] paths;
+	private int next;
+
+	@Setup
+	public void setUp() {
+		trie = new RouteTrie<>();
+		linear = new ArrayList<>();
+		for (int i = 0; i < routes / 2; i++) {
+			add("GET", "/api/v1/resource" + i + "/{id}");
+			add("GET", "/api/v1/resource" + i + "/{id}/items/{itemId}");
+		}
+
+		SplittableRandom random = new SplittableRandom(42);
+		paths = new String[1024];
+		for (int i = 0; i < paths.length; i++) {
+			int resource = random.nextInt(routes / 2 + routes / 20 + 1);
+			paths[i] = (i & 1) == 0
+					? "/api/v1/resource" + resource + "/" + i
+					: "/api/v1/resource" + resource + "/" + i + "/items/" + (i * 7) + "?expand=true";
+		}
+	}
+
+	private void add(String method, String pattern) {
+		trie.add(method, pattern, pattern);
+		linear.add(new String[] { method, pattern });
+	}
+
+	@Benchmark
+	public String trie() {
+		return trie.find("GET", paths[next++ & (paths.length - 1)]);
+	}
+
+	@Benchmark
+	public String linear() {
+		String path = paths[next++ & (paths.length - 1)];
+		for (String[] route : linear) {
+			if (route[0].equalsIgnoreCase("GET") && matches(route[1], path)) {
+				return route[1];
+			}
+		}
+		return null;
+	}
+
+	/** Сопоставление шаблона в стиле исходного {@code WebFramework}. */
+	private static boolean matches(String pattern, String requestPath) {
+		String[] patternParts = pattern.split("/");
+		String[] pathParts = requestPath.split("\\?")[0].split("/");
+		if (patternParts.length != pathParts.length) {
+			return false;
+		}
+		for (int i = 0; i < patternParts.length; i++) {
+			if (!patternParts[i].startsWith("{") && !patternParts[i].equals(pathParts[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
@@ -0,0 +1,101 @@
+package com.dandaev.edu.web.framework.implementation;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.dandaev.edu.controllers.UserController;
+
+/**
+ * Пропускная способность {@link WebFramework#handle} на маршрутах
+ * {@link UserController} без сетевого слоя: поиск маршрута, привязка
+ * аргументов, вызов через скомпилированный обработчик и формирование ответа.
+ *
+ * <ul>
+ *   <li>{@code search} — {@code @RequestParam}, строковый ответ;</li>
+ *   <li>{@code profile} — {@code @PathVariable} с преобразованием в {@code Long}, JSON-ответ;</li>
+ *   <li>{@code notFound} — путь без маршрута.</li>
+ * </ul>
+ *
+ * <p>Параметр {@code metrics} показывает цену учёта метрик: {@code off} —
+ * {@link WebFramework#setMetricsEnabled} выключен, {@code on} — включён
+ * (по умолчанию), {@code phases} — включён и
+ * {@link WebFramework#setPhaseTimingEnabled}. Разница во времени одной
+ * операции удобнее видна в режиме среднего времени.
+ *
+ * <pre>
+ * java -jar target/benchmarks.jar UserControllerBenchmark -t 4
+ * java -jar target/benchmarks.jar UserControllerBenchmark -bm avgt -tu ns
+ * </pre>
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(1)
+@State(Scope.Benchmark)
+public class UserControllerBenchmark {
+
+	@Param({ "off", "on", "phases" })
+	public String metrics;
+
+	private WebFramework framework;
+	private HttpRequest search;
+	private HttpRequest profile;
+	private HttpRequest notFound;
+
+	@Setup
+	public void setUp() {
+		framework = new WebFramework();
+		framework.setMetricsEnabled(!metrics.equals("off"));
+		framework.setPhaseTimingEnabled(metrics.equals("phases"));
+		framework.registerController(new UserController());
+		search = new HttpRequest("GET", "/api/users/search?q=john", Map.of("q", "john"), Map.of(), (byte[]) null);
+		profile = new HttpRequest("GET", "/api/users/1/profile", Map.of(), Map.of(), (byte[]) null);
+		notFound = new HttpRequest("GET", "/api/orders/1", Map.of(), Map.of(), (byte[]) null);
+		check(search, 200);
+		check(profile, 200);
+		check(notFound, 404);
+	}
+
+	@TearDown
+	public void tearDown() {
+		framework.close();
+	}
+
+	private void check(HttpRequest request, int status) {
+		int actual = framework.handle(request).getStatus();
+		if (actual != status) {
+			throw new IllegalStateException(request.getTarget() + " returned " + actual + ", expected " + status);
+		}
+	}
+
+	@Benchmark
+	public HttpResponse search() {
+		return framework.handle(search);
+	}
+
+	@Benchmark
+	public HttpResponse profile() {
+		return framework.handle(profile);
+	}
+
+	@Benchmark
+	public HttpResponse notFound() {
+		return framework.handle(notFound);
+	}
+}
@@ -0,0 +1,42 @@
+package com.dandaev.edu;
+
+import com.dandaev.edu.controllers.UserController;
+import com.dandaev.edu.web.framework.implementation.WebFramework;
+import com.dandaev.edu.web.framework.metrics.MetricsController;
+import com.dandaev.edu.web.framework.server.HttpServer;
+import com.dandaev.edu.web.framework.server.NioHttpServer;
+
+// Запуск WebFramework за настоящим HTTP-сервером.
+// Аргументы: [порт] [nio] — второй аргумент включает неблокирующий NioHttpServer
+public class HttpServerExample {
+	public static void main(String[] args) throws Exception {
+		int port = args.length > 0 ? Integer.parseInt(args[0]) : 8080;
+		boolean nio = args.length > 1 && args[1].equals("nio");
+
+		// Фреймворк закрывает тот, кто его создал, — после остановки сервера
+		try (WebFramework framework = new WebFramework()) {
+			framework.registerController(new UserController());
+			framework.registerController(new MetricsController(framework));
+
+			if (nio) {
+				try (NioHttpServer server = new NioHttpServer(framework, port).start()) {
+					printUsage("NIO", server.getPort());
+					server.awaitTermination();
+				}
+			} else {
+				try (HttpServer server = new HttpServer(framework, port).start()) {
+					printUsage("virtual threads", server.getPort());
+					server.awaitTermination();
+				}
+			}
+		}
+	}
+
+	private static void printUsage(String engine, int port) {
+		System.out.println("Listening on http://localhost:" + port + " (" + engine + ")");
+		System.out.println("  curl http://localhost:" + port + "/api/users/1");
+		System.out.println("  curl -X POST -d 'name=Bob&email=bob@example.com' http://localhost:" + port + "/api/users");
+		System.out.println("  curl http://localhost:" + port + "/metrics");
+		System.out.println("  wrk -t4 -c256 -d30s http://localhost:" + port + "/api/users/1");
+	}
+}
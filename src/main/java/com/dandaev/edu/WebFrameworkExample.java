@@ -4,12 +4,14 @@ import java.util.HashMap;
 import java.util.Map;
 
 import com.dandaev.edu.controllers.UserController;
+import com.dandaev.edu.web.framework.implementation.HttpResponse;
 import com.dandaev.edu.web.framework.implementation.WebFramework;
 
 public class WebFrameworkExample {
 	public static void main(String[] args) {
 		WebFramework framework = new WebFramework();
-		framework.registerController(new UserController());
+		UserController controller = new UserController();
+		framework.registerController(controller);
 
 		// Симуляция HTTP запросов
 		System.out.println("GET /api/users:");
@@ -18,6 +20,10 @@ public class WebFrameworkExample {
 		System.out.println("\nGET /api/users/1:");
 		System.out.println(framework.handleRequest("GET", "/api/users/1", new HashMap<>(), ""));
 
+		System.out.println("\nGET /api/users/1/profile:");
+		HttpResponse profile = framework.dispatch("GET", "/api/users/1/profile", new HashMap<>(), "");
+		System.out.println(profile.getStatus() + " " + profile.getContentType() + " " + profile.getBodyAsString());
+
 		System.out.println("\nPOST /api/users:");
 		Map<String, String> params = new HashMap<>();
 		params.put("name", "Bob");
@@ -25,9 +31,27 @@ public class WebFrameworkExample {
 		params.put("age", "35");
 		System.out.println(framework.handleRequest("POST", "/api/users", params, ""));
 
+		System.out.println("\nPOST /api/users/json:");
+		String json = "{\"name\":\"Carol\",\"email\":\"carol@example.com\",\"age\":28}";
+		System.out.println(framework.handleRequest("POST", "/api/users/json", new HashMap<>(), json));
+		// Пустое тело не проходит проверку @NotNull — 400
+		System.out.println(framework.handleRequest("POST", "/api/users/json", new HashMap<>(), "{}"));
+
 		System.out.println("\nGET /api/users/search?q=java:");
 		Map<String, String> searchParams = new HashMap<>();
 		searchParams.put("q", "java");
 		System.out.println(framework.handleRequest("GET", "/api/users/search", searchParams, ""));
+
+		// Второй контроллер с тем же путём не заменяет первый, а отклоняется
+		System.out.println("\nRegister another UserController:");
+		try {
+			framework.registerController(new UserController());
+		} catch (IllegalArgumentException e) {
+			System.out.println(e.getMessage());
+		}
+
+		System.out.println("\nUnregister UserController, GET /api/users:");
+		framework.unregisterController(controller);
+		System.out.println(framework.handleRequest("GET", "/api/users", new HashMap<>(), ""));
 	}
 }
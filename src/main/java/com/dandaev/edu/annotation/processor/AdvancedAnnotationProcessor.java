@@ -4,6 +4,7 @@ package com.dandaev.edu.annotation.processor;
 import java.io.IOException;
 import java.io.PrintWriter;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -17,6 +18,8 @@ import javax.annotation.processing.SupportedSourceVersion;
 import javax.lang.model.SourceVersion;
 import javax.lang.model.element.Element;
 import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
 import javax.lang.model.element.TypeElement;
 import javax.lang.model.element.VariableElement;
 import javax.lang.model.type.TypeKind;
@@ -27,8 +30,14 @@ import javax.tools.JavaFileObject;
 import com.dandaev.edu.annotations.builder.pattern.generator.DefaultValue;
 import com.dandaev.edu.annotations.builder.pattern.generator.GenerateBuilder;
 import com.dandaev.edu.annotations.builder.pattern.generator.GenerateToString;
-
-@SupportedAnnotationTypes("com.dandaev.edu.annotations.builder.pattern.generator.*")
+import com.dandaev.edu.annotations.jsonparser.JsonDate;
+import com.dandaev.edu.annotations.jsonparser.JsonField;
+import com.dandaev.edu.annotations.jsonparser.JsonSerializable;
+
+@SupportedAnnotationTypes({
+		"com.dandaev.edu.annotations.builder.pattern.generator.*",
+		"com.dandaev.edu.annotations.jsonparser.JsonSerializable"
+})
 @SupportedSourceVersion(SourceVersion.RELEASE_21)
 public class AdvancedAnnotationProcessor extends AbstractProcessor {
 
@@ -60,6 +69,13 @@ public class AdvancedAnnotationProcessor extends AbstractProcessor {
 					generateAdvancedToString((TypeElement) element);
 				}
 			}
+
+			// Генерируем JSON-writer для @JsonSerializable классов
+			for (Element element : roundEnv.getElementsAnnotatedWith(JsonSerializable.class)) {
+				if (element.getKind() == ElementKind.CLASS) {
+					generateJsonWriter((TypeElement) element);
+				}
+			}
 		} catch (Exception e) {
 			error("Processing failed: " + e.getMessage());
 			e.printStackTrace();
@@ -187,6 +203,251 @@ public class AdvancedAnnotationProcessor extends AbstractProcessor {
 		note("Generated toString helper for: " + className);
 	}
 
+	/**
+	 * Генерирует {@code <Class>JsonWriter} — реализацию
+	 * {@code com.dandaev.edu.json.serializer.JsonObjectWriter}, которая пишет
+	 * каждое поле с {@link JsonField} напрямую и использует заранее
+	 * подготовленные имена свойств.
+	 *
+	 * <p>Как и рефлексивный план, writer читает сами поля, а не геттеры:
+	 * доступные из пакета — обращением {@code obj.field}, {@code private} —
+	 * через {@code static final VarHandle}, который JIT встраивает так же,
+	 * как прямое обращение. Для класса не верхнего уровня и для обобщённого
+	 * класса (поля типа {@code T} не записать без приведения к переменной
+	 * типа) writer не генерируется, и сериализатор использует рефлексивный
+	 * план.
+	 */
+	private void generateJsonWriter(TypeElement classElement) throws IOException {
+		String packageName = getPackageName(classElement);
+		String className = classElement.getSimpleName().toString();
+		String writerName = className + "JsonWriter";
+
+		if (classElement.getNestingKind() != NestingKind.TOP_LEVEL) {
+			note("Skipped JSON writer for nested class: " + className);
+			return;
+		}
+		if (!classElement.getTypeParameters().isEmpty()) {
+			note("Skipped JSON writer for generic class: " + className);
+			return;
+		}
+
+		List<VariableElement> fields = new ArrayList<>();
+		for (VariableElement field : getAllFields(classElement)) {
+			JsonField jsonField = field.getAnnotation(JsonField.class);
+			if (jsonField != null && !jsonField.ignore() && !field.getModifiers().contains(Modifier.STATIC)) {
+				fields.add(field);
+			}
+		}
+
+		// Имена констант уникальны: fooBar и foo_bar дают разные константы
+		List<String> constants = new ArrayList<>();
+		Set<String> usedConstants = new HashSet<>();
+		for (VariableElement field : fields) {
+			String base = toConstantName(field.getSimpleName().toString());
+			String constant = base;
+			for (int n = 2; !usedConstants.add(constant); n++) {
+				constant = base + "_" + n;
+			}
+			constants.add(constant);
+		}
+
+		boolean hasPrivate = false;
+		List<String> accessors = new ArrayList<>();
+		for (int i = 0; i < fields.size(); i++) {
+			VariableElement field = fields.get(i);
+			if (field.getModifiers().contains(Modifier.PRIVATE)) {
+				accessors.add("(" + field.asType() + ") " + constants.get(i) + "_FIELD.get(obj)");
+				hasPrivate = true;
+			} else {
+				accessors.add("obj." + field.getSimpleName());
+			}
+		}
+
+		JavaFileObject file = filer.createSourceFile(packageName + "." + writerName, classElement);
+		try (PrintWriter writer = new PrintWriter(file.openWriter())) {
+			writer.println("package " + packageName + ";");
+			writer.println();
+			if (hasPrivate) {
+				writer.println("import java.lang.invoke.MethodHandles;");
+				writer.println("import java.lang.invoke.VarHandle;");
+				writer.println();
+			}
+			writer.println("import com.dandaev.edu.json.serializer.JsonDateFormat;");
+			writer.println("import com.dandaev.edu.json.serializer.JsonName;");
+			writer.println("import com.dandaev.edu.json.serializer.JsonObjectWriter;");
+			writer.println("import com.dandaev.edu.json.serializer.JsonWriter;");
+			writer.println();
+			writer.println("/**");
+			writer.println(" * Auto-generated JSON writer for " + className);
+			writer.println(" */");
+			writer.println("public final class " + writerName + " implements JsonObjectWriter<" + className + "> {");
+			writer.println();
+
+			// Заранее подготовленные имена свойств и форматы дат
+			for (int i = 0; i < fields.size(); i++) {
+				VariableElement field = fields.get(i);
+				JsonField jsonField = field.getAnnotation(JsonField.class);
+				String jsonName = jsonField.name().isEmpty() ? field.getSimpleName().toString() : jsonField.name();
+				String constant = constants.get(i);
+				writer.println("    private static final JsonName " + constant + "_NAME = JsonName.of("
+						+ toJavaLiteral(jsonName) + ");");
+
+				JsonDate jsonDate = field.getAnnotation(JsonDate.class);
+				if (jsonDate != null) {
+					writer.println("    private static final JsonDateFormat " + constant + "_FORMAT = JsonDateFormat.of("
+							+ toJavaLiteral(jsonDate.pattern()) + ");");
+				}
+			}
+			writer.println();
+
+			// Доступ к private-полям
+			if (hasPrivate) {
+				for (int i = 0; i < fields.size(); i++) {
+					if (fields.get(i).getModifiers().contains(Modifier.PRIVATE)) {
+						writer.println("    private static final VarHandle " + constants.get(i) + "_FIELD;");
+					}
+				}
+				writer.println();
+				writer.println("    static {");
+				writer.println("        try {");
+				writer.println("            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(" + className
+						+ ".class, MethodHandles.lookup());");
+				for (int i = 0; i < fields.size(); i++) {
+					VariableElement field = fields.get(i);
+					if (field.getModifiers().contains(Modifier.PRIVATE)) {
+						writer.println("            " + constants.get(i) + "_FIELD = lookup.findVarHandle(" + className
+								+ ".class, " + toJavaLiteral(field.getSimpleName().toString()) + ", "
+								+ processingEnv.getTypeUtils().erasure(field.asType()) + ".class);");
+					}
+				}
+				writer.println("        } catch (ReflectiveOperationException e) {");
+				writer.println("            throw new ExceptionInInitializerError(e);");
+				writer.println("        }");
+				writer.println("    }");
+				writer.println();
+			}
+
+			writer.println("    @Override");
+			if (hasPrivate) {
+				writer.println("    @SuppressWarnings(\"unchecked\")");
+			}
+			writer.println("    public void write(" + className + " obj, JsonWriter out) throws IllegalAccessException {");
+			writer.println("        boolean first = true;");
+			writer.println("        out.write('{');");
+
+			for (int i = 0; i < fields.size(); i++) {
+				VariableElement field = fields.get(i);
+				String constant = constants.get(i);
+				TypeMirror type = field.asType();
+				String accessor = accessors.get(i);
+
+				writer.println();
+				if (type.getKind().isPrimitive()) {
+					writer.println("        if (!first) out.write(',');");
+					writer.println("        first = false;");
+					writer.println("        out.writeName(" + constant + "_NAME);");
+					writer.println("        " + getPrimitiveWrite(type.getKind(), accessor) + ";");
+					continue;
+				}
+
+				writer.println("        {");
+				writer.println("            " + type + " value = " + accessor + ";");
+				writer.println("            if (value != null) {");
+				writer.println("                if (!first) out.write(',');");
+				writer.println("                first = false;");
+				writer.println("                out.writeName(" + constant + "_NAME);");
+				writer.println("                " + getValueWrite(field, constant) + ";");
+				writer.println("            }");
+				writer.println("        }");
+			}
+
+			writer.println();
+			writer.println("        out.write('}');");
+			writer.println("    }");
+			writer.println("}");
+		}
+
+		note("Generated JSON writer: " + writerName);
+	}
+
+	private String getPrimitiveWrite(TypeKind kind, String accessor) {
+		switch (kind) {
+			case INT:
+			case SHORT:
+			case BYTE:
+				return "out.writeInt(" + accessor + ")";
+			case LONG:
+				return "out.writeLong(" + accessor + ")";
+			case DOUBLE:
+				return "out.writeDouble(" + accessor + ")";
+			case FLOAT:
+				return "out.writeFloat(" + accessor + ")";
+			case BOOLEAN:
+				return "out.writeBoolean(" + accessor + ")";
+			default:
+				return "out.writeValue(" + accessor + ")";
+		}
+	}
+
+	private String getValueWrite(VariableElement field, String constant) {
+		String typeName = field.asType().toString();
+		if (field.getAnnotation(JsonDate.class) != null) {
+			if (typeName.equals("java.util.Date")) {
+				return "out.writeDate(value, " + constant + "_FORMAT)";
+			}
+			return "if (value instanceof java.util.Date) out.writeDate((java.util.Date) value, " + constant
+					+ "_FORMAT); else out.writeValue(value)";
+		}
+
+		switch (typeName) {
+			case "java.lang.String":
+				return "out.writeString(value)";
+			case "java.lang.Integer":
+				return "out.writeInt(value)";
+			case "java.lang.Long":
+				return "out.writeLong(value)";
+			case "java.lang.Double":
+				return "out.writeDouble(value)";
+			case "java.lang.Boolean":
+				return "out.writeBoolean(value)";
+			default:
+				return "out.writeValue(value)";
+		}
+	}
+
+	private String toConstantName(String fieldName) {
+		return fieldName.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase();
+	}
+
+	/**
+	 * Строковый литерал Java. Перевод строки и возврат каретки записываются
+	 * как {@code \n} и {@code \r}: их шестнадцатеричная форма раскрывается
+	 * компилятором до разбора литерала и разорвала бы его.
+	 */
+	private String toJavaLiteral(String value) {
+		StringBuilder literal = new StringBuilder(value.length() + 2).append('"');
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			switch (c) {
+				case '"' -> literal.append("\\\"");
+				case '\\' -> literal.append("\\\\");
+				case '\n' -> literal.append("\\n");
+				case '\r' -> literal.append("\\r");
+				case '\t' -> literal.append("\\t");
+				case '\b' -> literal.append("\\b");
+				case '\f' -> literal.append("\\f");
+				default -> {
+					if (c < 0x20 || c == 0x7f || c == 0x2028 || c == 0x2029) {
+						literal.append(String.format("\\u%04x", (int) c));
+					} else {
+						literal.append(c);
+					}
+				}
+			}
+		}
+		return literal.append('"').toString();
+	}
+
 	private List<VariableElement> getAllFields(TypeElement classElement) {
 		List<VariableElement> fields = new ArrayList<>();
 		for (Element enclosed : classElement.getEnclosedElements()) {
@@ -0,0 +1,25 @@
+package com.dandaev.edu.annotations.jsonparser;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Помечает неизменяемый (или версионируемый) класс, JSON-представление
+ * которого можно кэшировать.
+ *
+ * <p>Если {@code versionField} не задан, закэшированный фрагмент считается
+ * действительным, пока объект находится в кэше. Если задан, фрагмент
+ * переиспользуется, только пока значение этого поля не изменилось.
+ *
+ * <p>Неизменяемым должно быть всё сериализуемое состояние: класс, который
+ * отдаёт наружу изменяемые коллекции, массивы или даты, без
+ * {@code versionField} помечать нельзя — изменение через них не сбросит
+ * закэшированный фрагмент.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface JsonCacheable {
+	String versionField() default "";
+}
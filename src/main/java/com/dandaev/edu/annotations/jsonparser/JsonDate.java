@@ -5,6 +5,28 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
+/**
+ * Задаёт формат даты для поля при сериализации и десериализации JSON.
+ *
+ * <p>Шаблон разбирается {@link java.time.format.DateTimeFormatter}, а не
+ * {@link java.text.SimpleDateFormat}. Распространённые шаблоны
+ * ({@code yyyy}, {@code MM}, {@code dd}, {@code HH}, {@code mm},
+ * {@code ss}, {@code SSS}, {@code EEE}, {@code a}) работают одинаково,
+ * но некоторые буквы и правила отличаются:
+ * <ul>
+ * <li>{@code u} — год, а не номер дня недели; день недели — {@code e}
+ * или {@code E};</li>
+ * <li>{@code S} — доля секунды фиксированной ширины: {@code S} — десятые,
+ * {@code SSS} — миллисекунды; количество миллисекунд без дополнения нулями
+ * шаблоном не задаётся;</li>
+ * <li>{@code Y} — год недели по правилам {@link java.time.temporal.WeekFields}
+ * локали, его следует использовать вместе с {@code w}, а не с
+ * {@code MM}/{@code dd};</li>
+ * <li>даты до 15 октября 1582 года записываются в пролептическом
+ * григорианском календаре, без перехода на юлианский, поэтому
+ * отличаются от вывода {@code SimpleDateFormat} на 10 и более дней.</li>
+ * </ul>
+ */
 @Retention(RetentionPolicy.RUNTIME)
 @Target(ElementType.FIELD)
 
@@ -0,0 +1,21 @@
+package com.dandaev.edu.annotations.web.framework;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Выполняет метод-обработчик в отдельном виртуальном потоке, не занимая
+ * поток, принявший запрос. Подходит для обработчиков, блокирующихся на
+ * вводе-выводе.
+ *
+ * <p>Если обработка не уложилась в таймаут, запрос завершается ответом
+ * {@code 503}, а поток обработчика прерывается.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Async {
+	/** Таймаут в миллисекундах; {@code 0} — таймаут фреймворка по умолчанию. */
+	long timeoutMillis() default 0;
+}
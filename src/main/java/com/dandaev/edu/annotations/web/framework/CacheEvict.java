@@ -0,0 +1,17 @@
+package com.dandaev.edu.annotations.web.framework;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Очищает кэши {@link Cacheable} после успешного ({@code 2xx}) ответа
+ * обработчика, например после изменения данных.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface CacheEvict {
+	/** Имена очищаемых кэшей. */
+	String[] value();
+}
@@ -0,0 +1,30 @@
+package com.dandaev.edu.annotations.web.framework;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Кэширует ответы GET-обработчика. Ключ — значения аргументов метода,
+ * поэтому обработчик должен зависеть только от них: параметр
+ * {@code HttpRequest} и {@code @RequestBody} не допускаются.
+ *
+ * <p>Кэшируются успешные ({@code 2xx}) ответы с телом известной длины.
+ * Одновременные запросы с одинаковым ключом при промахе ждут одного
+ * вызова обработчика. Кэш очищается по истечении {@link #ttlMillis()},
+ * при вытеснении давно не использованных записей и методами с
+ * {@link CacheEvict}.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface Cacheable {
+	/** Имя кэша для {@link CacheEvict}; по умолчанию — шаблон пути маршрута. */
+	String value() default "";
+
+	/** Время жизни записи в миллисекундах. */
+	long ttlMillis() default 60_000;
+
+	/** Наибольшее число записей. */
+	int maxEntries() default 1_000;
+}
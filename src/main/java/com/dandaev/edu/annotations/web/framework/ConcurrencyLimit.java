@@ -0,0 +1,25 @@
+package com.dandaev.edu.annotations.web.framework;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Ограничивает число одновременно обрабатываемых запросов к маршруту.
+ * Запрос сверх предела сразу получает {@code 503 Service Unavailable};
+ * аргументы метода при этом не извлекаются.
+ *
+ * <p>Если задана {@link #targetLatencyMillis()}, предел адаптивный: он
+ * уменьшается, пока обработчик не укладывается в целевую задержку, и
+ * растёт обратно до {@link #value()}, когда укладывается.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface ConcurrencyLimit {
+	/** Наибольшее число одновременных запросов. */
+	int value();
+
+	/** Целевая задержка в миллисекундах; {@code 0} — предел постоянный. */
+	long targetLatencyMillis() default 0;
+}
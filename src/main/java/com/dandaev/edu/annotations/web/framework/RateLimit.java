@@ -0,0 +1,22 @@
+package com.dandaev.edu.annotations.web.framework;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Ограничивает частоту запросов к маршруту маркерной корзиной. Запрос
+ * сверх предела сразу получает {@code 429 Too Many Requests} с
+ * заголовком {@code Retry-After}; аргументы метода при этом не
+ * извлекаются.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface RateLimit {
+	/** Средняя частота допускаемых запросов в секунду. */
+	double permitsPerSecond();
+
+	/** Сколько запросов допускается подряд без пауз. */
+	int burst() default 1;
+}
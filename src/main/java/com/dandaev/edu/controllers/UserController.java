@@ -1,15 +1,23 @@
 package com.dandaev.edu.controllers;
 
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import com.dandaev.edu.annotations.dependency.injection.Autowired;
+import com.dandaev.edu.annotations.web.framework.Async;
+import com.dandaev.edu.annotations.web.framework.CacheEvict;
+import com.dandaev.edu.annotations.web.framework.Cacheable;
+import com.dandaev.edu.annotations.web.framework.ConcurrencyLimit;
 import com.dandaev.edu.annotations.web.framework.PathVariable;
+import com.dandaev.edu.annotations.web.framework.RateLimit;
+import com.dandaev.edu.annotations.web.framework.RequestBody;
 import com.dandaev.edu.annotations.web.framework.RequestMapping;
 import com.dandaev.edu.annotations.web.framework.RequestParam;
 import com.dandaev.edu.annotations.web.framework.RestController;
 import com.dandaev.edu.entities.User;
 import com.dandaev.edu.service.UserService;
+import com.dandaev.edu.validator.Validator;
+import com.dandaev.edu.web.framework.implementation.HttpResponse;
 
 // REST контроллеры
 @RestController(path = "/api/users")
@@ -17,18 +25,22 @@ public class UserController {
 	@Autowired
 	private UserService userService;
 
-	private List<User> users = new ArrayList<>();
+	// Потокобезопасный список: запросы обрабатываются параллельно
+	private List<User> users = new CopyOnWriteArrayList<>();
 
 	public UserController() {
 		users.add(new User("John", "john@example.com", 25, "password"));
 		users.add(new User("Alice", "alice@example.com", 30, "password"));
 	}
 
+	// Ответы GET кэшируются в общем кэше "users"; POST его очищают
+	@Cacheable(value = "users", ttlMillis = 30_000)
 	@RequestMapping(path = "/api/users", method = "GET")
 	public String getAllUsers() {
 		return "All users: " + users.size();
 	}
 
+	@Cacheable(value = "users", ttlMillis = 30_000)
 	@RequestMapping(path = "/api/users/{id}", method = "GET")
 	public String getUserById(@PathVariable("id") Long id) {
 		if (id >= 0 && id < users.size()) {
@@ -37,6 +49,20 @@ public class UserController {
 		return "User not found";
 	}
 
+	// Объект с @JsonSerializable отдаётся как application/json
+	@RequestMapping(path = "/api/users/{id}/profile", method = "GET")
+	public HttpResponse getUserProfile(@PathVariable("id") Long id) {
+		if (id >= 0 && id < users.size()) {
+			return HttpResponse.json(users.get(id.intValue()));
+		}
+		return HttpResponse.error(404, "User not found");
+	}
+
+	// Выполняется в виртуальном потоке: поток сервера не ждёт сохранения.
+	// Предел параллельности снижается, если сохранение дольше секунды
+	@Async(timeoutMillis = 5_000)
+	@ConcurrencyLimit(value = 64, targetLatencyMillis = 1_000)
+	@CacheEvict("users")
 	@RequestMapping(path = "/api/users", method = "POST")
 	public String createUser(@RequestParam("name") String name,
 			@RequestParam("email") String email,
@@ -45,6 +71,20 @@ public class UserController {
 		return "User created: " + name;
 	}
 
+	// Тело запроса разбирается из JSON в User и проверяется Validator:
+	// нарушения ограничений — 400, иначе User сериализуется обратно
+	@CacheEvict("users")
+	@RateLimit(permitsPerSecond = 20, burst = 5)
+	@RequestMapping(path = "/api/users/json", method = "POST")
+	public HttpResponse createUserFromJson(@RequestBody User user) throws IllegalAccessException {
+		var errors = Validator.validate(user);
+		if (!errors.isEmpty()) {
+			return HttpResponse.error(400, "Validation failed: " + errors);
+		}
+		users.add(user);
+		return HttpResponse.json(user);
+	}
+
 	@RequestMapping(path = "/api/users/search", method = "GET")
 	public String searchUsers(@RequestParam("q") String query) {
 		return "Search results for: " + query;
@@ -33,6 +33,10 @@ public class Product {
 	@JsonField(name = "metadata")
 	private Map<String, Object> metadata;
 
+	// Конструктор для JsonDeserializer
+	private Product() {
+	}
+
 	public Product(Long id, String name, Double price, java.util.Date createdAt) {
 		this.id = id;
 		this.name = name;
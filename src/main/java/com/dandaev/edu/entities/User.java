@@ -1,15 +1,21 @@
 package com.dandaev.edu.entities;
 
+import com.dandaev.edu.annotations.jsonparser.JsonField;
+import com.dandaev.edu.annotations.jsonparser.JsonSerializable;
 import com.dandaev.edu.annotations.validation.Email;
 import com.dandaev.edu.annotations.validation.NotNull;
 import com.dandaev.edu.annotations.validation.Range;
 import com.dandaev.edu.annotations.validation.Size;
 
+// Пароль не помечен @JsonField и в JSON не попадает
+@JsonSerializable
 public class User {
+	@JsonField
 	@NotNull(message = "Name is required")
 	@Size(min = 1, max = 50, message = "Name must be 2-50 characters")
 	private String name;
 
+	@JsonField
 	@NotNull(message = "Email is required")
 	@Email(message = "Invalid email address")
 	private String email;
@@ -17,9 +23,14 @@ public class User {
 	@Size(min = 6, message = "Password must be at least 6 characters")
 	private String password;
 
+	@JsonField
 	@Range(min = 18, max = 120, message = "Age must be between 18 and 120")
 	private Integer age;
 
+	// Конструктор для JsonDeserializer
+	private User() {
+	}
+
 	public User(String name, String email, Integer age, String password) {
 		this.name = name;
 		this.email = email;
@@ -0,0 +1,492 @@
+package com.dandaev.edu.json.deserializer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Array;
+import java.lang.reflect.GenericArrayType;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import com.dandaev.edu.annotations.jsonparser.JsonDate;
+import com.dandaev.edu.annotations.jsonparser.JsonField;
+import com.dandaev.edu.annotations.jsonparser.JsonSerializable;
+import com.dandaev.edu.json.serializer.JsonDateFormat;
+
+/**
+ * Класс {@code JsonDeserializer} выполняет обратное к
+ * {@link com.dandaev.edu.json.serializer.JsonSerializer} преобразование:
+ * разбирает JSON и связывает его с объектами Java.
+ *
+ * <p>Поддерживаются те же аннотации, что и при сериализации:
+ * <ul>
+ *   <li>{@link JsonSerializable} - класс, допустимый для связывания
+ *       (требуется конструктор без параметров с любым уровнем доступа)</li>
+ *   <li>{@link JsonField} - имя свойства в JSON и возможность игнорирования</li>
+ *   <li>{@link JsonDate} - шаблон разбора полей типа {@link Date}</li>
+ * </ul>
+ *
+ * <p>Разбор потоковый: {@link JsonReader} отдаёт токены по запросу, и значения
+ * сразу записываются в поля целевых объектов без промежуточного дерева.
+ * Связыватели ({@link TypeBinder}) строятся один раз на тип — для классов
+ * кэш хранится в {@link ClassValue}, для параметризованных типов
+ * ({@code List<Product>}, {@code Map<String, Double>}) — в отдельной карте.
+ *
+ * <p><b>Пример использования:</b>
+ * <pre>{@code
+ * Product product = JsonDeserializer.deserialize(json, Product.class);
+ *
+ * Type listType = Product.class.getDeclaredField("tags").getGenericType();
+ * List<String> tags = (List<String>) JsonDeserializer.deserialize("[\"a\",\"b\"]", listType);
+ * }</pre>
+ */
+public final class JsonDeserializer {
+
+    /** Связыватели для классов (в том числе «сырых» коллекций). */
+    private static final ClassValue<TypeBinder> CLASS_BINDERS = new ClassValue<>() {
+        @Override
+        protected TypeBinder computeValue(Class<?> type) {
+            return createBinder(type);
+        }
+    };
+
+    /** Связыватели для параметризованных типов и массивов обобщённых типов. */
+    private static final Map<Type, TypeBinder> GENERIC_BINDERS = new ConcurrentHashMap<>();
+
+    /** Связыватель для {@link Object}: объекты → {@link LinkedHashMap}, массивы → {@link ArrayList}. */
+    private static final TypeBinder NATURAL = JsonDeserializer::readNatural;
+
+    private JsonDeserializer() {
+    }
+
+    /**
+     * Разбирает JSON-строку в объект указанного класса.
+     *
+     * @param json JSON-документ
+     * @param type целевой класс
+     * @param <T>  тип результата
+     * @return связанный объект
+     * @throws JsonParseException при синтаксической ошибке или несовпадении типов
+     * @throws IllegalArgumentException если класс не аннотирован {@link JsonSerializable}
+     */
+    public static <T> T deserialize(String json, Class<T> type) {
+        return type.cast(deserialize(json, (Type) type));
+    }
+
+    /**
+     * Разбирает JSON-строку в значение обобщённого типа
+     * (например, {@code List<Product>}).
+     *
+     * @param json JSON-документ
+     * @param type целевой тип
+     * @return связанное значение
+     * @throws JsonParseException при синтаксической ошибке или несовпадении типов
+     */
+    public static Object deserialize(String json, Type type) {
+        try {
+            return readDocument(new JsonReader(json), type);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // не возникает при чтении из строки
+        }
+    }
+
+    /**
+     * Разбирает JSON из символьного потока, читая его порциями.
+     *
+     * @param reader источник (не закрывается)
+     * @param type   целевой класс
+     * @param <T>    тип результата
+     * @return связанный объект
+     * @throws IOException при ошибке чтения
+     */
+    public static <T> T deserialize(Reader reader, Class<T> type) throws IOException {
+        return type.cast(readDocument(new JsonReader(reader), type));
+    }
+
+    /**
+     * Разбирает JSON из потока байтов в кодировке UTF-8.
+     *
+     * @param in   источник (не закрывается)
+     * @param type целевой класс
+     * @param <T>  тип результата
+     * @return связанный объект
+     * @throws IOException при ошибке чтения
+     */
+    public static <T> T deserialize(InputStream in, Class<T> type) throws IOException {
+        return deserialize(new InputStreamReader(in, StandardCharsets.UTF_8), type);
+    }
+
+    /**
+     * Читает следующее значение из уже открытого {@link JsonReader}.
+     *
+     * @param reader источник токенов
+     * @param type   целевой тип
+     * @return связанное значение
+     * @throws IOException при ошибке чтения
+     */
+    public static Object read(JsonReader reader, Type type) throws IOException {
+        return binderFor(type).read(reader);
+    }
+
+    /**
+     * Подготавливает разбор документов в указанный тип: связыватель
+     * строится сразу, поэтому неподдерживаемый тип обнаруживается здесь,
+     * а не при первом разборе.
+     *
+     * @param type целевой класс или обобщённый тип
+     * @return подготовленный разбор
+     * @throws IllegalArgumentException если тип (или тип элементов)
+     *         не поддерживается или не аннотирован {@link JsonSerializable}
+     */
+    public static JsonValueReader readerFor(Type type) {
+        return new JsonValueReader(type, binderFor(type));
+    }
+
+    private static Object readDocument(JsonReader reader, Type type) throws IOException {
+        return readDocument(reader, binderFor(type));
+    }
+
+    static Object readDocument(JsonReader reader, TypeBinder binder) throws IOException {
+        Object value = binder.read(reader);
+        if (reader.peek() != JsonToken.END_DOCUMENT) {
+            throw new JsonParseException("Unexpected data after the end of document");
+        }
+        return value;
+    }
+
+    // --- Разрешение связывателей ---
+
+    /**
+     * Возвращает (при необходимости строит) связыватель для типа.
+     *
+     * @param type класс или обобщённый тип
+     * @return кэшированный связыватель
+     */
+    static TypeBinder binderFor(Type type) {
+        if (type instanceof Class<?> clazz) {
+            return CLASS_BINDERS.get(clazz);
+        }
+        if (type instanceof WildcardType wildcard) {
+            return binderFor(wildcard.getUpperBounds()[0]);
+        }
+        if (type instanceof TypeVariable<?> variable) {
+            return binderFor(variable.getBounds()[0]);
+        }
+
+        TypeBinder binder = GENERIC_BINDERS.get(type);
+        if (binder == null) {
+            binder = createGenericBinder(type);
+            GENERIC_BINDERS.putIfAbsent(type, binder);
+        }
+        return binder;
+    }
+
+    private static TypeBinder createGenericBinder(Type type) {
+        if (type instanceof ParameterizedType parameterized) {
+            Class<?> raw = (Class<?>) parameterized.getRawType();
+            Type[] arguments = parameterized.getActualTypeArguments();
+
+            if (Collection.class.isAssignableFrom(raw)) {
+                return collectionBinder(raw, binderFor(arguments[0]));
+            }
+            if (Map.class.isAssignableFrom(raw)) {
+                return mapBinder(raw, keyConverter(rawClass(arguments[0])), binderFor(arguments[1]));
+            }
+            return binderFor(raw);
+        }
+        if (type instanceof GenericArrayType arrayType) {
+            Type component = arrayType.getGenericComponentType();
+            return arrayBinder(rawClass(component), binderFor(component));
+        }
+        throw new IllegalArgumentException("Unsupported type: " + type);
+    }
+
+    private static TypeBinder createBinder(Class<?> type) {
+        if (type == String.class || type == CharSequence.class)
+            return nullSafe(JsonReader::nextString);
+        if (type == int.class || type == Integer.class)
+            return nullSafe(JsonReader::nextInt);
+        if (type == long.class || type == Long.class)
+            return nullSafe(JsonReader::nextLong);
+        if (type == double.class || type == Double.class)
+            return nullSafe(JsonReader::nextDouble);
+        if (type == float.class || type == Float.class)
+            return nullSafe(in -> (float) in.nextDouble());
+        if (type == short.class || type == Short.class)
+            return nullSafe(in -> (short) readInt(in, Short.MIN_VALUE, Short.MAX_VALUE, "short"));
+        if (type == byte.class || type == Byte.class)
+            return nullSafe(in -> (byte) readInt(in, Byte.MIN_VALUE, Byte.MAX_VALUE, "byte"));
+        if (type == boolean.class || type == Boolean.class)
+            return nullSafe(JsonDeserializer::readBoolean);
+        if (type == char.class || type == Character.class)
+            return nullSafe(JsonDeserializer::readChar);
+        if (type == BigDecimal.class)
+            return nullSafe(in -> parseNumber(in.nextString(), BigDecimal::new, "BigDecimal"));
+        if (type == BigInteger.class)
+            return nullSafe(in -> parseNumber(in.nextString(), BigInteger::new, "BigInteger"));
+        if (type == Number.class)
+            return NATURAL;
+        if (type == Object.class)
+            return NATURAL;
+        if (type == Date.class)
+            return dateBinder(JsonDateFormat.of(JsonDateFormat.DEFAULT_PATTERN));
+        if (type.isEnum())
+            return nullSafe(in -> enumValue(type, in.nextString()));
+        if (type.isArray())
+            return arrayBinder(type.getComponentType(), binderFor(type.getComponentType()));
+        if (Collection.class.isAssignableFrom(type))
+            return collectionBinder(type, NATURAL);
+        if (Map.class.isAssignableFrom(type))
+            return mapBinder(type, key -> key, NATURAL);
+
+        // Только пользовательские классы требуют аннотации
+        if (!type.isAnnotationPresent(JsonSerializable.class)) {
+            throw new IllegalArgumentException("Class not annotated with @JsonSerializable: " + type.getName());
+        }
+        return new ObjectBinder(type);
+    }
+
+    /**
+     * Связыватель дат в заданном формате. Числа трактуются как миллисекунды эпохи.
+     *
+     * @param format скомпилированный формат
+     * @return связыватель
+     */
+    static TypeBinder dateBinder(JsonDateFormat format) {
+        return nullSafe(in -> {
+            if (in.peek() == JsonToken.NUMBER) {
+                return new Date(in.nextLong());
+            }
+            String text = in.nextString();
+            try {
+                return format.parse(text);
+            } catch (DateTimeParseException e) {
+                throw new JsonParseException("Cannot parse date \"" + text + "\"", e);
+            }
+        });
+    }
+
+    private static TypeBinder collectionBinder(Class<?> raw, TypeBinder elementBinder) {
+        Supplier<Collection<Object>> factory = collectionFactory(raw);
+        return nullSafe(in -> {
+            Collection<Object> collection = factory.get();
+            in.beginArray();
+            while (in.hasNext()) {
+                collection.add(elementBinder.read(in));
+            }
+            in.endArray();
+            return collection;
+        });
+    }
+
+    private static TypeBinder mapBinder(Class<?> raw, Function<String, Object> keyConverter, TypeBinder valueBinder) {
+        Supplier<Map<Object, Object>> factory = mapFactory(raw);
+        return nullSafe(in -> {
+            Map<Object, Object> map = factory.get();
+            in.beginObject();
+            while (in.hasNext()) {
+                Object key = keyConverter.apply(in.nextName());
+                map.put(key, valueBinder.read(in));
+            }
+            in.endObject();
+            return map;
+        });
+    }
+
+    private static TypeBinder arrayBinder(Class<?> componentType, TypeBinder elementBinder) {
+        return nullSafe(in -> {
+            List<Object> elements = new ArrayList<>();
+            in.beginArray();
+            while (in.hasNext()) {
+                elements.add(elementBinder.read(in));
+            }
+            in.endArray();
+
+            Object array = Array.newInstance(componentType, elements.size());
+            for (int i = 0; i < elements.size(); i++) {
+                Object element = elements.get(i);
+                if (element != null || !componentType.isPrimitive()) {
+                    Array.set(array, i, element);
+                }
+            }
+            return array;
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Supplier<Collection<Object>> collectionFactory(Class<?> raw) {
+        if (raw.isInterface() || Modifier.isAbstract(raw.getModifiers())) {
+            if (SortedSet.class.isAssignableFrom(raw))
+                return TreeSet::new;
+            if (Set.class.isAssignableFrom(raw))
+                return LinkedHashSet::new;
+            if (Queue.class.isAssignableFrom(raw))
+                return ArrayDeque::new;
+            return ArrayList::new;
+        }
+        return () -> (Collection<Object>) instantiate(raw);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Supplier<Map<Object, Object>> mapFactory(Class<?> raw) {
+        if (raw.isInterface() || Modifier.isAbstract(raw.getModifiers())) {
+            if (SortedMap.class.isAssignableFrom(raw))
+                return TreeMap::new;
+            return LinkedHashMap::new;
+        }
+        return () -> (Map<Object, Object>) instantiate(raw);
+    }
+
+    private static Object instantiate(Class<?> raw) {
+        try {
+            return raw.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException e) {
+            throw new JsonParseException("Cannot instantiate " + raw.getName(), e);
+        }
+    }
+
+    private static Function<String, Object> keyConverter(Class<?> keyType) {
+        if (keyType == Integer.class)
+            return key -> parseNumber(key, Integer::valueOf, "Integer");
+        if (keyType == Long.class)
+            return key -> parseNumber(key, Long::valueOf, "Long");
+        if (keyType == Double.class)
+            return key -> parseNumber(key, Double::valueOf, "Double");
+        if (keyType == Boolean.class)
+            return Boolean::valueOf;
+        if (keyType.isEnum())
+            return key -> enumValue(keyType, key);
+        return key -> key;
+    }
+
+    private static Class<?> rawClass(Type type) {
+        if (type instanceof Class<?> clazz)
+            return clazz;
+        if (type instanceof ParameterizedType parameterized)
+            return (Class<?>) parameterized.getRawType();
+        if (type instanceof GenericArrayType arrayType)
+            return Array.newInstance(rawClass(arrayType.getGenericComponentType()), 0).getClass();
+        if (type instanceof WildcardType wildcard)
+            return rawClass(wildcard.getUpperBounds()[0]);
+        if (type instanceof TypeVariable<?> variable)
+            return rawClass(variable.getBounds()[0]);
+        return Object.class;
+    }
+
+    // --- Чтение простых значений ---
+
+    private static TypeBinder nullSafe(TypeBinder binder) {
+        return in -> {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            return binder.read(in);
+        };
+    }
+
+    private static Object readBoolean(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.STRING) {
+            return Boolean.parseBoolean(in.nextString());
+        }
+        return in.nextBoolean();
+    }
+
+    private static int readInt(JsonReader in, int min, int max, String typeName) throws IOException {
+        int value = in.nextInt();
+        if (value < min || value > max) {
+            throw new JsonParseException("Expected a " + typeName + " but was " + value);
+        }
+        return value;
+    }
+
+    /**
+     * Разбирает число из текста (в том числе ключа отображения), заменяя {@link NumberFormatException}
+     * на {@link JsonParseException}.
+     */
+    private static Object parseNumber(String text, Function<String, Object> parser, String typeName) {
+        try {
+            return parser.apply(text);
+        } catch (NumberFormatException e) {
+            throw new JsonParseException("Expected " + typeName + " but was \"" + text + "\"", e);
+        }
+    }
+
+    private static Object readChar(JsonReader in) throws IOException {
+        String text = in.nextString();
+        if (text.length() != 1) {
+            throw new JsonParseException("Expected a single character but was \"" + text + "\"");
+        }
+        return text.charAt(0);
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Object enumValue(Class<?> type, String name) {
+        try {
+            return Enum.valueOf((Class<? extends Enum>) type, name);
+        } catch (IllegalArgumentException e) {
+            throw new JsonParseException("Unknown " + type.getSimpleName() + " constant: " + name, e);
+        }
+    }
+
+    private static Object readNatural(JsonReader in) throws IOException {
+        switch (in.peek()) {
+            case BEGIN_OBJECT: {
+                Map<String, Object> map = new LinkedHashMap<>();
+                in.beginObject();
+                while (in.hasNext()) {
+                    String name = in.nextName();
+                    map.put(name, readNatural(in));
+                }
+                in.endObject();
+                return map;
+            }
+            case BEGIN_ARRAY: {
+                List<Object> list = new ArrayList<>();
+                in.beginArray();
+                while (in.hasNext()) {
+                    list.add(readNatural(in));
+                }
+                in.endArray();
+                return list;
+            }
+            case STRING:
+                return in.nextString();
+            case NUMBER:
+                return in.isIntegral() ? (Object) in.nextLong() : (Object) in.nextDouble();
+            case BOOLEAN:
+                return in.nextBoolean();
+            case NULL:
+                in.nextNull();
+                return null;
+            default:
+                throw new JsonParseException("Unexpected token " + in.peek());
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.dandaev.edu.json.deserializer;
+
+/**
+ * Ошибка разбора или связывания JSON-документа.
+ */
+public class JsonParseException extends IllegalArgumentException {
+
+    private static final long serialVersionUID = 1L;
+
+    public JsonParseException(String message) {
+        super(message);
+    }
+
+    public JsonParseException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,673 @@
+package com.dandaev.edu.json.deserializer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+/**
+ * Потоковый («pull») токенизатор JSON.
+ *
+ * <p>Читает документ порциями из {@link Reader} в фиксированный буфер и
+ * отдаёт токены по запросу вызывающего кода ({@link #peek()},
+ * {@link #beginObject()}, {@link #nextName()}, {@link #nextString()} и т.д.).
+ * Промежуточное дерево документа не строится: связыватель
+ * {@link JsonDeserializer} сразу заполняет поля целевых объектов.
+ *
+ * <p>Строки без экранирования, целиком лежащие в буфере, создаются одним
+ * копированием; целые числа разбираются без промежуточной строки.
+ *
+ * <pre>{@code
+ * JsonReader reader = new JsonReader("{\"id\":1,\"tags\":[\"a\",\"b\"]}");
+ * reader.beginObject();
+ * while (reader.hasNext()) {
+ *     String name = reader.nextName();
+ *     ...
+ * }
+ * reader.endObject();
+ * }</pre>
+ */
+public final class JsonReader implements Closeable {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    /**
+     * Наибольшая вложенность объектов и массивов. Глубже документ не
+     * разбирается: рекурсивное связывание иначе закончилось бы
+     * {@link StackOverflowError}.
+     */
+    public static final int MAX_DEPTH = 512;
+
+    /** Модуль {@link Long#MIN_VALUE}: 19-значные числа сравниваются с ним по цифрам. */
+    private static final char[] LONG_MIN_DIGITS = "9223372036854775808".toCharArray();
+
+    // Состояния вложенности
+    private static final int EMPTY_DOCUMENT = 0;
+    private static final int NONEMPTY_DOCUMENT = 1;
+    private static final int EMPTY_OBJECT = 2;
+    private static final int NONEMPTY_OBJECT = 3;
+    private static final int DANGLING_NAME = 4;
+    private static final int EMPTY_ARRAY = 5;
+    private static final int NONEMPTY_ARRAY = 6;
+
+    /** Источник данных или {@code null}, если весь документ уже в буфере. */
+    private final Reader in;
+
+    private char[] buffer;
+    private int position;
+    private int limit;
+
+    /** Сколько символов было прочитано до начала текущего буфера (для сообщений об ошибках). */
+    private long bufferOffset;
+
+    private int[] stack = new int[32];
+    private int stackSize;
+
+    /** Подсмотренный, но ещё не потреблённый токен. */
+    private JsonToken peeked;
+
+    /** Текст числа, прочитанного при подсмотре токена {@link JsonToken#NUMBER}. */
+    private char[] number = new char[32];
+    private int numberLength;
+
+    /** Значение литерала {@code true}/{@code false} для токена {@link JsonToken#BOOLEAN}. */
+    private boolean peekedBoolean;
+
+    /** Переиспользуемый буфер для строк с экранированием или на границе буфера. */
+    private final StringBuilder scratch = new StringBuilder();
+
+    /**
+     * Создаёт reader, читающий документ порциями.
+     *
+     * @param in источник символов
+     */
+    public JsonReader(Reader in) {
+        this.in = in;
+        this.buffer = new char[BUFFER_SIZE];
+        this.stack[stackSize++] = EMPTY_DOCUMENT;
+    }
+
+    /**
+     * Создаёт reader по готовой строке без дополнительного копирования порциями.
+     *
+     * @param json JSON-документ
+     */
+    public JsonReader(String json) {
+        this.in = null;
+        this.buffer = json.toCharArray();
+        this.limit = buffer.length;
+        this.stack[stackSize++] = EMPTY_DOCUMENT;
+    }
+
+    /**
+     * Возвращает тип следующего токена, не потребляя его.
+     *
+     * @return следующий токен
+     * @throws IOException при ошибке чтения источника
+     */
+    public JsonToken peek() throws IOException {
+        if (peeked == null) {
+            peeked = doPeek();
+        }
+        return peeked;
+    }
+
+    /**
+     * @return {@code true}, если в текущем объекте или массиве есть ещё элементы
+     * @throws IOException при ошибке чтения источника
+     */
+    public boolean hasNext() throws IOException {
+        JsonToken token = peek();
+        return token != JsonToken.END_OBJECT && token != JsonToken.END_ARRAY && token != JsonToken.END_DOCUMENT;
+    }
+
+    public void beginObject() throws IOException {
+        expect(JsonToken.BEGIN_OBJECT);
+        push(EMPTY_OBJECT);
+    }
+
+    public void endObject() throws IOException {
+        expect(JsonToken.END_OBJECT);
+        stackSize--;
+    }
+
+    public void beginArray() throws IOException {
+        expect(JsonToken.BEGIN_ARRAY);
+        push(EMPTY_ARRAY);
+    }
+
+    public void endArray() throws IOException {
+        expect(JsonToken.END_ARRAY);
+        stackSize--;
+    }
+
+    /**
+     * @return имя следующего свойства объекта
+     * @throws IOException при ошибке чтения источника
+     */
+    public String nextName() throws IOException {
+        expect(JsonToken.NAME);
+        return readString();
+    }
+
+    /**
+     * Возвращает строковое значение. Числа и логические значения
+     * возвращаются в виде их текста.
+     *
+     * @return строковое значение
+     * @throws IOException при ошибке чтения источника
+     */
+    public String nextString() throws IOException {
+        JsonToken token = peek();
+        switch (token) {
+            case STRING:
+                peeked = null;
+                return readString();
+            case NUMBER:
+                peeked = null;
+                return new String(number, 0, numberLength);
+            case BOOLEAN:
+                peeked = null;
+                return peekedBoolean ? "true" : "false";
+            default:
+                throw unexpected(JsonToken.STRING, token);
+        }
+    }
+
+    public boolean nextBoolean() throws IOException {
+        expect(JsonToken.BOOLEAN);
+        return peekedBoolean;
+    }
+
+    public void nextNull() throws IOException {
+        expect(JsonToken.NULL);
+    }
+
+    /**
+     * Возвращает целочисленное значение. Целые числа разбираются
+     * прямо из буфера без создания строки.
+     *
+     * @return значение
+     * @throws IOException при ошибке чтения источника
+     */
+    public long nextLong() throws IOException {
+        JsonToken token = peek();
+        if (token == JsonToken.STRING) {
+            String text = nextString();
+            try {
+                return Long.parseLong(text);
+            } catch (NumberFormatException e) {
+                throw syntaxError("Expected a long but was \"" + text + "\"");
+            }
+        }
+        if (token != JsonToken.NUMBER) {
+            throw unexpected(JsonToken.NUMBER, token);
+        }
+        peeked = null;
+
+        long value = 0;
+        boolean negative = number[0] == '-';
+        int i = negative ? 1 : 0;
+        if (i == numberLength || numberLength - i > 18) {
+            return parseLongSlow();
+        }
+        for (; i < numberLength; i++) {
+            char c = number[i];
+            if (c < '0' || c > '9') {
+                return parseLongSlow();
+            }
+            value = value * 10 + (c - '0');
+        }
+        return negative ? -value : value;
+    }
+
+    public int nextInt() throws IOException {
+        long value = nextLong();
+        if ((int) value != value) {
+            throw syntaxError("Expected an int but was " + value);
+        }
+        return (int) value;
+    }
+
+    public double nextDouble() throws IOException {
+        JsonToken token = peek();
+        if (token == JsonToken.STRING) {
+            return parseDouble(nextString(), "Expected a double but was \"");
+        }
+        if (token != JsonToken.NUMBER) {
+            throw unexpected(JsonToken.NUMBER, token);
+        }
+        peeked = null;
+        return parseDouble(new String(number, 0, numberLength), "Malformed number \"");
+    }
+
+    /**
+     * Возвращает текст числового токена без преобразования
+     * (для {@link java.math.BigDecimal} и подобных типов).
+     *
+     * @return текст числа
+     * @throws IOException при ошибке чтения источника
+     */
+    public String nextNumberText() throws IOException {
+        expect(JsonToken.NUMBER);
+        return new String(number, 0, numberLength);
+    }
+
+    /**
+     * @return {@code true}, если подсмотренное число не содержит дробной части
+     *         и экспоненты и помещается в {@code long}
+     * @throws IOException при ошибке чтения источника
+     */
+    public boolean isIntegral() throws IOException {
+        if (peek() != JsonToken.NUMBER) {
+            return false;
+        }
+        for (int i = 0; i < numberLength; i++) {
+            char c = number[i];
+            if (c == '.' || c == 'e' || c == 'E') {
+                return false;
+            }
+        }
+        boolean negative = number[0] == '-';
+        int start = negative ? 1 : 0;
+        int digits = numberLength - start;
+        if (digits != LONG_MIN_DIGITS.length) {
+            return digits < LONG_MIN_DIGITS.length;
+        }
+        // Ведущих нулей грамматика не допускает, поэтому цифры сравниваются по порядку
+        for (int i = 0; i < digits; i++) {
+            char c = number[start + i];
+            if (c != LONG_MIN_DIGITS[i]) {
+                return c < LONG_MIN_DIGITS[i];
+            }
+        }
+        return negative;
+    }
+
+    /**
+     * Пропускает следующее значение вместе со всеми вложенными.
+     *
+     * @throws IOException при ошибке чтения источника
+     */
+    public void skipValue() throws IOException {
+        int depth = 0;
+        do {
+            switch (peek()) {
+                case BEGIN_OBJECT -> {
+                    beginObject();
+                    depth++;
+                }
+                case BEGIN_ARRAY -> {
+                    beginArray();
+                    depth++;
+                }
+                case END_OBJECT -> {
+                    endObject();
+                    depth--;
+                }
+                case END_ARRAY -> {
+                    endArray();
+                    depth--;
+                }
+                case NAME -> nextName();
+                case STRING -> nextString();
+                case END_DOCUMENT -> throw syntaxError("Unexpected end of document");
+                default -> peeked = null;
+            }
+        } while (depth > 0);
+    }
+
+    @Override
+    public void close() throws IOException {
+        peeked = null;
+        stackSize = 0;
+        if (in != null) {
+            in.close();
+        }
+    }
+
+    // --- Разбор токенов ---
+
+    private JsonToken doPeek() throws IOException {
+        int top = stack[stackSize - 1];
+
+        if (top == EMPTY_ARRAY) {
+            stack[stackSize - 1] = NONEMPTY_ARRAY;
+        } else if (top == NONEMPTY_ARRAY) {
+            int c = nextNonWhitespace();
+            if (c == ']') {
+                return JsonToken.END_ARRAY;
+            }
+            if (c != ',') {
+                throw syntaxError("Expected ',' or ']'");
+            }
+        } else if (top == EMPTY_OBJECT || top == NONEMPTY_OBJECT) {
+            stack[stackSize - 1] = DANGLING_NAME;
+            if (top == NONEMPTY_OBJECT) {
+                int c = nextNonWhitespace();
+                if (c == '}') {
+                    return JsonToken.END_OBJECT;
+                }
+                if (c != ',') {
+                    throw syntaxError("Expected ',' or '}'");
+                }
+            }
+            int c = nextNonWhitespace();
+            if (c == '"') {
+                return JsonToken.NAME;
+            }
+            if (c == '}' && top == EMPTY_OBJECT) {
+                return JsonToken.END_OBJECT;
+            }
+            throw syntaxError("Expected property name");
+        } else if (top == DANGLING_NAME) {
+            stack[stackSize - 1] = NONEMPTY_OBJECT;
+            if (nextNonWhitespace() != ':') {
+                throw syntaxError("Expected ':'");
+            }
+        } else if (top == EMPTY_DOCUMENT) {
+            stack[stackSize - 1] = NONEMPTY_DOCUMENT;
+        } else if (top == NONEMPTY_DOCUMENT) {
+            if (nextNonWhitespaceOrEof() == -1) {
+                return JsonToken.END_DOCUMENT;
+            }
+            throw syntaxError("Unexpected data after the end of document");
+        }
+
+        int c = nextNonWhitespace();
+        switch (c) {
+            case ']':
+                if (top == EMPTY_ARRAY) {
+                    return JsonToken.END_ARRAY;
+                }
+                throw syntaxError("Unexpected ']'");
+            case '{':
+                return JsonToken.BEGIN_OBJECT;
+            case '[':
+                return JsonToken.BEGIN_ARRAY;
+            case '"':
+                return JsonToken.STRING;
+            case 't':
+                expectLiteral("rue");
+                peekedBoolean = true;
+                return JsonToken.BOOLEAN;
+            case 'f':
+                expectLiteral("alse");
+                peekedBoolean = false;
+                return JsonToken.BOOLEAN;
+            case 'n':
+                expectLiteral("ull");
+                return JsonToken.NULL;
+            default:
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    readNumber((char) c);
+                    return JsonToken.NUMBER;
+                }
+                throw syntaxError("Unexpected character '" + (char) c + "'");
+        }
+    }
+
+    private void readNumber(char first) throws IOException {
+        numberLength = 0;
+        appendNumber(first);
+        while (true) {
+            if (position == limit && !fill()) {
+                break;
+            }
+            char c = buffer[position];
+            if ((c >= '0' && c <= '9') || c == '.' || c == 'e' || c == 'E' || c == '+' || c == '-') {
+                appendNumber(c);
+                position++;
+            } else {
+                break;
+            }
+        }
+        if (!isValidNumber()) {
+            throw syntaxError("Malformed number \"" + new String(number, 0, numberLength) + "\"");
+        }
+    }
+
+    /**
+     * Проверяет прочитанный текст числа по грамматике RFC 8259:
+     * {@code -? (0 | [1-9][0-9]*) (.[0-9]+)? ([eE][+-]?[0-9]+)?}.
+     */
+    private boolean isValidNumber() {
+        int i = 0;
+        if (number[i] == '-') {
+            i++;
+        }
+        if (i == numberLength) {
+            return false;
+        }
+        if (number[i] == '0') {
+            i++;
+        } else {
+            int start = i;
+            i = skipDigits(i);
+            if (i == start) {
+                return false;
+            }
+        }
+        if (i < numberLength && number[i] == '.') {
+            int start = ++i;
+            i = skipDigits(i);
+            if (i == start) {
+                return false;
+            }
+        }
+        if (i < numberLength && (number[i] == 'e' || number[i] == 'E')) {
+            i++;
+            if (i < numberLength && (number[i] == '+' || number[i] == '-')) {
+                i++;
+            }
+            int start = i;
+            i = skipDigits(i);
+            if (i == start) {
+                return false;
+            }
+        }
+        return i == numberLength;
+    }
+
+    private int skipDigits(int i) {
+        while (i < numberLength && number[i] >= '0' && number[i] <= '9') {
+            i++;
+        }
+        return i;
+    }
+
+    private void appendNumber(char c) {
+        if (numberLength == number.length) {
+            number = Arrays.copyOf(number, number.length * 2);
+        }
+        number[numberLength++] = c;
+    }
+
+    /**
+     * Разбирает длинное целое, а также запись с дробной частью или
+     * экспонентой ({@code 1e3}, {@code 2.0}). Вычисление идёт точно, через
+     * {@link BigDecimal}: приведение {@code double} к {@code long} молча
+     * упёрлось бы в границы диапазона.
+     */
+    private long parseLongSlow() {
+        String text = new String(number, 0, numberLength);
+        try {
+            return Long.parseLong(text);
+        } catch (NumberFormatException e) {
+            try {
+                return new BigDecimal(text).longValueExact();
+            } catch (ArithmeticException | NumberFormatException notLong) {
+                throw syntaxError("Expected a long but was " + text);
+            }
+        }
+    }
+
+    /**
+     * Разбирает число, превращая {@link NumberFormatException} в
+     * {@link JsonParseException} с позицией в документе.
+     */
+    private double parseDouble(String text, String message) {
+        try {
+            return Double.parseDouble(text);
+        } catch (NumberFormatException e) {
+            throw syntaxError(message + text + "\"");
+        }
+    }
+
+    /**
+     * Читает строку после открывающей кавычки до закрывающей. Управляющие
+     * символы (ниже {@code 0x20}) допускаются только экранированными.
+     */
+    private String readString() throws IOException {
+        // Быстрый путь: строка без экранирования целиком в буфере
+        for (int i = position; i < limit; i++) {
+            char c = buffer[i];
+            if (c == '"') {
+                String result = new String(buffer, position, i - position);
+                position = i + 1;
+                return result;
+            }
+            if (c == '\\' || c < ' ') {
+                break;
+            }
+        }
+
+        scratch.setLength(0);
+        while (true) {
+            int start = position;
+            while (position < limit) {
+                char c = buffer[position++];
+                if (c == '"') {
+                    scratch.append(buffer, start, position - 1 - start);
+                    return scratch.toString();
+                }
+                if (c == '\\') {
+                    scratch.append(buffer, start, position - 1 - start);
+                    scratch.append(readEscape());
+                    start = position;
+                } else if (c < ' ') {
+                    position--;
+                    throw syntaxError("Unescaped control character in string");
+                }
+            }
+            scratch.append(buffer, start, position - start);
+            if (!fill()) {
+                throw syntaxError("Unterminated string");
+            }
+        }
+    }
+
+    private char readEscape() throws IOException {
+        char c = nextChar();
+        switch (c) {
+            case '"':
+            case '\\':
+            case '/':
+                return c;
+            case 'b':
+                return '\b';
+            case 'f':
+                return '\f';
+            case 'n':
+                return '\n';
+            case 'r':
+                return '\r';
+            case 't':
+                return '\t';
+            case 'u':
+                int value = 0;
+                for (int i = 0; i < 4; i++) {
+                    int digit = Character.digit(nextChar(), 16);
+                    if (digit < 0) {
+                        throw syntaxError("Malformed \\u escape");
+                    }
+                    value = (value << 4) | digit;
+                }
+                return (char) value;
+            default:
+                throw syntaxError("Invalid escape sequence: \\" + c);
+        }
+    }
+
+    private void expectLiteral(String rest) throws IOException {
+        for (int i = 0; i < rest.length(); i++) {
+            if (nextChar() != rest.charAt(i)) {
+                throw syntaxError("Invalid literal");
+            }
+        }
+    }
+
+    private char nextChar() throws IOException {
+        if (position == limit && !fill()) {
+            throw syntaxError("Unexpected end of document");
+        }
+        return buffer[position++];
+    }
+
+    private int nextNonWhitespace() throws IOException {
+        int c = nextNonWhitespaceOrEof();
+        if (c == -1) {
+            throw syntaxError("Unexpected end of document");
+        }
+        return c;
+    }
+
+    private int nextNonWhitespaceOrEof() throws IOException {
+        while (true) {
+            if (position == limit && !fill()) {
+                return -1;
+            }
+            char c = buffer[position++];
+            if (c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+                return c;
+            }
+        }
+    }
+
+    /**
+     * Загружает следующую порцию источника в буфер. Уже разобранные
+     * данные отбрасываются: токены, пересекающие границу, накапливаются
+     * вызывающим кодом.
+     */
+    private boolean fill() throws IOException {
+        if (in == null) {
+            return false;
+        }
+        bufferOffset += limit;
+        position = 0;
+        limit = 0;
+        int read = in.read(buffer, 0, buffer.length);
+        if (read <= 0) {
+            return false;
+        }
+        limit = read;
+        return true;
+    }
+
+    private void expect(JsonToken expected) throws IOException {
+        JsonToken token = peek();
+        if (token != expected) {
+            throw unexpected(expected, token);
+        }
+        peeked = null;
+    }
+
+    private void push(int scope) {
+        if (stackSize > MAX_DEPTH) {
+            throw syntaxError("Nesting deeper than " + MAX_DEPTH);
+        }
+        if (stackSize == stack.length) {
+            stack = Arrays.copyOf(stack, stackSize * 2);
+        }
+        stack[stackSize++] = scope;
+    }
+
+    private JsonParseException unexpected(JsonToken expected, JsonToken actual) {
+        return syntaxError("Expected " + expected + " but was " + actual);
+    }
+
+    private JsonParseException syntaxError(String message) {
+        return new JsonParseException(message + " at offset " + (bufferOffset + position));
+    }
+}
@@ -0,0 +1,17 @@
+package com.dandaev.edu.json.deserializer;
+
+/**
+ * Виды токенов, которые отдаёт {@link JsonReader#peek()}.
+ */
+public enum JsonToken {
+    BEGIN_OBJECT,
+    END_OBJECT,
+    BEGIN_ARRAY,
+    END_ARRAY,
+    NAME,
+    STRING,
+    NUMBER,
+    BOOLEAN,
+    NULL,
+    END_DOCUMENT
+}
@@ -0,0 +1,83 @@
+package com.dandaev.edu.json.deserializer;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Подготовленный разбор JSON-документа в значение одного типа.
+ *
+ * <p>Связыватель типа находится один раз при создании, поэтому повторный
+ * разбор не обращается к кэшам {@link JsonDeserializer}. Удобен там, где
+ * тип известен заранее, — например, для тела запроса, связываемого
+ * с параметром метода-обработчика. Экземпляр неизменяем и потокобезопасен.
+ *
+ * <pre>{@code
+ * JsonValueReader reader = JsonDeserializer.readerFor(Product.class);
+ * Product product = (Product) reader.read(requestBody);
+ * }</pre>
+ */
+public final class JsonValueReader {
+
+    private final Type type;
+    private final TypeBinder binder;
+
+    JsonValueReader(Type type, TypeBinder binder) {
+        this.type = type;
+        this.binder = binder;
+    }
+
+    /**
+     * Разбирает документ в UTF-8.
+     *
+     * <p>Байты декодируются в строку средствами JDK: для ASCII-текста это
+     * векторизованное копирование, которое быстрее побайтового разбора
+     * потока.
+     *
+     * @param utf8 JSON-документ
+     * @return связанное значение
+     * @throws JsonParseException при синтаксической ошибке или несовпадении типов
+     */
+    public Object read(byte[] utf8) {
+        return readDocument(new JsonReader(new String(utf8, StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Разбирает JSON-строку.
+     *
+     * @param json JSON-документ
+     * @return связанное значение
+     * @throws JsonParseException при синтаксической ошибке или несовпадении типов
+     */
+    public Object read(String json) {
+        return readDocument(new JsonReader(json));
+    }
+
+    /**
+     * Разбирает JSON из символьного потока, читая его порциями.
+     *
+     * @param reader источник (не закрывается)
+     * @return связанное значение
+     * @throws IOException при ошибке чтения
+     */
+    public Object read(Reader reader) throws IOException {
+        return JsonDeserializer.readDocument(new JsonReader(reader), binder);
+    }
+
+    /**
+     * @return тип, в который разбираются документы
+     */
+    public Type getType() {
+        return type;
+    }
+
+    private Object readDocument(JsonReader reader) {
+        try {
+            return JsonDeserializer.readDocument(reader, binder);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e); // не возникает при чтении из памяти
+        }
+    }
+}
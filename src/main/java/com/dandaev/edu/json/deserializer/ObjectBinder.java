@@ -0,0 +1,179 @@
+package com.dandaev.edu.json.deserializer;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import com.dandaev.edu.annotations.jsonparser.JsonDate;
+import com.dandaev.edu.annotations.jsonparser.JsonField;
+import com.dandaev.edu.json.serializer.JsonDateFormat;
+
+/**
+ * «План связывания» класса, помеченного
+ * {@link com.dandaev.edu.annotations.jsonparser.JsonSerializable}.
+ *
+ * <p>Зеркально плану сериализации: имена свойств берутся из {@link JsonField},
+ * поля с {@code ignore = true} пропускаются, для дат используется шаблон
+ * из {@link JsonDate}. Конструктор и сеттеры полей подготавливаются один раз
+ * в виде {@link MethodHandle}.
+ *
+ * <p>Свойства разрешаются лениво при первом чтении, поэтому классы,
+ * ссылающиеся сами на себя (прямо или через коллекции), не приводят
+ * к бесконечной рекурсии при построении плана.
+ */
+final class ObjectBinder implements TypeBinder {
+
+    private final Class<?> type;
+
+    /** Подготовленное состояние; строится при первом чтении. */
+    private volatile Plan plan;
+
+    ObjectBinder(Class<?> type) {
+        this.type = type;
+    }
+
+    @Override
+    public Object read(JsonReader in) throws IOException {
+        if (in.peek() == JsonToken.NULL) {
+            in.nextNull();
+            return null;
+        }
+
+        Plan current = plan();
+        Object target = current.newInstance();
+
+        in.beginObject();
+        while (in.hasNext()) {
+            Property property = current.properties.get(in.nextName());
+            if (property == null) {
+                in.skipValue(); // неизвестные и игнорируемые свойства
+            } else {
+                property.read(in, target);
+            }
+        }
+        in.endObject();
+        return target;
+    }
+
+    private Plan plan() {
+        Plan current = plan;
+        if (current == null) {
+            // Построение идемпотентно, поэтому гонка безопасна
+            current = new Plan(type);
+            plan = current;
+        }
+        return current;
+    }
+
+    /**
+     * Конструктор и свойства класса.
+     */
+    private static final class Plan {
+        private final Class<?> type;
+        private final MethodHandle constructor;
+        private final Map<String, Property> properties = new HashMap<>();
+
+        Plan(Class<?> type) {
+            this.type = type;
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+                this.constructor = createConstructor(type, lookup);
+
+                for (Field field : type.getDeclaredFields()) {
+                    JsonField annotation = field.getAnnotation(JsonField.class);
+                    if (annotation == null || annotation.ignore() || Modifier.isStatic(field.getModifiers())) {
+                        continue;
+                    }
+                    String name = annotation.name().isEmpty() ? field.getName() : annotation.name();
+                    properties.put(name, new Property(field, lookup));
+                }
+            } catch (IllegalAccessException e) {
+                throw new JsonParseException("Cannot access " + type.getName(), e);
+            }
+        }
+
+        private static MethodHandle createConstructor(Class<?> type, MethodHandles.Lookup lookup)
+                throws IllegalAccessException {
+            if (Modifier.isAbstract(type.getModifiers())) {
+                return null;
+            }
+            try {
+                Constructor<?> constructor = type.getDeclaredConstructor();
+                return lookup.unreflectConstructor(constructor).asType(MethodType.methodType(Object.class));
+            } catch (NoSuchMethodException e) {
+                return null;
+            }
+        }
+
+        Object newInstance() {
+            if (constructor == null) {
+                throw new JsonParseException("Class has no no-arg constructor: " + type.getName());
+            }
+            try {
+                return (Object) constructor.invokeExact();
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new JsonParseException("Cannot instantiate " + type.getName(), e);
+            }
+        }
+    }
+
+    /**
+     * Одно связываемое поле.
+     */
+    private static final class Property {
+        private final Field field;
+        private final TypeBinder binder;
+
+        /** Сеттер {@code (Object, Object)void}; {@code null} для final-полей. */
+        private final MethodHandle setter;
+
+        Property(Field field, MethodHandles.Lookup lookup) throws IllegalAccessException {
+            this.field = field;
+
+            JsonDate dateAnnotation = field.getAnnotation(JsonDate.class);
+            if (dateAnnotation != null
+                    && (Date.class.isAssignableFrom(field.getType()) || field.getType() == Object.class)) {
+                this.binder = JsonDeserializer.dateBinder(JsonDateFormat.of(dateAnnotation.pattern()));
+            } else {
+                this.binder = JsonDeserializer.binderFor(field.getGenericType());
+            }
+
+            if (Modifier.isFinal(field.getModifiers())) {
+                field.setAccessible(true);
+                this.setter = null;
+            } else {
+                this.setter = lookup.unreflectSetter(field)
+                        .asType(MethodType.methodType(void.class, Object.class, Object.class));
+            }
+        }
+
+        void read(JsonReader in, Object target) throws IOException {
+            Object value = binder.read(in);
+            if (value == null && field.getType().isPrimitive()) {
+                return; // null для примитива — оставляем значение по умолчанию
+            }
+            try {
+                if (setter != null) {
+                    setter.invokeExact(target, value);
+                } else {
+                    field.set(target, value);
+                }
+            } catch (ClassCastException e) {
+                throw new JsonParseException("Cannot assign value to field " + field.getName(), e);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw new JsonParseException("Cannot set field " + field.getName(), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.dandaev.edu.json.deserializer;
+
+import java.io.IOException;
+
+/**
+ * Связыватель значения определённого типа: читает следующее значение
+ * из {@link JsonReader} и превращает его в объект Java.
+ *
+ * <p>Связыватели строятся один раз на тип и кэшируются
+ * в {@link JsonDeserializer}.
+ */
+@FunctionalInterface
+interface TypeBinder {
+
+    /**
+     * Читает следующее значение.
+     *
+     * @param in источник токенов
+     * @return прочитанное значение (может быть {@code null} для JSON {@code null})
+     * @throws IOException при ошибке чтения источника
+     */
+    Object read(JsonReader in) throws IOException;
+}
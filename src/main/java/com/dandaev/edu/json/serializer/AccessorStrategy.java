@@ -0,0 +1,52 @@
+package com.dandaev.edu.json.serializer;
+
+/**
+ * Способ чтения значений полей, помеченных
+ * {@link com.dandaev.edu.annotations.jsonparser.JsonField}.
+ *
+ * <p>Каждая стратегия хранит собственный кэш {@link SerializationPlan},
+ * поэтому переключение стратегии через
+ * {@link JsonSerializer#setAccessorStrategy(AccessorStrategy)} не требует
+ * сброса кэшей и позволяет сравнивать подходы бок о бок.
+ */
+public enum AccessorStrategy {
+
+    /** Классическая рефлексия: {@code Field.get}/{@code Field.getInt} и т.д. */
+    REFLECTION,
+
+    /**
+     * Геттеры на {@link java.lang.invoke.MethodHandle}, построенные один раз
+     * на поле. Для полей {@code int}/{@code long}/{@code double}/{@code boolean}
+     * значение пишется в вывод без упаковки в объект-обёртку.
+     */
+    METHOD_HANDLE,
+
+    /**
+     * Сгенерированные на этапе компиляции {@link JsonObjectWriter}: поля
+     * читаются напрямую, {@code private} — через {@code static final
+     * VarHandle} (в отличие от {@code Field.get} в {@link #REFLECTION} и
+     * {@link java.lang.invoke.MethodHandle} в поле аксессора в
+     * {@link #METHOD_HANDLE}), геттеры не вызываются. Если writer для
+     * класса не был сгенерирован, используется план на
+     * {@link java.lang.invoke.MethodHandle}, как в {@link #METHOD_HANDLE}.
+     */
+    GENERATED;
+
+    /** Планы сериализации, построенные с использованием данной стратегии. */
+    private final ClassValue<SerializationPlan> plans = new ClassValue<>() {
+        @Override
+        protected SerializationPlan computeValue(Class<?> type) {
+            return new SerializationPlan(type, AccessorStrategy.this);
+        }
+    };
+
+    /**
+     * Возвращает (при необходимости строит) план для класса.
+     *
+     * @param clazz класс сериализуемого объекта
+     * @return кэшированный план
+     */
+    SerializationPlan planFor(Class<?> clazz) {
+        return plans.get(clazz);
+    }
+}
@@ -0,0 +1,124 @@
+package com.dandaev.edu.json.serializer;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Общий пул буферов для {@link CharJsonWriter} и {@link Utf8JsonWriter}.
+ *
+ * <p>Пул не привязан к потокам: это небольшой массив слотов, из которых
+ * буферы забираются и в которые возвращаются операциями CAS, без блокировок.
+ * Поэтому он одинаково работает и с платформенными, и с виртуальными
+ * потоками — в отличие от {@link ThreadLocal}, который при миллионе
+ * виртуальных потоков держал бы миллион буферов.
+ *
+ * <p>Буферы больше {@link #MAX_POOLED_CAPACITY} в пул не возвращаются,
+ * поэтому один огромный документ не удерживает память после сериализации.
+ * Если свободного слота нет, буфер просто отдаётся сборщику мусора.
+ */
+final class BufferPool {
+
+    /** Наибольший размер буфера (в элементах), который возвращается в пул. */
+    static final int MAX_POOLED_CAPACITY = 1 << 16;
+
+    /** Наименьший размер выделяемого буфера. */
+    static final int MIN_CAPACITY = 256;
+
+    private static final int SLOTS = slotCount();
+
+    private static final AtomicReferenceArray<char[]> CHARS = new AtomicReferenceArray<>(SLOTS);
+    private static final AtomicReferenceArray<byte[]> BYTES = new AtomicReferenceArray<>(SLOTS);
+
+    private BufferPool() {
+    }
+
+    /**
+     * Выдаёт символьный буфер не меньше запрошенного размера.
+     *
+     * @param capacity ожидаемый размер
+     * @return буфер из пула или новый
+     */
+    static char[] chars(int capacity) {
+        int start = startSlot();
+        for (int i = 0; i < SLOTS; i++) {
+            int slot = (start + i) & (SLOTS - 1);
+            char[] buffer = CHARS.get(slot);
+            if (buffer != null && buffer.length >= capacity && CHARS.compareAndSet(slot, buffer, null)) {
+                return buffer;
+            }
+        }
+        return new char[Math.max(capacity, MIN_CAPACITY)];
+    }
+
+    /**
+     * Выдаёт байтовый буфер не меньше запрошенного размера.
+     *
+     * @param capacity ожидаемый размер
+     * @return буфер из пула или новый
+     */
+    static byte[] bytes(int capacity) {
+        int start = startSlot();
+        for (int i = 0; i < SLOTS; i++) {
+            int slot = (start + i) & (SLOTS - 1);
+            byte[] buffer = BYTES.get(slot);
+            if (buffer != null && buffer.length >= capacity && BYTES.compareAndSet(slot, buffer, null)) {
+                return buffer;
+            }
+        }
+        return new byte[Math.max(capacity, MIN_CAPACITY)];
+    }
+
+    /**
+     * Возвращает символьный буфер в пул: в свободный слот или на место
+     * буфера меньшего размера.
+     *
+     * @param buffer буфер, который больше не используется
+     */
+    static void release(char[] buffer) {
+        if (buffer.length > MAX_POOLED_CAPACITY) {
+            return;
+        }
+        int start = startSlot();
+        for (int i = 0; i < SLOTS; i++) {
+            int slot = (start + i) & (SLOTS - 1);
+            char[] current = CHARS.get(slot);
+            if ((current == null || current.length < buffer.length) && CHARS.compareAndSet(slot, current, buffer)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Возвращает байтовый буфер в пул: в свободный слот или на место
+     * буфера меньшего размера.
+     *
+     * @param buffer буфер, который больше не используется
+     */
+    static void release(byte[] buffer) {
+        if (buffer.length > MAX_POOLED_CAPACITY) {
+            return;
+        }
+        int start = startSlot();
+        for (int i = 0; i < SLOTS; i++) {
+            int slot = (start + i) & (SLOTS - 1);
+            byte[] current = BYTES.get(slot);
+            if ((current == null || current.length < buffer.length) && BYTES.compareAndSet(slot, current, buffer)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Разносит потоки по разным слотам, чтобы уменьшить конкуренцию за CAS.
+     */
+    private static int startSlot() {
+        return (int) Thread.currentThread().threadId() & (SLOTS - 1);
+    }
+
+    /**
+     * @return число слотов: степень двойки, не меньше удвоенного числа ядер
+     */
+    private static int slotCount() {
+        int target = Math.max(8, Runtime.getRuntime().availableProcessors() * 2);
+        return Integer.highestOneBit(target - 1) << 1;
+    }
+}
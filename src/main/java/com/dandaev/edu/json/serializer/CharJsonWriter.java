@@ -0,0 +1,228 @@
+package com.dandaev.edu.json.serializer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.CharBuffer;
+import java.util.Arrays;
+
+/**
+ * Символьная реализация {@link JsonWriter} поверх {@code char[]}-буфера.
+ *
+ * <p>Работает в двух режимах:
+ * <ul>
+ *   <li>без приёмника — буфер растёт, результат забирается через {@link #toString()};</li>
+ *   <li>с приёмником ({@link Appendable}/{@link Writer}) — буфер фиксированного
+ *       размера сбрасывается в приёмник по мере заполнения, поэтому весь
+ *       документ целиком в памяти не держится.</li>
+ * </ul>
+ *
+ * <p>Буферы берутся из {@link BufferPool} и возвращаются туда через
+ * {@link #release()}; после этого writer использовать нельзя.
+ */
+final class CharJsonWriter extends JsonWriter {
+
+    /** Размер буфера при записи в приёмник. */
+    static final int DEFAULT_CAPACITY = 8192;
+
+    /** Внешний приёмник или {@code null} для режима «в память». */
+    private final Appendable sink;
+
+    private char[] buffer;
+    private int position;
+
+    /**
+     * Создаёт writer, накапливающий весь вывод в памяти.
+     */
+    CharJsonWriter() {
+        this(BufferPool.MIN_CAPACITY);
+    }
+
+    /**
+     * Создаёт writer, накапливающий весь вывод в памяти,
+     * с буфером из {@link BufferPool} не меньше ожидаемого размера.
+     *
+     * @param expectedSize ожидаемая длина вывода
+     */
+    CharJsonWriter(int expectedSize) {
+        this(null, BufferPool.chars(expectedSize));
+    }
+
+    /**
+     * Создаёт writer, сбрасывающий вывод в приёмник.
+     *
+     * @param sink приёмник вывода
+     */
+    CharJsonWriter(Appendable sink) {
+        this(sink, BufferPool.chars(DEFAULT_CAPACITY));
+    }
+
+    private CharJsonWriter(Appendable sink, char[] buffer) {
+        this.sink = sink;
+        this.buffer = buffer;
+    }
+
+    @Override
+    public JsonWriter write(char c) {
+        if (position == buffer.length) {
+            makeRoom(1);
+        }
+        buffer[position++] = c;
+        return this;
+    }
+
+    @Override
+    public JsonWriter write(String raw, int from, int to) {
+        int offset = from;
+
+        while (offset < to) {
+            if (position == buffer.length) {
+                makeRoom(to - offset);
+            }
+            int chunk = Math.min(to - offset, buffer.length - position);
+            raw.getChars(offset, offset + chunk, buffer, position);
+            position += chunk;
+            offset += chunk;
+        }
+        return this;
+    }
+
+    @Override
+    public JsonWriter writeInt(int value) {
+        return writeLong(value);
+    }
+
+    @Override
+    public JsonWriter writeLong(long value) {
+        // 20 символов достаточно для Long.MIN_VALUE вместе со знаком
+        if (buffer.length - position < 20) {
+            makeRoom(20);
+        }
+
+        if (value == Long.MIN_VALUE) {
+            return write("-9223372036854775808");
+        }
+        if (value < 0) {
+            buffer[position++] = '-';
+            value = -value;
+        }
+
+        int digits = 1;
+        for (long rest = value / 10; rest != 0; rest /= 10) {
+            digits++;
+        }
+
+        int end = position + digits;
+        for (int i = end - 1; i >= position; i--) {
+            buffer[i] = (char) ('0' + (value % 10));
+            value /= 10;
+        }
+        position = end;
+        return this;
+    }
+
+    @Override
+    void flush() {
+        if (sink == null || position == 0) {
+            return;
+        }
+        try {
+            if (sink instanceof Writer writer) {
+                writer.write(buffer, 0, position);
+            } else if (sink instanceof StringBuilder builder) {
+                builder.append(buffer, 0, position);
+            } else {
+                sink.append(CharBuffer.wrap(buffer, 0, position));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        position = 0;
+    }
+
+    @Override
+    JsonWriter newChunkWriter() {
+        return new CharJsonWriter();
+    }
+
+    @Override
+    void reset() {
+        position = 0;
+    }
+
+    @Override
+    int size() {
+        return position;
+    }
+
+    @Override
+    int capacity() {
+        return buffer.length;
+    }
+
+    @Override
+    void release() {
+        if (buffer != null) {
+            BufferPool.release(buffer);
+            buffer = null;
+        }
+    }
+
+    @Override
+    void append(JsonWriter chunk) {
+        CharJsonWriter source = (CharJsonWriter) chunk;
+        writeChars(source.buffer, 0, source.position);
+    }
+
+    @Override
+    void writeFragment(JsonFragment fragment) {
+        write(fragment.chars());
+    }
+
+    @Override
+    void captureFragment(JsonFragment fragment) {
+        fragment.setChars(toString());
+    }
+
+    /**
+     * Копирует участок массива в буфер, освобождая место по мере необходимости.
+     */
+    private void writeChars(char[] source, int from, int to) {
+        int offset = from;
+
+        while (offset < to) {
+            if (position == buffer.length) {
+                makeRoom(to - offset);
+            }
+            int count = Math.min(to - offset, buffer.length - position);
+            System.arraycopy(source, offset, buffer, position, count);
+            position += count;
+            offset += count;
+        }
+    }
+
+    /**
+     * Освобождает место в буфере: сбрасывает его в приёмник,
+     * а в режиме «в память» — увеличивает.
+     *
+     * @param needed сколько символов требуется записать
+     */
+    private void makeRoom(int needed) {
+        if (sink != null) {
+            flush();
+            return;
+        }
+        int capacity = Math.max(buffer.length * 2, position + needed);
+        char[] previous = buffer;
+        buffer = Arrays.copyOf(previous, capacity);
+        BufferPool.release(previous);
+    }
+
+    /**
+     * @return накопленный (ещё не сброшенный) вывод
+     */
+    @Override
+    public String toString() {
+        return new String(buffer, 0, position);
+    }
+}
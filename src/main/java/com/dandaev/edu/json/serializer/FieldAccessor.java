@@ -0,0 +1,170 @@
+package com.dandaev.edu.json.serializer;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+
+/**
+ * Доступ к значению одного сериализуемого поля.
+ *
+ * <p>Реализация выбирается по {@link AccessorStrategy}. Для полей типов
+ * {@code int}, {@code long}, {@code double} и {@code boolean} аксессор
+ * умеет писать значение прямо в вывод через {@link #writePrimitive},
+ * минуя упаковку в {@link Integer}/{@link Long}/{@link Double}/{@link Boolean}.
+ */
+abstract class FieldAccessor {
+
+    /** Специализации для примитивных полей. */
+    enum Kind {
+        OBJECT, INT, LONG, DOUBLE, BOOLEAN
+    }
+
+    /** Вид значения, которое отдаёт аксессор. */
+    final Kind kind;
+
+    private FieldAccessor(Kind kind) {
+        this.kind = kind;
+    }
+
+    /**
+     * Создаёт аксессор для поля. Поле уже должно быть доступно
+     * ({@code setAccessible(true)}).
+     *
+     * @param field    поле
+     * @param strategy стратегия доступа
+     * @return аксессор
+     */
+    static FieldAccessor of(Field field, AccessorStrategy strategy) {
+        Kind kind = kindOf(field.getType());
+        switch (strategy) {
+            case METHOD_HANDLE:
+            case GENERATED:
+                return new HandleAccessor(field, kind);
+            case REFLECTION:
+            default:
+                return new ReflectionAccessor(field, kind);
+        }
+    }
+
+    private static Kind kindOf(Class<?> type) {
+        if (type == int.class)
+            return Kind.INT;
+        if (type == long.class)
+            return Kind.LONG;
+        if (type == double.class)
+            return Kind.DOUBLE;
+        if (type == boolean.class)
+            return Kind.BOOLEAN;
+        return Kind.OBJECT;
+    }
+
+    /**
+     * @return {@code true}, если значение пишется через {@link #writePrimitive}
+     */
+    final boolean isPrimitive() {
+        return kind != Kind.OBJECT;
+    }
+
+    /**
+     * Читает значение поля (примитивы возвращаются упакованными).
+     *
+     * @param target объект-владелец поля
+     * @return значение поля
+     * @throws IllegalAccessException если доступ к полю запрещён
+     */
+    abstract Object get(Object target) throws IllegalAccessException;
+
+    /**
+     * Дописывает значение примитивного поля в вывод без промежуточной упаковки.
+     *
+     * @param target объект-владелец поля
+     * @param out    приёмник вывода
+     * @throws IllegalAccessException если доступ к полю запрещён
+     */
+    abstract void writePrimitive(Object target, JsonWriter out) throws IllegalAccessException;
+
+    /**
+     * Аксессор на основе {@link Field}. Для примитивов используются
+     * {@code getInt}/{@code getLong}/..., которые не упаковывают значение.
+     */
+    private static final class ReflectionAccessor extends FieldAccessor {
+        private final Field field;
+
+        ReflectionAccessor(Field field, Kind kind) {
+            super(kind);
+            this.field = field;
+        }
+
+        @Override
+        Object get(Object target) throws IllegalAccessException {
+            return field.get(target);
+        }
+
+        @Override
+        void writePrimitive(Object target, JsonWriter out) throws IllegalAccessException {
+            switch (kind) {
+                case INT -> out.writeInt(field.getInt(target));
+                case LONG -> out.writeLong(field.getLong(target));
+                case DOUBLE -> out.writeDouble(field.getDouble(target));
+                case BOOLEAN -> out.writeBoolean(field.getBoolean(target));
+                default -> throw new IllegalStateException("Not a primitive field: " + field);
+            }
+        }
+    }
+
+    /**
+     * Аксессор на основе {@link MethodHandle}-геттера, приведённого к типу
+     * {@code (Object) -> T}, где {@code T} — точный примитивный тип поля
+     * либо {@link Object}. Вызов через {@code invokeExact} не проходит
+     * проверки доступа рефлексии.
+     */
+    private static final class HandleAccessor extends FieldAccessor {
+        private final MethodHandle getter;
+
+        HandleAccessor(Field field, Kind kind) {
+            super(kind);
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(field.getDeclaringClass(),
+                        MethodHandles.lookup());
+                Class<?> returnType = kind == Kind.OBJECT ? Object.class : field.getType();
+                this.getter = lookup.unreflectGetter(field)
+                        .asType(MethodType.methodType(returnType, Object.class));
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException("Cannot create getter for field: " + field, e);
+            }
+        }
+
+        @Override
+        Object get(Object target) {
+            try {
+                return (Object) getter.invokeExact(target);
+            } catch (Throwable e) {
+                throw rethrow(e);
+            }
+        }
+
+        @Override
+        void writePrimitive(Object target, JsonWriter out) {
+            try {
+                switch (kind) {
+                    case INT -> out.writeInt((int) getter.invokeExact(target));
+                    case LONG -> out.writeLong((long) getter.invokeExact(target));
+                    case DOUBLE -> out.writeDouble((double) getter.invokeExact(target));
+                    case BOOLEAN -> out.writeBoolean((boolean) getter.invokeExact(target));
+                    default -> throw new IllegalStateException("Not a primitive accessor");
+                }
+            } catch (Throwable e) {
+                throw rethrow(e);
+            }
+        }
+
+        private static RuntimeException rethrow(Throwable e) {
+            if (e instanceof RuntimeException runtime)
+                return runtime;
+            if (e instanceof Error error)
+                throw error;
+            return new IllegalStateException(e);
+        }
+    }
+}
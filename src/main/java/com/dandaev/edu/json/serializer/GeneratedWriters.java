@@ -0,0 +1,58 @@
+package com.dandaev.edu.json.serializer;
+
+import java.lang.reflect.InvocationTargetException;
+
+/**
+ * Реестр сгенерированных {@link JsonObjectWriter}.
+ *
+ * <p>Writer для класса {@code com.example.Product} ищется по соглашению
+ * об именах {@code com.example.ProductJsonWriter} в загрузчике исходного
+ * класса. Поиск выполняется один раз на класс, результат (в том числе
+ * отсутствие writer'а) кэшируется в {@link ClassValue}.
+ */
+final class GeneratedWriters {
+
+    /** Суффикс имени сгенерированного класса. */
+    static final String SUFFIX = "JsonWriter";
+
+    /** Маркер «writer не найден», чтобы не искать класс повторно. */
+    private static final JsonObjectWriter<Object> MISSING = (value, out) -> {
+        throw new IllegalStateException("No generated writer");
+    };
+
+    private static final ClassValue<JsonObjectWriter<Object>> WRITERS = new ClassValue<>() {
+        @Override
+        protected JsonObjectWriter<Object> computeValue(Class<?> type) {
+            return load(type);
+        }
+    };
+
+    private GeneratedWriters() {
+    }
+
+    /**
+     * Возвращает сгенерированный writer для класса.
+     *
+     * @param clazz класс сериализуемого объекта
+     * @return writer или {@code null}, если он не был сгенерирован
+     */
+    static JsonObjectWriter<Object> find(Class<?> clazz) {
+        JsonObjectWriter<Object> writer = WRITERS.get(clazz);
+        return writer != MISSING ? writer : null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static JsonObjectWriter<Object> load(Class<?> type) {
+        try {
+            Class<?> writerClass = Class.forName(type.getName() + SUFFIX, true, type.getClassLoader());
+            if (!JsonObjectWriter.class.isAssignableFrom(writerClass)) {
+                return MISSING;
+            }
+            return (JsonObjectWriter<Object>) writerClass.getDeclaredConstructor().newInstance();
+        } catch (ClassNotFoundException | NoSuchMethodException e) {
+            return MISSING;
+        } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
+            throw new IllegalStateException("Cannot instantiate generated writer for " + type.getName(), e);
+        }
+    }
+}
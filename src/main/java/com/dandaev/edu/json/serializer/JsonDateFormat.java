@@ -0,0 +1,216 @@
+package com.dandaev.edu.json.serializer;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalQueries;
+import java.time.zone.ZoneRules;
+import java.util.Date;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Скомпилированный формат даты для {@link com.dandaev.edu.annotations.jsonparser.JsonDate}.
+ *
+ * <p>Раньше на каждое значение создавался новый {@link java.text.SimpleDateFormat}
+ * с разбором шаблона и выделением календарей. Теперь каждый шаблон один раз
+ * компилируется в неизменяемый потокобезопасный {@link DateTimeFormatter},
+ * и экземпляры кэшируются по шаблону и разделяются между потоками.
+ *
+ * <p>Для распространённых ISO-подобных шаблонов
+ * ({@code yyyy-MM-dd}, {@code yyyy-MM-dd HH:mm:ss}, {@code yyyy-MM-dd'T'HH:mm:ss}
+ * и их вариантов с {@code .SSS}) есть быстрый путь: поля даты вычисляются
+ * прямо из миллисекунд эпохи и пишутся цифрами в буфер вывода без
+ * промежуточной строки.
+ *
+ * <p>Экземпляры используются и планами сериализации, и сгенерированными
+ * {@link JsonObjectWriter}, а также десериализатором для обратного разбора.
+ *
+ * <p>Шаблон понимается в синтаксисе {@link DateTimeFormatter}; отличия от
+ * {@code SimpleDateFormat} перечислены в описании
+ * {@link com.dandaev.edu.annotations.jsonparser.JsonDate}.
+ *
+ * <p>Часовой пояс фиксируется при компиляции шаблона
+ * ({@link ZoneId#systemDefault()}), как это делал {@code SimpleDateFormat}
+ * при создании.
+ */
+public final class JsonDateFormat {
+
+    /** Шаблон, используемый при отсутствии {@code @JsonDate}. */
+    public static final String DEFAULT_PATTERN = "yyyy-MM-dd HH:mm:ss";
+
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+
+    /** Кэш скомпилированных форматов по шаблону. */
+    private static final Map<String, JsonDateFormat> CACHE = new ConcurrentHashMap<>();
+
+    /** Разновидности шаблонов с быстрым путём форматирования. */
+    private enum FastPath {
+        NONE, DATE, DATE_TIME, DATE_TIME_MILLIS
+    }
+
+    private final String pattern;
+    private final DateTimeFormatter formatter;
+    private final ZoneId zone;
+    private final ZoneRules rules;
+    private final FastPath fastPath;
+
+    /** Разделитель даты и времени для быстрого пути ({@code ' '} или {@code 'T'}). */
+    private final char dateTimeSeparator;
+
+    private JsonDateFormat(String pattern) {
+        ZoneId zone = ZoneId.systemDefault();
+        this.pattern = pattern;
+        this.formatter = DateTimeFormatter.ofPattern(pattern, Locale.getDefault(Locale.Category.FORMAT))
+                .withZone(zone);
+        this.zone = zone;
+        this.rules = zone.getRules();
+
+        switch (pattern) {
+            case "yyyy-MM-dd" -> {
+                this.fastPath = FastPath.DATE;
+                this.dateTimeSeparator = ' ';
+            }
+            case "yyyy-MM-dd HH:mm:ss", "yyyy-MM-dd'T'HH:mm:ss" -> {
+                this.fastPath = FastPath.DATE_TIME;
+                this.dateTimeSeparator = pattern.charAt(10) == ' ' ? ' ' : 'T';
+            }
+            case "yyyy-MM-dd HH:mm:ss.SSS", "yyyy-MM-dd'T'HH:mm:ss.SSS" -> {
+                this.fastPath = FastPath.DATE_TIME_MILLIS;
+                this.dateTimeSeparator = pattern.charAt(10) == ' ' ? ' ' : 'T';
+            }
+            default -> {
+                this.fastPath = FastPath.NONE;
+                this.dateTimeSeparator = ' ';
+            }
+        }
+    }
+
+    /**
+     * Возвращает скомпилированный формат для шаблона.
+     *
+     * @param pattern шаблон даты (синтаксис {@link DateTimeFormatter})
+     * @return кэшированный формат
+     * @throws IllegalArgumentException если шаблон некорректен
+     */
+    public static JsonDateFormat of(String pattern) {
+        JsonDateFormat format = CACHE.get(pattern);
+        return format != null ? format : CACHE.computeIfAbsent(pattern, JsonDateFormat::new);
+    }
+
+    /**
+     * Разбирает строку, записанную по этому шаблону, обратно в дату.
+     *
+     * <p>Если шаблон не содержит времени, используется полночь в часовом
+     * поясе формата.
+     *
+     * @param text строка с датой
+     * @return разобранная дата
+     * @throws java.time.format.DateTimeParseException если строка не соответствует шаблону
+     */
+    public Date parse(String text) {
+        TemporalAccessor parsed = formatter.parse(text);
+        if (parsed.isSupported(ChronoField.INSTANT_SECONDS)) {
+            return Date.from(Instant.from(parsed));
+        }
+
+        LocalDate date = parsed.query(TemporalQueries.localDate());
+        if (date == null) {
+            throw new DateTimeParseException("Pattern has no date fields: " + pattern, text, 0);
+        }
+        LocalTime time = parsed.query(TemporalQueries.localTime());
+        LocalDateTime dateTime = LocalDateTime.of(date, time != null ? time : LocalTime.MIDNIGHT);
+        return Date.from(dateTime.atZone(zone).toInstant());
+    }
+
+    /**
+     * Пишет дату в кавычках в приёмник вывода.
+     *
+     * @param date дата
+     * @param out  приёмник вывода
+     */
+    void writeQuoted(Date date, JsonWriter out) {
+        long epochMillis = date.getTime();
+        out.write('"');
+        if (fastPath == FastPath.NONE || !writeFast(epochMillis, out)) {
+            out.write(formatter.format(Instant.ofEpochMilli(epochMillis)));
+        }
+        out.write('"');
+    }
+
+    /**
+     * Быстрый путь: разложение миллисекунд эпохи на поля даты без объектов
+     * {@code java.time} (по алгоритму «days from civil» Говарда Хиннанта).
+     *
+     * @return {@code false}, если год вне диапазона 1..9999 и нужен общий путь
+     */
+    private boolean writeFast(long epochMillis, JsonWriter out) {
+        int offsetSeconds = rules.isFixedOffset()
+                ? rules.getOffset(Instant.EPOCH).getTotalSeconds()
+                : rules.getOffset(Instant.ofEpochMilli(epochMillis)).getTotalSeconds();
+
+        long localMillis = epochMillis + offsetSeconds * 1000L;
+        long epochDay = Math.floorDiv(localMillis, MILLIS_PER_DAY);
+        int millisOfDay = (int) Math.floorMod(localMillis, MILLIS_PER_DAY);
+
+        long z = epochDay + 719_468;
+        long era = Math.floorDiv(z, 146_097);
+        int dayOfEra = (int) (z - era * 146_097);
+        int yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int mp = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * mp + 2) / 5 + 1;
+        int month = mp < 10 ? mp + 3 : mp - 9;
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+
+        // yyyy — год эры: пролептический год 0 печатается как 0001 до н.э.
+        if (year < 1 || year > 9999) {
+            return false;
+        }
+
+        writePadded((int) year, 4, out);
+        out.write('-');
+        writePadded(month, 2, out);
+        out.write('-');
+        writePadded(day, 2, out);
+
+        if (fastPath == FastPath.DATE) {
+            return true;
+        }
+
+        int secondOfDay = millisOfDay / 1000;
+        out.write(dateTimeSeparator);
+        writePadded(secondOfDay / 3600, 2, out);
+        out.write(':');
+        writePadded(secondOfDay / 60 % 60, 2, out);
+        out.write(':');
+        writePadded(secondOfDay % 60, 2, out);
+
+        if (fastPath == FastPath.DATE_TIME_MILLIS) {
+            out.write('.');
+            writePadded(millisOfDay % 1000, 3, out);
+        }
+        return true;
+    }
+
+    private static void writePadded(int value, int width, JsonWriter out) {
+        for (int divisor = pow10(width - 1); divisor > 0; divisor /= 10) {
+            out.write((char) ('0' + value / divisor % 10));
+        }
+    }
+
+    private static int pow10(int exponent) {
+        int result = 1;
+        for (int i = 0; i < exponent; i++) {
+            result *= 10;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,104 @@
+package com.dandaev.edu.json.serializer;
+
+/**
+ * Таблица экранирования строк JSON.
+ *
+ * <p>Для символов ASCII экранирующая последовательность берётся из
+ * заранее построенной таблицы: короткие формы ({@code \"}, {@code \\},
+ * {@code \b}, {@code \f}, {@code \n}, {@code \r}, {@code \t}) и
+ * <code>&#92;u00XX</code> для остальных управляющих символов ниже {@code 0x20}.
+ * Символы вне ASCII копируются как есть, за исключением одиночных
+ * (непарных) суррогатов, которые экранируются как <code>&#92;uXXXX</code>,
+ * чтобы вывод оставался корректным и в UTF-8.
+ *
+ * <p>Строка проходится один раз: {@link #nextEscape} находит границу
+ * очередного «чистого» участка, который копируется в вывод целиком.
+ */
+final class JsonEscapes {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    /** Экранирующие последовательности для ASCII; {@code null} — символ не требует экранирования. */
+    private static final String[] ASCII = new String[128];
+
+    static {
+        for (char c = 0; c < 0x20; c++) {
+            ASCII[c] = unicodeEscape(c);
+        }
+        ASCII['"'] = "\\\"";
+        ASCII['\\'] = "\\\\";
+        ASCII['\b'] = "\\b";
+        ASCII['\f'] = "\\f";
+        ASCII['\n'] = "\\n";
+        ASCII['\r'] = "\\r";
+        ASCII['\t'] = "\\t";
+    }
+
+    private JsonEscapes() {
+    }
+
+    /**
+     * Ищет первый символ, требующий экранирования.
+     *
+     * @param value строка
+     * @param from  начальный индекс (включительно)
+     * @param to    конечный индекс (исключительно)
+     * @return индекс символа для экранирования либо {@code to}, если таких нет
+     */
+    static int nextEscape(String value, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            if (c < 128) {
+                if (ASCII[c] != null) {
+                    return i;
+                }
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < to && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    i++; // корректная суррогатная пара копируется как есть
+                    continue;
+                }
+                return i;
+            }
+        }
+        return to;
+    }
+
+    /**
+     * Возвращает экранирующую последовательность для символа,
+     * найденного {@link #nextEscape}.
+     *
+     * @param c символ
+     * @return экранирующая последовательность
+     */
+    static String escapeFor(char c) {
+        return c < 128 ? ASCII[c] : unicodeEscape(c);
+    }
+
+    /**
+     * Экранирует строку целиком. Если экранирование не требуется,
+     * возвращается исходная строка без копирования.
+     *
+     * @param value исходная строка
+     * @return безопасная для JSON строка (без кавычек)
+     */
+    static String escape(String value) {
+        int length = value.length();
+        int start = 0;
+        int next = nextEscape(value, 0, length);
+        if (next == length) {
+            return value;
+        }
+
+        StringBuilder escaped = new StringBuilder(length + 16);
+        while (next < length) {
+            escaped.append(value, start, next).append(escapeFor(value.charAt(next)));
+            start = next + 1;
+            next = nextEscape(value, start, length);
+        }
+        return escaped.append(value, start, length).toString();
+    }
+
+    private static String unicodeEscape(char c) {
+        return new String(new char[] { '\\', 'u', HEX[c >> 12 & 0xF], HEX[c >> 8 & 0xF], HEX[c >> 4 & 0xF], HEX[c & 0xF] });
+    }
+}
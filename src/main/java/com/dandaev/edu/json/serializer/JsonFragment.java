@@ -0,0 +1,56 @@
+package com.dandaev.edu.json.serializer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Готовое JSON-представление одного объекта в {@link JsonFragmentCache}.
+ *
+ * <p>Фрагмент хранится в той форме, в которой был записан (строка или
+ * байты UTF-8); другая форма вычисляется при первом обращении и тоже
+ * запоминается. Гонка при её вычислении безвредна: обе стороны получат
+ * одинаковый результат.
+ */
+final class JsonFragment {
+
+    /** Значение поля версии на момент сериализации или {@code null}. */
+    final Object version;
+
+    private volatile String chars;
+    private volatile byte[] utf8;
+
+    JsonFragment(Object version) {
+        this.version = version;
+    }
+
+    void setChars(String chars) {
+        this.chars = chars;
+    }
+
+    void setUtf8(byte[] utf8) {
+        this.utf8 = utf8;
+    }
+
+    /**
+     * @return фрагмент в виде строки
+     */
+    String chars() {
+        String result = chars;
+        if (result == null) {
+            result = new String(utf8, StandardCharsets.UTF_8);
+            chars = result;
+        }
+        return result;
+    }
+
+    /**
+     * @return фрагмент в UTF-8; массив не должен изменяться
+     */
+    byte[] utf8() {
+        byte[] result = utf8;
+        if (result == null) {
+            result = chars.getBytes(StandardCharsets.UTF_8);
+            utf8 = result;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,261 @@
+package com.dandaev.edu.json.serializer;
+
+import java.lang.reflect.Field;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.dandaev.edu.annotations.jsonparser.JsonCacheable;
+
+/**
+ * Ограниченный кэш готовых JSON-фрагментов для объектов, помеченных
+ * {@link JsonCacheable}.
+ *
+ * <p>Ключ — сам объект по ссылке ({@code ==}), а не по {@code equals}.
+ * Если в аннотации задан {@code versionField}, вместе с фрагментом
+ * запоминается значение этого поля, и фрагмент используется, только пока
+ * оно не изменилось. Вложенные кэшируемые объекты вставляются в вывод
+ * готовыми фрагментами и при промахе по родителю не сериализуются заново;
+ * поэтому версия родителя должна меняться вместе с версиями вложенных
+ * объектов.
+ *
+ * <p>Кэш разбит на сегменты с вытеснением давно не использованных записей
+ * (LRU), каждый сегмент защищён собственной блокировкой. Счётчики
+ * попаданий, промахов и вытеснений основаны на {@link LongAdder}.
+ *
+ * <pre>{@code
+ * JsonFragmentCache cache = new JsonFragmentCache(10_000);
+ * JsonSerializer.setFragmentCache(cache);
+ * ...
+ * System.out.println("hit rate: " + cache.getHitRate());
+ * }</pre>
+ */
+public final class JsonFragmentCache {
+
+    private static final int SEGMENTS = 16;
+
+    /** Поле версии для каждого кэшируемого класса (пусто, если его нет). */
+    private static final ClassValue<Optional<Field>> VERSION_FIELDS = new ClassValue<>() {
+        @Override
+        protected Optional<Field> computeValue(Class<?> type) {
+            return resolveVersionField(type);
+        }
+    };
+
+    private final Segment[] segments = new Segment[SEGMENTS];
+    private final int maxEntries;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Создаёт кэш.
+     *
+     * @param maxEntries наибольшее число фрагментов в кэше
+     */
+    public JsonFragmentCache(int maxEntries) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Max entries must be positive: " + maxEntries);
+        }
+        this.maxEntries = maxEntries;
+        int perSegment = Math.max(1, (maxEntries + SEGMENTS - 1) / SEGMENTS);
+        for (int i = 0; i < SEGMENTS; i++) {
+            segments[i] = new Segment(perSegment);
+        }
+    }
+
+    /**
+     * Пишет объект готовым фрагментом или сериализует его и кэширует результат.
+     *
+     * @param value кэшируемый объект
+     * @param out   приёмник вывода
+     * @throws IllegalAccessException если доступ к полю ограничен
+     */
+    void write(Object value, JsonWriter out) throws IllegalAccessException {
+        Object version = versionOf(value);
+        IdentityKey key = new IdentityKey(value);
+        Segment segment = segmentFor(key);
+
+        JsonFragment fragment;
+        synchronized (segment) {
+            fragment = segment.get(key);
+        }
+        if (fragment != null && Objects.equals(fragment.version, version)) {
+            hits.increment();
+            out.writeFragment(fragment);
+            return;
+        }
+        misses.increment();
+
+        JsonWriter scratch = out.fork();
+        scratch.parallelActive = out.parallelActive;
+        try {
+            JsonSerializer.serializeObject(value, scratch);
+            fragment = new JsonFragment(version);
+            scratch.captureFragment(fragment);
+        } finally {
+            scratch.release();
+        }
+
+        synchronized (segment) {
+            segment.put(key, fragment);
+        }
+        out.writeFragment(fragment);
+    }
+
+    /**
+     * Удаляет фрагмент объекта из кэша.
+     *
+     * @param value объект
+     */
+    public void invalidate(Object value) {
+        IdentityKey key = new IdentityKey(value);
+        Segment segment = segmentFor(key);
+        synchronized (segment) {
+            segment.remove(key);
+        }
+    }
+
+    /**
+     * Удаляет все фрагменты. Счётчики не сбрасываются.
+     */
+    public void clear() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    /**
+     * @return текущее число фрагментов в кэше
+     */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * @return наибольшее число фрагментов в кэше
+     */
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    /**
+     * @return число записей объектов готовым фрагментом
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return число сериализаций кэшируемых объектов, не найденных в кэше
+     *         (или найденных с устаревшей версией)
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * @return число фрагментов, вытесненных из-за ограничения размера
+     */
+    public long getEvictionCount() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return доля попаданий от {@code 0.0} до {@code 1.0}; {@code 0.0}, пока обращений не было
+     */
+    public double getHitRate() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0.0 : (double) hitCount / total;
+    }
+
+    @Override
+    public String toString() {
+        return "JsonFragmentCache[size=" + size() + ", hits=" + getHitCount()
+                + ", misses=" + getMissCount() + ", evictions=" + getEvictionCount() + "]";
+    }
+
+    private Segment segmentFor(IdentityKey key) {
+        int hash = key.hash;
+        return segments[(hash ^ (hash >>> 16)) & (SEGMENTS - 1)];
+    }
+
+    private static Object versionOf(Object value) throws IllegalAccessException {
+        Optional<Field> field = VERSION_FIELDS.get(value.getClass());
+        return field.isPresent() ? field.get().get(value) : null;
+    }
+
+    private static Optional<Field> resolveVersionField(Class<?> type) {
+        JsonCacheable annotation = type.getAnnotation(JsonCacheable.class);
+        if (annotation == null || annotation.versionField().isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            Field field = type.getDeclaredField(annotation.versionField());
+            field.setAccessible(true);
+            return Optional.of(field);
+        } catch (NoSuchFieldException e) {
+            throw new IllegalArgumentException(
+                    "Version field '" + annotation.versionField() + "' not found in " + type.getName(), e);
+        }
+    }
+
+    /**
+     * Ключ, сравнивающий объекты по ссылке.
+     */
+    private static final class IdentityKey {
+        final Object value;
+        final int hash;
+
+        IdentityKey(Object value) {
+            this.value = value;
+            this.hash = System.identityHashCode(value);
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            return other instanceof IdentityKey key && key.value == value;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Сегмент кэша: {@link LinkedHashMap} в порядке доступа с вытеснением
+     * самой давней записи.
+     */
+    private final class Segment extends LinkedHashMap<IdentityKey, JsonFragment> {
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+
+        Segment(int capacity) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<IdentityKey, JsonFragment> eldest) {
+            if (size() > capacity) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package com.dandaev.edu.json.serializer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Заранее подготовленное имя свойства JSON.
+ *
+ * <p>Имя экранируется и заключается в кавычки вместе с двоеточием один раз
+ * при создании, поэтому при записи объекта остаётся только скопировать
+ * готовый фрагмент {@code "name":} в буфер. Для вывода в UTF-8 фрагмент
+ * также хранится заранее закодированным.
+ */
+public final class JsonName {
+
+    /** Готовый фрагмент вида {@code "name":}. */
+    final String quoted;
+
+    /** Тот же фрагмент, заранее закодированный в UTF-8. */
+    final byte[] utf8;
+
+    private final String name;
+
+    private JsonName(String name) {
+        this.name = name;
+        this.quoted = "\"" + JsonEscapes.escape(name) + "\":";
+        this.utf8 = quoted.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Подготавливает имя свойства.
+     *
+     * @param name имя свойства в JSON
+     * @return подготовленное имя
+     */
+    public static JsonName of(String name) {
+        return new JsonName(name);
+    }
+
+    /**
+     * @return исходное (неэкранированное) имя
+     */
+    @Override
+    public String toString() {
+        return name;
+    }
+}
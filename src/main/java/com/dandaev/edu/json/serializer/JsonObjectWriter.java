@@ -0,0 +1,29 @@
+package com.dandaev.edu.json.serializer;
+
+/**
+ * Специализированный writer значений одного типа.
+ *
+ * <p>Реализации для классов, помеченных
+ * {@link com.dandaev.edu.annotations.jsonparser.JsonSerializable},
+ * генерируются {@code AdvancedAnnotationProcessor} под именем
+ * {@code <Class>JsonWriter} в пакете исходного класса и читают поля без
+ * рефлексии: доступные — напрямую, {@code private} — через
+ * {@code static final VarHandle}; геттеры не вызываются.
+ * {@link JsonSerializer} находит их через {@link GeneratedWriters}.
+ *
+ * <p>Writer'ы для остальных типов регистрируются через
+ * {@link JsonSerializer#registerWriter(Class, JsonObjectWriter)}.
+ *
+ * @param <T> тип сериализуемого объекта
+ */
+public interface JsonObjectWriter<T> {
+
+    /**
+     * Пишет значение как JSON.
+     *
+     * @param value объект (не {@code null})
+     * @param out   приёмник вывода
+     * @throws IllegalAccessException если доступ к вложенному значению ограничен
+     */
+    void write(T value, JsonWriter out) throws IllegalAccessException;
+}
@@ -1,11 +1,23 @@
 package com.dandaev.edu.json.serializer;
 
-import java.lang.reflect.Array;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 
+import com.dandaev.edu.annotations.jsonparser.JsonCacheable;
 import com.dandaev.edu.annotations.jsonparser.JsonDate;
 import com.dandaev.edu.annotations.jsonparser.JsonField;
 import com.dandaev.edu.annotations.jsonparser.JsonSerializable;
@@ -44,13 +56,139 @@ import com.dandaev.edu.annotations.jsonparser.JsonSerializable;
  *
  * String json = JsonSerializer.serialize(new User("Alice", new Date()));
  * System.out.println(json);
+ *
+ * // Потоковая запись в UTF-8 без построения строки целиком
+ * JsonSerializer.serialize(user, response.getOutputStream());
+ * byte[] utf8 = JsonSerializer.serializeToUtf8(user);
  * }</pre>
  *
+ * <p>Буферы writer'ов берутся из общего пула без привязки к потокам
+ * и возвращаются в него после вызова; начальный размер выбирается по
+ * среднему размеру недавних документов того же класса.
+ *
  * @author Amanbek
  * @version 1.0
  */
 public class JsonSerializer {
 
+    /** Текущая стратегия доступа к полям сериализуемых объектов. */
+    private static volatile AccessorStrategy accessorStrategy = AccessorStrategy.GENERATED;
+
+    /** Проверять ли циклы в графе объектов. */
+    private static volatile boolean cycleDetection;
+
+    /** Максимальная глубина вложенности; {@code 0} — без ограничения. */
+    private static volatile int maxDepth;
+
+    /** Настройки параллельной записи или {@code null}, если она выключена. */
+    private static volatile ParallelOptions parallelOptions;
+
+    /** Кэш фрагментов для {@link JsonCacheable}-классов или {@code null}. */
+    private static volatile JsonFragmentCache fragmentCache;
+
+    /**
+     * Устанавливает стратегию доступа к полям, помеченным {@link JsonField}.
+     *
+     * <p>Планы сериализации кэшируются отдельно для каждой стратегии,
+     * поэтому переключение не приводит к их перестроению.
+     *
+     * @param strategy новая стратегия (не {@code null})
+     */
+    public static void setAccessorStrategy(AccessorStrategy strategy) {
+        if (strategy == null) {
+            throw new IllegalArgumentException("Accessor strategy must not be null");
+        }
+        accessorStrategy = strategy;
+    }
+
+    /**
+     * @return текущая стратегия доступа к полям
+     */
+    public static AccessorStrategy getAccessorStrategy() {
+        return accessorStrategy;
+    }
+
+    /**
+     * Включает или выключает обнаружение циклов в графе объектов.
+     *
+     * <p>По умолчанию выключено: самоссылающийся граф в этом случае приводит
+     * к {@link StackOverflowError}. При включении каждый объект, коллекция,
+     * отображение и массив сравнивается по ссылке с контейнерами на текущем
+     * пути, и цикл завершается {@link IllegalArgumentException}.
+     *
+     * @param enabled {@code true}, чтобы проверять циклы
+     */
+    public static void setCycleDetection(boolean enabled) {
+        cycleDetection = enabled;
+    }
+
+    /**
+     * @return включено ли обнаружение циклов
+     */
+    public static boolean isCycleDetection() {
+        return cycleDetection;
+    }
+
+    /**
+     * Ограничивает глубину вложенности контейнеров в документе.
+     *
+     * @param depth максимальная глубина или {@code 0}, чтобы снять ограничение
+     */
+    public static void setMaxDepth(int depth) {
+        if (depth < 0) {
+            throw new IllegalArgumentException("Max depth must not be negative: " + depth);
+        }
+        maxDepth = depth;
+    }
+
+    /**
+     * @return максимальная глубина вложенности или {@code 0}, если она не ограничена
+     */
+    public static int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * Включает параллельную сериализацию больших коллекций и массивов объектов.
+     *
+     * <p>По умолчанию выключена. Имеет смысл, когда элементы независимы
+     * и их много: порции пишутся в отдельные буферы на нескольких ядрах
+     * и затем склеиваются по порядку. Элементы не должны изменяться
+     * во время сериализации.
+     *
+     * @param options настройки или {@code null}, чтобы выключить параллельную запись
+     */
+    public static void setParallelOptions(ParallelOptions options) {
+        parallelOptions = options;
+    }
+
+    /**
+     * @return текущие настройки параллельной записи или {@code null}, если она выключена
+     */
+    public static ParallelOptions getParallelOptions() {
+        return parallelOptions;
+    }
+
+    /**
+     * Подключает кэш готовых JSON-фрагментов для классов, помеченных
+     * {@link JsonCacheable}.
+     *
+     * <p>По умолчанию кэш не подключён и аннотация ни на что не влияет.
+     * Объекты без аннотации через кэш не проходят.
+     *
+     * @param cache кэш или {@code null}, чтобы отключить кэширование
+     */
+    public static void setFragmentCache(JsonFragmentCache cache) {
+        fragmentCache = cache;
+    }
+
+    /**
+     * @return подключённый кэш фрагментов или {@code null}
+     */
+    public static JsonFragmentCache getFragmentCache() {
+        return fragmentCache;
+    }
+
     /**
      * Сериализует объект Java в строку JSON.
      *
@@ -63,99 +201,384 @@ public class JsonSerializer {
      * @throws IllegalArgumentException если класс не аннотирован {@link JsonSerializable}
      */
     public static String serialize(Object obj) throws IllegalAccessException {
-        if (obj == null)
-            return "null";
+        OutputSizes sizes = OutputSizes.of(obj);
+        CharJsonWriter out = new CharJsonWriter(sizes.expected());
+        try {
+            writeRoot(obj, out);
+            sizes.record(out.size());
+            return out.toString();
+        } finally {
+            out.release();
+        }
+    }
+
+    /**
+     * Сериализует объект Java прямо в указанный приёмник.
+     *
+     * <p>Каждое значение пишется в приёмник ровно один раз, без построения
+     * промежуточных строк для вложенных объектов, коллекций и отображений.
+     * Вывод буферизуется и сбрасывается в приёмник порциями, поэтому
+     * большой документ целиком в памяти не хранится.
+     *
+     * @param obj объект для сериализации
+     * @param out приёмник вывода (например, {@link Writer} или {@link StringBuilder})
+     * @throws IOException если приёмник сообщил об ошибке записи
+     * @throws IllegalAccessException если доступ к полю ограничен
+     * @throws IllegalArgumentException если класс не аннотирован {@link JsonSerializable}
+     */
+    public static void serialize(Object obj, Appendable out) throws IOException, IllegalAccessException {
+        writeAndFlush(obj, new CharJsonWriter(out));
+    }
 
-        Class<?> clazz = obj.getClass();
+    /**
+     * Сериализует объект Java в поток байтов в кодировке UTF-8.
+     *
+     * <p>Символы кодируются в UTF-8 прямо в байтовый буфер, который
+     * сбрасывается в поток порциями; строка с документом не создаётся.
+     * Поток не закрывается.
+     *
+     * @param obj объект для сериализации
+     * @param out выходной поток
+     * @throws IOException если поток сообщил об ошибке записи
+     * @throws IllegalAccessException если доступ к полю ограничен
+     * @throws IllegalArgumentException если класс не аннотирован {@link JsonSerializable}
+     */
+    public static void serialize(Object obj, OutputStream out) throws IOException, IllegalAccessException {
+        writeAndFlush(obj, new Utf8JsonWriter(out));
+    }
 
-        // Обработка примитивных типов и строк до проверки аннотации
-        if (clazz.isPrimitive() || obj instanceof Number || obj instanceof Boolean) {
-            return obj.toString();
+    /**
+     * Сериализует объект Java в канал в кодировке UTF-8.
+     *
+     * <p>Вывод накапливается в байтовом буфере фиксированного размера и
+     * записывается в канал порциями, поэтому большой документ целиком
+     * в памяти не хранится. Канал должен быть блокирующим; он не закрывается.
+     *
+     * @param obj     объект для сериализации
+     * @param channel канал для записи
+     * @throws IOException если канал сообщил об ошибке записи
+     * @throws IllegalAccessException если доступ к полю ограничен
+     * @throws IllegalArgumentException если класс не аннотирован {@link JsonSerializable}
+     */
+    public static void serialize(Object obj, WritableByteChannel channel) throws IOException, IllegalAccessException {
+        writeAndFlush(obj, new Utf8JsonWriter(channel));
+    }
+
+    /**
+     * Сериализует объект Java сразу в байты UTF-8, минуя промежуточную строку.
+     *
+     * @param obj объект для сериализации
+     * @return JSON-представление объекта в UTF-8
+     * @throws IllegalAccessException если доступ к полю ограничен
+     * @throws IllegalArgumentException если класс не аннотирован {@link JsonSerializable}
+     */
+    public static byte[] serializeToUtf8(Object obj) throws IllegalAccessException {
+        OutputSizes sizes = OutputSizes.of(obj);
+        Utf8JsonWriter out = new Utf8JsonWriter(sizes.expected());
+        try {
+            writeRoot(obj, out);
+            sizes.record(out.size());
+            return out.toByteArray();
+        } finally {
+            out.release();
         }
+    }
 
-        if (obj instanceof String) {
-            return "\"" + escapeJson(obj.toString()) + "\"";
+    /**
+     * Сериализует объект Java в байты UTF-8 и отдаёт буфер, в который они
+     * были записаны, без итогового копирования.
+     *
+     * <p>В отличие от {@link #serializeToUtf8}, буфер берётся не из пула, а
+     * выделяется под ожидаемый размер документа этого класса и становится
+     * результатом. Если размер угадан, документ не копируется ни разу.
+     *
+     * @param obj объект для сериализации
+     * @return JSON-представление объекта в UTF-8 от позиции до лимита
+     * @throws IllegalAccessException если доступ к полю ограничен
+     * @throws IllegalArgumentException если класс не аннотирован {@link JsonSerializable}
+     */
+    public static ByteBuffer serializeToUtf8Buffer(Object obj) throws IllegalAccessException {
+        OutputSizes sizes = OutputSizes.of(obj);
+        Utf8JsonWriter out = Utf8JsonWriter.unpooled(sizes.expected());
+        writeRoot(obj, out);
+        sizes.record(out.size());
+        return out.detach();
+    }
+
+    /**
+     * Открывает контекст сериализации с переиспользуемыми буферами.
+     *
+     * @return новый контекст; его нужно закрыть
+     * @see SerializationContext
+     */
+    public static SerializationContext openContext() {
+        return new SerializationContext();
+    }
+
+    /**
+     * Пишет объект в writer с внешним приёмником и сбрасывает буфер,
+     * разворачивая ошибки ввода-вывода обратно в {@link IOException}.
+     * Буфер writer'а в конце возвращается в пул.
+     */
+    private static void writeAndFlush(Object obj, JsonWriter writer) throws IOException, IllegalAccessException {
+        try {
+            writeRoot(obj, writer);
+            writer.flush();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            writer.release();
         }
+    }
+
+    /**
+     * Пишет значение верхнего уровня, подключая к writer'у
+     * {@link SerializationGuard}, если включены проверки циклов или глубины.
+     *
+     * @param obj объект для сериализации
+     * @param out приёмник вывода
+     * @throws IllegalAccessException если доступ к полю ограничен
+     */
+    static void writeRoot(Object obj, JsonWriter out) throws IllegalAccessException {
+        boolean detectCycles = cycleDetection;
+        int depthLimit = maxDepth;
 
-        if (obj instanceof java.util.Date) {
-            return serializeDate((java.util.Date) obj, clazz);
+        if (!detectCycles && depthLimit == 0) {
+            write(obj, out);
+            return;
+        }
+
+        SerializationGuard guard = SerializationGuard.acquire(detectCycles, depthLimit);
+        out.guard = guard;
+        try {
+            write(obj, out);
+        } finally {
+            out.guard = null;
+            guard.release();
+        }
+    }
+
+    /**
+     * Регистрирует writer для значений указанного типа, его подклассов
+     * и реализаций (например, {@code BigDecimal}, {@code UUID} или типов
+     * {@code java.time}).
+     *
+     * <p>Пользовательский writer имеет приоритет над встроенными, включая
+     * коллекции, отображения и классы с {@link JsonSerializable}; при
+     * нескольких подходящих регистрациях выбирается ближайшая по иерархии.
+     * Writer для класса выбирается один раз и кэшируется, поэтому
+     * регистрация не добавляет работы на каждое значение. Строки, обёртки
+     * примитивов и примитивы переопределить нельзя: поля этих типов
+     * пишутся напрямую. Поля с {@link JsonDate} форматируются по шаблону
+     * аннотации независимо от зарегистрированного writer'а.
+     *
+     * <p>Регистрировать writer'ы следует при инициализации приложения:
+     * каждая регистрация сбрасывает кэш диспетчеризации.
+     *
+     * <pre>{@code
+     * JsonSerializer.registerWriter(UUID.class, (uuid, out) -> out.writeString(uuid.toString()));
+     * JsonSerializer.registerWriter(BigDecimal.class, (decimal, out) -> out.write(decimal.toPlainString()));
+     * }</pre>
+     *
+     * @param type   тип значений
+     * @param writer writer, получающий значения не {@code null}
+     * @param <T>    тип значений
+     * @throws IllegalArgumentException если тип нельзя переопределить
+     */
+    public static <T> void registerWriter(Class<T> type, JsonObjectWriter<? super T> writer) {
+        ValueWriters.register(type, writer);
+    }
+
+    /**
+     * Пишет JSON-представление объекта в writer.
+     * Используется и для значений верхнего уровня, и для вложенных.
+     *
+     * <p>Writer для runtime-класса значения берётся из кэша
+     * {@link ValueWriters}, поэтому проверки типа выполняются один раз на класс.
+     *
+     * @param obj объект для сериализации
+     * @param out приёмник вывода
+     * @throws IllegalAccessException если доступ к полю ограничен
+     */
+    static void write(Object obj, JsonWriter out) throws IllegalAccessException {
+        if (obj == null) {
+            out.write("null");
+            return;
+        }
+        ValueWriters.forClass(obj.getClass()).write(obj, out);
+    }
+
+    /**
+     * Выбирает встроенный writer для класса значения.
+     *
+     * @param clazz runtime-класс значения
+     * @return writer; для классов без {@link JsonSerializable} — бросающий
+     *         {@link IllegalArgumentException} при записи
+     */
+    static JsonObjectWriter<Object> builtInWriter(Class<?> clazz) {
+        // Обёртки примитивов и строки до проверки аннотации
+        if (clazz == Integer.class || clazz == Short.class || clazz == Byte.class) {
+            return (value, out) -> out.writeInt(((Number) value).intValue());
+        }
+        if (clazz == Long.class) {
+            return (value, out) -> out.writeLong((Long) value);
+        }
+        if (clazz == Double.class) {
+            return (value, out) -> out.writeDouble((Double) value);
+        }
+        if (clazz == Float.class) {
+            return (value, out) -> out.writeFloat((Float) value);
+        }
+        if (clazz == Boolean.class) {
+            return (value, out) -> out.writeBoolean((Boolean) value);
+        }
+        if (Number.class.isAssignableFrom(clazz)) {
+            return (value, out) -> out.write(value.toString());
+        }
+        if (clazz == String.class) {
+            return (value, out) -> out.writeString((String) value);
+        }
+
+        if (java.util.Date.class.isAssignableFrom(clazz)) {
+            JsonDateFormat format = dateFormatFor(clazz);
+            return (value, out) -> format.writeQuoted((java.util.Date) value, out);
         }
 
         // Массивы
         if (clazz.isArray()) {
-            return serializeArray(obj);
+            return JsonSerializer::serializeArray;
         }
 
         // Коллекции
-        if (obj instanceof Collection) {
-            return serializeCollection((Collection<?>) obj);
+        if (Collection.class.isAssignableFrom(clazz)) {
+            return (value, out) -> serializeCollection((Collection<?>) value, out);
         }
 
         // Отображения
-        if (obj instanceof Map) {
-            return serializeMap((Map<?, ?>) obj);
+        if (Map.class.isAssignableFrom(clazz)) {
+            return (value, out) -> serializeMap((Map<?, ?>) value, out);
         }
 
         // Только пользовательские классы требуют аннотации
         if (!clazz.isAnnotationPresent(JsonSerializable.class)) {
-            throw new IllegalArgumentException("Class not annotated with @JsonSerializable: " + clazz.getName());
+            return (value, out) -> {
+                throw new IllegalArgumentException("Class not annotated with @JsonSerializable: " + clazz.getName());
+            };
+        }
+
+        if (clazz.isAnnotationPresent(JsonCacheable.class)) {
+            return JsonSerializer::serializeCacheable;
         }
 
-        return serializeObject(obj);
+        return JsonSerializer::serializeObject;
     }
 
     /**
-     * Сериализует пользовательский объект в строку JSON.
+     * Сериализует пользовательский объект в JSON.
      *
      * <p>Включаются только поля, аннотированные {@link JsonField}.
      * Поля, помеченные как {@code ignore = true}, пропускаются.
      * Если поле аннотировано {@link JsonDate}, его значение
      * форматируется согласно указанному шаблону даты.
      *
+     * <p>Метаданные полей берутся из кэшированного {@link SerializationPlan},
+     * поэтому рефлексия по аннотациям выполняется один раз на класс.
+     * Способ чтения значений задаётся {@link AccessorStrategy}; при стратегии
+     * {@link AccessorStrategy#GENERATED} объект пишется сгенерированным
+     * {@link JsonObjectWriter}, если он есть, а план используется как запасной путь.
+     *
      * @param obj объект для сериализации
-     * @return JSON-представление объекта
+     * @param out приёмник вывода
      * @throws IllegalAccessException если доступ к полю запрещён
      */
-    private static String serializeObject(Object obj) throws IllegalAccessException {
-        Class<?> clazz = obj.getClass();
-        StringBuilder json = new StringBuilder("{");
-        Field[] fields = clazz.getDeclaredFields();
-        boolean firstField = true;
+    static void serializeObject(Object obj, JsonWriter out) throws IllegalAccessException {
+        SerializationGuard guard = out.guard;
+        if (guard != null) {
+            guard.enter(obj);
+        }
 
-        for (Field field : fields) {
-            if (field.isAnnotationPresent(JsonField.class)) {
-                JsonField annotation = field.getAnnotation(JsonField.class);
+        writeObjectBody(obj, out);
 
-                if (annotation.ignore()) {
-                    continue;
-                }
+        if (guard != null) {
+            guard.exit();
+        }
+    }
 
-                field.setAccessible(true);
-                Object value = field.get(obj);
+    /**
+     * Сериализует объект, помеченный {@link JsonCacheable}: через
+     * {@link JsonFragmentCache}, если он подключён, иначе как обычный объект.
+     *
+     * @param obj объект для сериализации
+     * @param out приёмник вывода
+     * @throws IllegalAccessException если доступ к полю запрещён
+     */
+    private static void serializeCacheable(Object obj, JsonWriter out) throws IllegalAccessException {
+        JsonFragmentCache cache = fragmentCache;
+        if (cache != null) {
+            cache.write(obj, out);
+        } else {
+            serializeObject(obj, out);
+        }
+    }
 
-                if (value == null) {
-                    continue; // Пропустить null значения
-                }
+    /**
+     * Пишет поля объекта: сгенерированным writer'ом либо по плану сериализации.
+     *
+     * @param obj объект для сериализации
+     * @param out приёмник вывода
+     * @throws IllegalAccessException если доступ к полю запрещён
+     */
+    private static void writeObjectBody(Object obj, JsonWriter out) throws IllegalAccessException {
+        AccessorStrategy strategy = accessorStrategy;
+
+        if (strategy == AccessorStrategy.GENERATED) {
+            JsonObjectWriter<Object> generated = GeneratedWriters.find(obj.getClass());
+            if (generated != null) {
+                generated.write(obj, out);
+                return;
+            }
+        }
 
+        SerializationPlan plan = SerializationPlan.of(obj.getClass(), strategy);
+        out.write('{');
+        boolean firstField = true;
+
+        for (SerializationPlan.Property property : plan.properties()) {
+            FieldAccessor accessor = property.accessor;
+
+            // Примитивные поля пишутся напрямую, без упаковки и без проверки на null
+            if (accessor.isPrimitive()) {
                 if (!firstField) {
-                    json.append(",");
+                    out.write(',');
                 }
                 firstField = false;
 
-                String fieldName = annotation.name().isEmpty() ? field.getName() : annotation.name();
-                json.append("\"").append(fieldName).append("\":");
+                out.writeName(property.quotedName);
+                accessor.writePrimitive(obj, out);
+                continue;
+            }
 
-                if (field.isAnnotationPresent(JsonDate.class) && value instanceof java.util.Date) {
-                    JsonDate dateAnnotation = field.getAnnotation(JsonDate.class);
-                    json.append("\"").append(formatDate((java.util.Date) value, dateAnnotation.pattern())).append("\"");
-                } else {
-                    json.append(serialize(value));
-                }
+            Object value = accessor.get(obj);
+
+            if (value == null) {
+                continue; // Пропустить null значения
+            }
+
+            if (!firstField) {
+                out.write(',');
+            }
+            firstField = false;
+
+            out.writeName(property.quotedName);
+
+            if (property.dateFormat != null && value instanceof java.util.Date) {
+                property.dateFormat.writeQuoted((java.util.Date) value, out);
+            } else {
+                write(value, out);
             }
         }
 
-        json.append("}");
-        return json.toString();
+        out.write('}');
     }
 
     /**
@@ -163,121 +586,319 @@ public class JsonSerializer {
      * Ключи преобразуются в строки с помощью {@code toString()}.
      *
      * @param map отображение для сериализации
-     * @return JSON-представление отображения
+     * @param out приёмник вывода
      * @throws IllegalAccessException если доступ к значению ограничен
      */
-    private static String serializeMap(Map<?, ?> map) throws IllegalAccessException {
-        StringBuilder json = new StringBuilder("{");
+    private static void serializeMap(Map<?, ?> map, JsonWriter out) throws IllegalAccessException {
+        SerializationGuard guard = out.guard;
+        if (guard != null) {
+            guard.enter(map);
+        }
+
+        out.write('{');
         boolean firstEntry = true;
 
         for (Map.Entry<?, ?> entry : map.entrySet()) {
             if (!firstEntry) {
-                json.append(",");
+                out.write(',');
             }
             firstEntry = false;
 
-            String key = entry.getKey().toString();
-            Object value = entry.getValue();
-
-            json.append("\"").append(escapeJson(key)).append("\":");
-            json.append(serialize(value));
+            out.writeString(entry.getKey().toString());
+            out.write(':');
+            write(entry.getValue(), out);
         }
 
-        json.append("}");
-        return json.toString();
+        out.write('}');
+
+        if (guard != null) {
+            guard.exit();
+        }
     }
 
     /**
      * Сериализует массив в JSON-массив.
      *
      * @param array массив для сериализации
-     * @return JSON-представление массива
+     * @param out приёмник вывода
      * @throws IllegalAccessException если доступ к элементу ограничен
      */
-    private static String serializeArray(Object array) throws IllegalAccessException {
-        int length = Array.getLength(array);
-        StringBuilder json = new StringBuilder("[");
+    private static void serializeArray(Object array, JsonWriter out) throws IllegalAccessException {
+        SerializationGuard guard = out.guard;
+        if (guard != null) {
+            guard.enter(array);
+        }
+
+        if (array.getClass().getComponentType().isPrimitive()) {
+            serializePrimitiveArray(array, out);
+        } else {
+            serializeObjectArray(array, out);
+        }
+
+        if (guard != null) {
+            guard.exit();
+        }
+    }
+
+    /**
+     * Пишет массив примитивов прямым проходом по нему, без упаковки элементов
+     * и без повторной диспетчеризации через {@link #write(Object, JsonWriter)}.
+     *
+     * <p>{@code char[]} записывается как JSON-строка.
+     *
+     * @param array массив примитивного типа
+     * @param out приёмник вывода
+     */
+    private static void serializePrimitiveArray(Object array, JsonWriter out) {
+        if (array instanceof char[] chars) {
+            out.writeString(new String(chars));
+            return;
+        }
 
-        for (int i = 0; i < length; i++) {
-            if (i > 0)
-                json.append(",");
-            json.append(serialize(Array.get(array, i)));
+        out.write('[');
+
+        if (array instanceof int[] values) {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0)
+                    out.write(',');
+                out.writeInt(values[i]);
+            }
+        } else if (array instanceof long[] values) {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0)
+                    out.write(',');
+                out.writeLong(values[i]);
+            }
+        } else if (array instanceof double[] values) {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0)
+                    out.write(',');
+                out.writeDouble(values[i]);
+            }
+        } else if (array instanceof float[] values) {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0)
+                    out.write(',');
+                out.writeFloat(values[i]);
+            }
+        } else if (array instanceof short[] values) {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0)
+                    out.write(',');
+                out.writeInt(values[i]);
+            }
+        } else if (array instanceof byte[] values) {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0)
+                    out.write(',');
+                out.writeInt(values[i]);
+            }
+        } else if (array instanceof boolean[] values) {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0)
+                    out.write(',');
+                out.writeBoolean(values[i]);
+            }
+        }
+
+        out.write(']');
+    }
+
+    /**
+     * Пишет массив ссылочного типа поэлементно.
+     *
+     * @param array массив объектов
+     * @param out приёмник вывода
+     * @throws IllegalAccessException если доступ к элементу ограничен
+     */
+    private static void serializeObjectArray(Object array, JsonWriter out) throws IllegalAccessException {
+        Object[] elements = (Object[]) array;
+        out.write('[');
+
+        ParallelOptions options = parallelOptionsFor(elements.length, out);
+        if (options != null) {
+            writeParallel(Arrays.asList(elements), options, out);
+        } else {
+            for (int i = 0; i < elements.length; i++) {
+                if (i > 0)
+                    out.write(',');
+                write(elements[i], out);
+            }
         }
 
-        json.append("]");
-        return json.toString();
+        out.write(']');
     }
 
     /**
      * Сериализует {@link Collection} в JSON-массив.
      *
      * @param collection коллекция для сериализации
-     * @return JSON-представление коллекции
+     * @param out приёмник вывода
      * @throws IllegalAccessException если доступ к элементу ограничен
      */
-    private static String serializeCollection(Collection<?> collection) throws IllegalAccessException {
-        StringBuilder json = new StringBuilder("[");
-        Iterator<?> iterator = collection.iterator();
+    private static void serializeCollection(Collection<?> collection, JsonWriter out) throws IllegalAccessException {
+        SerializationGuard guard = out.guard;
+        if (guard != null) {
+            guard.enter(collection);
+        }
 
-        while (iterator.hasNext()) {
-            json.append(serialize(iterator.next()));
-            if (iterator.hasNext())
-                json.append(",");
+        out.write('[');
+
+        ParallelOptions options = parallelOptionsFor(collection.size(), out);
+        if (options != null) {
+            List<?> elements = collection instanceof List<?> list && collection instanceof RandomAccess
+                    ? list
+                    : Arrays.asList(collection.toArray());
+            writeParallel(elements, options, out);
+        } else {
+            Iterator<?> iterator = collection.iterator();
+
+            while (iterator.hasNext()) {
+                write(iterator.next(), out);
+                if (iterator.hasNext())
+                    out.write(',');
+            }
         }
 
-        json.append("]");
-        return json.toString();
+        out.write(']');
+
+        if (guard != null) {
+            guard.exit();
+        }
     }
 
     /**
-     * Сериализует {@link java.util.Date} с использованием формата,
-     * определённого в {@link JsonDate}, если аннотация присутствует
-     * в объявляющем поле или классе.
+     * Решает, писать ли контейнер параллельно.
      *
-     * @param date дата для сериализации
-     * @param clazz объявляющий класс (используется для поиска шаблона даты)
-     * @return отформатированная строка даты в кавычках для JSON
+     * @param size число элементов
+     * @param out  приёмник вывода
+     * @return настройки параллельной записи или {@code null} для последовательной
      */
-    private static String serializeDate(java.util.Date date, Class<?> clazz) {
-        if (clazz == java.util.Date.class) {
-            return "\"" + formatDate(date, "yyyy-MM-dd HH:mm:ss") + "\"";
+    private static ParallelOptions parallelOptionsFor(int size, JsonWriter out) {
+        ParallelOptions options = parallelOptions;
+        if (options == null || out.parallelActive || size < options.getThreshold() || size <= options.getChunkSize()) {
+            return null;
         }
+        return options;
+    }
+
+    /**
+     * Пишет элементы порциями: первая порция пишется в вызывающем потоке
+     * прямо в {@code out}, остальные — в отдельные буферы на исполнителе.
+     * Буферы дописываются в {@code out} строго по порядку.
+     *
+     * @param elements элементы с произвольным доступом
+     * @param options  настройки параллельной записи
+     * @param out      приёмник вывода (скобки пишет вызывающий код)
+     * @throws IllegalAccessException если доступ к полю элемента ограничен
+     */
+    private static void writeParallel(List<?> elements, ParallelOptions options, JsonWriter out)
+            throws IllegalAccessException {
+        int size = elements.size();
+        int chunkSize = options.getChunkSize();
+        List<ParallelChunk> chunks = new ArrayList<>(size / chunkSize);
+        List<Future<JsonWriter>> futures = new ArrayList<>(size / chunkSize);
+        int appended = 0;
+
+        try {
+            for (int from = chunkSize; from < size; from += chunkSize) {
+                int start = from;
+                int end = Math.min(size, from + chunkSize);
+                ParallelChunk chunk = new ParallelChunk(out.fork());
+                chunks.add(chunk);
+                futures.add(options.getExecutor().submit(() -> {
+                    if (!chunk.start()) {
+                        return null;
+                    }
+                    try {
+                        writeElements(elements, start, end, chunk.writer);
+                    } finally {
+                        chunk.finish();
+                    }
+                    return chunk.writer;
+                }));
+            }
+
+            out.parallelActive = true;
+            try {
+                writeElements(elements, 0, chunkSize, out);
+            } finally {
+                out.parallelActive = false;
+            }
 
-        for (Field field : clazz.getDeclaredFields()) {
-            if (field.isAnnotationPresent(JsonDate.class)) {
-                JsonDate annotation = field.getAnnotation(JsonDate.class);
-                return "\"" + formatDate(date, annotation.pattern()) + "\"";
+            for (Future<JsonWriter> future : futures) {
+                JsonWriter written = join(future);
+                out.write(',');
+                out.append(written);
+                written.release();
+                appended++;
+            }
+        } finally {
+            // Порции, не дописанные из-за ошибки, возвращают буферы в пул
+            for (int i = appended; i < chunks.size(); i++) {
+                futures.get(i).cancel(false);
+                chunks.get(i).abandon();
             }
         }
+    }
 
-        return "\"" + formatDate(date, "yyyy-MM-dd HH:mm:ss") + "\"";
+    /**
+     * Пишет элементы {@code [from, to)} через запятую.
+     */
+    private static void writeElements(List<?> elements, int from, int to, JsonWriter out)
+            throws IllegalAccessException {
+        for (int i = from; i < to; i++) {
+            if (i > from)
+                out.write(',');
+            write(elements.get(i), out);
+        }
     }
 
     /**
-     * Форматирует дату согласно заданному шаблону.
-     *
-     * @param date дата для форматирования
-     * @param pattern шаблон формата (например, "yyyy-MM-dd")
-     * @return отформатированная строка даты
+     * Дожидается порции и пробрасывает её исключение без обёртки.
      */
-    private static String formatDate(java.util.Date date, String pattern) {
-        java.text.SimpleDateFormat sdf = new java.text.SimpleDateFormat(pattern);
-        return sdf.format(date);
+    private static JsonWriter join(Future<JsonWriter> chunk) throws IllegalAccessException {
+        try {
+            return chunk.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Parallel serialization interrupted", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IllegalAccessException access) {
+                throw access;
+            }
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        }
     }
 
     /**
-     * Экранирует специальные символы в строке для обеспечения корректного вывода JSON.
+     * Определяет формат для {@link java.util.Date} и его подклассов:
+     * шаблон из {@link JsonDate}, если аннотация присутствует в объявляющем
+     * поле подкласса, иначе {@link JsonDateFormat#DEFAULT_PATTERN}.
+     * Вызывается один раз на класс при построении его writer'а.
      *
-     * @param str исходная строка
-     * @return безопасная для JSON строка с экранированными символами
+     * @param clazz класс даты (используется для поиска шаблона даты)
+     * @return скомпилированный формат
      */
-    private static String escapeJson(String str) {
-        return str.replace("\\", "\\\\")
-                .replace("\"", "\\\"")
-                .replace("\b", "\\b")
-                .replace("\f", "\\f")
-                .replace("\n", "\\n")
-                .replace("\r", "\\r")
-                .replace("\t", "\\t");
+    private static JsonDateFormat dateFormatFor(Class<?> clazz) {
+        String pattern = JsonDateFormat.DEFAULT_PATTERN;
+
+        if (clazz != java.util.Date.class) {
+            for (Field field : clazz.getDeclaredFields()) {
+                if (field.isAnnotationPresent(JsonDate.class)) {
+                    pattern = field.getAnnotation(JsonDate.class).pattern();
+                    break;
+                }
+            }
+        }
+
+        return JsonDateFormat.of(pattern);
     }
 }
@@ -0,0 +1,287 @@
+package com.dandaev.edu.json.serializer;
+
+import java.util.Date;
+
+/**
+ * Приёмник («sink») JSON-вывода, в который {@link JsonSerializer} пишет
+ * каждое значение ровно один раз.
+ *
+ * <p>В отличие от прежней схемы, где каждый вспомогательный метод собирал
+ * собственный {@link StringBuilder} и возвращал строку, вложенные значения
+ * пишутся прямо в общий буфер, а не копируются на каждом уровне вложенности.
+ *
+ * <p>Ошибки ввода-вывода при сбросе буфера во внешний приёмник
+ * оборачиваются в {@link java.io.UncheckedIOException}.
+ *
+ * <p>Класс открыт для сгенерированных {@link JsonObjectWriter}, но
+ * реализации создаются только внутри пакета.
+ */
+public abstract class JsonWriter {
+
+    /**
+     * Проверка циклов и глубины для текущего вызова сериализатора
+     * или {@code null}, если проверки выключены.
+     */
+    SerializationGuard guard;
+
+    /**
+     * Идёт ли запись внутри распараллеленной коллекции; вложенные
+     * коллекции в этом случае пишутся последовательно.
+     */
+    boolean parallelActive;
+
+    /** Переиспользуемый буфер для дробных чисел; создаётся при первой необходимости. */
+    private StringBuilder scratch;
+
+    /**
+     * Конструктор доступен только реализациям из этого пакета.
+     */
+    JsonWriter() {
+    }
+
+    /**
+     * Пишет один символ как есть.
+     *
+     * @param c символ
+     * @return этот writer
+     */
+    public abstract JsonWriter write(char c);
+
+    /**
+     * Пишет строку как есть, без кавычек и экранирования.
+     *
+     * @param raw готовый фрагмент JSON
+     * @return этот writer
+     */
+    public JsonWriter write(String raw) {
+        return write(raw, 0, raw.length());
+    }
+
+    /**
+     * Пишет участок строки как есть, без кавычек и экранирования.
+     *
+     * @param raw  исходная строка
+     * @param from начальный индекс (включительно)
+     * @param to   конечный индекс (исключительно)
+     * @return этот writer
+     */
+    public abstract JsonWriter write(String raw, int from, int to);
+
+    /**
+     * Пишет десятичное представление {@code int} без промежуточной строки.
+     *
+     * @param value значение
+     * @return этот writer
+     */
+    public abstract JsonWriter writeInt(int value);
+
+    /**
+     * Пишет десятичное представление {@code long} без промежуточной строки.
+     *
+     * @param value значение
+     * @return этот writer
+     */
+    public abstract JsonWriter writeLong(long value);
+
+    /**
+     * Пишет значение {@code double} в формате {@link Double#toString(double)}.
+     *
+     * <p>Целые значения меньше {@code 10^7} по модулю (их {@code toString}
+     * записывает как {@code 123.0}) пишутся через {@link #writeLong(long)};
+     * остальные форматируются в переиспользуемый буфер writer'а,
+     * без промежуточной строки.
+     *
+     * @param value значение
+     * @return этот writer
+     */
+    public JsonWriter writeDouble(double value) {
+        if (isPlainIntegral(value)) {
+            writeLong((long) value);
+            return write(".0");
+        }
+        return writeScratch(scratch().append(value));
+    }
+
+    /**
+     * Пишет значение {@code float} в формате {@link Float#toString(float)}.
+     *
+     * @param value значение
+     * @return этот writer
+     * @see #writeDouble(double)
+     */
+    public JsonWriter writeFloat(float value) {
+        if (isPlainIntegral(value)) {
+            writeLong((long) value);
+            return write(".0");
+        }
+        return writeScratch(scratch().append(value));
+    }
+
+    /**
+     * Пишет литерал {@code true} или {@code false}.
+     *
+     * @param value значение
+     * @return этот writer
+     */
+    public JsonWriter writeBoolean(boolean value) {
+        return write(value ? "true" : "false");
+    }
+
+    /**
+     * Пишет строку в кавычках с экранированием специальных символов.
+     *
+     * <p>Строка проходится один раз: участки, не требующие экранирования,
+     * копируются в буфер целиком, а экранирующие последовательности берутся
+     * из таблицы {@link JsonEscapes}. Промежуточные строки не создаются.
+     *
+     * @param value исходная строка
+     * @return этот writer
+     */
+    public JsonWriter writeString(String value) {
+        int length = value.length();
+        int start = 0;
+        write('"');
+
+        while (true) {
+            int next = JsonEscapes.nextEscape(value, start, length);
+            if (next > start) {
+                write(value, start, next);
+            }
+            if (next == length) {
+                break;
+            }
+            write(JsonEscapes.escapeFor(value.charAt(next)));
+            start = next + 1;
+        }
+        return write('"');
+    }
+
+    /**
+     * Пишет заранее подготовленное имя свойства вместе с двоеточием.
+     *
+     * @param name имя свойства
+     * @return этот writer
+     */
+    public JsonWriter writeName(JsonName name) {
+        return write(name.quoted);
+    }
+
+    /**
+     * Пишет дату в кавычках в заданном формате.
+     *
+     * @param date   дата
+     * @param format скомпилированный формат
+     * @return этот writer
+     */
+    public JsonWriter writeDate(Date date, JsonDateFormat format) {
+        format.writeQuoted(date, this);
+        return this;
+    }
+
+    /**
+     * Пишет произвольное значение по общим правилам {@link JsonSerializer}.
+     * Используется сгенерированным кодом для вложенных значений.
+     *
+     * @param value значение
+     * @return этот writer
+     * @throws IllegalAccessException если доступ к полю ограничен
+     */
+    public JsonWriter writeValue(Object value) throws IllegalAccessException {
+        JsonSerializer.write(value, this);
+        return this;
+    }
+
+    /**
+     * Проверяет, что число целое и {@code toString} запишет его без экспоненты.
+     * Отрицательный ноль, {@code NaN} и бесконечности сюда не попадают.
+     */
+    private static boolean isPlainIntegral(double value) {
+        return value == (long) value
+                && Math.abs(value) < 1e7
+                && (value != 0 || Double.doubleToRawLongBits(value) == 0);
+    }
+
+    private StringBuilder scratch() {
+        if (scratch == null) {
+            scratch = new StringBuilder(32);
+        }
+        return scratch;
+    }
+
+    /**
+     * Переписывает содержимое буфера чисел в вывод и очищает его.
+     */
+    private JsonWriter writeScratch(StringBuilder digits) {
+        for (int i = 0, length = digits.length(); i < length; i++) {
+            write(digits.charAt(i));
+        }
+        digits.setLength(0);
+        return this;
+    }
+
+    /**
+     * Сбрасывает накопленный вывод во внешний приёмник, если он есть.
+     */
+    abstract void flush();
+
+    /**
+     * Создаёт пустой writer того же вида для порции параллельной записи.
+     * Порция наследует копию пути {@link SerializationGuard}, чтобы циклы
+     * и глубина проверялись относительно корня документа.
+     *
+     * @return writer, накапливающий вывод в памяти
+     */
+    final JsonWriter fork() {
+        JsonWriter chunk = newChunkWriter();
+        chunk.guard = guard != null ? guard.fork() : null;
+        chunk.parallelActive = true;
+        return chunk;
+    }
+
+    /**
+     * @return пустой writer того же вида без внешнего приёмника
+     */
+    abstract JsonWriter newChunkWriter();
+
+    /**
+     * Дописывает вывод порции, созданной через {@link #fork()}.
+     *
+     * @param chunk заполненная порция
+     */
+    abstract void append(JsonWriter chunk);
+
+    /**
+     * Пишет закэшированный фрагмент как есть.
+     *
+     * @param fragment готовое JSON-представление объекта
+     */
+    abstract void writeFragment(JsonFragment fragment);
+
+    /**
+     * Сохраняет весь накопленный вывод во фрагмент.
+     *
+     * @param fragment фрагмент для заполнения
+     */
+    abstract void captureFragment(JsonFragment fragment);
+
+    /**
+     * Очищает накопленный вывод, сохраняя буфер.
+     */
+    abstract void reset();
+
+    /**
+     * @return длина накопленного (ещё не сброшенного) вывода
+     */
+    abstract int size();
+
+    /**
+     * @return размер текущего буфера
+     */
+    abstract int capacity();
+
+    /**
+     * Возвращает буфер в {@link BufferPool}. Повторный вызов ничего не делает;
+     * писать в writer после освобождения нельзя.
+     */
+    abstract void release();
+}
@@ -0,0 +1,56 @@
+package com.dandaev.edu.json.serializer;
+
+/**
+ * Скользящая оценка размера JSON-вывода для каждого класса корневого объекта.
+ *
+ * <p>По ней выбирается начальный размер буфера: документ типичного размера
+ * пишется без промежуточных увеличений буфера, а маленькие документы не
+ * занимают большие буферы. Оценка — экспоненциальное скользящее среднее
+ * с весом 1/8, хранится в {@link ClassValue}. Обновления не синхронизированы:
+ * потерянное при гонке обновление лишь немного сдвигает оценку.
+ */
+final class OutputSizes {
+
+    private static final ClassValue<OutputSizes> SIZES = new ClassValue<>() {
+        @Override
+        protected OutputSizes computeValue(Class<?> type) {
+            return new OutputSizes();
+        }
+    };
+
+    /** Текущее среднее; {@code 0} — оценки ещё нет. */
+    private volatile int average;
+
+    private OutputSizes() {
+    }
+
+    /**
+     * @param root корневой объект документа (может быть {@code null})
+     * @return оценка для класса корневого объекта
+     */
+    static OutputSizes of(Object root) {
+        return SIZES.get(root != null ? root.getClass() : Object.class);
+    }
+
+    /**
+     * @return рекомендуемый начальный размер буфера: среднее с запасом 25%,
+     *         но не больше {@link BufferPool#MAX_POOLED_CAPACITY}
+     */
+    int expected() {
+        int current = average;
+        if (current == 0) {
+            return BufferPool.MIN_CAPACITY;
+        }
+        return Math.min(current + (current >> 2), BufferPool.MAX_POOLED_CAPACITY);
+    }
+
+    /**
+     * Учитывает размер очередного документа.
+     *
+     * @param size длина вывода в символах или байтах
+     */
+    void record(int size) {
+        int current = average;
+        average = current == 0 ? Math.max(size, 1) : Math.max(current + ((size - current) >> 3), 1);
+    }
+}
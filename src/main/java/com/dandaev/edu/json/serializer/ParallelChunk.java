@@ -0,0 +1,60 @@
+package com.dandaev.edu.json.serializer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Порция параллельной записи: отдельный writer и состояние, по которому
+ * решается, кто вернёт его буфер в {@link BufferPool}, если порция не
+ * будет дописана в итоговый вывод.
+ *
+ * <p>Отменённая задача исполнителя может ещё выполняться, поэтому буфер
+ * нельзя освобождать по одному лишь признаку завершения её
+ * {@link java.util.concurrent.Future}. Порцию, от которой отказались до
+ * начала или после окончания записи, освобождает вызывающий поток
+ * ({@link #abandon()}), а порцию, от которой отказались во время записи, —
+ * сама задача ({@link #finish()}).
+ */
+final class ParallelChunk {
+
+    private static final int NEW = 0;
+    private static final int RUNNING = 1;
+    private static final int WRITTEN = 2;
+    private static final int ABANDONED = 3;
+
+    final JsonWriter writer;
+    private final AtomicInteger state = new AtomicInteger(NEW);
+
+    ParallelChunk(JsonWriter writer) {
+        this.writer = writer;
+    }
+
+    /**
+     * Вызывается задачей перед записью.
+     *
+     * @return {@code false}, если от порции уже отказались и писать не нужно
+     */
+    boolean start() {
+        return state.compareAndSet(NEW, RUNNING);
+    }
+
+    /**
+     * Вызывается задачей после записи (в том числе неудачной); освобождает
+     * буфер, если от порции отказались во время записи.
+     */
+    void finish() {
+        if (!state.compareAndSet(RUNNING, WRITTEN)) {
+            writer.release();
+        }
+    }
+
+    /**
+     * Отказывается от порции, которая не будет дописана в вывод.
+     * Повторный вызов ничего не делает.
+     */
+    void abandon() {
+        int previous = state.getAndSet(ABANDONED);
+        if (previous == NEW || previous == WRITTEN) {
+            writer.release();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.dandaev.edu.json.serializer;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Настройки параллельной сериализации больших коллекций и массивов.
+ *
+ * <p>Коллекция (или массив объектов) длиной не меньше {@link #getThreshold()}
+ * делится на порции по {@link #getChunkSize()} элементов. Первая порция
+ * пишется в вызывающем потоке прямо в итоговый writer, остальные —
+ * в отдельные буферы на {@link #getExecutor()}; затем буферы склеиваются
+ * строго по порядку, поэтому результат совпадает с последовательным.
+ *
+ * <p>Коллекции меньше порога, а также коллекции, вложенные в уже
+ * распараллеленную, сериализуются последовательно.
+ *
+ * <p>Пример:
+ * <pre>{@code
+ * JsonSerializer.setParallelOptions(ParallelOptions.of(50_000, 4_096));
+ *
+ * // Или на виртуальных потоках
+ * JsonSerializer.setParallelOptions(ParallelOptions.defaults()
+ *         .withExecutor(Executors.newVirtualThreadPerTaskExecutor()));
+ * }</pre>
+ *
+ * <p>Экземпляры неизменяемы.
+ */
+public final class ParallelOptions {
+
+    /** Порог по умолчанию: меньшие коллекции сериализуются последовательно. */
+    public static final int DEFAULT_THRESHOLD = 10_000;
+
+    /** Размер порции по умолчанию. */
+    public static final int DEFAULT_CHUNK_SIZE = 2_048;
+
+    private final int threshold;
+    private final int chunkSize;
+    private final ExecutorService executor;
+
+    private ParallelOptions(int threshold, int chunkSize, ExecutorService executor) {
+        if (threshold < 1) {
+            throw new IllegalArgumentException("Parallel threshold must be positive: " + threshold);
+        }
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+        if (executor == null) {
+            throw new IllegalArgumentException("Executor must not be null");
+        }
+        this.threshold = threshold;
+        this.chunkSize = chunkSize;
+        this.executor = executor;
+    }
+
+    /**
+     * @return настройки по умолчанию на {@link ForkJoinPool#commonPool()}
+     */
+    public static ParallelOptions defaults() {
+        return of(DEFAULT_THRESHOLD, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Создаёт настройки на {@link ForkJoinPool#commonPool()}.
+     *
+     * @param threshold минимальное число элементов для параллельной записи
+     * @param chunkSize число элементов в одной порции
+     * @return новые настройки
+     */
+    public static ParallelOptions of(int threshold, int chunkSize) {
+        return new ParallelOptions(threshold, chunkSize, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Возвращает копию настроек с другим исполнителем порций.
+     *
+     * @param executor исполнитель (например, пул виртуальных потоков)
+     * @return новые настройки
+     */
+    public ParallelOptions withExecutor(ExecutorService executor) {
+        return new ParallelOptions(threshold, chunkSize, executor);
+    }
+
+    /**
+     * @return минимальное число элементов для параллельной записи
+     */
+    public int getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * @return число элементов в одной порции
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * @return исполнитель, на котором сериализуются порции
+     */
+    public ExecutorService getExecutor() {
+        return executor;
+    }
+}
@@ -0,0 +1,131 @@
+package com.dandaev.edu.json.serializer;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Контекст для серии сериализаций с одними и теми же буферами.
+ *
+ * <p>Контекст держит свои writer'ы между вызовами и очищает их вместо
+ * создания новых, поэтому цикл сериализации однотипных объектов не выделяет
+ * буферы заново. Начальный размер буфера берётся из оценки
+ * {@link OutputSizes} для класса объекта, и каждый вызов её обновляет.
+ * Буфер, выросший больше {@link BufferPool#MAX_POOLED_CAPACITY}, после
+ * вызова отпускается: один большой документ не удерживает память до
+ * закрытия контекста. При закрытии буферы возвращаются в общий пул.
+ *
+ * <p>Контекст не потокобезопасен: его следует открывать на время одной
+ * задачи или запроса. Пул, из которого берутся буферы, не привязан к потокам
+ * и подходит для виртуальных потоков.
+ *
+ * <pre>{@code
+ * try (SerializationContext context = JsonSerializer.openContext()) {
+ *     for (Product product : catalog) {
+ *         ByteBuffer json = context.serializeToUtf8(product);
+ *         channel.write(json);
+ *     }
+ * }
+ * }</pre>
+ */
+public final class SerializationContext implements AutoCloseable {
+
+    private CharJsonWriter chars;
+    private Utf8JsonWriter bytes;
+    private boolean closed;
+
+    SerializationContext() {
+    }
+
+    /**
+     * Сериализует объект в строку JSON.
+     *
+     * @param obj объект для сериализации
+     * @return JSON-представление объекта
+     * @throws IllegalAccessException если доступ к полю ограничен
+     * @throws IllegalArgumentException если класс не аннотирован
+     *         {@link com.dandaev.edu.annotations.jsonparser.JsonSerializable}
+     * @throws IllegalStateException если контекст закрыт
+     */
+    public String serialize(Object obj) throws IllegalAccessException {
+        ensureOpen();
+        OutputSizes sizes = OutputSizes.of(obj);
+        if (chars != null && chars.capacity() < sizes.expected()) {
+            chars.release();
+            chars = null;
+        }
+        if (chars == null) {
+            chars = new CharJsonWriter(sizes.expected());
+        }
+        chars.reset();
+        try {
+            JsonSerializer.writeRoot(obj, chars);
+            sizes.record(chars.size());
+            return chars.toString();
+        } finally {
+            if (chars.capacity() > BufferPool.MAX_POOLED_CAPACITY) {
+                chars.release();
+                chars = null;
+            }
+        }
+    }
+
+    /**
+     * Сериализует объект в UTF-8 без копирования результата.
+     *
+     * <p>Возвращаемый буфер — представление внутреннего буфера контекста:
+     * он действителен до следующего вызова {@code serializeToUtf8} или
+     * закрытия контекста. (Буфер больше предельного размера контекст сразу
+     * отпускает; в пул он не попадает, поэтому представление остаётся
+     * действительным.)
+     *
+     * @param obj объект для сериализации
+     * @return JSON-представление объекта в UTF-8
+     * @throws IllegalAccessException если доступ к полю ограничен
+     * @throws IllegalArgumentException если класс не аннотирован
+     *         {@link com.dandaev.edu.annotations.jsonparser.JsonSerializable}
+     * @throws IllegalStateException если контекст закрыт
+     */
+    public ByteBuffer serializeToUtf8(Object obj) throws IllegalAccessException {
+        ensureOpen();
+        OutputSizes sizes = OutputSizes.of(obj);
+        if (bytes != null && bytes.capacity() < sizes.expected()) {
+            bytes.release();
+            bytes = null;
+        }
+        if (bytes == null) {
+            bytes = new Utf8JsonWriter(sizes.expected());
+        }
+        bytes.reset();
+        try {
+            JsonSerializer.writeRoot(obj, bytes);
+            sizes.record(bytes.size());
+            return bytes.toByteBuffer();
+        } finally {
+            if (bytes.capacity() > BufferPool.MAX_POOLED_CAPACITY) {
+                bytes.release();
+                bytes = null;
+            }
+        }
+    }
+
+    /**
+     * Возвращает буферы в пул. Повторное закрытие ничего не делает.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        if (chars != null) {
+            chars.release();
+            chars = null;
+        }
+        if (bytes != null) {
+            bytes.release();
+            bytes = null;
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Serialization context is closed");
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.dandaev.edu.json.serializer;
+
+import java.util.Arrays;
+
+/**
+ * Защита от циклов и слишком глубокой вложенности при сериализации.
+ *
+ * <p>Хранит путь от корня документа до текущего контейнера (объекта,
+ * коллекции, отображения или массива) и сравнивает новые контейнеры с ним
+ * по ссылке ({@code ==}), а не через {@code equals}. Цикл — это появление
+ * объекта, который уже лежит на пути.
+ *
+ * <p>Экземпляры переиспользуются в пределах потока через {@link ThreadLocal},
+ * поэтому включённая проверка не выделяет память на вызов. Если проверки
+ * выключены, {@link JsonSerializer} вовсе не создаёт guard, и каждый
+ * контейнер платит лишь одну проверку на {@code null}.
+ */
+final class SerializationGuard {
+
+    private static final ThreadLocal<SerializationGuard> POOL = ThreadLocal.withInitial(SerializationGuard::new);
+
+    private boolean detectCycles;
+    private int maxDepth;
+
+    /** Контейнеры на текущем пути (заполняется только при проверке циклов). */
+    private Object[] path = new Object[16];
+    private int depth;
+
+    /** Занят ли экземпляр (на случай вложенного вызова сериализатора в том же потоке). */
+    private boolean inUse;
+
+    private SerializationGuard() {
+    }
+
+    /**
+     * Выдаёт guard текущего потока, настроенный на заданные ограничения.
+     *
+     * @param detectCycles проверять ли циклы
+     * @param maxDepth     максимальная глубина вложенности или {@code 0} без ограничения
+     * @return guard, который нужно вернуть через {@link #release()}
+     */
+    static SerializationGuard acquire(boolean detectCycles, int maxDepth) {
+        SerializationGuard guard = POOL.get();
+        if (guard.inUse) {
+            guard = new SerializationGuard();
+        }
+        guard.inUse = true;
+        guard.detectCycles = detectCycles;
+        guard.maxDepth = maxDepth;
+        return guard;
+    }
+
+    /**
+     * Создаёт независимую копию guard'а для порции параллельной записи:
+     * с тем же путём и глубиной, но вне пула потока.
+     *
+     * @return копия, не требующая {@link #release()}
+     */
+    SerializationGuard fork() {
+        SerializationGuard copy = new SerializationGuard();
+        copy.inUse = true;
+        copy.detectCycles = detectCycles;
+        copy.maxDepth = maxDepth;
+        copy.path = path.clone();
+        copy.depth = depth;
+        return copy;
+    }
+
+    /**
+     * Регистрирует вход в контейнер.
+     *
+     * @param container объект, коллекция, отображение или массив
+     * @throws IllegalArgumentException при обнаружении цикла или превышении глубины
+     */
+    void enter(Object container) {
+        if (maxDepth > 0 && depth >= maxDepth) {
+            throw new IllegalArgumentException("Maximum serialization depth exceeded: " + maxDepth);
+        }
+
+        if (detectCycles) {
+            for (int i = 0; i < depth; i++) {
+                if (path[i] == container) {
+                    throw new IllegalArgumentException(
+                            "Cycle detected while serializing " + container.getClass().getName());
+                }
+            }
+            if (depth == path.length) {
+                path = Arrays.copyOf(path, depth * 2);
+            }
+            path[depth] = container;
+        }
+        depth++;
+    }
+
+    /**
+     * Регистрирует выход из текущего контейнера.
+     */
+    void exit() {
+        depth--;
+        if (detectCycles) {
+            path[depth] = null;
+        }
+    }
+
+    /**
+     * Возвращает guard в пул потока, очищая ссылки на объекты.
+     */
+    void release() {
+        if (detectCycles) {
+            Arrays.fill(path, 0, Math.min(depth, path.length), null);
+        }
+        depth = 0;
+        inUse = false;
+    }
+}
@@ -0,0 +1,90 @@
+package com.dandaev.edu.json.serializer;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.dandaev.edu.annotations.jsonparser.JsonDate;
+import com.dandaev.edu.annotations.jsonparser.JsonField;
+
+/**
+ * Неизменяемый «план сериализации» класса, помеченного
+ * {@link com.dandaev.edu.annotations.jsonparser.JsonSerializable}.
+ *
+ * <p>Вся рефлексивная работа — {@code getDeclaredFields()}, чтение аннотаций
+ * {@link JsonField} и {@link JsonDate}, {@code setAccessible(true)} —
+ * выполняется один раз при построении плана. Дальше {@link JsonSerializer}
+ * лишь проходит по готовому массиву свойств.
+ *
+ * <p>Планы кэшируются в {@link ClassValue} отдельно для каждой
+ * {@link AccessorStrategy}, поэтому привязаны к жизненному циклу класса
+ * и не мешают его выгрузке.
+ */
+final class SerializationPlan {
+
+    /** Сериализуемые свойства в порядке объявления полей. */
+    private final Property[] properties;
+
+    SerializationPlan(Class<?> clazz, AccessorStrategy strategy) {
+        List<Property> resolved = new ArrayList<>();
+
+        for (Field field : clazz.getDeclaredFields()) {
+            JsonField annotation = field.getAnnotation(JsonField.class);
+            if (annotation == null || annotation.ignore()) {
+                continue;
+            }
+
+            field.setAccessible(true);
+
+            String name = annotation.name().isEmpty() ? field.getName() : annotation.name();
+            JsonDate dateAnnotation = field.getAnnotation(JsonDate.class);
+            JsonDateFormat dateFormat = dateAnnotation != null ? JsonDateFormat.of(dateAnnotation.pattern()) : null;
+
+            resolved.add(new Property(FieldAccessor.of(field, strategy), name, dateFormat));
+        }
+
+        this.properties = resolved.toArray(new Property[0]);
+    }
+
+    /**
+     * Возвращает (при необходимости строит) план для указанного класса.
+     *
+     * @param clazz    класс сериализуемого объекта
+     * @param strategy стратегия доступа к полям
+     * @return кэшированный план сериализации
+     */
+    static SerializationPlan of(Class<?> clazz, AccessorStrategy strategy) {
+        return strategy.planFor(clazz);
+    }
+
+    /**
+     * @return сериализуемые свойства; массив не должен изменяться вызывающим кодом
+     */
+    Property[] properties() {
+        return properties;
+    }
+
+    /**
+     * Описание одного сериализуемого поля.
+     */
+    static final class Property {
+        /** Аксессор значения поля, соответствующий выбранной стратегии. */
+        final FieldAccessor accessor;
+
+        /** Имя свойства в JSON. */
+        final String name;
+
+        /** Готовый префикс вида {@code "name":} с экранированным именем. */
+        final JsonName quotedName;
+
+        /** Скомпилированный формат из {@link JsonDate} или {@code null}, если аннотации нет. */
+        final JsonDateFormat dateFormat;
+
+        Property(FieldAccessor accessor, String name, JsonDateFormat dateFormat) {
+            this.accessor = accessor;
+            this.name = name;
+            this.quotedName = JsonName.of(name);
+            this.dateFormat = dateFormat;
+        }
+    }
+}
@@ -0,0 +1,348 @@
+package com.dandaev.edu.json.serializer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+
+/**
+ * Байтовая реализация {@link JsonWriter}, кодирующая вывод прямо в UTF-8.
+ *
+ * <p>Символы кодируются в {@code byte[]}-буфер по мере записи, поэтому
+ * документ никогда не существует в виде {@link String}, а повторное
+ * кодирование через {@code getBytes(UTF_8)} не требуется. Имена свойств
+ * ({@link JsonName}) хранят заранее закодированные байты и копируются
+ * в буфер целиком.
+ *
+ * <p>Режимы работы:
+ * <ul>
+ *   <li>без приёмника — буфер растёт, результат забирается через
+ *       {@link #toByteArray()}, {@link #toByteBuffer()} или, для буфера
+ *       не из пула, {@link #detach()};</li>
+ *   <li>с {@link OutputStream} или {@link WritableByteChannel} — буфер
+ *       фиксированного размера сбрасывается в приёмник порциями.</li>
+ * </ul>
+ *
+ * <p>Буферы берутся из {@link BufferPool} и возвращаются туда через
+ * {@link #release()}; после этого writer использовать нельзя.
+ */
+final class Utf8JsonWriter extends JsonWriter {
+
+    /** Размер буфера при записи в приёмник. */
+    static final int DEFAULT_CAPACITY = 8192;
+
+    /** Максимальная длина символа в UTF-8. */
+    private static final int MAX_CHAR_BYTES = 4;
+
+    private final OutputStream stream;
+    private final WritableByteChannel channel;
+
+    private byte[] buffer;
+    private int position;
+
+    /**
+     * Создаёт writer, накапливающий весь вывод в памяти.
+     */
+    Utf8JsonWriter() {
+        this(BufferPool.MIN_CAPACITY);
+    }
+
+    /**
+     * Создаёт writer, накапливающий весь вывод в памяти,
+     * с буфером из {@link BufferPool} не меньше ожидаемого размера.
+     *
+     * @param expectedSize ожидаемая длина вывода в байтах
+     */
+    Utf8JsonWriter(int expectedSize) {
+        this(null, null, BufferPool.bytes(expectedSize));
+    }
+
+    /**
+     * Создаёт writer, накапливающий весь вывод в памяти, с собственным
+     * (не из пула) буфером; результат забирается через {@link #detach()}.
+     *
+     * @param expectedSize ожидаемая длина вывода в байтах
+     * @return writer
+     */
+    static Utf8JsonWriter unpooled(int expectedSize) {
+        return new Utf8JsonWriter(null, null, new byte[Math.max(expectedSize, BufferPool.MIN_CAPACITY)]);
+    }
+
+    /**
+     * Создаёт writer, сбрасывающий вывод в поток.
+     *
+     * @param stream выходной поток
+     */
+    Utf8JsonWriter(OutputStream stream) {
+        this(stream, null, BufferPool.bytes(DEFAULT_CAPACITY));
+    }
+
+    /**
+     * Создаёт writer, сбрасывающий вывод в канал.
+     *
+     * @param channel канал (блокирующий)
+     */
+    Utf8JsonWriter(WritableByteChannel channel) {
+        this(null, channel, BufferPool.bytes(DEFAULT_CAPACITY));
+    }
+
+    private Utf8JsonWriter(OutputStream stream, WritableByteChannel channel, byte[] buffer) {
+        this.stream = stream;
+        this.channel = channel;
+        this.buffer = buffer;
+    }
+
+    @Override
+    public JsonWriter write(char c) {
+        if (c < 0x80) {
+            if (position == buffer.length) {
+                makeRoom(1);
+            }
+            buffer[position++] = (byte) c;
+        } else {
+            if (buffer.length - position < MAX_CHAR_BYTES) {
+                makeRoom(MAX_CHAR_BYTES);
+            }
+            encodeNonAscii(c);
+        }
+        return this;
+    }
+
+    @Override
+    public JsonWriter write(String raw, int from, int to) {
+        int i = from;
+        while (i < to) {
+            if (buffer.length - position < MAX_CHAR_BYTES) {
+                makeRoom(MAX_CHAR_BYTES);
+            }
+
+            // Быстрый цикл для ASCII в пределах свободного места
+            int asciiLimit = Math.min(to, i + buffer.length - position);
+            while (i < asciiLimit) {
+                char c = raw.charAt(i);
+                if (c >= 0x80) {
+                    break;
+                }
+                buffer[position++] = (byte) c;
+                i++;
+            }
+            if (i == asciiLimit) {
+                continue; // участок записан либо буфер заполнен
+            }
+
+            if (buffer.length - position < MAX_CHAR_BYTES) {
+                makeRoom(MAX_CHAR_BYTES);
+            }
+            char c = raw.charAt(i);
+            if (Character.isHighSurrogate(c) && i + 1 < to && Character.isLowSurrogate(raw.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, raw.charAt(i + 1));
+                buffer[position++] = (byte) (0xF0 | (codePoint >> 18));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                buffer[position++] = (byte) (0x80 | (codePoint & 0x3F));
+                i += 2;
+            } else {
+                encodeNonAscii(c);
+                i++;
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public JsonWriter writeName(JsonName name) {
+        byte[] bytes = name.utf8;
+        if (buffer.length - position < bytes.length) {
+            makeRoom(bytes.length);
+            if (buffer.length - position < bytes.length) {
+                // Имя длиннее буфера приёмника — пишем посимвольно
+                return write(name.quoted);
+            }
+        }
+        System.arraycopy(bytes, 0, buffer, position, bytes.length);
+        position += bytes.length;
+        return this;
+    }
+
+    @Override
+    public JsonWriter writeInt(int value) {
+        return writeLong(value);
+    }
+
+    @Override
+    public JsonWriter writeLong(long value) {
+        // 20 байт достаточно для Long.MIN_VALUE вместе со знаком
+        if (buffer.length - position < 20) {
+            makeRoom(20);
+        }
+
+        if (value == Long.MIN_VALUE) {
+            return write("-9223372036854775808");
+        }
+        if (value < 0) {
+            buffer[position++] = '-';
+            value = -value;
+        }
+
+        int digits = 1;
+        for (long rest = value / 10; rest != 0; rest /= 10) {
+            digits++;
+        }
+
+        int end = position + digits;
+        for (int i = end - 1; i >= position; i--) {
+            buffer[i] = (byte) ('0' + (value % 10));
+            value /= 10;
+        }
+        position = end;
+        return this;
+    }
+
+    @Override
+    void flush() {
+        if (position == 0 || (stream == null && channel == null)) {
+            return;
+        }
+        try {
+            if (stream != null) {
+                stream.write(buffer, 0, position);
+            } else {
+                ByteBuffer chunk = ByteBuffer.wrap(buffer, 0, position);
+                while (chunk.hasRemaining()) {
+                    channel.write(chunk);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        position = 0;
+    }
+
+    @Override
+    JsonWriter newChunkWriter() {
+        return new Utf8JsonWriter();
+    }
+
+    @Override
+    void reset() {
+        position = 0;
+    }
+
+    @Override
+    int size() {
+        return position;
+    }
+
+    @Override
+    int capacity() {
+        return buffer.length;
+    }
+
+    @Override
+    void release() {
+        if (buffer != null) {
+            BufferPool.release(buffer);
+            buffer = null;
+        }
+    }
+
+    @Override
+    void append(JsonWriter chunk) {
+        Utf8JsonWriter source = (Utf8JsonWriter) chunk;
+        writeBytes(source.buffer, 0, source.position);
+    }
+
+    @Override
+    void writeFragment(JsonFragment fragment) {
+        byte[] utf8 = fragment.utf8();
+        writeBytes(utf8, 0, utf8.length);
+    }
+
+    @Override
+    void captureFragment(JsonFragment fragment) {
+        fragment.setUtf8(toByteArray());
+    }
+
+    /**
+     * Копирует участок массива в буфер, освобождая место по мере необходимости.
+     */
+    private void writeBytes(byte[] source, int from, int to) {
+        int offset = from;
+
+        while (offset < to) {
+            if (position == buffer.length) {
+                makeRoom(to - offset);
+            }
+            int count = Math.min(to - offset, buffer.length - position);
+            System.arraycopy(source, offset, buffer, position, count);
+            position += count;
+            offset += count;
+        }
+    }
+
+    /**
+     * @return копия накопленного (ещё не сброшенного) вывода
+     */
+    byte[] toByteArray() {
+        return Arrays.copyOf(buffer, position);
+    }
+
+    /**
+     * @return накопленный вывод без копирования (буфер writer'а)
+     */
+    ByteBuffer toByteBuffer() {
+        return ByteBuffer.wrap(buffer, 0, position);
+    }
+
+    /**
+     * Отдаёт буфер с выводом без копирования; в пул он не возвращается,
+     * и writer больше использовать нельзя.
+     *
+     * @return накопленный вывод
+     */
+    ByteBuffer detach() {
+        ByteBuffer result = ByteBuffer.wrap(buffer, 0, position);
+        buffer = null;
+        return result;
+    }
+
+    /**
+     * Кодирует символ вне ASCII; место в буфере уже должно быть обеспечено.
+     * Из строковых значений одиночные суррогаты сюда не попадают:
+     * {@link JsonEscapes#nextEscape} заранее экранирует их как
+     * <code>&#92;uXXXX</code>. Непарный суррогат в тексте, записанном как
+     * есть ({@link #write(String, int, int)}, {@link #write(char)}),
+     * заменяется на {@code '?'}, как это делает стандартный кодировщик.
+     */
+    private void encodeNonAscii(char c) {
+        if (c < 0x800) {
+            buffer[position++] = (byte) (0xC0 | (c >> 6));
+            buffer[position++] = (byte) (0x80 | (c & 0x3F));
+        } else if (Character.isSurrogate(c)) {
+            buffer[position++] = '?';
+        } else {
+            buffer[position++] = (byte) (0xE0 | (c >> 12));
+            buffer[position++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+            buffer[position++] = (byte) (0x80 | (c & 0x3F));
+        }
+    }
+
+    /**
+     * Освобождает место в буфере: сбрасывает его в приёмник,
+     * а в режиме «в память» — увеличивает.
+     *
+     * @param needed сколько байт требуется записать
+     */
+    private void makeRoom(int needed) {
+        if (stream != null || channel != null) {
+            flush();
+            return;
+        }
+        int capacity = Math.max(buffer.length * 2, position + needed);
+        byte[] previous = buffer;
+        buffer = Arrays.copyOf(previous, capacity);
+        BufferPool.release(previous);
+    }
+}
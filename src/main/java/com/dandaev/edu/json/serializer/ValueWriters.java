@@ -0,0 +1,116 @@
+package com.dandaev.edu.json.serializer;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Таблица диспетчеризации: runtime-класс значения → {@link JsonObjectWriter}.
+ *
+ * <p>Writer для класса выбирается один раз и кэшируется в {@link ClassValue},
+ * поэтому {@link JsonSerializer} не проходит цепочку {@code instanceof}
+ * на каждом значении. Строки, обёртки примитивов и сами примитивы всегда
+ * пишутся встроенным writer'ом. Для остальных сначала ищется пользовательский writer,
+ * зарегистрированный для самого класса, его суперклассов или интерфейсов
+ * (ближайший по иерархии), затем — встроенный.
+ *
+ * <p>{@link ClassValue} нельзя сбросить для отдельного класса, поэтому при
+ * регистрации кэш целиком заменяется новым. Регистрация рассчитана на этап
+ * инициализации приложения; на стоимость записи значений она не влияет.
+ */
+final class ValueWriters {
+
+    /** Классы, которые пишутся напрямую и сгенерированным кодом, и по плану. */
+    private static final Set<Class<?>> FIXED = Set.of(
+            String.class, Boolean.class, Integer.class, Long.class,
+            Double.class, Float.class, Short.class, Byte.class);
+
+    /** Пользовательские writer'ы по классу, для которого они зарегистрированы. */
+    private static final Map<Class<?>, JsonObjectWriter<Object>> CUSTOM = new ConcurrentHashMap<>();
+
+    private static volatile ClassValue<JsonObjectWriter<Object>> cache = newCache();
+
+    private ValueWriters() {
+    }
+
+    /**
+     * Возвращает writer для runtime-класса значения.
+     *
+     * @param clazz класс значения
+     * @return writer (для неподдерживаемых классов — writer, бросающий исключение)
+     */
+    static JsonObjectWriter<Object> forClass(Class<?> clazz) {
+        return cache.get(clazz);
+    }
+
+    /**
+     * Регистрирует пользовательский writer и сбрасывает кэш.
+     *
+     * @param type   класс, его подклассы или реализации
+     * @param writer writer значений
+     */
+    @SuppressWarnings("unchecked")
+    static synchronized void register(Class<?> type, JsonObjectWriter<?> writer) {
+        if (type == null || writer == null) {
+            throw new IllegalArgumentException("Type and writer must not be null");
+        }
+        if (type.isPrimitive() || FIXED.contains(type)) {
+            throw new IllegalArgumentException("Cannot override built-in writer for " + type.getName());
+        }
+        CUSTOM.put(type, (JsonObjectWriter<Object>) writer);
+        cache = newCache();
+    }
+
+    private static ClassValue<JsonObjectWriter<Object>> newCache() {
+        return new ClassValue<>() {
+            @Override
+            protected JsonObjectWriter<Object> computeValue(Class<?> type) {
+                // Writer, зарегистрированный для Comparable или Serializable,
+                // не должен перехватывать строки и обёртки
+                if (type.isPrimitive() || FIXED.contains(type)) {
+                    return JsonSerializer.builtInWriter(type);
+                }
+                JsonObjectWriter<Object> custom = findCustom(type);
+                return custom != null ? custom : JsonSerializer.builtInWriter(type);
+            }
+        };
+    }
+
+    /**
+     * Ищет ближайший зарегистрированный writer: сначала по цепочке
+     * суперклассов, затем по интерфейсам в ширину.
+     */
+    private static JsonObjectWriter<Object> findCustom(Class<?> type) {
+        if (CUSTOM.isEmpty()) {
+            return null;
+        }
+
+        for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+            JsonObjectWriter<Object> writer = CUSTOM.get(c);
+            if (writer != null) {
+                return writer;
+            }
+        }
+
+        Deque<Class<?>> queue = new ArrayDeque<>();
+        Set<Class<?>> seen = new HashSet<>();
+        for (Class<?> c = type; c != null; c = c.getSuperclass()) {
+            queue.add(c);
+        }
+        while (!queue.isEmpty()) {
+            for (Class<?> candidate : queue.poll().getInterfaces()) {
+                if (seen.add(candidate)) {
+                    JsonObjectWriter<Object> writer = CUSTOM.get(candidate);
+                    if (writer != null) {
+                        return writer;
+                    }
+                    queue.add(candidate);
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,145 @@
+package com.dandaev.edu.web.framework.admission;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Ограничитель числа одновременно обрабатываемых запросов.
+ *
+ * <p>
+ * Фиксированный ограничитель ({@link #fixed}) допускает не больше
+ * заданного числа запросов. Адаптивный ({@link #adaptive}) меняет предел
+ * по алгоритму AIMD (additive increase, multiplicative decrease) по
+ * измеренной задержке обработчиков: запрос медленнее целевой задержки или
+ * завершившийся перегрузкой умножает предел на {@value #BACKOFF_RATIO},
+ * а быстрый запрос при загрузке не меньше половины предела
+ * увеличивает его на единицу. Так при деградации обработчика в очереди
+ * копится меньше запросов и задержка остальных остаётся ограниченной.
+ *
+ * <p>
+ * Состояние — два {@link AtomicInteger} (число запросов и предел),
+ * обновляемые CAS, без блокировок. Каждый допущенный
+ * {@link #tryAcquire()} запрос должен завершиться одним вызовом
+ * {@link #release(long, boolean)} или {@link #release()}.
+ */
+public final class ConcurrencyLimiter {
+
+	/** Множитель предела при превышении целевой задержки. */
+	private static final double BACKOFF_RATIO = 0.9;
+
+	private final int minLimit;
+	private final int maxLimit;
+
+	/** Целевая задержка; {@code 0} — предел не меняется. */
+	private final long targetLatencyNanos;
+
+	private final AtomicInteger limit;
+	private final AtomicInteger inFlight = new AtomicInteger();
+
+	private ConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, long targetLatencyNanos) {
+		if (minLimit < 1 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+			throw new IllegalArgumentException("Invalid limits: initial=" + initialLimit
+					+ ", min=" + minLimit + ", max=" + maxLimit);
+		}
+		this.minLimit = minLimit;
+		this.maxLimit = maxLimit;
+		this.targetLatencyNanos = targetLatencyNanos;
+		this.limit = new AtomicInteger(initialLimit);
+	}
+
+	/**
+	 * Создаёт ограничитель с постоянным пределом.
+	 *
+	 * @param limit наибольшее число одновременных запросов
+	 * @return ограничитель
+	 * @throws IllegalArgumentException если предел не положителен
+	 */
+	public static ConcurrencyLimiter fixed(int limit) {
+		return new ConcurrencyLimiter(limit, limit, limit, 0);
+	}
+
+	/**
+	 * Создаёт адаптивный (AIMD) ограничитель. Предел начинается с
+	 * {@code maxLimit} и уменьшается, пока обработчики не укладываются в
+	 * целевую задержку.
+	 *
+	 * @param minLimit      наименьший предел
+	 * @param maxLimit      наибольший предел
+	 * @param targetLatency целевая задержка в миллисекундах
+	 * @return ограничитель
+	 * @throws IllegalArgumentException если пределы некорректны или задержка не положительна
+	 */
+	public static ConcurrencyLimiter adaptive(int minLimit, int maxLimit, long targetLatency) {
+		if (targetLatency <= 0) {
+			throw new IllegalArgumentException("Target latency must be positive: " + targetLatency);
+		}
+		return new ConcurrencyLimiter(maxLimit, minLimit, maxLimit, TimeUnit.MILLISECONDS.toNanos(targetLatency));
+	}
+
+	/**
+	 * @return допущен ли запрос; если да, его нужно завершить {@code release}
+	 */
+	public boolean tryAcquire() {
+		for (;;) {
+			int current = inFlight.get();
+			if (current >= limit.get()) {
+				return false;
+			}
+			if (inFlight.compareAndSet(current, current + 1)) {
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * Завершает допущенный запрос и учитывает его задержку.
+	 *
+	 * @param latencyNanos время обработки запроса
+	 * @param overloaded   завершился ли запрос признаком перегрузки
+	 *                     (например, таймаутом)
+	 */
+	public void release(long latencyNanos, boolean overloaded) {
+		int current = inFlight.getAndDecrement();
+		if (targetLatencyNanos == 0) {
+			return;
+		}
+
+		boolean slow = overloaded || latencyNanos > targetLatencyNanos;
+		for (;;) {
+			int old = limit.get();
+			int updated;
+			if (slow) {
+				updated = Math.max(minLimit, (int) (old * BACKOFF_RATIO));
+			} else if (current * 2 >= old) {
+				updated = Math.min(maxLimit, old + 1);
+			} else {
+				return;
+			}
+			if (updated == old || limit.compareAndSet(old, updated)) {
+				return;
+			}
+		}
+	}
+
+	/**
+	 * Завершает допущенный запрос, не учитывая его задержку (например,
+	 * если запрос отклонён другим ограничителем).
+	 */
+	public void release() {
+		inFlight.decrementAndGet();
+	}
+
+	/**
+	 * @return текущий предел
+	 */
+	public int getLimit() {
+		return limit.get();
+	}
+
+	/**
+	 * @return число запросов, обрабатываемых сейчас
+	 */
+	public int getInFlight() {
+		return inFlight.get();
+	}
+}
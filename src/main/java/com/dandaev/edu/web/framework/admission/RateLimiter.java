@@ -0,0 +1,105 @@
+package com.dandaev.edu.web.framework.admission;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Ограничитель частоты запросов — маркерная корзина (token bucket) по
+ * алгоритму GCRA (Generic Cell Rate Algorithm).
+ *
+ * <p>
+ * Вместо числа маркеров хранится одно число — теоретическое время
+ * прибытия (TAT) следующего запроса в наносекундах. Запрос допускается,
+ * если TAT опережает текущее время не больше чем на допуск всплеска,
+ * и тогда TAT сдвигается на интервал между маркерами. Состояние — один
+ * {@link AtomicLong}, обновляемый CAS, поэтому ограничитель не
+ * блокируется и не требует фонового пополнения.
+ *
+ * <pre>{@code
+ * RateLimiter limiter = new RateLimiter(100, 20); // 100 запросов/с, всплеск до 20
+ * if (!limiter.tryAcquire()) {
+ *     return HttpResponse.error(429, null);
+ * }
+ * }</pre>
+ */
+public final class RateLimiter {
+
+	private final double permitsPerSecond;
+	private final int burst;
+
+	/** Интервал между маркерами. */
+	private final long intervalNanos;
+
+	/** Насколько TAT может опережать текущее время: {@code (burst - 1)} интервалов. */
+	private final long toleranceNanos;
+
+	private final AtomicLong theoreticalArrival;
+
+	/**
+	 * @param permitsPerSecond средняя частота допускаемых запросов
+	 * @param burst            сколько запросов допускается подряд без пауз
+	 * @throws IllegalArgumentException если частота или всплеск не положительны
+	 */
+	public RateLimiter(double permitsPerSecond, int burst) {
+		if (!(permitsPerSecond > 0)) {
+			throw new IllegalArgumentException("Rate must be positive: " + permitsPerSecond);
+		}
+		if (burst < 1) {
+			throw new IllegalArgumentException("Burst must be positive: " + burst);
+		}
+		this.permitsPerSecond = permitsPerSecond;
+		this.burst = burst;
+		this.intervalNanos = Math.max(1, Math.round(TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+		this.toleranceNanos = (burst - 1) * intervalNanos;
+		this.theoreticalArrival = new AtomicLong(System.nanoTime());
+	}
+
+	/**
+	 * @return допущен ли запрос
+	 */
+	public boolean tryAcquire() {
+		return tryAcquire(System.nanoTime());
+	}
+
+	/**
+	 * То же, что {@link #tryAcquire()}, с уже измеренным временем.
+	 *
+	 * @param nowNanos текущее значение {@link System#nanoTime()}
+	 * @return допущен ли запрос
+	 */
+	public boolean tryAcquire(long nowNanos) {
+		for (;;) {
+			long tat = theoreticalArrival.get();
+			long base = tat - nowNanos > 0 ? tat : nowNanos;
+			if (base - nowNanos > toleranceNanos) {
+				return false;
+			}
+			if (theoreticalArrival.compareAndSet(tat, base + intervalNanos)) {
+				return true;
+			}
+		}
+	}
+
+	/**
+	 * @param nowNanos текущее значение {@link System#nanoTime()}
+	 * @return через сколько наносекунд появится следующий маркер;
+	 *         {@code 0}, если он есть уже сейчас
+	 */
+	public long nanosUntilPermit(long nowNanos) {
+		return Math.max(0, theoreticalArrival.get() - toleranceNanos - nowNanos);
+	}
+
+	/**
+	 * @return средняя частота допускаемых запросов в секунду
+	 */
+	public double getPermitsPerSecond() {
+		return permitsPerSecond;
+	}
+
+	/**
+	 * @return наибольший всплеск
+	 */
+	public int getBurst() {
+		return burst;
+	}
+}
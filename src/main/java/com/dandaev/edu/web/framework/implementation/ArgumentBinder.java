@@ -0,0 +1,23 @@
+package com.dandaev.edu.web.framework.implementation;
+
+/**
+ * Заранее подготовленный способ получить значение одного аргумента
+ * метода-обработчика из запроса.
+ *
+ * <p>
+ * Binder'ы создаются {@link RouteHandler} при регистрации маршрута: имя
+ * параметра, индекс сегмента пути и преобразование типа определяются один
+ * раз, а на запрос остаётся только извлечь и преобразовать значение.
+ */
+@FunctionalInterface
+interface ArgumentBinder {
+
+	/**
+	 * Извлекает значение аргумента.
+	 *
+	 * @param request запрос
+	 * @return значение аргумента
+	 * @throws IllegalArgumentException если обязательное значение отсутствует или имеет неверный формат
+	 */
+	Object bind(HttpRequest request);
+}
@@ -0,0 +1,15 @@
+package com.dandaev.edu.web.framework.implementation;
+
+/**
+ * Ошибка в данных запроса: отсутствует обязательный параметр или значение
+ * не удалось преобразовать к типу параметра метода. Отвечается статусом
+ * {@code 400 Bad Request}, а не {@code 500}.
+ */
+class BadRequestException extends IllegalArgumentException {
+
+	private static final long serialVersionUID = 1L;
+
+	BadRequestException(String message, Throwable cause) {
+		super(message, cause);
+	}
+}
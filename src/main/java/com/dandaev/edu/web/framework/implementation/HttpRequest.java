@@ -0,0 +1,148 @@
+package com.dandaev.edu.web.framework.implementation;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Входящий HTTP-запрос: метод, путь, параметры, заголовки и тело.
+ *
+ * <p>
+ * Тело хранится в том виде, в каком пришло: байтами от HTTP-сервера или
+ * строкой от {@link WebFramework#dispatch}. Второе представление
+ * вычисляется при первом обращении. Имена заголовков не зависят от регистра.
+ *
+ * <p>
+ * Метод контроллера может принять запрос целиком, объявив параметр типа
+ * {@code HttpRequest} без аннотаций.
+ */
+public final class HttpRequest {
+
+	private static final byte[] EMPTY = new byte[0];
+
+	private final String method;
+	private final String target;
+	private final Map<String, String> params;
+	private final Map<String, String> headers;
+
+	private byte[] body;
+	private String bodyText;
+
+	/**
+	 * @param method  HTTP-метод
+	 * @param target  путь запроса, возможно с query-частью
+	 * @param params  параметры запроса
+	 * @param headers заголовки запроса
+	 * @param body    тело запроса в байтах или {@code null}
+	 */
+	public HttpRequest(String method, String target, Map<String, String> params, Map<String, String> headers,
+			byte[] body) {
+		this.method = method;
+		this.target = target;
+		this.params = params;
+		this.headers = lowerCaseNames(headers);
+		this.body = body != null ? body : EMPTY;
+	}
+
+	/**
+	 * @param method  HTTP-метод
+	 * @param target  путь запроса, возможно с query-частью
+	 * @param params  параметры запроса
+	 * @param headers заголовки запроса
+	 * @param body    тело запроса строкой или {@code null}
+	 */
+	public HttpRequest(String method, String target, Map<String, String> params, Map<String, String> headers,
+			String body) {
+		this.method = method;
+		this.target = target;
+		this.params = params;
+		this.headers = lowerCaseNames(headers);
+		this.bodyText = body != null ? body : "";
+	}
+
+	/**
+	 * @return HTTP-метод
+	 */
+	public String getMethod() {
+		return method;
+	}
+
+	/**
+	 * @return путь запроса вместе с query-частью
+	 */
+	public String getTarget() {
+		return target;
+	}
+
+	/**
+	 * @return путь запроса без query-части
+	 */
+	public String getPath() {
+		int query = target.indexOf('?');
+		return query >= 0 ? target.substring(0, query) : target;
+	}
+
+	/**
+	 * @return параметры запроса (query-строка и форма)
+	 */
+	public Map<String, String> getParams() {
+		return params;
+	}
+
+	/**
+	 * @param name имя параметра
+	 * @return значение параметра или {@code null}
+	 */
+	public String getParam(String name) {
+		return params.get(name);
+	}
+
+	/**
+	 * @return заголовки запроса; имена в нижнем регистре
+	 */
+	public Map<String, String> getHeaders() {
+		return headers;
+	}
+
+	/**
+	 * @param name имя заголовка (регистр не важен)
+	 * @return значение заголовка или {@code null}
+	 */
+	public String getHeader(String name) {
+		String value = headers.get(name);
+		return value != null ? value : headers.get(name.toLowerCase(Locale.ROOT));
+	}
+
+	/**
+	 * @return тело запроса; массив не должен изменяться
+	 */
+	public byte[] getBody() {
+		if (body == null) {
+			body = bodyText.getBytes(StandardCharsets.UTF_8);
+		}
+		return body;
+	}
+
+	/**
+	 * @return тело запроса, декодированное из UTF-8
+	 */
+	public String getBodyAsString() {
+		if (bodyText == null) {
+			bodyText = new String(body, StandardCharsets.UTF_8);
+		}
+		return bodyText;
+	}
+
+	private static Map<String, String> lowerCaseNames(Map<String, String> headers) {
+		if (headers.isEmpty()) {
+			return Collections.emptyMap();
+		}
+		Map<String, String> copy = new HashMap<>(headers.size() * 2);
+		for (Map.Entry<String, String> header : headers.entrySet()) {
+			copy.putIfAbsent(header.getKey().toLowerCase(Locale.ROOT), header.getValue());
+		}
+		return Collections.unmodifiableMap(copy);
+	}
+}
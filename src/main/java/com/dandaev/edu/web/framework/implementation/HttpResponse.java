@@ -0,0 +1,369 @@
+package com.dandaev.edu.web.framework.implementation;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.dandaev.edu.json.serializer.JsonSerializer;
+
+/**
+ * Результат обработки запроса: статус, заголовки и тело.
+ *
+ * <p>
+ * Тело бывает трёх видов:
+ * <ul>
+ * <li>массив байтов — текст, JSON и {@code byte[]} пишутся в сокет как есть;</li>
+ * <li>{@link ByteBuffer} — отправляется без копирования;</li>
+ * <li>{@link BodyWriter} — потоковое тело неизвестной длины, которое
+ * генерируется прямо в выходной поток соединения.</li>
+ * </ul>
+ *
+ * <p>
+ * Экземпляры неизменяемы: {@link #withHeader} возвращает новый ответ.
+ */
+public final class HttpResponse {
+
+	/** Тип содержимого текстовых ответов. */
+	public static final String TEXT_PLAIN = "text/plain; charset=UTF-8";
+
+	/** Тип содержимого JSON-ответов. */
+	public static final String APPLICATION_JSON = "application/json; charset=UTF-8";
+
+	/** Тип содержимого двоичных ответов. */
+	public static final String APPLICATION_OCTET_STREAM = "application/octet-stream";
+
+	private static final byte[] EMPTY = new byte[0];
+
+	/**
+	 * Генератор потокового тела ответа.
+	 */
+	@FunctionalInterface
+	public interface BodyWriter {
+
+		/**
+		 * Пишет тело ответа. Поток не нужно закрывать.
+		 *
+		 * @param out выходной поток
+		 * @throws IOException если запись не удалась
+		 */
+		void writeTo(OutputStream out) throws IOException;
+	}
+
+	private final int status;
+	private final String contentType;
+	private final Map<String, String> headers;
+
+	/** Ровно одно из трёх представлений тела не равно {@code null}. */
+	private final byte[] bytes;
+	private final ByteBuffer buffer;
+	private final BodyWriter writer;
+
+	private HttpResponse(int status, String contentType, Map<String, String> headers, byte[] bytes,
+			ByteBuffer buffer, BodyWriter writer) {
+		this.status = status;
+		this.contentType = contentType;
+		this.headers = headers;
+		this.bytes = bytes;
+		this.buffer = buffer;
+		this.writer = writer;
+	}
+
+	private HttpResponse(int status, String contentType, byte[] bytes) {
+		this(status, contentType, Collections.emptyMap(), bytes, null, null);
+	}
+
+	/**
+	 * @param text тело ответа
+	 * @return ответ {@code 200 OK} с текстовым телом
+	 */
+	public static HttpResponse ok(String text) {
+		return text(200, text);
+	}
+
+	/**
+	 * @param status код статуса
+	 * @param text   тело ответа
+	 * @return ответ с текстовым телом в UTF-8
+	 */
+	public static HttpResponse text(int status, String text) {
+		return new HttpResponse(status, TEXT_PLAIN, text.getBytes(StandardCharsets.UTF_8));
+	}
+
+	/**
+	 * @param status код статуса
+	 * @return ответ без тела, например {@code 204 No Content}
+	 */
+	public static HttpResponse empty(int status) {
+		return new HttpResponse(status, null, EMPTY);
+	}
+
+	/**
+	 * @param value объект для сериализации
+	 * @return ответ {@code 200 OK} с JSON-телом
+	 * @see #json(int, Object)
+	 */
+	public static HttpResponse json(Object value) {
+		return json(200, value);
+	}
+
+	/**
+	 * Создаёт JSON-ответ. {@link JsonSerializer} кодирует объект сразу в
+	 * байты UTF-8, и буфер, в который они записаны, становится телом
+	 * ответа — без промежуточной строки и без копирования
+	 * ({@link JsonSerializer#serializeToUtf8Buffer}).
+	 *
+	 * @param status код статуса
+	 * @param value  объект, который умеет сериализовать {@link JsonSerializer}
+	 * @return ответ с JSON-телом
+	 * @throws IllegalArgumentException если объект нельзя сериализовать
+	 */
+	public static HttpResponse json(int status, Object value) {
+		try {
+			ByteBuffer body = JsonSerializer.serializeToUtf8Buffer(value);
+			return new HttpResponse(status, APPLICATION_JSON, Collections.emptyMap(), null, body, null);
+		} catch (IllegalAccessException e) {
+			throw new IllegalArgumentException("Cannot serialize " + value.getClass().getName(), e);
+		}
+	}
+
+	/**
+	 * @param status      код статуса
+	 * @param contentType тип содержимого
+	 * @param body        тело; массив не копируется и не должен изменяться
+	 * @return ответ с двоичным телом
+	 */
+	public static HttpResponse bytes(int status, String contentType, byte[] body) {
+		return new HttpResponse(status, contentType, body);
+	}
+
+	/**
+	 * @param status      код статуса
+	 * @param contentType тип содержимого
+	 * @param body        тело от позиции до лимита; буфер не копируется
+	 * @return ответ с телом из буфера
+	 */
+	public static HttpResponse buffer(int status, String contentType, ByteBuffer body) {
+		return new HttpResponse(status, contentType, Collections.emptyMap(), null, body.asReadOnlyBuffer(), null);
+	}
+
+	/**
+	 * Создаёт ответ с потоковым телом. Длина заранее неизвестна, поэтому
+	 * сервер отправляет тело частями ({@code Transfer-Encoding: chunked})
+	 * или, если потоковая передача невозможна, сначала собирает его в память.
+	 *
+	 * @param status      код статуса
+	 * @param contentType тип содержимого
+	 * @param writer      генератор тела; может быть вызван в другом потоке
+	 * @return ответ с потоковым телом
+	 */
+	public static HttpResponse stream(int status, String contentType, BodyWriter writer) {
+		return new HttpResponse(status, contentType, Collections.emptyMap(), null, null, writer);
+	}
+
+	/**
+	 * Создаёт ответ об ошибке с телом вида {@code "404 Not Found"} или
+	 * {@code "500 Internal Server Error: message"}.
+	 *
+	 * @param status  код статуса
+	 * @param message пояснение или {@code null}
+	 * @return ответ с текстовым телом
+	 */
+	public static HttpResponse error(int status, String message) {
+		String line = status + " " + reasonPhrase(status);
+		return text(status, message != null ? line + ": " + message : line);
+	}
+
+	/**
+	 * Возвращает копию ответа с дополнительным заголовком.
+	 * {@code Content-Type} задаётся фабричным методом, а
+	 * {@code Content-Length}, {@code Transfer-Encoding} и {@code Connection}
+	 * выставляет сервер.
+	 *
+	 * @param name  имя заголовка
+	 * @param value значение
+	 * @return новый ответ
+	 */
+	public HttpResponse withHeader(String name, String value) {
+		Map<String, String> copy = new LinkedHashMap<>(headers);
+		copy.put(name, value);
+		return new HttpResponse(status, contentType, Collections.unmodifiableMap(copy), bytes, buffer, writer);
+	}
+
+	/**
+	 * @return код статуса
+	 */
+	public int getStatus() {
+		return status;
+	}
+
+	/**
+	 * @return поясняющая фраза статуса, например {@code "Not Found"}
+	 */
+	public String getReasonPhrase() {
+		return reasonPhrase(status);
+	}
+
+	/**
+	 * @return значение заголовка {@code Content-Type} или {@code null}
+	 *         для ответа без тела
+	 */
+	public String getContentType() {
+		return contentType;
+	}
+
+	/**
+	 * @return дополнительные заголовки в порядке добавления
+	 */
+	public Map<String, String> getHeaders() {
+		return headers;
+	}
+
+	/**
+	 * @return {@code true}, если тело потоковое и его длина неизвестна
+	 */
+	public boolean isStreaming() {
+		return writer != null;
+	}
+
+	/**
+	 * @return длина тела в байтах или {@code -1} для потокового тела
+	 */
+	public long getContentLength() {
+		if (bytes != null) {
+			return bytes.length;
+		}
+		return buffer != null ? buffer.remaining() : -1;
+	}
+
+	/**
+	 * Возвращает тело массивом. Для тела из буфера создаётся копия,
+	 * потоковое тело собирается в память.
+	 *
+	 * @return тело ответа; массив не должен изменяться
+	 */
+	public byte[] getBody() {
+		if (bytes != null) {
+			return bytes;
+		}
+		if (buffer != null) {
+			byte[] copy = new byte[buffer.remaining()];
+			buffer.duplicate().get(copy);
+			return copy;
+		}
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try {
+			writer.writeTo(out);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return out.toByteArray();
+	}
+
+	/**
+	 * Возвращает тело буфером только для чтения; массив и буфер не
+	 * копируются, потоковое тело собирается в память.
+	 *
+	 * @return тело ответа
+	 */
+	public ByteBuffer getBodyBuffer() {
+		if (buffer != null) {
+			return buffer.duplicate();
+		}
+		return ByteBuffer.wrap(getBody()).asReadOnlyBuffer();
+	}
+
+	/**
+	 * Пишет тело в поток: массив и буфер — целиком, потоковое тело —
+	 * по мере генерации.
+	 *
+	 * @param out выходной поток
+	 * @throws IOException если запись не удалась
+	 */
+	public void writeBody(OutputStream out) throws IOException {
+		if (bytes != null) {
+			out.write(bytes);
+		} else if (buffer != null) {
+			ByteBuffer view = buffer.duplicate();
+			if (view.hasArray()) {
+				out.write(view.array(), view.arrayOffset() + view.position(), view.remaining());
+			} else {
+				byte[] chunk = new byte[Math.min(view.remaining(), 8192)];
+				while (view.hasRemaining()) {
+					int count = Math.min(chunk.length, view.remaining());
+					view.get(chunk, 0, count);
+					out.write(chunk, 0, count);
+				}
+			}
+		} else {
+			writer.writeTo(out);
+		}
+	}
+
+	/**
+	 * @return тело ответа, декодированное из UTF-8
+	 */
+	public String getBodyAsString() {
+		return new String(getBody(), StandardCharsets.UTF_8);
+	}
+
+	/**
+	 * Возвращает стандартную поясняющую фразу для кода статуса.
+	 *
+	 * @param status код статуса
+	 * @return фраза или пустая строка для неизвестного кода
+	 */
+	public static String reasonPhrase(int status) {
+		switch (status) {
+			case 200:
+				return "OK";
+			case 201:
+				return "Created";
+			case 202:
+				return "Accepted";
+			case 204:
+				return "No Content";
+			case 304:
+				return "Not Modified";
+			case 400:
+				return "Bad Request";
+			case 401:
+				return "Unauthorized";
+			case 403:
+				return "Forbidden";
+			case 404:
+				return "Not Found";
+			case 405:
+				return "Method Not Allowed";
+			case 408:
+				return "Request Timeout";
+			case 409:
+				return "Conflict";
+			case 411:
+				return "Length Required";
+			case 413:
+				return "Payload Too Large";
+			case 415:
+				return "Unsupported Media Type";
+			case 429:
+				return "Too Many Requests";
+			case 431:
+				return "Request Header Fields Too Large";
+			case 500:
+				return "Internal Server Error";
+			case 501:
+				return "Not Implemented";
+			case 503:
+				return "Service Unavailable";
+			case 505:
+				return "HTTP Version Not Supported";
+			default:
+				return "";
+		}
+	}
+}
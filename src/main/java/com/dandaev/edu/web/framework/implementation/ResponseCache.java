@@ -0,0 +1,221 @@
+package com.dandaev.edu.web.framework.implementation;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import com.dandaev.edu.annotations.web.framework.CacheEvict;
+import com.dandaev.edu.annotations.web.framework.Cacheable;
+
+/**
+ * Кэш ответов одного маршрута с {@link Cacheable}.
+ *
+ * <p>
+ * Ключ — массив связанных аргументов метода (сравнение по {@code equals}
+ * элементов). Хранятся готовые ответы: тело уже закодировано в байты, и
+ * при попадании ответ отдаётся без вызова контроллера и сериализации.
+ * Кэш разбит на сегменты с вытеснением давно не использованных записей
+ * (LRU), каждый сегмент защищён собственной блокировкой; запись
+ * устаревает через {@code ttl}.
+ *
+ * <p>
+ * Одновременные промахи по одному ключу объединяются: обработчик вызывает
+ * только первый запрос, остальные получают его будущий ответ. Очистка
+ * ({@link CacheEvict}) увеличивает поколение кэша, поэтому ответ загрузки,
+ * начатой до очистки, отдаётся ждущим её запросам, но не сохраняется.
+ */
+final class ResponseCache {
+
+	private static final int SEGMENTS = 16;
+
+	private final String name;
+	private final long ttlNanos;
+	private final Segment[] segments = new Segment[SEGMENTS];
+
+	/** Загрузки, выполняющиеся сейчас, по ключу. */
+	private final ConcurrentHashMap<Key, CompletableFuture<HttpResponse>> loading = new ConcurrentHashMap<>();
+
+	private final AtomicLong generation = new AtomicLong();
+
+	/**
+	 * @param name       имя кэша
+	 * @param ttlMillis  время жизни записи в миллисекундах
+	 * @param maxEntries наибольшее число записей
+	 * @throws IllegalArgumentException если время жизни или размер не положительны
+	 */
+	ResponseCache(String name, long ttlMillis, int maxEntries) {
+		if (ttlMillis <= 0) {
+			throw new IllegalArgumentException("Cache TTL must be positive: " + ttlMillis);
+		}
+		if (maxEntries < 1) {
+			throw new IllegalArgumentException("Max entries must be positive: " + maxEntries);
+		}
+		this.name = name;
+		this.ttlNanos = TimeUnit.MILLISECONDS.toNanos(ttlMillis);
+		int perSegment = Math.max(1, (maxEntries + SEGMENTS - 1) / SEGMENTS);
+		for (int i = 0; i < SEGMENTS; i++) {
+			segments[i] = new Segment(perSegment);
+		}
+	}
+
+	/**
+	 * @return имя кэша
+	 */
+	String name() {
+		return name;
+	}
+
+	/**
+	 * Возвращает закэшированный ответ или загружает его. Если ответ по этому
+	 * ключу уже загружается, новая загрузка не начинается.
+	 *
+	 * <p>
+	 * Каждый вызывающий получает собственное будущее: его отмена (например,
+	 * при разрыве соединения) не затрагивает общую загрузку.
+	 *
+	 * @param args   связанные аргументы метода
+	 * @param loader вызов обработчика
+	 * @return будущий ответ
+	 */
+	CompletableFuture<HttpResponse> get(Object[] args, Supplier<CompletableFuture<HttpResponse>> loader) {
+		Key key = new Key(args);
+		Segment segment = segmentFor(key);
+
+		HttpResponse cached = lookup(segment, key);
+		if (cached != null) {
+			return CompletableFuture.completedFuture(cached);
+		}
+
+		CompletableFuture<HttpResponse> flight = new CompletableFuture<>();
+		CompletableFuture<HttpResponse> existing = loading.putIfAbsent(key, flight);
+		if (existing != null) {
+			return existing.copy();
+		}
+
+		// Предыдущая загрузка могла завершиться между проверкой и putIfAbsent
+		cached = lookup(segment, key);
+		if (cached != null) {
+			loading.remove(key, flight);
+			flight.complete(cached);
+			return flight;
+		}
+
+		long startGeneration = generation.get();
+		CompletableFuture<HttpResponse> load;
+		try {
+			load = loader.get();
+		} catch (RuntimeException | Error e) {
+			load = CompletableFuture.failedFuture(e);
+		}
+		load.whenComplete((response, error) -> {
+			if (error == null && isCacheable(response)) {
+				synchronized (segment) {
+					if (generation.get() == startGeneration) {
+						segment.put(key, new Entry(response, System.nanoTime() + ttlNanos));
+					}
+				}
+			}
+			loading.remove(key, flight);
+			if (error != null) {
+				flight.completeExceptionally(error);
+			} else {
+				flight.complete(response);
+			}
+		});
+		return flight.copy();
+	}
+
+	/**
+	 * Удаляет все записи; ответы загрузок, начатых до очистки, не сохраняются.
+	 */
+	void clear() {
+		generation.incrementAndGet();
+		loading.clear();
+		for (Segment segment : segments) {
+			synchronized (segment) {
+				segment.clear();
+			}
+		}
+	}
+
+	private HttpResponse lookup(Segment segment, Key key) {
+		synchronized (segment) {
+			Entry entry = segment.get(key);
+			if (entry == null) {
+				return null;
+			}
+			if (entry.expiresAt - System.nanoTime() > 0) {
+				return entry.response;
+			}
+			segment.remove(key);
+			return null;
+		}
+	}
+
+	private Segment segmentFor(Key key) {
+		int hash = key.hash;
+		return segments[(hash ^ (hash >>> 16)) & (SEGMENTS - 1)];
+	}
+
+	private static boolean isCacheable(HttpResponse response) {
+		return response.getStatus() / 100 == 2 && !response.isStreaming();
+	}
+
+	/**
+	 * Ключ: аргументы метода, сравниваемые поэлементно.
+	 */
+	private static final class Key {
+		final Object[] args;
+		final int hash;
+
+		Key(Object[] args) {
+			this.args = args;
+			this.hash = Arrays.hashCode(args);
+		}
+
+		@Override
+		public boolean equals(Object other) {
+			return other instanceof Key key && Arrays.equals(key.args, args);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+	}
+
+	private static final class Entry {
+		final HttpResponse response;
+		final long expiresAt;
+
+		Entry(HttpResponse response, long expiresAt) {
+			this.response = response;
+			this.expiresAt = expiresAt;
+		}
+	}
+
+	/**
+	 * Сегмент кэша: {@link LinkedHashMap} в порядке доступа с вытеснением
+	 * самой давней записи.
+	 */
+	private static final class Segment extends LinkedHashMap<Key, Entry> {
+		private static final long serialVersionUID = 1L;
+
+		private final int capacity;
+
+		Segment(int capacity) {
+			super(16, 0.75f, true);
+			this.capacity = capacity;
+		}
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+			return size() > capacity;
+		}
+	}
+}
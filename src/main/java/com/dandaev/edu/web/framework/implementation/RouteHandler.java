@@ -0,0 +1,601 @@
+package com.dandaev.edu.web.framework.implementation;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.UndeclaredThrowableException;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+import com.dandaev.edu.annotations.jsonparser.JsonSerializable;
+import com.dandaev.edu.annotations.web.framework.Async;
+import com.dandaev.edu.annotations.web.framework.CacheEvict;
+import com.dandaev.edu.annotations.web.framework.Cacheable;
+import com.dandaev.edu.annotations.web.framework.ConcurrencyLimit;
+import com.dandaev.edu.annotations.web.framework.PathVariable;
+import com.dandaev.edu.annotations.web.framework.RateLimit;
+import com.dandaev.edu.annotations.web.framework.RequestBody;
+import com.dandaev.edu.annotations.web.framework.RequestMapping;
+import com.dandaev.edu.annotations.web.framework.RequestParam;
+import com.dandaev.edu.json.deserializer.JsonDeserializer;
+import com.dandaev.edu.json.deserializer.JsonValueReader;
+import com.dandaev.edu.web.framework.admission.ConcurrencyLimiter;
+import com.dandaev.edu.web.framework.admission.RateLimiter;
+import com.dandaev.edu.web.framework.metrics.RouteMetrics;
+
+/**
+ * Скомпилированный обработчик маршрута.
+ *
+ * <p>
+ * При регистрации контроллера для каждого метода с {@code @RequestMapping}
+ * один раз разбираются аннотации параметров и строится массив
+ * {@link ArgumentBinder}, а сам метод превращается в {@link MethodHandle}
+ * вида {@code (Object[]) -> Object}, привязанный к экземпляру контроллера.
+ * При обработке запроса остаются только извлечение аргументов и вызов.
+ *
+ * <p>
+ * Переменная пути ({@code @PathVariable}) связывается с номером сегмента
+ * в шаблоне, поэтому значение берётся прямо из пути запроса без разбора
+ * шаблона.
+ *
+ * <p>
+ * Кодеки JSON тоже готовятся при регистрации: для {@code @RequestBody}
+ * типизированного параметра — {@link JsonValueReader} его (в том числе
+ * обобщённого) типа, а для результата — способ превратить его в
+ * {@link HttpResponse}, выбранный по объявленному типу. Тип результата
+ * проверяется во время запроса, только если объявлен как {@code Object}
+ * или интерфейс, не являющийся коллекцией или отображением.
+ *
+ * <p>
+ * Метод, возвращающий {@link CompletionStage}, или помеченный {@link Async}
+ * выполняется асинхронно ({@link #invokeAsync}); ответ строится по аргументу
+ * типа {@code CompletableFuture<T>}.
+ *
+ * <p>
+ * Для метода с {@link Cacheable} создаётся {@link ResponseCache}; ключом
+ * служат связанные аргументы ({@link #bind}), поэтому кэшируемый метод
+ * не может принимать запрос целиком или тело.
+ */
+final class RouteHandler {
+
+	private final ArgumentBinder[] binders;
+
+	/** Вызов метода: {@code (Object[] args) -> Object}. */
+	private final MethodHandle invoker;
+
+	/** Преобразование результата метода в ответ. */
+	private final Function<Object, HttpResponse> responder;
+
+	/** Метод помечен {@link Async} и выполняется в отдельном потоке. */
+	private final boolean offload;
+
+	/** Метод возвращает {@link CompletionStage}. */
+	private final boolean returnsFuture;
+
+	private final long timeoutMillis;
+
+	private final RouteMetrics metrics;
+
+	/** Кэш ответов или {@code null}, если метод не помечен {@link Cacheable}. */
+	private final ResponseCache cache;
+
+	/** Имена кэшей из {@link CacheEvict}. */
+	private final String[] evicts;
+
+	/** Ограничитель из {@link RateLimit} или {@code null}. */
+	private final RateLimiter rateLimiter;
+
+	/** Ограничитель из {@link ConcurrencyLimit} или {@code null}. */
+	private final ConcurrencyLimiter concurrencyLimiter;
+
+	/**
+	 * Компилирует обработчик для метода контроллера.
+	 *
+	 * @param controller экземпляр контроллера
+	 * @param method     метод с {@code @RequestMapping}
+	 * @param pattern    шаблон пути маршрута
+	 * @param metrics    метрики маршрута
+	 * @throws IllegalArgumentException если {@code @PathVariable} ссылается на переменную,
+	 *                                  которой нет в шаблоне, метод недоступен
+	 *                                  {@link Cacheable} стоит не на GET-обработчике
+	 *                                  либо на методе, принимающем запрос или тело,
+	 *                                  или пределы {@link RateLimit}, {@link ConcurrencyLimit}
+	 *                                  не положительны
+	 */
+	RouteHandler(Object controller, Method method, String pattern, RouteMetrics metrics) {
+		this.metrics = metrics;
+		Parameter[] parameters = method.getParameters();
+		this.binders = new ArgumentBinder[parameters.length];
+		for (int i = 0; i < parameters.length; i++) {
+			binders[i] = binderFor(parameters[i], pattern);
+		}
+
+		Async async = method.getAnnotation(Async.class);
+		this.offload = async != null;
+		this.timeoutMillis = async != null ? async.timeoutMillis() : 0;
+		this.returnsFuture = CompletionStage.class.isAssignableFrom(method.getReturnType());
+		this.responder = responderFor(resultType(method));
+
+		Cacheable cacheable = method.getAnnotation(Cacheable.class);
+		this.cache = cacheable != null ? cacheFor(cacheable, method, pattern) : null;
+		CacheEvict evict = method.getAnnotation(CacheEvict.class);
+		this.evicts = evict != null ? evict.value() : new String[0];
+
+		RateLimit rateLimit = method.getAnnotation(RateLimit.class);
+		this.rateLimiter = rateLimit != null ? new RateLimiter(rateLimit.permitsPerSecond(), rateLimit.burst()) : null;
+		ConcurrencyLimit concurrencyLimit = method.getAnnotation(ConcurrencyLimit.class);
+		this.concurrencyLimiter = concurrencyLimit == null ? null
+				: concurrencyLimit.targetLatencyMillis() > 0
+						? ConcurrencyLimiter.adaptive(1, concurrencyLimit.value(), concurrencyLimit.targetLatencyMillis())
+						: ConcurrencyLimiter.fixed(concurrencyLimit.value());
+
+		try {
+			method.setAccessible(true);
+			MethodHandle handle = MethodHandles.lookup().unreflect(method);
+			if (!Modifier.isStatic(method.getModifiers())) {
+				handle = handle.bindTo(controller);
+			}
+			this.invoker = handle
+					.asType(MethodType.genericMethodType(parameters.length))
+					.asSpreader(Object[].class, parameters.length);
+		} catch (IllegalAccessException | RuntimeException e) {
+			throw new IllegalArgumentException("Cannot access handler method: " + method, e);
+		}
+	}
+
+	/**
+	 * Связывает аргументы, вызывает метод контроллера и превращает
+	 * результат в ответ.
+	 *
+	 * @param request запрос
+	 * @return ответ
+	 * @throws BadRequestException если аргументы не удалось извлечь из запроса
+	 * @throws Exception           исключение, выброшенное самим методом
+	 */
+	HttpResponse handle(HttpRequest request) throws Exception {
+		return invoke(bind(request));
+	}
+
+	/**
+	 * Вызывает метод контроллера с уже связанными аргументами и превращает
+	 * результат в ответ.
+	 *
+	 * @param args аргументы из {@link #bind}
+	 * @return ответ
+	 * @throws Exception исключение, выброшенное самим методом
+	 */
+	HttpResponse invoke(Object[] args) throws Exception {
+		return respond(call(args));
+	}
+
+	/**
+	 * То же, что {@link #handle}, но с замером времени каждой фазы
+	 * в {@link RouteMetrics#recordPhases}. Фазы запроса, завершившегося
+	 * исключением, не учитываются.
+	 *
+	 * @param request    запрос
+	 * @param startNanos значение {@link System#nanoTime()} до поиска маршрута
+	 * @return ответ
+	 * @throws BadRequestException если аргументы не удалось извлечь из запроса
+	 * @throws Exception           исключение, выброшенное самим методом
+	 */
+	HttpResponse handleTimed(HttpRequest request, long startNanos) throws Exception {
+		long routed = System.nanoTime();
+		Object[] args = bind(request);
+		long bound = System.nanoTime();
+		Object result = call(args);
+		long invoked = System.nanoTime();
+		HttpResponse response = respond(result);
+		metrics.recordPhases(routed - startNanos, bound - routed, invoked - bound, System.nanoTime() - invoked);
+		return response;
+	}
+
+	/**
+	 * @return кэш ответов или {@code null}
+	 */
+	ResponseCache cache() {
+		return cache;
+	}
+
+	/**
+	 * @return имена кэшей, очищаемых после успешного ответа; может быть пустым
+	 */
+	String[] evicts() {
+		return evicts;
+	}
+
+	/**
+	 * @return ограничитель частоты из {@link RateLimit} или {@code null}
+	 */
+	RateLimiter rateLimiter() {
+		return rateLimiter;
+	}
+
+	/**
+	 * @return ограничитель параллельности из {@link ConcurrencyLimit} или {@code null}
+	 */
+	ConcurrencyLimiter concurrencyLimiter() {
+		return concurrencyLimiter;
+	}
+
+	/**
+	 * @return метрики маршрута
+	 */
+	RouteMetrics metrics() {
+		return metrics;
+	}
+
+	/**
+	 * @return выполняется ли маршрут асинхронно: метод помечен {@link Async}
+	 *         или возвращает {@link CompletionStage}
+	 */
+	boolean isAsync() {
+		return offload || returnsFuture;
+	}
+
+	/**
+	 * @return таймаут из {@link Async} в миллисекундах или {@code 0}
+	 */
+	long timeoutMillis() {
+		return timeoutMillis;
+	}
+
+	/**
+	 * Запускает асинхронный обработчик. Метод с {@link Async} выполняется
+	 * в задаче {@code executor}; возвращённый им {@link CompletionStage}
+	 * разворачивается. Отмена или исключительное завершение результата
+	 * (например, по таймауту) прерывает поток обработчика. Будущий
+	 * результат метода без {@link Async} не отменяется: возвращается его
+	 * копия.
+	 *
+	 * @param args     аргументы из {@link #bind}
+	 * @param executor пул для методов с {@link Async}
+	 * @return будущий результат метода
+	 * @throws Exception исключение, выброшенное методом без {@link Async}
+	 */
+	CompletableFuture<Object> invokeAsync(Object[] args, ExecutorService executor) throws Exception {
+		if (!offload) {
+			return toFuture(call(args));
+		}
+
+		CompletableFuture<Object> result = new CompletableFuture<>();
+		Future<?> task = executor.submit(() -> {
+			try {
+				Object value = call(args);
+				if (returnsFuture) {
+					toFuture(value).whenComplete((v, e) -> {
+						if (e != null) {
+							result.completeExceptionally(e);
+						} else {
+							result.complete(v);
+						}
+					});
+				} else {
+					result.complete(value);
+				}
+			} catch (Throwable e) {
+				result.completeExceptionally(e);
+			}
+		});
+		result.whenComplete((value, error) -> {
+			if (error != null) {
+				task.cancel(true);
+			}
+		});
+		return result;
+	}
+
+	/**
+	 * Превращает результат метода (для асинхронных — значение будущего
+	 * результата) в ответ.
+	 *
+	 * @param result результат метода
+	 * @return ответ
+	 */
+	HttpResponse respond(Object result) {
+		return responder.apply(result);
+	}
+
+	/**
+	 * Извлекает аргументы метода из запроса.
+	 *
+	 * @param request запрос
+	 * @return аргументы
+	 * @throws BadRequestException если аргументы не удалось извлечь
+	 */
+	Object[] bind(HttpRequest request) {
+		Object[] args = new Object[binders.length];
+		try {
+			for (int i = 0; i < binders.length; i++) {
+				args[i] = binders[i].bind(request);
+			}
+		} catch (IllegalArgumentException e) {
+			throw new BadRequestException(e.getMessage(), e);
+		}
+		return args;
+	}
+
+	private Object call(Object[] args) throws Exception {
+		try {
+			return invoker.invokeExact(args);
+		} catch (Exception | Error e) {
+			throw e;
+		} catch (Throwable t) {
+			throw new UndeclaredThrowableException(t);
+		}
+	}
+
+	private static ResponseCache cacheFor(Cacheable cacheable, Method method, String pattern) {
+		RequestMapping mapping = method.getAnnotation(RequestMapping.class);
+		if (mapping != null && !mapping.method().equalsIgnoreCase("GET")) {
+			throw new IllegalArgumentException("@Cacheable requires a GET route: " + method);
+		}
+		for (Parameter parameter : method.getParameters()) {
+			if (parameter.getType() == HttpRequest.class || parameter.isAnnotationPresent(RequestBody.class)) {
+				throw new IllegalArgumentException(
+						"@Cacheable method cannot take the request or its body: " + method);
+			}
+		}
+		String name = cacheable.value().isEmpty() ? pattern : cacheable.value();
+		return new ResponseCache(name, cacheable.ttlMillis(), cacheable.maxEntries());
+	}
+
+	/**
+	 * Возвращает собственную зависимую копию результата контроллера:
+	 * таймаут и отмена применяются к копии и не завершают будущий
+	 * результат, который контроллер может разделять с другими вызовами.
+	 */
+	private static CompletableFuture<Object> toFuture(Object value) {
+		if (value == null) {
+			return CompletableFuture.completedFuture(null);
+		}
+		return ((CompletionStage<?>) value).toCompletableFuture().thenApply(Function.identity());
+	}
+
+	/**
+	 * @return тип значения, которое будет передано в {@link #respond}:
+	 *         для {@link CompletionStage} — его аргумент типа
+	 */
+	private static Class<?> resultType(Method method) {
+		Class<?> type = method.getReturnType();
+		if (!CompletionStage.class.isAssignableFrom(type)) {
+			return type;
+		}
+		if (method.getGenericReturnType() instanceof ParameterizedType parameterized) {
+			Type argument = parameterized.getActualTypeArguments()[0];
+			if (argument instanceof Class<?> clazz) {
+				return clazz;
+			}
+			if (argument instanceof ParameterizedType generic) {
+				return (Class<?>) generic.getRawType();
+			}
+		}
+		return Object.class;
+	}
+
+	/**
+	 * Выбирает преобразование результата по объявленному типу:
+	 * {@link HttpResponse} возвращается как есть, {@code byte[]} и
+	 * {@link ByteBuffer} отправляются двоичным телом, объекты с
+	 * {@link JsonSerializable}, коллекции, отображения и массивы
+	 * сериализуются в JSON, {@code void} и {@link Void} (в том числе
+	 * {@code CompletableFuture<Void>}) дают {@code 204 No Content},
+	 * остальное — текст из {@code toString()}.
+	 */
+	private static Function<Object, HttpResponse> responderFor(Class<?> type) {
+		if (type == void.class || type == Void.class) {
+			return result -> HttpResponse.empty(204);
+		}
+		if (type == HttpResponse.class) {
+			return result -> result != null ? (HttpResponse) result : HttpResponse.ok("null");
+		}
+		if (type == byte[].class) {
+			return result -> result != null
+					? HttpResponse.bytes(200, HttpResponse.APPLICATION_OCTET_STREAM, (byte[]) result)
+					: HttpResponse.ok("null");
+		}
+		if (ByteBuffer.class.isAssignableFrom(type)) {
+			return result -> result != null
+					? HttpResponse.buffer(200, HttpResponse.APPLICATION_OCTET_STREAM, (ByteBuffer) result)
+					: HttpResponse.ok("null");
+		}
+		if (isJsonType(type)) {
+			return result -> result != null ? HttpResponse.json(result) : HttpResponse.ok("null");
+		}
+		if (type == Object.class || type.isInterface()) {
+			return RouteHandler::toResponse;
+		}
+		return result -> HttpResponse.ok(String.valueOf(result));
+	}
+
+	/**
+	 * Преобразует результат, тип которого известен только во время запроса.
+	 */
+	private static HttpResponse toResponse(Object result) {
+		if (result == null) {
+			return HttpResponse.ok("null");
+		}
+		if (result instanceof HttpResponse response) {
+			return response;
+		}
+		if (result instanceof byte[] bytes) {
+			return HttpResponse.bytes(200, HttpResponse.APPLICATION_OCTET_STREAM, bytes);
+		}
+		if (result instanceof ByteBuffer buffer) {
+			return HttpResponse.buffer(200, HttpResponse.APPLICATION_OCTET_STREAM, buffer);
+		}
+		if (isJsonType(result.getClass())) {
+			return HttpResponse.json(result);
+		}
+		return HttpResponse.ok(result.toString());
+	}
+
+	/**
+	 * @return отдаются ли значения этого типа в JSON
+	 */
+	private static boolean isJsonType(Class<?> type) {
+		return type.isAnnotationPresent(JsonSerializable.class)
+				|| Collection.class.isAssignableFrom(type)
+				|| Map.class.isAssignableFrom(type)
+				|| type.isArray();
+	}
+
+	/**
+	 * Строит binder для параметра по его аннотации.
+	 */
+	private static ArgumentBinder binderFor(Parameter param, String pattern) {
+		Class<?> type = param.getType();
+
+		if (param.isAnnotationPresent(RequestParam.class)) {
+			// Query-параметры
+			RequestParam annotation = param.getAnnotation(RequestParam.class);
+			String name = annotation.value().isEmpty() ? param.getName() : annotation.value();
+			boolean required = annotation.required() || type.isPrimitive();
+			Function<String, Object> converter = converterFor(type);
+
+			return request -> {
+				String value = request.getParam(name);
+				if (value == null) {
+					if (required) {
+						throw new IllegalArgumentException("Required parameter missing: " + name);
+					}
+					return null;
+				}
+				return converter.apply(value);
+			};
+		}
+
+		if (param.isAnnotationPresent(PathVariable.class)) {
+			// Параметры пути (например, /users/{id}) — по номеру сегмента
+			PathVariable annotation = param.getAnnotation(PathVariable.class);
+			String name = annotation.value().isEmpty() ? param.getName() : annotation.value();
+			int index = segmentIndex(pattern, name);
+			Function<String, Object> converter = converterFor(type);
+
+			return request -> converter.apply(segment(request.getTarget(), index));
+		}
+
+		if (param.isAnnotationPresent(RequestBody.class)) {
+			return bodyBinderFor(param);
+		}
+
+		if (type == HttpRequest.class) {
+			// Запрос целиком
+			return request -> request;
+		}
+
+		Object absent = defaultValue(type);
+		return request -> absent;
+	}
+
+	/**
+	 * Строит binder для {@code @RequestBody}: {@code String} и {@code byte[]}
+	 * получают тело как есть, остальные типы разбираются из JSON
+	 * подготовленным {@link JsonValueReader} из байтов тела.
+	 *
+	 * @throws IllegalArgumentException если тип параметра нельзя разобрать из JSON
+	 */
+	private static ArgumentBinder bodyBinderFor(Parameter param) {
+		Class<?> type = param.getType();
+		if (type == String.class || type == CharSequence.class) {
+			return request -> request.getBodyAsString();
+		}
+		if (type == byte[].class) {
+			return request -> request.getBody();
+		}
+
+		JsonValueReader reader = JsonDeserializer.readerFor(param.getParameterizedType());
+		return request -> {
+			byte[] body = request.getBody();
+			if (body.length == 0) {
+				throw new IllegalArgumentException("Request body is required");
+			}
+			return reader.read(body);
+		};
+	}
+
+	/**
+	 * Находит номер сегмента {@code {name}} в шаблоне пути.
+	 */
+	private static int segmentIndex(String pattern, String name) {
+		String placeholder = "{" + name + "}";
+		int index = 0;
+		int start = pattern.startsWith("/") ? 1 : 0;
+
+		while (start <= pattern.length()) {
+			int next = pattern.indexOf('/', start);
+			if (next < 0) {
+				next = pattern.length();
+			}
+			if (pattern.regionMatches(start, placeholder, 0, placeholder.length())
+					&& next - start == placeholder.length()) {
+				return index;
+			}
+			index++;
+			start = next + 1;
+		}
+		throw new IllegalArgumentException("Path variable '" + name + "' not found in route " + pattern);
+	}
+
+	/**
+	 * Возвращает сегмент пути запроса с указанным номером.
+	 */
+	private static String segment(String path, int index) {
+		int end = path.indexOf('?');
+		if (end < 0) {
+			end = path.length();
+		}
+		int start = path.startsWith("/") ? 1 : 0;
+
+		for (int i = 0; i < index; i++) {
+			start = path.indexOf('/', start) + 1;
+		}
+		int next = path.indexOf('/', start);
+		return path.substring(start, next >= 0 && next < end ? next : end);
+	}
+
+	/**
+	 * Возвращает преобразование строки в тип параметра метода.
+	 *
+	 * @param targetType целевой тип параметра метода
+	 * @return функция преобразования
+	 */
+	private static Function<String, Object> converterFor(Class<?> targetType) {
+		if (targetType == Integer.class || targetType == int.class)
+			return Integer::valueOf;
+		if (targetType == Long.class || targetType == long.class)
+			return Long::valueOf;
+		if (targetType == Double.class || targetType == double.class)
+			return Double::valueOf;
+		if (targetType == Boolean.class || targetType == boolean.class)
+			return Boolean::valueOf;
+
+		return value -> value;
+	}
+
+	/**
+	 * @return значение по умолчанию для параметра без аннотации:
+	 *         {@code null} или ноль примитивного типа
+	 */
+	private static Object defaultValue(Class<?> type) {
+		if (!type.isPrimitive()) {
+			return null;
+		}
+		try {
+			return MethodHandles.zero(type).invoke();
+		} catch (Throwable e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -0,0 +1,233 @@
+package com.dandaev.edu.web.framework.implementation;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Таблица маршрутов: отдельное дерево сегментов пути для каждого HTTP-метода.
+ *
+ * <p>Шаблон {@code /api/users/{id}} разбивается по {@code '/'} на сегменты;
+ * литеральные сегменты становятся дочерними узлами в хэш-таблице узла,
+ * а сегмент-переменная {@code {...}} — отдельным дочерним узлом, который
+ * совпадает с любым непустым сегментом запроса. Литерал имеет приоритет
+ * над переменной: {@code /api/users/search} выбирается раньше
+ * {@code /api/users/{id}}; если литеральная ветка дальше не совпала,
+ * поиск возвращается и пробует переменную.
+ *
+ * <p>Поиск идёт прямо по символам пути запроса, без {@code split},
+ * регулярных выражений и создания подстрок: хэш сегмента считается по
+ * участку строки и сверяется через {@link String#regionMatches}.
+ * Query-часть (после {@code '?'}) при поиске игнорируется. Таблица
+ * заполняется один раз при построении {@link RoutingTable} и после
+ * публикации не меняется, поэтому читается из многих потоков без
+ * блокировок.
+ *
+ * @param <T> тип обработчика маршрута
+ */
+final class RouteTrie<T> {
+
+	/** Корни деревьев по HTTP-методу в верхнем регистре. */
+	private final Map<String, Node<T>> roots = new HashMap<>();
+
+	/**
+	 * Добавляет маршрут.
+	 *
+	 * @param httpMethod HTTP-метод
+	 * @param pattern    шаблон пути, например {@code /api/users/{id}}
+	 * @param handler    обработчик маршрута
+	 * @throws IllegalArgumentException если такой маршрут уже зарегистрирован
+	 */
+	void add(String httpMethod, String pattern, T handler) {
+		Node<T> node = roots.computeIfAbsent(httpMethod.toUpperCase(Locale.ROOT), key -> new Node<>());
+		int end = pathEnd(pattern);
+		int start = segmentStart(pattern, 0);
+
+		while (start < end) {
+			int next = pattern.indexOf('/', start);
+			if (next < 0 || next > end) {
+				next = end;
+			}
+			node = node.child(pattern, start, next);
+			start = next + 1;
+		}
+
+		if (node.handler != null) {
+			throw new IllegalArgumentException("Duplicate route: " + httpMethod + " " + pattern);
+		}
+		node.handler = handler;
+	}
+
+	/**
+	 * Ищет обработчик для запроса.
+	 *
+	 * @param httpMethod HTTP-метод (регистр не важен)
+	 * @param path       путь запроса, возможно с query-частью
+	 * @return обработчик или {@code null}, если маршрут не найден
+	 */
+	T find(String httpMethod, String path) {
+		Node<T> root = roots.get(httpMethod);
+		if (root == null) {
+			root = roots.get(httpMethod.toUpperCase(Locale.ROOT));
+			if (root == null) {
+				return null;
+			}
+		}
+		int end = pathEnd(path);
+		return match(root, path, segmentStart(path, 0), end);
+	}
+
+	/**
+	 * Рекурсивно сопоставляет сегменты начиная с {@code start}:
+	 * сначала литеральную ветку, затем переменную.
+	 */
+	private static <T> T match(Node<T> node, String path, int start, int end) {
+		if (start >= end) {
+			return node.handler;
+		}
+
+		int next = path.indexOf('/', start);
+		if (next < 0 || next > end) {
+			next = end;
+		}
+
+		Node<T> literal = node.findLiteral(path, start, next);
+		if (literal != null) {
+			T handler = match(literal, path, next + 1, end);
+			if (handler != null) {
+				return handler;
+			}
+		}
+
+		if (node.variable != null && next > start) {
+			return match(node.variable, path, next + 1, end);
+		}
+		return null;
+	}
+
+	/**
+	 * @return позиция конца пути без query-части
+	 */
+	private static int pathEnd(String path) {
+		int query = path.indexOf('?');
+		return query >= 0 ? query : path.length();
+	}
+
+	/**
+	 * @return начало первого сегмента (ведущий {@code '/'} пропускается)
+	 */
+	private static int segmentStart(String path, int from) {
+		return from < path.length() && path.charAt(from) == '/' ? from + 1 : from;
+	}
+
+	/**
+	 * Хэш участка строки, совпадающий с {@link String#hashCode()} подстроки.
+	 */
+	private static int hash(String text, int from, int to) {
+		int h = 0;
+		for (int i = from; i < to; i++) {
+			h = 31 * h + text.charAt(i);
+		}
+		return h;
+	}
+
+	/**
+	 * Узел дерева. Литеральные потомки хранятся в хэш-таблице с открытой
+	 * адресацией (линейное пробирование), ключи — сегменты шаблона.
+	 */
+	private static final class Node<T> {
+		private String[] keys = new String[4];
+		private int[] hashes = new int[4];
+		private Node<T>[] children = newArray(4);
+		private int size;
+
+		/** Потомок для сегмента-переменной или {@code null}. */
+		Node<T> variable;
+
+		/** Обработчик маршрута, заканчивающегося в этом узле. */
+		T handler;
+
+		/**
+		 * Возвращает (при необходимости создаёт) потомка для сегмента шаблона.
+		 */
+		Node<T> child(String pattern, int from, int to) {
+			if (to - from >= 2 && pattern.charAt(from) == '{' && pattern.charAt(to - 1) == '}') {
+				if (variable == null) {
+					variable = new Node<>();
+				}
+				return variable;
+			}
+
+			Node<T> existing = findLiteral(pattern, from, to);
+			if (existing != null) {
+				return existing;
+			}
+
+			if ((size + 1) * 2 > keys.length) {
+				resize();
+			}
+			String key = pattern.substring(from, to);
+			Node<T> created = new Node<>();
+			insert(key, key.hashCode(), created);
+			return created;
+		}
+
+		/**
+		 * Ищет литерального потомка по участку пути без создания подстроки.
+		 */
+		Node<T> findLiteral(String path, int from, int to) {
+			if (size == 0) {
+				return null;
+			}
+			int length = to - from;
+			int h = hash(path, from, to);
+			int mask = keys.length - 1;
+
+			for (int i = spread(h) & mask; keys[i] != null; i = (i + 1) & mask) {
+				String key = keys[i];
+				if (hashes[i] == h && key.length() == length && key.regionMatches(0, path, from, length)) {
+					return children[i];
+				}
+			}
+			return null;
+		}
+
+		private void insert(String key, int h, Node<T> child) {
+			int mask = keys.length - 1;
+			int i = spread(h) & mask;
+			while (keys[i] != null) {
+				i = (i + 1) & mask;
+			}
+			keys[i] = key;
+			hashes[i] = h;
+			children[i] = child;
+			size++;
+		}
+
+		private void resize() {
+			String[] oldKeys = keys;
+			int[] oldHashes = hashes;
+			Node<T>[] oldChildren = children;
+
+			keys = new String[oldKeys.length * 2];
+			hashes = new int[oldKeys.length * 2];
+			children = newArray(oldKeys.length * 2);
+			size = 0;
+
+			for (int i = 0; i < oldKeys.length; i++) {
+				if (oldKeys[i] != null) {
+					insert(oldKeys[i], oldHashes[i], oldChildren[i]);
+				}
+			}
+		}
+
+		private static int spread(int h) {
+			return h ^ (h >>> 16);
+		}
+
+		@SuppressWarnings("unchecked")
+		private static <T> Node<T>[] newArray(int length) {
+			return (Node<T>[]) new Node<?>[length];
+		}
+	}
+}
@@ -0,0 +1,229 @@
+package com.dandaev.edu.web.framework.implementation;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Неизменяемый снимок маршрутизации: зарегистрированные контроллеры,
+ * дерево маршрутов, обработчики и кэши ответов по имени.
+ *
+ * <p>
+ * Снимок не меняется после создания, поэтому потоки запросов читают его
+ * без блокировок. Регистрация и удаление контроллеров строят новый снимок
+ * через {@link Builder} и публикуют его целиком ({@link WebFramework}
+ * хранит текущий в {@link java.util.concurrent.atomic.AtomicReference}).
+ *
+ * <p>
+ * {@link Builder#add} проверяет конфликты до изменения: совпадающий базовый
+ * путь контроллера и маршруты, которые совпадают с точностью до имён
+ * переменных ({@code /api/users/{id}} и {@code /api/users/{name}}).
+ * Все найденные конфликты перечисляются в одном сообщении.
+ */
+final class RoutingTable {
+
+	/** Снимок без контроллеров. */
+	static final RoutingTable EMPTY = new RoutingTable(Collections.emptyList());
+
+	private final List<Registration> controllers;
+	private final RouteTrie<RouteHandler> routes = new RouteTrie<>();
+	private final List<RouteHandler> handlers = new ArrayList<>();
+	private final Map<String, List<ResponseCache>> caches = new HashMap<>();
+
+	private RoutingTable(List<Registration> controllers) {
+		this.controllers = Collections.unmodifiableList(controllers);
+		for (Registration registration : controllers) {
+			for (Route route : registration.routes) {
+				routes.add(route.httpMethod, route.pattern, route.handler);
+				handlers.add(route.handler);
+				ResponseCache cache = route.handler.cache();
+				if (cache != null) {
+					caches.computeIfAbsent(cache.name(), name -> new ArrayList<>()).add(cache);
+				}
+			}
+		}
+	}
+
+	/**
+	 * @param httpMethod HTTP-метод
+	 * @param path       путь запроса, возможно с query-частью
+	 * @return обработчик или {@code null}, если маршрут не найден
+	 */
+	RouteHandler find(String httpMethod, String path) {
+		return routes.find(httpMethod, path);
+	}
+
+	/**
+	 * @return обработчики всех маршрутов в порядке регистрации
+	 */
+	List<RouteHandler> handlers() {
+		return handlers;
+	}
+
+	/**
+	 * @param name имя кэша
+	 * @return кэши маршрутов с этим именем; может быть пустым
+	 */
+	List<ResponseCache> caches(String name) {
+		return caches.getOrDefault(name, Collections.emptyList());
+	}
+
+	/**
+	 * @return построитель нового снимка на основе этого
+	 */
+	Builder toBuilder() {
+		return new Builder(controllers);
+	}
+
+	/**
+	 * Скомпилированные маршруты одного контроллера.
+	 */
+	static final class Registration {
+		final Object controller;
+		final String basePath;
+		final List<Route> routes;
+
+		Registration(Object controller, String basePath, List<Route> routes) {
+			this.controller = controller;
+			this.basePath = basePath;
+			this.routes = routes;
+		}
+	}
+
+	/**
+	 * Маршрут: HTTP-метод, шаблон пути и его обработчик.
+	 */
+	static final class Route {
+		final String httpMethod;
+		final String pattern;
+		final RouteHandler handler;
+
+		/** Описание для сообщений о конфликтах, например {@code UserController.getUserById}. */
+		final String source;
+
+		Route(String httpMethod, String pattern, RouteHandler handler, String source) {
+			this.httpMethod = httpMethod.toUpperCase(Locale.ROOT);
+			this.pattern = pattern;
+			this.handler = handler;
+			this.source = source;
+		}
+
+		/**
+		 * Ключ маршрута без имён переменных: маршруты с одинаковым ключом
+		 * неразличимы для {@link RouteTrie}.
+		 */
+		String key() {
+			StringBuilder key = new StringBuilder(httpMethod).append(' ');
+			int query = pattern.indexOf('?');
+			String path = query >= 0 ? pattern.substring(0, query) : pattern;
+			// Как в RouteTrie: ведущий '/' пропускается, завершающий не образует сегмент
+			if (path.startsWith("/")) {
+				path = path.substring(1);
+			}
+			for (String segment : path.split("/")) {
+				if (segment.length() >= 2 && segment.startsWith("{") && segment.endsWith("}")) {
+					segment = "{}";
+				}
+				key.append('/').append(segment);
+			}
+			return key.toString();
+		}
+
+		@Override
+		public String toString() {
+			return httpMethod + " " + pattern + " (" + source + ")";
+		}
+	}
+
+	/**
+	 * Накопитель изменений для нового снимка. Несколько изменений
+	 * применяются к одному построителю, а дерево строится один раз
+	 * в {@link #build()}.
+	 */
+	static final class Builder {
+		private final List<Registration> controllers;
+		private final Map<String, Registration> basePaths = new HashMap<>();
+		private final Map<String, Route> routeKeys = new LinkedHashMap<>();
+
+		private Builder(List<Registration> controllers) {
+			this.controllers = new ArrayList<>(controllers);
+			for (Registration registration : controllers) {
+				index(registration);
+			}
+		}
+
+		/**
+		 * Добавляет контроллер, если он не конфликтует с уже добавленными.
+		 *
+		 * @param registration маршруты контроллера
+		 * @throws IllegalArgumentException со списком конфликтов; построитель
+		 *                                  при этом не меняется
+		 */
+		void add(Registration registration) {
+			List<String> conflicts = new ArrayList<>();
+			Registration sameBase = basePaths.get(registration.basePath);
+			if (sameBase != null) {
+				conflicts.add("base path '" + registration.basePath + "' is already used by "
+						+ sameBase.controller.getClass().getName());
+			}
+
+			Map<String, Route> own = new HashMap<>();
+			for (Route route : registration.routes) {
+				String key = route.key();
+				Route existing = routeKeys.get(key);
+				if (existing == null) {
+					existing = own.putIfAbsent(key, route);
+				}
+				if (existing != null) {
+					conflicts.add(route + " conflicts with " + existing);
+				}
+			}
+
+			if (!conflicts.isEmpty()) {
+				throw new IllegalArgumentException("Cannot register "
+						+ registration.controller.getClass().getName() + ": " + String.join("; ", conflicts));
+			}
+			controllers.add(registration);
+			index(registration);
+		}
+
+		/**
+		 * Удаляет контроллер.
+		 *
+		 * @param controller экземпляр контроллера
+		 * @return был ли контроллер зарегистрирован
+		 */
+		boolean remove(Object controller) {
+			for (int i = 0; i < controllers.size(); i++) {
+				Registration registration = controllers.get(i);
+				if (registration.controller == controller) {
+					controllers.remove(i);
+					basePaths.remove(registration.basePath);
+					for (Route route : registration.routes) {
+						routeKeys.remove(route.key());
+					}
+					return true;
+				}
+			}
+			return false;
+		}
+
+		/**
+		 * @return новый снимок
+		 */
+		RoutingTable build() {
+			return new RoutingTable(controllers);
+		}
+
+		private void index(Registration registration) {
+			basePaths.put(registration.basePath, registration);
+			for (Route route : registration.routes) {
+				routeKeys.put(route.key(), route);
+			}
+		}
+	}
+}
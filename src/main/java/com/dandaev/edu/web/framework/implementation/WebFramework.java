@@ -1,15 +1,37 @@
 package com.dandaev.edu.web.framework.implementation;
 
-import com.dandaev.edu.annotations.web.framework.PathVariable;
-import com.dandaev.edu.annotations.web.framework.RequestBody;
+import com.dandaev.edu.annotations.web.framework.Async;
+import com.dandaev.edu.annotations.web.framework.CacheEvict;
+import com.dandaev.edu.annotations.web.framework.Cacheable;
+import com.dandaev.edu.annotations.web.framework.ConcurrencyLimit;
+import com.dandaev.edu.annotations.web.framework.RateLimit;
 import com.dandaev.edu.annotations.web.framework.RequestMapping;
-import com.dandaev.edu.annotations.web.framework.RequestParam;
 import com.dandaev.edu.annotations.web.framework.RestController;
 
 import java.lang.reflect.Method;
-import java.lang.reflect.Parameter;
-import java.util.HashMap;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.dandaev.edu.web.framework.admission.ConcurrencyLimiter;
+import com.dandaev.edu.web.framework.admission.RateLimiter;
+import com.dandaev.edu.web.framework.metrics.MetricsSnapshot;
+import com.dandaev.edu.web.framework.metrics.RouteMetrics;
+import com.dandaev.edu.web.framework.metrics.RouteSnapshot;
 
 /**
  * Простой учебный веб-фреймворк, реализующий базовую маршрутизацию
@@ -19,38 +41,171 @@ import java.util.Map;
  * <p>
  * Основные возможности:
  * <ul>
- * <li>Регистрация контроллеров, аннотированных {@code @RestController}</li>
+ * <li>Регистрация и удаление контроллеров, аннотированных
+ * {@code @RestController}, во время обработки запросов</li>
  * <li>Обработка маршрутов, помеченных {@code @RequestMapping}</li>
  * <li>Поддержка параметров {@code @RequestParam}, {@code @PathVariable} и
  * {@code @RequestBody}</li>
+ * <li>Запросы {@link HttpRequest} и ответы {@link HttpResponse} с кодом
+ * статуса, заголовками и телом из байтов, буфера или потока</li>
+ * <li>Асинхронные обработчики: {@link CompletableFuture} и {@link Async}
+ * с таймаутами и отменой ({@link #handleAsync})</li>
+ * <li>Встроенные метрики маршрутов: задержки, ошибки, запросы в обработке
+ * ({@link #getMetrics})</li>
+ * <li>Кэширование ответов GET-обработчиков ({@link Cacheable},
+ * {@link CacheEvict})</li>
+ * <li>Контроль допуска: ограничение частоты и параллельности запросов для
+ * маршрута ({@link RateLimit}, {@link ConcurrencyLimit}) и для всех
+ * маршрутов ({@link #setGlobalRateLimiter}, {@link #setGlobalConcurrencyLimiter})</li>
  * </ul>
  *
  * <p>
  * Класс выполняет роль простого диспетчера HTTP-запросов,
  * распределяя их по методам контроллеров на основе аннотаций.
  */
-public class WebFramework {
+public class WebFramework implements AutoCloseable {
+
+	/** Таймаут асинхронных обработчиков по умолчанию. */
+	public static final long DEFAULT_ASYNC_TIMEOUT_MILLIS = 30_000;
+
+	/** Готовые ответы-отказы: при перегрузке их не нужно строить заново */
+	private static final HttpResponse TOO_MANY_REQUESTS = HttpResponse.error(429, null);
+	private static final HttpResponse OVERLOADED = HttpResponse.error(503, "Concurrency limit exceeded");
+
+	/** Текущий снимок контроллеров и маршрутов; заменяется целиком */
+	private final AtomicReference<RoutingTable> table = new AtomicReference<>(RoutingTable.EMPTY);
+
+	/** Изменения, ожидающие построения новой таблицы; её монитор сериализует построения */
+	private final ConcurrentLinkedQueue<RouteChange> changes = new ConcurrentLinkedQueue<>();
+
+	/** Поток построения таблиц для асинхронной регистрации */
+	private final ExecutorService routeBuilder = Executors
+			.newSingleThreadExecutor(Thread.ofVirtual().name("web-routes").factory());
+
+	/** Виртуальные потоки для обработчиков с {@code @Async} */
+	private final ExecutorService asyncExecutor = Executors
+			.newThreadPerTaskExecutor(Thread.ofVirtual().name("web-async-", 0).factory());
 
-	/** Хранилище контроллеров по базовому пути */
-	private Map<String, Object> controllers = new HashMap<>();
+	private volatile long asyncTimeoutMillis = DEFAULT_ASYNC_TIMEOUT_MILLIS;
+
+	/** Запросы, для которых маршрут не найден */
+	private final LongAdder unmatched = new LongAdder();
+
+	/** Ограничители для всех маршрутов или {@code null} */
+	private volatile RateLimiter globalRateLimiter;
+	private volatile ConcurrencyLimiter globalConcurrencyLimiter;
+
+	private volatile boolean metricsEnabled = true;
+	private volatile boolean phaseTimingEnabled;
 
 	/**
 	 * Регистрирует контроллер в контейнере фреймворка.
 	 * Контроллер должен быть помечен аннотацией {@code @RestController}.
 	 *
+	 * <p>
+	 * Все методы с {@code @RequestMapping} компилируются в
+	 * {@link RouteHandler}, поэтому при обработке запроса рефлексия по
+	 * аннотациям не выполняется. Новая таблица маршрутов строится в
+	 * вызывающем потоке и публикуется целиком до возврата из метода:
+	 * запросы, идущие в это время, без пауз обслуживаются предыдущей
+	 * таблицей. Изменения, поступившие из других потоков во время
+	 * построения, применяются следующим построением вместе.
+	 *
 	 * @param controller экземпляр контроллера, содержащий обработчики HTTP-запросов
+	 * @throws IllegalArgumentException если базовый путь или маршрут конфликтует с
+	 *                                  уже зарегистрированными (контроллер при этом
+	 *                                  не добавляется), {@code @PathVariable} не найдена
+	 *                                  в шаблоне пути, тип {@code @RequestBody} нельзя
+	 *                                  разобрать из JSON или {@link Cacheable} стоит на
+	 *                                  неподходящем методе
+	 * @see #registerControllerAsync
 	 */
 	public void registerController(Object controller) {
+		RouteChange change = registration(controller);
+		if (change != null) {
+			apply(change);
+		}
+	}
+
+	/**
+	 * Регистрирует контроллер, как {@link #registerController}, но строит
+	 * таблицу маршрутов в фоновом потоке.
+	 *
+	 * @param controller экземпляр контроллера, содержащий обработчики HTTP-запросов
+	 * @return будущее, завершающееся после публикации таблицы с контроллером;
+	 *         при конфликте с уже зарегистрированными контроллерами оно
+	 *         завершается {@link IllegalArgumentException} со списком
+	 *         конфликтов
+	 * @throws IllegalArgumentException если методы контроллера нельзя скомпилировать
+	 */
+	public CompletableFuture<Void> registerControllerAsync(Object controller) {
+		RouteChange change = registration(controller);
+		if (change == null) {
+			return CompletableFuture.completedFuture(null);
+		}
+		submit(change);
+		return change.done.thenAccept(changed -> {
+		});
+	}
+
+	/**
+	 * Удаляет контроллер; как и при регистрации, новая таблица маршрутов
+	 * публикуется до возврата из метода. Запросы, уже начатые в удаляемом
+	 * контроллере, завершаются.
+	 *
+	 * @param controller экземпляр контроллера, переданный в {@link #registerController}
+	 * @return {@code false}, если контроллер не был зарегистрирован
+	 */
+	public boolean unregisterController(Object controller) {
+		return apply(new RouteChange(null, controller));
+	}
+
+	/**
+	 * Удаляет контроллер, перестраивая таблицу маршрутов в фоновом потоке.
+	 *
+	 * @param controller экземпляр контроллера, переданный в {@link #registerController}
+	 * @return будущее, завершающееся после публикации таблицы без контроллера;
+	 *         {@code false}, если контроллер не был зарегистрирован
+	 */
+	public CompletableFuture<Boolean> unregisterControllerAsync(Object controller) {
+		RouteChange change = new RouteChange(null, controller);
+		submit(change);
+		return change.done;
+	}
+
+	/**
+	 * Компилирует маршруты контроллера в вызывающем потоке.
+	 *
+	 * @return изменение для таблицы или {@code null}, если класс не помечен
+	 *         {@code @RestController}
+	 */
+	private RouteChange registration(Object controller) {
 		Class<?> clazz = controller.getClass();
-		if (clazz.isAnnotationPresent(RestController.class)) {
-			String basePath = clazz.getAnnotation(RestController.class).path();
-			controllers.put(basePath, controller);
+		if (!clazz.isAnnotationPresent(RestController.class)) {
+			return null;
+		}
+
+		String basePath = clazz.getAnnotation(RestController.class).path();
+		List<RoutingTable.Route> routes = new ArrayList<>();
+		for (Method method : clazz.getDeclaredMethods()) {
+			if (method.isAnnotationPresent(RequestMapping.class)) {
+				RequestMapping mapping = method.getAnnotation(RequestMapping.class);
+				RouteMetrics metrics = new RouteMetrics(mapping.method(), mapping.path());
+				RouteHandler handler = new RouteHandler(controller, method, mapping.path(), metrics);
+				routes.add(new RoutingTable.Route(mapping.method(), mapping.path(), handler,
+						clazz.getSimpleName() + "." + method.getName()));
+			}
 		}
+		return new RouteChange(new RoutingTable.Registration(controller, basePath, routes), null);
 	}
 
 	/**
 	 * Обрабатывает входящий HTTP-запрос.
 	 *
+	 * <p>
+	 * Упрощённый вариант {@link #dispatch}: возвращает только тело ответа,
+	 * для ошибок — строку вида {@code "404 Not Found"}.
+	 *
 	 * @param httpMethod HTTP-метод (например, "GET", "POST")
 	 * @param path       полный путь запроса
 	 * @param params     карта параметров запроса (например, query-параметры)
@@ -58,142 +213,550 @@ public class WebFramework {
 	 * @return результат работы метода контроллера, либо сообщение об ошибке
 	 */
 	public String handleRequest(String httpMethod, String path, Map<String, String> params, String body) {
-		try {
-			for (Object controller : controllers.values()) {
-				Method[] methods = controller.getClass().getDeclaredMethods();
-
-				for (Method method : methods) {
-					if (method.isAnnotationPresent(RequestMapping.class)) {
-						RequestMapping mapping = method.getAnnotation(RequestMapping.class);
-
-						// Проверка совпадения метода и пути
-						if (mapping.method().equalsIgnoreCase(httpMethod) && matchPath(mapping.path(), path)) {
-							return invokeMethod(controller, method, path, params, body);
-						}
-					}
-				}
-			}
+		return dispatch(httpMethod, path, params, body).getBodyAsString();
+	}
 
-			return "404 Not Found";
-		} catch (Exception e) {
-			return "500 Internal Server Error: " + e.getMessage();
+	/**
+	 * Обрабатывает входящий HTTP-запрос и возвращает ответ с кодом статуса.
+	 *
+	 * @param httpMethod HTTP-метод (например, "GET", "POST")
+	 * @param path       полный путь запроса, возможно с query-частью
+	 * @param params     карта параметров запроса (например, query-параметры)
+	 * @param body       тело запроса (используется для {@code @RequestBody})
+	 * @return ответ
+	 * @see #handle(HttpRequest)
+	 */
+	public HttpResponse dispatch(String httpMethod, String path, Map<String, String> params, String body) {
+		return handle(new HttpRequest(httpMethod, path, params, Collections.emptyMap(), body));
+	}
+
+	/**
+	 * Обрабатывает входящий HTTP-запрос.
+	 *
+	 * <p>
+	 * Маршрут не найден — {@code 404}; превышен предел частоты —
+	 * {@code 429}, параллельности — {@code 503} (ещё до извлечения
+	 * аргументов); обязательный параметр отсутствует или имеет неверный
+	 * формат — {@code 400}; исключение в контроллере — {@code 500}. Тело запроса для типизированного {@code @RequestBody}
+	 * разбирается из JSON; некорректный JSON — {@code 400}. Результат метода
+	 * контроллера превращается в ответ по его типу: {@link HttpResponse}
+	 * возвращается как есть, {@code byte[]} и {@link java.nio.ByteBuffer}
+	 * становятся двоичным телом, объекты с {@code @JsonSerializable},
+	 * коллекции, отображения и массивы сериализуются в JSON, остальные — в текст.
+	 *
+	 * @param request запрос
+	 * @return ответ
+	 */
+	public HttpResponse handle(HttpRequest request) {
+		boolean measure = metricsEnabled;
+		long start = measure ? System.nanoTime() : 0;
+
+		// Поиск по дереву маршрутов: O(длины пути), query-часть игнорируется
+		RouteHandler handler = table.get().find(request.getMethod(), request.getTarget());
+		if (handler == null) {
+			return notFound(measure);
+		}
+		if (handler.isAsync()) {
+			return handleAsync(handler, request, measure, start).join();
+		}
+		return handleSync(handler, request, measure, start);
+	}
+
+	/**
+	 * Обрабатывает запрос, не дожидаясь асинхронных обработчиков.
+	 *
+	 * <p>
+	 * Метод контроллера может вернуть {@link CompletableFuture} (или другой
+	 * {@link java.util.concurrent.CompletionStage}) либо быть помечен
+	 * {@link Async} — тогда он выполняется в отдельном виртуальном потоке,
+	 * и блокирующий ввод-вывод в нём не занимает поток сервера. Ответ
+	 * асинхронного обработчика ограничен таймаутом ({@link Async#timeoutMillis()}
+	 * или {@link #setAsyncTimeout}); по истечении возвращается {@code 503},
+	 * а обработчик отменяется. Отмена возвращённого future (например, при
+	 * разрыве соединения) тоже отменяет обработчик. Синхронные обработчики
+	 * выполняются сразу, и результат возвращается уже завершённым.
+	 *
+	 * @param request запрос
+	 * @return будущий ответ; завершается всегда успешно, ошибки
+	 *         превращаются в ответы с кодом статуса
+	 */
+	public CompletableFuture<HttpResponse> handleAsync(HttpRequest request) {
+		boolean measure = metricsEnabled;
+		long start = measure ? System.nanoTime() : 0;
+
+		RouteHandler handler = table.get().find(request.getMethod(), request.getTarget());
+		if (handler == null) {
+			return CompletableFuture.completedFuture(notFound(measure));
+		}
+		if (!handler.isAsync()) {
+			return CompletableFuture.completedFuture(handleSync(handler, request, measure, start));
+		}
+		return handleAsync(handler, request, measure, start);
+	}
+
+	/**
+	 * Возвращает снимок метрик всех маршрутов.
+	 *
+	 * <p>
+	 * Для каждого маршрута считаются завершённые запросы и гистограмма их
+	 * задержек (от поиска маршрута до готового ответа, для асинхронных —
+	 * до завершения будущего ответа), ответы {@code 4xx} и {@code 5xx} и
+	 * запросы в обработке; отдельно — запросы без маршрута. Учёт стоит
+	 * два вызова {@link System#nanoTime()} и несколько сложений в
+	 * {@link LongAdder} на запрос; во сколько это обходится, показывает
+	 * {@code UserControllerBenchmark} с параметром {@code metrics}. Снимок
+	 * в формате Prometheus отдаёт
+	 * {@link com.dandaev.edu.web.framework.metrics.MetricsController}.
+	 *
+	 * @return снимок метрик
+	 */
+	public MetricsSnapshot getMetrics() {
+		List<RouteHandler> handlers = table.get().handlers();
+		List<RouteSnapshot> snapshots = new ArrayList<>(handlers.size());
+		for (RouteHandler handler : handlers) {
+			snapshots.add(handler.metrics().snapshot());
+		}
+		return new MetricsSnapshot(snapshots, unmatched.sum());
+	}
+
+	/**
+	 * Включает или отключает сбор метрик (по умолчанию включён).
+	 *
+	 * @param enabled собирать ли метрики
+	 */
+	public void setMetricsEnabled(boolean enabled) {
+		this.metricsEnabled = enabled;
+	}
+
+	/**
+	 * Включает замер времени по фазам синхронной обработки: поиск маршрута,
+	 * извлечение аргументов, вызов контроллера и превращение результата в
+	 * ответ. По умолчанию выключен: это ещё три вызова
+	 * {@link System#nanoTime()} на запрос.
+	 *
+	 * @param enabled замерять ли фазы
+	 */
+	public void setPhaseTimingEnabled(boolean enabled) {
+		this.phaseTimingEnabled = enabled;
+	}
+
+	/**
+	 * Очищает кэши ответов с указанным именем — то же, что делает
+	 * {@link CacheEvict}. Нужно, если данные изменились в обход контроллеров.
+	 *
+	 * @param name имя кэша из {@link Cacheable} (по умолчанию — шаблон пути)
+	 */
+	public void evictCache(String name) {
+		for (ResponseCache cache : table.get().caches(name)) {
+			cache.clear();
 		}
 	}
 
 	/**
-	 * Проверяет, соответствует ли путь из аннотации пути запроса.
-	 * Поддерживает простое сравнение без регулярных выражений.
+	 * Задаёт ограничитель частоты для всех запросов, нашедших маршрут;
+	 * действует вместе с {@link RateLimit} маршрутов. Запрос сверх предела
+	 * получает {@code 429} с заголовком {@code Retry-After}.
 	 *
-	 * @param mappingPath путь из аннотации {@code @RequestMapping}
-	 * @param requestPath путь из запроса
-	 * @return {@code true}, если пути совпадают
+	 * @param limiter ограничитель или {@code null}, чтобы снять ограничение
 	 */
-	private boolean matchPath(String mappingPath, String requestPath) {
-		return mappingPath.equals(requestPath) ||
-				mappingPath.equals(requestPath.split("\\?")[0]);
+	public void setGlobalRateLimiter(RateLimiter limiter) {
+		this.globalRateLimiter = limiter;
 	}
 
 	/**
-	 * Вызывает метод контроллера, сопоставленный маршруту.
-	 * Автоматически подставляет значения параметров на основе аннотаций.
+	 * Задаёт ограничитель числа одновременных запросов ко всем маршрутам;
+	 * действует вместе с {@link ConcurrencyLimit} маршрутов. Запрос сверх
+	 * предела получает {@code 503}. Адаптивный ограничитель
+	 * ({@link ConcurrencyLimiter#adaptive}) подстраивает предел по задержке
+	 * обработчиков: при деградации лишние запросы отклоняются сразу, а не
+	 * копятся в очереди, и хвост задержек остаётся ограниченным.
 	 *
-	 * @param controller контроллер, содержащий метод
-	 * @param method     метод контроллера для вызова
-	 * @param path       путь запроса
-	 * @param params     параметры запроса
-	 * @param body       тело запроса
-	 * @return результат работы метода контроллера
-	 * @throws Exception если при вызове метода возникла ошибка
+	 * @param limiter ограничитель или {@code null}, чтобы снять ограничение
 	 */
-	private String invokeMethod(Object controller, Method method, String path, Map<String, String> params, String body) throws Exception {
-		Parameter[] parameters = method.getParameters();
-		Object[] args = new Object[parameters.length];
+	public void setGlobalConcurrencyLimiter(ConcurrencyLimiter limiter) {
+		this.globalConcurrencyLimiter = limiter;
+	}
 
-		// Формирование аргументов метода
-		for (int i = 0; i < parameters.length; i++) {
-			Parameter param = parameters[i];
+	/**
+	 * Задаёт таймаут асинхронных обработчиков, для которых он не указан
+	 * в {@link Async}.
+	 *
+	 * @param timeout таймаут
+	 * @throws IllegalArgumentException если таймаут не положителен
+	 */
+	public void setAsyncTimeout(Duration timeout) {
+		if (timeout.isNegative() || timeout.isZero()) {
+			throw new IllegalArgumentException("Timeout must be positive: " + timeout);
+		}
+		this.asyncTimeoutMillis = timeout.toMillis();
+	}
 
-			if (param.isAnnotationPresent(RequestParam.class)) {
-				// Query-параметры
-				RequestParam annotation = param.getAnnotation(RequestParam.class);
-				String paramName = annotation.value().isEmpty() ? param.getName() : annotation.value();
-				String value = params.get(paramName);
+	/**
+	 * Останавливает фоновые потоки фреймворка: поток построения таблиц
+	 * маршрутов и пул обработчиков с {@link Async}. Выполняющиеся
+	 * обработчики с {@link Async} прерываются, новые завершаются ответом
+	 * {@code 503}; асинхронная регистрация после закрытия выполняется в
+	 * вызывающем потоке. Повторный вызов ничего не делает.
+	 */
+	@Override
+	public void close() {
+		routeBuilder.shutdown();
+		asyncExecutor.shutdownNow();
+	}
+
+	private void submit(RouteChange change) {
+		changes.add(change);
+		try {
+			routeBuilder.execute(this::rebuildRoutes);
+		} catch (RejectedExecutionException e) {
+			rebuildRoutes();
+		}
+	}
 
-				if (value == null && annotation.required()) {
-					throw new IllegalArgumentException("Required parameter missing: " + paramName);
+	/**
+	 * Применяет изменение в вызывающем потоке.
+	 *
+	 * @return изменило ли оно таблицу
+	 * @throws IllegalArgumentException если изменение отклонено
+	 */
+	private boolean apply(RouteChange change) {
+		changes.add(change);
+		rebuildRoutes();
+		// Изменение применено этим потоком или тем, кто держал блокировку до него
+		try {
+			return change.done.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * Применяет все накопившиеся изменения и публикует новую таблицу.
+	 * Построения выполняются по одному; если изменения уже применены
+	 * предыдущим вызовом, ничего не делает. Если общее построение не
+	 * удалось, изменения применяются по одному, и ошибку получает только
+	 * то изменение, которое её вызвало.
+	 */
+	private void rebuildRoutes() {
+		synchronized (changes) {
+			if (changes.isEmpty()) {
+				return;
+			}
+
+			RoutingTable.Builder builder = table.get().toBuilder();
+			List<RouteChange> applied = new ArrayList<>();
+			for (RouteChange change = changes.poll(); change != null; change = changes.poll()) {
+				try {
+					applyTo(builder, change);
+					applied.add(change);
+				} catch (IllegalArgumentException e) {
+					change.done.completeExceptionally(e);
+				}
+			}
+
+			try {
+				table.set(builder.build());
+			} catch (RuntimeException e) {
+				if (applied.size() == 1) {
+					applied.get(0).done.completeExceptionally(e);
+				} else {
+					rebuildOneByOne(applied);
 				}
+				return;
+			}
+			for (RouteChange change : applied) {
+				change.done.complete(change.changed);
+			}
+		}
+	}
+
+	private void rebuildOneByOne(List<RouteChange> batch) {
+		for (RouteChange change : batch) {
+			try {
+				RoutingTable.Builder builder = table.get().toBuilder();
+				applyTo(builder, change);
+				table.set(builder.build());
+				change.done.complete(change.changed);
+			} catch (RuntimeException e) {
+				change.done.completeExceptionally(e);
+			}
+		}
+	}
+
+	private static void applyTo(RoutingTable.Builder builder, RouteChange change) {
+		if (change.added != null) {
+			builder.add(change.added);
+			change.changed = true;
+		} else {
+			change.changed = builder.remove(change.removed);
+		}
+	}
 
-				args[i] = convertValue(value, param.getType());
+	private HttpResponse notFound(boolean measure) {
+		if (measure) {
+			unmatched.increment();
+		}
+		return HttpResponse.error(404, null);
+	}
+
+	private HttpResponse handleSync(RouteHandler handler, HttpRequest request, boolean measure, long start) {
+		if (!measure) {
+			return invoke(handler, request, false, start);
+		}
 
-			} else if (param.isAnnotationPresent(PathVariable.class)) {
-				// Параметры пути (например, /users/{id})
-				PathVariable annotation = param.getAnnotation(PathVariable.class);
-				String value = extractPathParameter(method.getAnnotation(RequestMapping.class).path(),
-						path, annotation.value());
-				args[i] = convertValue(value, param.getType());
+		RouteMetrics metrics = handler.metrics();
+		metrics.requestStarted();
+		int status = 500;
+		try {
+			HttpResponse response = invoke(handler, request, phaseTimingEnabled, start);
+			status = response.getStatus();
+			return response;
+		} finally {
+			metrics.requestCompleted(start, status);
+		}
+	}
 
-			} else if (param.isAnnotationPresent(RequestBody.class)) {
-				// Тело запроса
-				args[i] = body; // Упрощённый вариант — без JSON-парсинга
+	private HttpResponse invoke(RouteHandler handler, HttpRequest request, boolean timed, long start) {
+		ConcurrencyLimiter global = globalConcurrencyLimiter;
+		ConcurrencyLimiter local = handler.concurrencyLimiter();
+		if (global == null && local == null && globalRateLimiter == null && handler.rateLimiter() == null) {
+			return invokeAdmitted(handler, request, timed, start);
+		}
+
+		long admitted = System.nanoTime();
+		HttpResponse rejection = admit(handler, global, local, admitted);
+		if (rejection != null) {
+			return rejection;
+		}
+		int status = 500;
+		try {
+			HttpResponse response = invokeAdmitted(handler, request, timed, start);
+			status = response.getStatus();
+			return response;
+		} finally {
+			release(global, local, admitted, status);
+		}
+	}
 
+	private HttpResponse invokeAdmitted(RouteHandler handler, HttpRequest request, boolean timed, long start) {
+		HttpResponse response;
+		try {
+			if (handler.cache() != null) {
+				Object[] args = handler.bind(request);
+				// Загрузка синхронная: ждёт только запрос, попавший на чужую загрузку
+				response = handler.cache()
+						.get(args, () -> CompletableFuture.completedFuture(invokeBound(handler, args)))
+						.join();
 			} else {
-				args[i] = null;
+				// Аргументы связываются заранее подготовленными binder'ами
+				response = timed ? handler.handleTimed(request, start) : handler.handle(request);
 			}
+		} catch (Exception e) {
+			response = errorResponse(e);
 		}
+		return evictCaches(handler, response);
+	}
 
-		Object result = method.invoke(controller, args);
-		return result != null ? result.toString() : "null";
+	private static HttpResponse invokeBound(RouteHandler handler, Object[] args) {
+		try {
+			return handler.invoke(args);
+		} catch (Exception e) {
+			return errorResponse(e);
+		}
+	}
+
+	private CompletableFuture<HttpResponse> handleAsync(RouteHandler handler, HttpRequest request,
+			boolean measure, long start) {
+		if (!measure) {
+			return invokeAsync(handler, request);
+		}
+
+		RouteMetrics metrics = handler.metrics();
+		metrics.requestStarted();
+		CompletableFuture<HttpResponse> response = invokeAsync(handler, request);
+		// Отменённый ответ (разрыв соединения) считается как 503
+		response.whenComplete((value, error) -> metrics.requestCompleted(start,
+				value != null ? value.getStatus() : 503));
+		return response;
+	}
+
+	private CompletableFuture<HttpResponse> invokeAsync(RouteHandler handler, HttpRequest request) {
+		ConcurrencyLimiter global = globalConcurrencyLimiter;
+		ConcurrencyLimiter local = handler.concurrencyLimiter();
+		if (global == null && local == null && globalRateLimiter == null && handler.rateLimiter() == null) {
+			return startAsync(handler, request);
+		}
+
+		long admitted = System.nanoTime();
+		HttpResponse rejection = admit(handler, global, local, admitted);
+		if (rejection != null) {
+			return CompletableFuture.completedFuture(rejection);
+		}
+		CompletableFuture<HttpResponse> response = startAsync(handler, request);
+		response.whenComplete((value, error) -> release(global, local, admitted,
+				value != null ? value.getStatus() : 503));
+		return response;
+	}
+
+	private CompletableFuture<HttpResponse> startAsync(RouteHandler handler, HttpRequest request) {
+		Object[] args;
+		try {
+			args = handler.bind(request);
+		} catch (BadRequestException e) {
+			return CompletableFuture.completedFuture(errorResponse(e));
+		}
+		if (handler.cache() != null) {
+			return handler.cache().get(args, () -> invokeAsync(handler, args));
+		}
+		return invokeAsync(handler, args);
+	}
+
+	private CompletableFuture<HttpResponse> invokeAsync(RouteHandler handler, Object[] args) {
+		CompletableFuture<Object> result;
+		try {
+			result = handler.invokeAsync(args, asyncExecutor);
+		} catch (Exception e) {
+			return CompletableFuture.completedFuture(errorResponse(e));
+		}
+
+		long timeout = handler.timeoutMillis() > 0 ? handler.timeoutMillis() : asyncTimeoutMillis;
+		result.orTimeout(timeout, TimeUnit.MILLISECONDS);
+
+		CompletableFuture<HttpResponse> response = result.handle((value, error) -> {
+			if (error != null) {
+				return errorResponse(error);
+			}
+			try {
+				return evictCaches(handler, handler.respond(value));
+			} catch (RuntimeException e) {
+				return errorResponse(e);
+			}
+		});
+
+		// Отмена ответа отменяет копию результата (и поток обработчика с @Async),
+		// но не будущий результат, полученный от контроллера
+		response.whenComplete((value, error) -> {
+			if (error instanceof CancellationException) {
+				result.cancel(true);
+			}
+		});
+		return response;
 	}
 
 	/**
-	 * Преобразует строковое значение параметра в нужный тип.
+	 * Допускает запрос или возвращает отказ: превышение частоты — {@code 429},
+	 * предела параллельности — {@code 503}. Проверка идёт до извлечения
+	 * аргументов и обращения к кэшу. Допущенный запрос занимает место в
+	 * ограничителях параллельности до {@link #release}.
 	 *
-	 * @param value      строка из параметров
-	 * @param targetType целевой тип параметра метода
-	 * @return преобразованное значение (или {@code null}, если value == null)
+	 * <p>Сначала проверяется параллельность: место возвращается при отказе,
+	 * а токен частоты — нет. Общий токен берётся последним, чтобы запросы,
+	 * отклонённые ограничителями маршрута, не расходовали общий лимит.
 	 */
-	private Object convertValue(String value, Class<?> targetType) {
-		if (value == null)
-			return null;
+	private HttpResponse admit(RouteHandler handler, ConcurrencyLimiter global, ConcurrencyLimiter local,
+			long now) {
+		if (local != null && !local.tryAcquire()) {
+			return OVERLOADED;
+		}
+		if (global != null && !global.tryAcquire()) {
+			if (local != null) {
+				local.release();
+			}
+			return OVERLOADED;
+		}
 
-		if (targetType == String.class)
-			return value;
-		if (targetType == Integer.class || targetType == int.class)
-			return Integer.parseInt(value);
-		if (targetType == Long.class || targetType == long.class)
-			return Long.parseLong(value);
-		if (targetType == Double.class || targetType == double.class)
-			return Double.parseDouble(value);
-		if (targetType == Boolean.class || targetType == boolean.class)
-			return Boolean.parseBoolean(value);
+		HttpResponse limited = checkRate(handler.rateLimiter(), now);
+		if (limited == null) {
+			limited = checkRate(globalRateLimiter, now);
+		}
+		if (limited != null) {
+			if (global != null) {
+				global.release();
+			}
+			if (local != null) {
+				local.release();
+			}
+		}
+		return limited;
+	}
 
-		return value;
+	private static HttpResponse checkRate(RateLimiter limiter, long now) {
+		if (limiter == null || limiter.tryAcquire(now)) {
+			return null;
+		}
+		long wait = limiter.nanosUntilPermit(now);
+		long seconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(wait + TimeUnit.SECONDS.toNanos(1) - 1));
+		return TOO_MANY_REQUESTS.withHeader("Retry-After", Long.toString(seconds));
 	}
 
 	/**
-	 * Извлекает значение параметра из пути запроса.
-	 * Например: если маршрут {@code /api/users/{id}}, а запрос
-	 * {@code /api/users/5},
-	 * то метод вернёт {@code "5"} для параметра {@code id}.
-	 *
-	 * @param mappingPath маршрут, указанный в аннотации {@code @RequestMapping}
-	 * @param requestPath фактический путь запроса
-	 * @param paramName   имя параметра, указанное в {@code @PathVariable}
-	 * @return значение параметра пути, либо {@code null}, если не найдено
+	 * Освобождает места в ограничителях и передаёт им задержку обработки;
+	 * {@code 503} (таймаут, отмена) считается признаком перегрузки.
 	 */
-	private String extractPathParameter(String mappingPath, String requestPath, String paramName) {
-		String[] mappingParts = mappingPath.split("/");
-		String[] requestParts = requestPath.split("/");
+	private static void release(ConcurrencyLimiter global, ConcurrencyLimiter local, long admitted, int status) {
+		long latency = System.nanoTime() - admitted;
+		boolean overloaded = status == 503;
+		if (local != null) {
+			local.release(latency, overloaded);
+		}
+		if (global != null) {
+			global.release(latency, overloaded);
+		}
+	}
 
-		for (int i = 0; i < Math.min(mappingParts.length, requestParts.length); i++) {
-			if (mappingParts[i].startsWith("{") && mappingParts[i].endsWith("}")) {
-				String currentParamName = mappingParts[i].substring(1, mappingParts[i].length() - 1);
-				if (currentParamName.equals(paramName)) {
-					return requestParts[i];
-				}
+	/**
+	 * Очищает кэши из {@link CacheEvict} маршрута, если ответ успешный.
+	 */
+	private HttpResponse evictCaches(RouteHandler handler, HttpResponse response) {
+		if (handler.evicts().length != 0 && response.getStatus() / 100 == 2) {
+			for (String name : handler.evicts()) {
+				evictCache(name);
 			}
 		}
+		return response;
+	}
 
-		return null;
+	/**
+	 * Превращает исключение обработчика в ответ: ошибка в данных запроса —
+	 * {@code 400}, таймаут или отмена — {@code 503}, остальное — {@code 500}.
+	 */
+	private static HttpResponse errorResponse(Throwable error) {
+		while ((error instanceof CompletionException || error instanceof ExecutionException)
+				&& error.getCause() != null) {
+			error = error.getCause();
+		}
+		if (error instanceof BadRequestException) {
+			return HttpResponse.error(400, error.getMessage());
+		}
+		if (error instanceof TimeoutException) {
+			return HttpResponse.error(503, "Request timed out");
+		}
+		if (error instanceof CancellationException) {
+			return HttpResponse.error(503, "Request cancelled");
+		}
+		if (error instanceof RejectedExecutionException) {
+			return HttpResponse.error(503, "Framework is closed");
+		}
+		return HttpResponse.error(500, error.getMessage());
+	}
+
+	/**
+	 * Ожидающее изменение таблицы: добавление или удаление контроллера.
+	 */
+	private static final class RouteChange {
+		final RoutingTable.Registration added;
+		final Object removed;
+		final CompletableFuture<Boolean> done = new CompletableFuture<>();
+
+		/** Изменило ли применение таблицу; пишется под блокировкой построения. */
+		boolean changed;
+
+		RouteChange(RoutingTable.Registration added, Object removed) {
+			this.added = added;
+			this.removed = removed;
+		}
 	}
 }
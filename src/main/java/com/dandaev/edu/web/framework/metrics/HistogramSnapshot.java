@@ -0,0 +1,82 @@
+package com.dandaev.edu.web.framework.metrics;
+
+/**
+ * Неизменяемый снимок {@link LatencyHistogram}. Все значения —
+ * в наносекундах.
+ */
+public final class HistogramSnapshot {
+
+	private final long[] counts;
+	private final long count;
+	private final long sum;
+
+	HistogramSnapshot(long[] counts, long sum) {
+		this.counts = counts;
+		this.sum = sum;
+		long total = 0;
+		for (long bucket : counts) {
+			total += bucket;
+		}
+		this.count = total;
+	}
+
+	/**
+	 * @return число учтённых значений
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * @return сумма учтённых значений
+	 */
+	public long getSum() {
+		return sum;
+	}
+
+	/**
+	 * @return среднее значение или {@code 0}, если значений нет
+	 */
+	public double getMean() {
+		return count == 0 ? 0 : (double) sum / count;
+	}
+
+	/**
+	 * Возвращает значение, не меньше которого оказались {@code percentile}
+	 * процентов учтённых значений (с точностью до корзины — в сторону
+	 * завышения).
+	 *
+	 * @param percentile процентиль от {@code 0} до {@code 100}
+	 * @return значение или {@code 0}, если значений нет
+	 * @throws IllegalArgumentException если процентиль вне диапазона
+	 */
+	public long getValueAtPercentile(double percentile) {
+		if (percentile < 0 || percentile > 100) {
+			throw new IllegalArgumentException("Percentile must be between 0 and 100: " + percentile);
+		}
+		if (count == 0) {
+			return 0;
+		}
+		long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+		long seen = 0;
+		for (int i = 0; i < counts.length; i++) {
+			seen += counts[i];
+			if (seen >= rank) {
+				return LatencyHistogram.bucketUpperBound(i);
+			}
+		}
+		return getMax();
+	}
+
+	/**
+	 * @return наибольшее значение (с точностью до корзины) или {@code 0}
+	 */
+	public long getMax() {
+		for (int i = counts.length - 1; i >= 0; i--) {
+			if (counts[i] != 0) {
+				return LatencyHistogram.bucketUpperBound(i);
+			}
+		}
+		return 0;
+	}
+}
@@ -0,0 +1,105 @@
+package com.dandaev.edu.web.framework.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Гистограмма задержек с логарифмически-линейными корзинами в духе
+ * HdrHistogram.
+ *
+ * <p>
+ * Каждая степень двойки делится на {@value #SUB_BUCKETS} равных корзин,
+ * поэтому относительная погрешность перцентилей не превышает 1/16 (~6%)
+ * во всём диапазоне от наносекунд до {@code 2^40} нс (~18 минут); большие
+ * значения попадают в последнюю корзину. Номер корзины вычисляется
+ * несколькими сдвигами, без ветвлений по диапазонам.
+ *
+ * <p>
+ * Счётчики корзин разнесены по нескольким полосам (по числу ядер), поток
+ * пишет в полосу по своему идентификатору, поэтому одновременные записи
+ * из разных ядер почти не конкурируют за одни строки кэша. Сумма значений
+ * хранится в той же полосе, так что запись — две атомарные операции над
+ * одним массивом. Снимок
+ * суммирует полосы и не атомарен относительно идущих записей.
+ */
+public final class LatencyHistogram {
+
+	private static final int SUB_BUCKET_BITS = 4;
+
+	/** Число корзин на одну степень двойки. */
+	static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+	/** Значения от {@code 2^MAX_EXPONENT} нс и выше попадают в последнюю корзину. */
+	private static final int MAX_EXPONENT = 40;
+
+	static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+	private static final long MAX_VALUE = (1L << MAX_EXPONENT) - 1;
+
+	/** Ячейка полосы с суммой значений — сразу за корзинами. */
+	private static final int SUM_INDEX = BUCKET_COUNT;
+
+	private final AtomicLongArray[] stripes;
+	private final int stripeMask;
+
+	public LatencyHistogram() {
+		int cpus = Runtime.getRuntime().availableProcessors();
+		int count = Integer.highestOneBit(Math.min(Math.max(cpus, 1), 16));
+		this.stripes = new AtomicLongArray[count];
+		for (int i = 0; i < count; i++) {
+			stripes[i] = new AtomicLongArray(BUCKET_COUNT + 1);
+		}
+		this.stripeMask = count - 1;
+	}
+
+	/**
+	 * Учитывает одно значение.
+	 *
+	 * @param nanos задержка в наносекундах; отрицательные считаются нулём
+	 */
+	public void record(long nanos) {
+		long value = Math.min(Math.max(nanos, 0), MAX_VALUE);
+		AtomicLongArray stripe = stripes[(int) Thread.currentThread().threadId() & stripeMask];
+		stripe.getAndIncrement(bucketIndex(value));
+		stripe.getAndAdd(SUM_INDEX, value);
+	}
+
+	/**
+	 * @return снимок накопленных значений
+	 */
+	public HistogramSnapshot snapshot() {
+		long[] counts = new long[BUCKET_COUNT];
+		long sum = 0;
+		for (AtomicLongArray stripe : stripes) {
+			for (int i = 0; i < BUCKET_COUNT; i++) {
+				counts[i] += stripe.get(i);
+			}
+			sum += stripe.get(SUM_INDEX);
+		}
+		return new HistogramSnapshot(counts, sum);
+	}
+
+	/**
+	 * Номер корзины: значения меньше {@value #SUB_BUCKETS} — каждое в своей
+	 * корзине, для больших — номер степени двойки и старшие
+	 * {@code SUB_BUCKET_BITS} бит после ведущей единицы.
+	 */
+	static int bucketIndex(long value) {
+		if (value < SUB_BUCKETS) {
+			return (int) value;
+		}
+		int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+		return ((shift + 1) << SUB_BUCKET_BITS) + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+	}
+
+	/**
+	 * @return наибольшее значение, попадающее в корзину
+	 */
+	static long bucketUpperBound(int index) {
+		if (index < SUB_BUCKETS) {
+			return index;
+		}
+		int shift = (index >>> SUB_BUCKET_BITS) - 1;
+		long lower = (long) (SUB_BUCKETS + (index & (SUB_BUCKETS - 1))) << shift;
+		return lower + (1L << shift) - 1;
+	}
+}
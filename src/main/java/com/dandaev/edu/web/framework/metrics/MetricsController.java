@@ -0,0 +1,38 @@
+package com.dandaev.edu.web.framework.metrics;
+
+import java.nio.charset.StandardCharsets;
+
+import com.dandaev.edu.annotations.web.framework.RequestMapping;
+import com.dandaev.edu.annotations.web.framework.RestController;
+import com.dandaev.edu.web.framework.implementation.HttpResponse;
+import com.dandaev.edu.web.framework.implementation.WebFramework;
+
+/**
+ * Контроллер {@code GET /metrics}: метрики маршрутов фреймворка в текстовом
+ * формате Prometheus.
+ *
+ * <pre>{@code
+ * framework.registerController(new MetricsController(framework));
+ * }</pre>
+ */
+@RestController(path = "/metrics")
+public class MetricsController {
+
+	/** Тип содержимого текстового формата Prometheus. */
+	public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+	private final WebFramework framework;
+
+	/**
+	 * @param framework фреймворк, метрики которого отдаются
+	 */
+	public MetricsController(WebFramework framework) {
+		this.framework = framework;
+	}
+
+	@RequestMapping(path = "/metrics", method = "GET")
+	public HttpResponse metrics() {
+		byte[] text = framework.getMetrics().toPrometheusText().getBytes(StandardCharsets.UTF_8);
+		return HttpResponse.bytes(200, CONTENT_TYPE, text);
+	}
+}
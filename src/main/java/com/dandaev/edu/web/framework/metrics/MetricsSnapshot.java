@@ -0,0 +1,130 @@
+package com.dandaev.edu.web.framework.metrics;
+
+import java.util.List;
+
+/**
+ * Снимок метрик всех маршрутов фреймворка.
+ *
+ * <p>
+ * {@link #toPrometheusText()} выводит снимок в текстовом формате
+ * Prometheus (версия 0.0.4); задержки — сводка ({@code summary})
+ * с квантилями, рассчитанными по гистограмме.
+ */
+public final class MetricsSnapshot {
+
+	/** Квантили задержки, выводимые в текстовом формате. */
+	private static final double[] QUANTILES = { 0.5, 0.9, 0.99, 0.999 };
+
+	private static final String[] PHASES = { "routing", "binding", "invocation", "serialization" };
+
+	private final List<RouteSnapshot> routes;
+	private final long unmatched;
+
+	/**
+	 * @param routes    снимки маршрутов
+	 * @param unmatched число запросов, для которых маршрут не найден
+	 */
+	public MetricsSnapshot(List<RouteSnapshot> routes, long unmatched) {
+		this.routes = List.copyOf(routes);
+		this.unmatched = unmatched;
+	}
+
+	/**
+	 * @return снимки маршрутов в порядке регистрации
+	 */
+	public List<RouteSnapshot> getRoutes() {
+		return routes;
+	}
+
+	/**
+	 * @return число запросов, для которых маршрут не найден ({@code 404})
+	 */
+	public long getUnmatchedCount() {
+		return unmatched;
+	}
+
+	/**
+	 * @return снимок в текстовом формате Prometheus
+	 */
+	public String toPrometheusText() {
+		StringBuilder out = new StringBuilder(256 + routes.size() * 1024);
+
+		header(out, "http_requests_total", "counter", "Completed HTTP requests.");
+		for (RouteSnapshot route : routes) {
+			sample(out, "http_requests_total", route, null, null, route.getRequestCount());
+		}
+
+		header(out, "http_request_errors_total", "counter", "HTTP responses with 4xx and 5xx status.");
+		for (RouteSnapshot route : routes) {
+			sample(out, "http_request_errors_total", route, "class", "4xx", route.getClientErrorCount());
+			sample(out, "http_request_errors_total", route, "class", "5xx", route.getServerErrorCount());
+		}
+
+		header(out, "http_requests_in_flight", "gauge", "HTTP requests being processed.");
+		for (RouteSnapshot route : routes) {
+			sample(out, "http_requests_in_flight", route, null, null, route.getInFlight());
+		}
+
+		header(out, "http_request_duration_seconds", "summary", "HTTP request latency.");
+		for (RouteSnapshot route : routes) {
+			HistogramSnapshot latency = route.getLatency();
+			for (double quantile : QUANTILES) {
+				sample(out, "http_request_duration_seconds", route, "quantile", Double.toString(quantile),
+						seconds(latency.getValueAtPercentile(quantile * 100)));
+			}
+			sample(out, "http_request_duration_seconds_sum", route, null, null, seconds(latency.getSum()));
+			sample(out, "http_request_duration_seconds_count", route, null, null, latency.getCount());
+		}
+
+		header(out, "http_request_phase_seconds_total", "counter",
+				"Time spent per request processing phase, when phase timing is enabled.");
+		for (RouteSnapshot route : routes) {
+			long[] phases = { route.getRoutingNanos(), route.getBindingNanos(),
+					route.getInvocationNanos(), route.getSerializationNanos() };
+			for (int i = 0; i < PHASES.length; i++) {
+				sample(out, "http_request_phase_seconds_total", route, "phase", PHASES[i], seconds(phases[i]));
+			}
+		}
+
+		header(out, "http_requests_unmatched_total", "counter", "HTTP requests without a matching route.");
+		out.append("http_requests_unmatched_total ").append(unmatched).append('\n');
+		return out.toString();
+	}
+
+	private static void header(StringBuilder out, String name, String type, String help) {
+		out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+		out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+	}
+
+	private static void sample(StringBuilder out, String name, RouteSnapshot route,
+			String extraLabel, String extraValue, Object value) {
+		out.append(name).append("{method=\"");
+		escape(out, route.getMethod());
+		out.append("\",route=\"");
+		escape(out, route.getRoute());
+		out.append('"');
+		if (extraLabel != null) {
+			out.append(',').append(extraLabel).append("=\"").append(extraValue).append('"');
+		}
+		out.append("} ").append(value).append('\n');
+	}
+
+	/**
+	 * Экранирует значение метки: обратная косая черта, кавычка и перевод строки.
+	 */
+	private static void escape(StringBuilder out, String value) {
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			switch (c) {
+				case '\\' -> out.append("\\\\");
+				case '"' -> out.append("\\\"");
+				case '\n' -> out.append("\\n");
+				default -> out.append(c);
+			}
+		}
+	}
+
+	private static double seconds(long nanos) {
+		return nanos / 1e9;
+	}
+}
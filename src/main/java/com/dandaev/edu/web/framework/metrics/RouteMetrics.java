@@ -0,0 +1,113 @@
+package com.dandaev.edu.web.framework.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Метрики одного маршрута: гистограмма задержек, счётчики ошибок,
+ * число запросов в обработке и (по желанию) время по фазам обработки.
+ *
+ * <p>
+ * Все счётчики — {@link LongAdder} или полосы {@link LatencyHistogram},
+ * поэтому запись из многих потоков не упирается в одну атомарную
+ * переменную. Число запросов в обработке не хранится отдельно, а
+ * вычисляется как разность начатых и завершённых: на успешный запрос
+ * приходится два вызова {@link System#nanoTime()} и три атомарных сложения.
+ *
+ * <pre>{@code
+ * long start = System.nanoTime();
+ * metrics.requestStarted();
+ * ...
+ * metrics.requestCompleted(start, response.getStatus());
+ * }</pre>
+ */
+public final class RouteMetrics {
+
+	private final String method;
+	private final String route;
+
+	private final LatencyHistogram latency = new LatencyHistogram();
+	private final LongAdder started = new LongAdder();
+	private final LongAdder clientErrors = new LongAdder();
+	private final LongAdder serverErrors = new LongAdder();
+
+	private final LongAdder phaseSamples = new LongAdder();
+	private final LongAdder routingNanos = new LongAdder();
+	private final LongAdder bindingNanos = new LongAdder();
+	private final LongAdder invocationNanos = new LongAdder();
+	private final LongAdder serializationNanos = new LongAdder();
+
+	/**
+	 * @param method HTTP-метод маршрута
+	 * @param route  шаблон пути маршрута
+	 */
+	public RouteMetrics(String method, String route) {
+		this.method = method;
+		this.route = route;
+	}
+
+	/**
+	 * @return HTTP-метод маршрута
+	 */
+	public String getMethod() {
+		return method;
+	}
+
+	/**
+	 * @return шаблон пути маршрута
+	 */
+	public String getRoute() {
+		return route;
+	}
+
+	/**
+	 * Отмечает начало обработки запроса.
+	 */
+	public void requestStarted() {
+		started.increment();
+	}
+
+	/**
+	 * Отмечает завершение обработки запроса, начатой
+	 * {@link #requestStarted()}.
+	 *
+	 * @param startNanos значение {@link System#nanoTime()} в начале обработки
+	 * @param status     код статуса ответа
+	 */
+	public void requestCompleted(long startNanos, int status) {
+		latency.record(System.nanoTime() - startNanos);
+		if (status >= 500) {
+			serverErrors.increment();
+		} else if (status >= 400) {
+			clientErrors.increment();
+		}
+	}
+
+	/**
+	 * Учитывает время фаз одного запроса в наносекундах.
+	 *
+	 * @param routing       поиск маршрута
+	 * @param binding       извлечение аргументов и разбор тела
+	 * @param invocation    вызов метода контроллера
+	 * @param serialization превращение результата в ответ
+	 */
+	public void recordPhases(long routing, long binding, long invocation, long serialization) {
+		phaseSamples.increment();
+		routingNanos.add(routing);
+		bindingNanos.add(binding);
+		invocationNanos.add(invocation);
+		serializationNanos.add(serialization);
+	}
+
+	/**
+	 * @return снимок метрик маршрута
+	 */
+	public RouteSnapshot snapshot() {
+		// Завершённые читаются раньше начатых, чтобы разность не ушла в минус
+		HistogramSnapshot completed = latency.snapshot();
+		long inFlight = Math.max(0, started.sum() - completed.getCount());
+		return new RouteSnapshot(method, route, completed,
+				clientErrors.sum(), serverErrors.sum(), inFlight,
+				phaseSamples.sum(), routingNanos.sum(), bindingNanos.sum(),
+				invocationNanos.sum(), serializationNanos.sum());
+	}
+}
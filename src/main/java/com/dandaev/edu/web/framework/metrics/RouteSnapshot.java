@@ -0,0 +1,121 @@
+package com.dandaev.edu.web.framework.metrics;
+
+/**
+ * Снимок метрик одного маршрута ({@link RouteMetrics#snapshot()}).
+ * Время — в наносекундах.
+ */
+public final class RouteSnapshot {
+
+	private final String method;
+	private final String route;
+	private final HistogramSnapshot latency;
+	private final long clientErrors;
+	private final long serverErrors;
+	private final long inFlight;
+	private final long phaseSamples;
+	private final long routingNanos;
+	private final long bindingNanos;
+	private final long invocationNanos;
+	private final long serializationNanos;
+
+	RouteSnapshot(String method, String route, HistogramSnapshot latency,
+			long clientErrors, long serverErrors, long inFlight,
+			long phaseSamples, long routingNanos, long bindingNanos,
+			long invocationNanos, long serializationNanos) {
+		this.method = method;
+		this.route = route;
+		this.latency = latency;
+		this.clientErrors = clientErrors;
+		this.serverErrors = serverErrors;
+		this.inFlight = inFlight;
+		this.phaseSamples = phaseSamples;
+		this.routingNanos = routingNanos;
+		this.bindingNanos = bindingNanos;
+		this.invocationNanos = invocationNanos;
+		this.serializationNanos = serializationNanos;
+	}
+
+	/**
+	 * @return HTTP-метод маршрута
+	 */
+	public String getMethod() {
+		return method;
+	}
+
+	/**
+	 * @return шаблон пути маршрута
+	 */
+	public String getRoute() {
+		return route;
+	}
+
+	/**
+	 * @return число завершённых запросов
+	 */
+	public long getRequestCount() {
+		return latency.getCount();
+	}
+
+	/**
+	 * @return распределение задержек завершённых запросов
+	 */
+	public HistogramSnapshot getLatency() {
+		return latency;
+	}
+
+	/**
+	 * @return число ответов с кодом {@code 4xx}
+	 */
+	public long getClientErrorCount() {
+		return clientErrors;
+	}
+
+	/**
+	 * @return число ответов с кодом {@code 5xx}
+	 */
+	public long getServerErrorCount() {
+		return serverErrors;
+	}
+
+	/**
+	 * @return число запросов, обрабатываемых в момент снимка
+	 */
+	public long getInFlight() {
+		return inFlight;
+	}
+
+	/**
+	 * @return число запросов, для которых измерено время фаз
+	 */
+	public long getPhaseSampleCount() {
+		return phaseSamples;
+	}
+
+	/**
+	 * @return суммарное время поиска маршрута
+	 */
+	public long getRoutingNanos() {
+		return routingNanos;
+	}
+
+	/**
+	 * @return суммарное время извлечения аргументов
+	 */
+	public long getBindingNanos() {
+		return bindingNanos;
+	}
+
+	/**
+	 * @return суммарное время вызова методов контроллера
+	 */
+	public long getInvocationNanos() {
+		return invocationNanos;
+	}
+
+	/**
+	 * @return суммарное время превращения результатов в ответы
+	 */
+	public long getSerializationNanos() {
+		return serializationNanos;
+	}
+}
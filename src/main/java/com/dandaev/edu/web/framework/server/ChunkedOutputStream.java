@@ -0,0 +1,84 @@
+package com.dandaev.edu.web.framework.server;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Поток, кодирующий тело ответа частями ({@code Transfer-Encoding: chunked}).
+ *
+ * <p>
+ * Мелкие записи накапливаются в буфере и уходят одной частью, поэтому
+ * генератор может писать тело хоть по байту. {@link #close()} отправляет
+ * завершающую пустую часть, но не закрывает нижележащий поток: соединение
+ * остаётся открытым для следующего запроса.
+ */
+final class ChunkedOutputStream extends OutputStream {
+
+	private static final byte[] CRLF = { '\r', '\n' };
+	private static final byte[] LAST_CHUNK = "0\r\n\r\n".getBytes(StandardCharsets.ISO_8859_1);
+
+	private final OutputStream out;
+	private final byte[] buffer;
+	private int count;
+	private boolean closed;
+
+	/**
+	 * @param out        поток соединения
+	 * @param bufferSize наибольший размер одной части
+	 */
+	ChunkedOutputStream(OutputStream out, int bufferSize) {
+		this.out = out;
+		this.buffer = new byte[bufferSize];
+	}
+
+	@Override
+	public void write(int b) throws IOException {
+		if (count == buffer.length) {
+			writeChunk();
+		}
+		buffer[count++] = (byte) b;
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		while (len > 0) {
+			if (count == buffer.length) {
+				writeChunk();
+			}
+			int n = Math.min(len, buffer.length - count);
+			System.arraycopy(b, off, buffer, count, n);
+			count += n;
+			off += n;
+			len -= n;
+		}
+	}
+
+	@Override
+	public void flush() throws IOException {
+		writeChunk();
+		out.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		writeChunk();
+		out.write(LAST_CHUNK);
+		out.flush();
+	}
+
+	private void writeChunk() throws IOException {
+		if (count == 0) {
+			return;
+		}
+		out.write(Integer.toHexString(count).getBytes(StandardCharsets.ISO_8859_1));
+		out.write(CRLF);
+		out.write(buffer, 0, count);
+		out.write(CRLF);
+		count = 0;
+	}
+}
@@ -0,0 +1,54 @@
+package com.dandaev.edu.web.framework.server;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+
+/**
+ * Пул прямых ({@link ByteBuffer#allocateDirect}) буферов одного размера.
+ *
+ * <p>
+ * Прямые буферы дорого создавать, зато канал пишет и читает их без
+ * промежуточного копирования. Пул принадлежит одному {@link EventLoop}
+ * и используется только из его потока, поэтому синхронизация не нужна.
+ */
+final class DirectBufferPool {
+
+	private final int bufferSize;
+	private final int maxPooled;
+	private final ArrayDeque<ByteBuffer> free = new ArrayDeque<>();
+
+	/**
+	 * @param bufferSize размер каждого буфера
+	 * @param maxPooled  сколько свободных буферов держать в пуле
+	 */
+	DirectBufferPool(int bufferSize, int maxPooled) {
+		this.bufferSize = bufferSize;
+		this.maxPooled = maxPooled;
+	}
+
+	/**
+	 * @return очищенный буфер из пула или новый
+	 */
+	ByteBuffer acquire() {
+		ByteBuffer buffer = free.pollFirst();
+		return buffer != null ? buffer.clear() : ByteBuffer.allocateDirect(bufferSize);
+	}
+
+	/**
+	 * Возвращает буфер в пул; лишние буферы отдаются сборщику мусора.
+	 *
+	 * @param buffer буфер, полученный из {@link #acquire()}
+	 */
+	void release(ByteBuffer buffer) {
+		if (free.size() < maxPooled) {
+			free.addFirst(buffer);
+		}
+	}
+
+	/**
+	 * @return размер буферов пула
+	 */
+	int bufferSize() {
+		return bufferSize;
+	}
+}
@@ -0,0 +1,161 @@
+package com.dandaev.edu.web.framework.server;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+
+import com.dandaev.edu.web.framework.implementation.WebFramework;
+
+/**
+ * Цикл событий {@link NioHttpServer}: один поток и один {@link Selector},
+ * обслуживающие множество неблокирующих соединений.
+ *
+ * <p>
+ * Все операции над соединениями цикла выполняются в его потоке; другие
+ * потоки (приёмник соединений, пул обработчиков) передают работу через
+ * очередь задач и будят селектор.
+ */
+final class EventLoop implements Runnable {
+
+	/** Как часто проверяются простаивающие соединения. */
+	private static final long IDLE_CHECK_MILLIS = 1000;
+
+	private final Selector selector;
+	private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+	final WebFramework framework;
+
+	/** Пул обработчиков или {@code null}, если контроллеры вызываются в цикле. */
+	final ExecutorService workers;
+
+	/** Буферы для заголовков ответов. */
+	final DirectBufferPool buffers = new DirectBufferPool(4096, 256);
+
+	/** Общий буфер чтения: данные сразу разбираются и в нём не хранятся. */
+	final ByteBuffer readBuffer = ByteBuffer.allocateDirect(16 * 1024);
+
+	private volatile boolean running = true;
+	private long lastIdleCheck;
+
+	EventLoop(WebFramework framework, ExecutorService workers) throws IOException {
+		this.framework = framework;
+		this.workers = workers;
+		this.selector = Selector.open();
+	}
+
+	/**
+	 * Передаёт новое соединение циклу (вызывается из потока приёмника).
+	 *
+	 * @param channel принятое соединение
+	 */
+	void register(SocketChannel channel) {
+		execute(() -> {
+			try {
+				channel.configureBlocking(false);
+				SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+				key.attach(new NioConnection(this, channel, key));
+			} catch (IOException e) {
+				closeQuietly(channel);
+			}
+		});
+	}
+
+	/**
+	 * Выполняет задачу в потоке цикла.
+	 *
+	 * @param task задача
+	 */
+	void execute(Runnable task) {
+		tasks.add(task);
+		selector.wakeup();
+	}
+
+	/**
+	 * Останавливает цикл; соединения закрываются в его потоке.
+	 */
+	void shutdown() {
+		running = false;
+		selector.wakeup();
+	}
+
+	@Override
+	public void run() {
+		try {
+			while (running) {
+				selector.select(IDLE_CHECK_MILLIS);
+				runTasks();
+
+				Iterator<SelectionKey> selected = selector.selectedKeys().iterator();
+				while (selected.hasNext()) {
+					SelectionKey key = selected.next();
+					selected.remove();
+					NioConnection connection = (NioConnection) key.attachment();
+					if (key.isValid() && connection != null) {
+						connection.onReady(key.readyOps());
+					}
+				}
+
+				closeIdleConnections();
+			}
+		} catch (IOException e) {
+			// Селектор сломан — цикл завершается
+		} finally {
+			for (SelectionKey key : selector.keys()) {
+				closeQuietly(key.channel());
+			}
+			try {
+				selector.close();
+			} catch (IOException ignored) {
+				// Цикл уже остановлен
+			}
+		}
+	}
+
+	/**
+	 * Выполняет переданные задачи; ошибка одной задачи не останавливает цикл.
+	 */
+	private void runTasks() {
+		Runnable task;
+		while ((task = tasks.poll()) != null) {
+			try {
+				task.run();
+			} catch (Throwable e) {
+				// Задачи соединений сами закрывают соединение при ошибке
+			}
+		}
+	}
+
+	/**
+	 * Закрывает keep-alive-соединения, простаивающие дольше таймаута.
+	 */
+	private void closeIdleConnections() {
+		long now = System.currentTimeMillis();
+		if (now - lastIdleCheck < IDLE_CHECK_MILLIS) {
+			return;
+		}
+		lastIdleCheck = now;
+
+		long deadline = now - HttpServer.KEEP_ALIVE_TIMEOUT_MILLIS;
+		for (SelectionKey key : selector.keys()) {
+			NioConnection connection = (NioConnection) key.attachment();
+			if (connection != null && connection.isIdleSince(deadline)) {
+				connection.close();
+			}
+		}
+	}
+
+	static void closeQuietly(Channel channel) {
+		try {
+			channel.close();
+		} catch (IOException ignored) {
+			// Соединение уже закрыто
+		}
+	}
+}
@@ -0,0 +1,130 @@
+package com.dandaev.edu.web.framework.server;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
+
+import com.dandaev.edu.web.framework.implementation.HttpResponse;
+import com.dandaev.edu.web.framework.implementation.WebFramework;
+
+/**
+ * Обслуживание одного HTTP/1.1-соединения в отдельном (виртуальном) потоке:
+ * чтение запросов друг за другом, пока клиент держит keep-alive.
+ */
+final class HttpConnection {
+
+	/** Размер буфера записи: заголовок и небольшое тело уходят одним пакетом. */
+	private static final int OUTPUT_BUFFER_SIZE = 8192;
+
+	private final Socket socket;
+	private final WebFramework framework;
+	private final HttpRequestDecoder decoder = new HttpRequestDecoder();
+
+	/** Буфер чтения; данные после текущего запроса остаются для следующего. */
+	private final ByteBuffer input = ByteBuffer.allocate(8192).flip();
+
+	private InputStream in;
+	private OutputStream out;
+
+	HttpConnection(Socket socket, WebFramework framework) {
+		this.socket = socket;
+		this.framework = framework;
+	}
+
+	/**
+	 * Читает и обрабатывает запросы, пока соединение не закроется,
+	 * не истечёт keep-alive или клиент не попросит закрыть соединение.
+	 */
+	void serve() {
+		try {
+			socket.setSoTimeout(HttpServer.KEEP_ALIVE_TIMEOUT_MILLIS);
+			socket.setTcpNoDelay(true);
+			in = socket.getInputStream();
+			out = new BufferedOutputStream(socket.getOutputStream(), OUTPUT_BUFFER_SIZE);
+
+			while (true) {
+				RawRequest request;
+				try {
+					request = readRequest();
+				} catch (HttpProtocolException e) {
+					writeResponse(HttpResponse.error(e.status, e.getMessage()), false, false);
+					return;
+				}
+				if (request == null) {
+					return;
+				}
+
+				boolean keepAlive = request.isKeepAlive();
+				boolean chunked = request.version.equals("HTTP/1.1");
+				writeResponse(RequestProcessor.process(framework, request), keepAlive, chunked);
+				if (!keepAlive) {
+					return;
+				}
+			}
+		} catch (SocketTimeoutException e) {
+			// Keep-alive истёк
+		} catch (IOException e) {
+			// Клиент разорвал соединение или потоковое тело оборвалось
+		}
+	}
+
+	/**
+	 * Читает из сокета, пока разборщик не вернёт запрос целиком.
+	 *
+	 * @return запрос или {@code null}, если соединение закрыто
+	 */
+	private RawRequest readRequest() throws IOException, HttpProtocolException {
+		while (true) {
+			RawRequest request = decoder.decode(input);
+			if (request != null) {
+				return request;
+			}
+			if (decoder.takeContinueExpected()) {
+				out.write(RequestProcessor.CONTINUE);
+				out.flush();
+			}
+
+			input.clear();
+			int read = in.read(input.array());
+			if (read < 0) {
+				if (decoder.hasPartialRequest()) {
+					throw new IOException("Connection closed mid-request");
+				}
+				return null;
+			}
+			input.limit(read);
+		}
+	}
+
+	/**
+	 * Пишет ответ. Потоковое тело передаётся частями, если клиент это
+	 * поддерживает (HTTP/1.1), иначе сначала собирается в память.
+	 *
+	 * @throws IOException в том числе при ошибке генератора потокового тела:
+	 *                     завершающая часть не отправляется, и соединение
+	 *                     закрывается, чтобы клиент не принял оборванный
+	 *                     ответ за полный
+	 */
+	private void writeResponse(HttpResponse response, boolean keepAlive, boolean chunked) throws IOException {
+		if (response.isStreaming() && chunked) {
+			out.write(RequestProcessor.encodeHead(response, -1, keepAlive));
+			ChunkedOutputStream body = new ChunkedOutputStream(out, OUTPUT_BUFFER_SIZE);
+			try {
+				response.writeBody(body);
+			} catch (RuntimeException e) {
+				throw new IOException("Response body failed", e);
+			}
+			body.close();
+			return;
+		}
+
+		HttpResponse buffered = RequestProcessor.buffered(response);
+		out.write(RequestProcessor.encodeHead(buffered, buffered.getContentLength(), keepAlive));
+		buffered.writeBody(out);
+		out.flush();
+	}
+}
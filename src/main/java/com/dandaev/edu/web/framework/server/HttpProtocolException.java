@@ -0,0 +1,18 @@
+package com.dandaev.edu.web.framework.server;
+
+/**
+ * Нарушение протокола HTTP, на которое отвечается указанным статусом
+ * с последующим закрытием соединения.
+ */
+final class HttpProtocolException extends Exception {
+
+	private static final long serialVersionUID = 1L;
+
+	/** Код статуса ответа. */
+	final int status;
+
+	HttpProtocolException(int status, String message) {
+		super(message);
+		this.status = status;
+	}
+}
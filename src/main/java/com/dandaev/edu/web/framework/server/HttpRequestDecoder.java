@@ -0,0 +1,232 @@
+package com.dandaev.edu.web.framework.server;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Инкрементальный разборщик HTTP/1.1-запросов.
+ *
+ * <p>
+ * Принимает данные любыми порциями — запрос может прийти по байту или
+ * несколькими запросами в одном чтении (pipelining). {@link #decode}
+ * забирает из буфера ровно столько байт, сколько нужно текущему запросу,
+ * и возвращает его, как только он получен целиком; остаток буфера
+ * относится к следующему запросу.
+ *
+ * <p>
+ * Между запросами разборщик хранит только небольшой массив под заголовки,
+ * поэтому простаивающее keep-alive-соединение почти не занимает памяти.
+ * Буфер тела растёт по мере поступления байт, а не выделяется сразу по
+ * {@code Content-Length}: заявленный, но не присланный мегабайт не
+ * занимает память.
+ * Разборщик не потокобезопасен: он принадлежит одному соединению.
+ */
+final class HttpRequestDecoder {
+
+	/** Наибольший суммарный размер строки запроса и заголовков. */
+	static final int MAX_HEADER_BYTES = 8 * 1024;
+
+	/** Наибольший размер тела запроса. */
+	static final int MAX_BODY_BYTES = 1024 * 1024;
+
+	private static final int INITIAL_HEAD_CAPACITY = 256;
+
+	private static final int INITIAL_BODY_CAPACITY = 4 * 1024;
+
+	private static final byte[] EMPTY_BODY = new byte[0];
+
+	/** Накопленные байты строки запроса и заголовков. */
+	private byte[] head = new byte[INITIAL_HEAD_CAPACITY];
+	private int headLength;
+
+	/** Сколько подряд байт конца строки уже встретилось (CR/LF). */
+	private int lineBreaks;
+
+	/** Запрос с разобранными заголовками, ожидающий тела, или {@code null}. */
+	private RawRequest pending;
+
+	/** Тело по {@code Content-Length}: массив растёт до {@link #bodyLength}. */
+	private int bodyLength;
+	private byte[] body = EMPTY_BODY;
+	private int bodyRead;
+
+	/** Клиент ждёт {@code 100 Continue} перед отправкой тела. */
+	private boolean continueExpected;
+
+	/**
+	 * Забирает байты из буфера и возвращает запрос, если он получен целиком.
+	 *
+	 * @param in входные данные; позиция сдвигается на прочитанные байты
+	 * @return запрос или {@code null}, если нужны ещё данные
+	 * @throws HttpProtocolException если запрос некорректен или слишком велик
+	 */
+	RawRequest decode(ByteBuffer in) throws HttpProtocolException {
+		if (pending == null && !readHead(in)) {
+			return null;
+		}
+		if (!readBody(in)) {
+			return null;
+		}
+
+		RawRequest request = new RawRequest(pending.method, pending.target, pending.version, pending.headers, body);
+		pending = null;
+		body = EMPTY_BODY;
+		bodyRead = 0;
+		return request;
+	}
+
+	/**
+	 * Сообщает (один раз), что разобраны заголовки с {@code Expect: 100-continue}
+	 * и тело ещё не пришло, — пора ответить {@code 100 Continue}.
+	 *
+	 * @return {@code true}, если нужно отправить {@code 100 Continue}
+	 */
+	boolean takeContinueExpected() {
+		boolean expected = continueExpected;
+		continueExpected = false;
+		return expected;
+	}
+
+	/**
+	 * @return есть ли частично полученный запрос
+	 */
+	boolean hasPartialRequest() {
+		return pending != null || headLength > 0;
+	}
+
+	/**
+	 * Копирует байты заголовков до пустой строки.
+	 *
+	 * @return {@code true}, если заголовки получены и разобраны
+	 */
+	private boolean readHead(ByteBuffer in) throws HttpProtocolException {
+		while (in.hasRemaining()) {
+			byte b = in.get();
+
+			// Пустые строки перед запросом допускаются и пропускаются
+			if (headLength == 0 && (b == '\r' || b == '\n')) {
+				continue;
+			}
+			if (headLength == head.length) {
+				if (headLength >= MAX_HEADER_BYTES) {
+					throw new HttpProtocolException(431, null);
+				}
+				head = Arrays.copyOf(head, Math.min(head.length * 2, MAX_HEADER_BYTES));
+			}
+			head[headLength++] = b;
+
+			if (b == '\n') {
+				if (++lineBreaks == 2) {
+					parseHead();
+					return true;
+				}
+			} else if (b != '\r') {
+				lineBreaks = 0;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Копирует тело запроса по {@code Content-Length}.
+	 *
+	 * @return {@code true}, если тело получено целиком
+	 */
+	private boolean readBody(ByteBuffer in) {
+		int count = Math.min(bodyLength - bodyRead, in.remaining());
+		if (bodyRead + count > body.length) {
+			// Удвоение, но не больше объявленной длины: полное тело лежит
+			// в массиве ровно своего размера
+			int capacity = Math.max(bodyRead + count, Math.max(body.length * 2, INITIAL_BODY_CAPACITY));
+			body = Arrays.copyOf(body, Math.min(capacity, bodyLength));
+		}
+		in.get(body, bodyRead, count);
+		bodyRead += count;
+		return bodyRead == bodyLength;
+	}
+
+	private void parseHead() throws HttpProtocolException {
+		String text = new String(head, 0, headLength, StandardCharsets.ISO_8859_1);
+
+		headLength = 0;
+		lineBreaks = 0;
+		if (head.length > 4 * INITIAL_HEAD_CAPACITY) {
+			head = new byte[INITIAL_HEAD_CAPACITY];
+		}
+
+		int lineEnd = text.indexOf('\n');
+		String requestLine = stripCr(text, 0, lineEnd);
+
+		int firstSpace = requestLine.indexOf(' ');
+		int lastSpace = requestLine.lastIndexOf(' ');
+		if (firstSpace <= 0 || lastSpace == firstSpace) {
+			throw new HttpProtocolException(400, "Malformed request line");
+		}
+		String method = requestLine.substring(0, firstSpace);
+		String target = requestLine.substring(firstSpace + 1, lastSpace);
+		String version = requestLine.substring(lastSpace + 1);
+		if (!version.equals("HTTP/1.1") && !version.equals("HTTP/1.0")) {
+			throw new HttpProtocolException(505, null);
+		}
+
+		Map<String, String> headers = new HashMap<>();
+		int start = lineEnd + 1;
+		while (true) {
+			int end = text.indexOf('\n', start);
+			String line = stripCr(text, start, end);
+			if (line.isEmpty()) {
+				break;
+			}
+			int colon = line.indexOf(':');
+			if (colon <= 0) {
+				throw new HttpProtocolException(400, "Malformed header");
+			}
+			String name = line.substring(0, colon).trim().toLowerCase(Locale.ROOT);
+			String value = line.substring(colon + 1).trim();
+			// Несколько Content-Length — признак подмены запроса (request smuggling)
+			if (headers.putIfAbsent(name, value) != null && name.equals("content-length")) {
+				throw new HttpProtocolException(400, "Duplicate Content-Length");
+			}
+			start = end + 1;
+		}
+
+		if (headers.containsKey("transfer-encoding")) {
+			throw new HttpProtocolException(501, "Transfer-Encoding is not supported");
+		}
+		int length = contentLength(headers.get("content-length"));
+
+		pending = new RawRequest(method, target, version, headers, null);
+		bodyLength = length;
+		continueExpected = length > 0 && "100-continue".equalsIgnoreCase(headers.get("expect"));
+	}
+
+	private static int contentLength(String header) throws HttpProtocolException {
+		if (header == null) {
+			return 0;
+		}
+		// Только цифры: Integer.parseInt принял бы и знак "+"
+		if (header.isEmpty()) {
+			throw new HttpProtocolException(400, "Invalid Content-Length");
+		}
+		long length = 0;
+		for (int i = 0; i < header.length(); i++) {
+			char c = header.charAt(i);
+			if (c < '0' || c > '9') {
+				throw new HttpProtocolException(400, "Invalid Content-Length");
+			}
+			length = Math.min(length * 10 + (c - '0'), MAX_BODY_BYTES + 1L);
+		}
+		if (length > MAX_BODY_BYTES) {
+			throw new HttpProtocolException(413, null);
+		}
+		return (int) length;
+	}
+
+	private static String stripCr(String text, int from, int to) {
+		return to > from && text.charAt(to - 1) == '\r' ? text.substring(from, to - 1) : text.substring(from, to);
+	}
+}
@@ -0,0 +1,158 @@
+package com.dandaev.edu.web.framework.server;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.dandaev.edu.web.framework.implementation.WebFramework;
+
+/**
+ * Встроенный HTTP/1.1-сервер для {@link WebFramework}: один виртуальный
+ * поток на соединение.
+ *
+ * <p>
+ * Блокирующий ввод-вывод в виртуальном потоке не занимает поток ОС,
+ * поэтому тысячи одновременных соединений обслуживаются небольшим пулом
+ * потоков-носителей. Поддерживаются keep-alive (по умолчанию для HTTP/1.1),
+ * разбор query-строки и тела {@code application/x-www-form-urlencoded}
+ * в параметры запроса, тело по {@code Content-Length}, настоящие коды
+ * статуса и заголовки из {@link WebFramework#handle}. Потоковое тело ответа
+ * передаётся клиентам HTTP/1.1 частями ({@code Transfer-Encoding: chunked}).
+ *
+ * <p>
+ * Для десятков тысяч простаивающих соединений см. {@link NioHttpServer}.
+ *
+ * <pre>{@code
+ * WebFramework framework = new WebFramework();
+ * framework.registerController(new UserController());
+ *
+ * try (HttpServer server = new HttpServer(framework, 8080).start()) {
+ *     server.awaitTermination();
+ * }
+ * }</pre>
+ */
+public final class HttpServer implements AutoCloseable {
+
+	/** Сколько простаивающее keep-alive-соединение держится открытым. */
+	public static final int KEEP_ALIVE_TIMEOUT_MILLIS = 30_000;
+
+	/** Длина очереди входящих соединений. */
+	private static final int BACKLOG = 1024;
+
+	private final WebFramework framework;
+	private final InetSocketAddress address;
+
+	/** Открытые соединения, закрываемые при остановке сервера. */
+	private final Set<Socket> connections = ConcurrentHashMap.newKeySet();
+
+	private ServerSocket serverSocket;
+	private Thread acceptor;
+	private volatile boolean closed;
+
+	/**
+	 * @param framework фреймворк с зарегистрированными контроллерами
+	 * @param port      порт ({@code 0} — выбрать свободный)
+	 */
+	public HttpServer(WebFramework framework, int port) {
+		this(framework, new InetSocketAddress(port));
+	}
+
+	/**
+	 * @param framework фреймворк с зарегистрированными контроллерами
+	 * @param address   адрес для прослушивания
+	 */
+	public HttpServer(WebFramework framework, InetSocketAddress address) {
+		this.framework = framework;
+		this.address = address;
+	}
+
+	/**
+	 * Открывает порт и начинает принимать соединения.
+	 *
+	 * @return этот сервер
+	 * @throws IOException если порт не удалось открыть
+	 */
+	public synchronized HttpServer start() throws IOException {
+		if (serverSocket != null) {
+			throw new IllegalStateException("Server already started");
+		}
+		serverSocket = new ServerSocket();
+		serverSocket.setReuseAddress(true);
+		serverSocket.bind(address, BACKLOG);
+		acceptor = Thread.ofVirtual().name("http-acceptor").start(this::acceptLoop);
+		return this;
+	}
+
+	/**
+	 * @return фактический порт (полезно при запуске на порту {@code 0})
+	 */
+	public int getPort() {
+		return serverSocket.getLocalPort();
+	}
+
+	/**
+	 * Блокирует вызывающий поток до остановки сервера.
+	 *
+	 * @throws InterruptedException если ожидание прервано
+	 */
+	public void awaitTermination() throws InterruptedException {
+		acceptor.join();
+	}
+
+	/**
+	 * Прекращает приём соединений и закрывает открытые. Фреймворк не
+	 * закрывается: им могут пользоваться другие серверы, и его закрывает
+	 * тот, кто его создал ({@link WebFramework#close}).
+	 */
+	@Override
+	public void close() {
+		closed = true;
+		try {
+			if (serverSocket != null) {
+				serverSocket.close();
+			}
+		} catch (IOException ignored) {
+			// Сервер и так останавливается
+		}
+		for (Socket socket : connections) {
+			closeQuietly(socket);
+		}
+	}
+
+	private void acceptLoop() {
+		Thread.Builder connectionThreads = Thread.ofVirtual().name("http-connection-", 0);
+
+		while (!closed) {
+			Socket socket;
+			try {
+				socket = serverSocket.accept();
+			} catch (IOException e) {
+				if (closed) {
+					return;
+				}
+				continue;
+			}
+
+			connections.add(socket);
+			connectionThreads.start(() -> {
+				try {
+					new HttpConnection(socket, framework).serve();
+				} finally {
+					connections.remove(socket);
+					closeQuietly(socket);
+				}
+			});
+		}
+	}
+
+	private static void closeQuietly(Socket socket) {
+		try {
+			socket.close();
+		} catch (IOException ignored) {
+			// Соединение уже закрыто
+		}
+	}
+}
@@ -0,0 +1,340 @@
+package com.dandaev.edu.web.framework.server;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+import com.dandaev.edu.web.framework.implementation.HttpResponse;
+
+/**
+ * Состояние одного неблокирующего соединения {@link NioHttpServer}.
+ *
+ * <p>
+ * Пока запрос обрабатывается, следующий не разбирается: ответы на
+ * конвейерные (pipelined) запросы уходят строго по порядку, а байты
+ * следующего запроса сохраняются и разбираются после отправки ответа.
+ * Сокет при этом продолжает читаться (пока сохранено не больше
+ * {@link #MAX_HELD_BYTES}), чтобы заметить разрыв соединения и отменить
+ * асинхронный обработчик. Ответ пишется одной «собирающей» (gathering)
+ * записью: заголовок из прямого буфера пула и тело как есть.
+ *
+ * <p>
+ * Все методы вызываются только в потоке {@link EventLoop}.
+ */
+final class NioConnection {
+
+	/**
+	 * Сколько байт следующих запросов сохраняется, пока обрабатывается
+	 * текущий; дальше чтение приостанавливается до отправки ответа.
+	 */
+	private static final int MAX_HELD_BYTES = 64 * 1024;
+
+	private final EventLoop loop;
+	private final SocketChannel channel;
+	private final SelectionKey key;
+	private final HttpRequestDecoder decoder = new HttpRequestDecoder();
+
+	/** Непрочитанный остаток после конвейерного запроса или {@code null}. */
+	private ByteBuffer leftover;
+
+	/** Отправляемый ответ: заголовок и тело, либо {@code null}. */
+	private ByteBuffer[] output;
+	private ByteBuffer headBuffer;
+
+	/** Отправляется промежуточный {@code 100 Continue}, а не ответ. */
+	private boolean interim;
+
+	/** Ответ асинхронного обработчика, который ещё не готов, или {@code null}. */
+	private CompletableFuture<HttpResponse> pending;
+
+	private boolean processing;
+	private boolean closeAfterWrite;
+	private boolean closed;
+	private long lastActivity = System.currentTimeMillis();
+
+	NioConnection(EventLoop loop, SocketChannel channel, SelectionKey key) {
+		this.loop = loop;
+		this.channel = channel;
+		this.key = key;
+	}
+
+	/**
+	 * Обрабатывает готовность канала к чтению или записи. Любая ошибка
+	 * (в том числе {@link Error} из обработчика, вызванного в цикле)
+	 * закрывает только это соединение, цикл продолжает работу.
+	 *
+	 * @param readyOps готовые операции из {@link SelectionKey}
+	 */
+	void onReady(int readyOps) {
+		try {
+			if ((readyOps & SelectionKey.OP_WRITE) != 0) {
+				flush();
+			}
+			if (!closed && (readyOps & SelectionKey.OP_READ) != 0) {
+				read();
+			}
+		} catch (Throwable e) {
+			close();
+		}
+	}
+
+	/**
+	 * @param deadline момент времени в миллисекундах
+	 * @return простаивает ли соединение без активности с указанного момента
+	 */
+	boolean isIdleSince(long deadline) {
+		return !processing && output == null && lastActivity < deadline;
+	}
+
+	/**
+	 * Закрывает соединение и возвращает буферы в пул.
+	 */
+	void close() {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		if (pending != null) {
+			// Ответ уже некуда отправить — асинхронный обработчик не нужен
+			pending.cancel(true);
+			pending = null;
+		}
+		key.cancel();
+		EventLoop.closeQuietly(channel);
+		releaseHead();
+	}
+
+	private void read() throws IOException {
+		ByteBuffer buffer = loop.readBuffer.clear();
+		int read = channel.read(buffer);
+		if (read < 0) {
+			close();
+			return;
+		}
+		lastActivity = System.currentTimeMillis();
+		if (processing) {
+			hold(buffer.flip());
+			return;
+		}
+		feed(buffer.flip());
+	}
+
+	/**
+	 * Сохраняет байты, пришедшие во время обработки запроса, до отправки
+	 * ответа.
+	 */
+	private void hold(ByteBuffer input) {
+		if (!input.hasRemaining()) {
+			return;
+		}
+		int held = leftover == null ? 0 : leftover.remaining();
+		ByteBuffer joined = ByteBuffer.allocate(held + input.remaining());
+		if (leftover != null) {
+			joined.put(leftover);
+		}
+		leftover = joined.put(input).flip();
+		if (leftover.remaining() >= MAX_HELD_BYTES) {
+			key.interestOps(0);
+		}
+	}
+
+	/**
+	 * Передаёт данные разборщику; полный запрос отправляется на обработку.
+	 */
+	private void feed(ByteBuffer input) throws IOException {
+		RawRequest request;
+		try {
+			request = decoder.decode(input);
+		} catch (HttpProtocolException e) {
+			closeAfterWrite = true;
+			respond(HttpResponse.error(e.status, e.getMessage()), false);
+			return;
+		}
+
+		if (request == null) {
+			if (decoder.takeContinueExpected()) {
+				output = new ByteBuffer[] { ByteBuffer.wrap(RequestProcessor.CONTINUE) };
+				interim = true;
+				flush();
+			}
+			return;
+		}
+
+		if (input.hasRemaining()) {
+			leftover = ByteBuffer.allocate(input.remaining()).put(input).flip();
+		}
+		processing = true;
+		dispatch(request);
+	}
+
+	/**
+	 * Вызывает контроллер в цикле или в пуле обработчиков. Ответ
+	 * синхронного обработчика в цикле отправляется сразу; ответ
+	 * асинхронного — из цикла, когда будет готов.
+	 */
+	private void dispatch(RawRequest request) throws IOException {
+		boolean keepAlive = request.isKeepAlive();
+
+		CompletableFuture<HttpResponse> future;
+		try {
+			future = loop.workers == null
+					? RequestProcessor.processAsync(loop.framework, request)
+					: submit(request);
+		} catch (RejectedExecutionException e) {
+			respond(HttpResponse.error(503, null), false);
+			return;
+		}
+
+		if (future.isDone() && !future.isCompletedExceptionally()) {
+			respond(RequestProcessor.buffered(future.join()), keepAlive);
+			return;
+		}
+
+		pending = future;
+		future.whenComplete((response, error) -> {
+			// Потоковое тело собирается здесь, а не в цикле событий
+			HttpResponse ready;
+			try {
+				ready = error == null
+						? RequestProcessor.buffered(response)
+						: HttpResponse.error(500, error.getMessage());
+			} catch (Throwable e) {
+				ready = HttpResponse.error(500, null);
+			}
+			HttpResponse result = ready;
+			loop.execute(() -> respondAsync(result, keepAlive));
+		});
+	}
+
+	/**
+	 * Вызывает фреймворк в пуле обработчиков. Отмена возвращённого future
+	 * (разрыв соединения) доходит до ответа фреймворка и отменяет
+	 * асинхронный обработчик.
+	 *
+	 * @throws RejectedExecutionException если пул не принял задачу
+	 */
+	private CompletableFuture<HttpResponse> submit(RawRequest request) {
+		CompletableFuture<HttpResponse> future = new CompletableFuture<>();
+		loop.workers.execute(() -> {
+			if (future.isDone()) {
+				// Соединение закрыто раньше, чем обработчик начал работу
+				return;
+			}
+			CompletableFuture<HttpResponse> response;
+			try {
+				response = RequestProcessor.processAsync(loop.framework, request);
+			} catch (Throwable e) {
+				future.completeExceptionally(e);
+				return;
+			}
+			future.whenComplete((value, error) -> {
+				if (error instanceof CancellationException) {
+					response.cancel(true);
+				}
+			});
+			response.whenComplete((value, error) -> {
+				if (error != null) {
+					future.completeExceptionally(error);
+				} else {
+					future.complete(value);
+				}
+			});
+		});
+		return future;
+	}
+
+	private void respondAsync(HttpResponse response, boolean keepAlive) {
+		pending = null;
+		if (closed) {
+			return;
+		}
+		try {
+			respond(response, keepAlive);
+		} catch (Throwable e) {
+			close();
+		}
+	}
+
+	/**
+	 * Готовит ответ к отправке и пытается сразу записать его. Потоковое
+	 * тело к этому моменту уже собрано в память
+	 * ({@link RequestProcessor#buffered}).
+	 */
+	private void respond(HttpResponse response, boolean keepAlive) throws IOException {
+		ByteBuffer body = response.getBodyBuffer();
+		if (!keepAlive) {
+			closeAfterWrite = true;
+		}
+
+		byte[] head = RequestProcessor.encodeHead(response, body.remaining(), keepAlive);
+		ByteBuffer headOut;
+		if (head.length <= loop.buffers.bufferSize()) {
+			headBuffer = loop.buffers.acquire();
+			headOut = headBuffer.put(head).flip();
+		} else {
+			headOut = ByteBuffer.wrap(head);
+		}
+
+		output = new ByteBuffer[] { headOut, body };
+		processing = true;
+		flush();
+	}
+
+	/**
+	 * Дописывает ответ; если сокет не принял всё, ждёт {@code OP_WRITE}.
+	 */
+	private void flush() throws IOException {
+		if (output == null) {
+			return;
+		}
+
+		channel.write(output);
+		lastActivity = System.currentTimeMillis();
+		if (hasRemaining(output)) {
+			key.interestOps(SelectionKey.OP_WRITE);
+			return;
+		}
+
+		output = null;
+		if (interim) {
+			// После 100 Continue клиент отправляет тело того же запроса
+			interim = false;
+			key.interestOps(SelectionKey.OP_READ);
+			return;
+		}
+		releaseHead();
+		processing = false;
+
+		if (closeAfterWrite) {
+			close();
+			return;
+		}
+
+		key.interestOps(SelectionKey.OP_READ);
+		if (leftover != null) {
+			ByteBuffer next = leftover;
+			leftover = null;
+			feed(next);
+		}
+	}
+
+	private static boolean hasRemaining(ByteBuffer[] buffers) {
+		for (ByteBuffer buffer : buffers) {
+			if (buffer.hasRemaining()) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private void releaseHead() {
+		if (headBuffer != null) {
+			loop.buffers.release(headBuffer);
+			headBuffer = null;
+		}
+	}
+}
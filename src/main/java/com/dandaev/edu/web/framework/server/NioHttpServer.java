@@ -0,0 +1,161 @@
+package com.dandaev.edu.web.framework.server;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.ExecutorService;
+
+import com.dandaev.edu.web.framework.implementation.WebFramework;
+
+/**
+ * Неблокирующий HTTP/1.1-сервер для {@link WebFramework} на {@link java.nio.channels.Selector}.
+ *
+ * <p>
+ * Соединения распределяются по кругу между несколькими циклами событий
+ * (по умолчанию — по одному на ядро); у каждого цикла один поток, свой
+ * селектор, пул прямых буферов и общий буфер чтения. Запрос разбирается
+ * по мере поступления данных, поэтому простаивающее keep-alive-соединение
+ * занимает лишь сокет и небольшой объект состояния — без потока и без
+ * буфера, что позволяет держать десятки тысяч соединений.
+ *
+ * <p>
+ * По умолчанию контроллеры вызываются прямо в цикле событий — это быстрее
+ * всего для коротких обработчиков. Если обработчики блокируются или долго
+ * считают, передайте пул {@code workers}: запрос будет обработан в нём,
+ * а ответ отправлен обратно циклом. Асинхронные обработчики
+ * ({@link java.util.concurrent.CompletableFuture},
+ * {@link com.dandaev.edu.annotations.web.framework.Async}) цикл не занимают:
+ * ответ отправляется, когда будет готов.
+ *
+ * <pre>{@code
+ * ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor();
+ * try (NioHttpServer server = new NioHttpServer(framework, new InetSocketAddress(8080), 4, workers).start()) {
+ *     server.awaitTermination();
+ * }
+ * }</pre>
+ */
+public final class NioHttpServer implements AutoCloseable {
+
+	/** Длина очереди входящих соединений. */
+	private static final int BACKLOG = 1024;
+
+	private final WebFramework framework;
+	private final InetSocketAddress address;
+	private final EventLoop[] loops;
+	private final ExecutorService workers;
+
+	private ServerSocketChannel serverChannel;
+	private Thread acceptor;
+	private volatile boolean closed;
+
+	/**
+	 * Создаёт сервер с циклом событий на каждое ядро; контроллеры
+	 * вызываются в циклах.
+	 *
+	 * @param framework фреймворк с зарегистрированными контроллерами
+	 * @param port      порт ({@code 0} — выбрать свободный)
+	 */
+	public NioHttpServer(WebFramework framework, int port) {
+		this(framework, new InetSocketAddress(port), Runtime.getRuntime().availableProcessors(), null);
+	}
+
+	/**
+	 * @param framework фреймворк с зарегистрированными контроллерами
+	 * @param address   адрес для прослушивания
+	 * @param loopCount число циклов событий
+	 * @param workers   пул для вызова контроллеров или {@code null}, чтобы
+	 *                  вызывать их в циклах событий
+	 * @throws IllegalArgumentException если {@code loopCount < 1}
+	 */
+	public NioHttpServer(WebFramework framework, InetSocketAddress address, int loopCount, ExecutorService workers) {
+		if (loopCount < 1) {
+			throw new IllegalArgumentException("Loop count must be positive: " + loopCount);
+		}
+		this.framework = framework;
+		this.address = address;
+		this.loops = new EventLoop[loopCount];
+		this.workers = workers;
+	}
+
+	/**
+	 * Открывает порт, запускает циклы событий и начинает принимать соединения.
+	 *
+	 * @return этот сервер
+	 * @throws IOException если порт не удалось открыть
+	 */
+	public synchronized NioHttpServer start() throws IOException {
+		if (serverChannel != null) {
+			throw new IllegalStateException("Server already started");
+		}
+		serverChannel = ServerSocketChannel.open();
+		serverChannel.setOption(StandardSocketOptions.SO_REUSEADDR, true);
+		serverChannel.bind(address, BACKLOG);
+
+		for (int i = 0; i < loops.length; i++) {
+			loops[i] = new EventLoop(framework, workers);
+			Thread.ofPlatform().name("http-nio-loop-" + i).start(loops[i]);
+		}
+		acceptor = Thread.ofPlatform().name("http-nio-acceptor").start(this::acceptLoop);
+		return this;
+	}
+
+	/**
+	 * @return фактический порт (полезно при запуске на порту {@code 0})
+	 */
+	public int getPort() {
+		return serverChannel.socket().getLocalPort();
+	}
+
+	/**
+	 * Блокирует вызывающий поток до остановки сервера.
+	 *
+	 * @throws InterruptedException если ожидание прервано
+	 */
+	public void awaitTermination() throws InterruptedException {
+		acceptor.join();
+	}
+
+	/**
+	 * Прекращает приём соединений и останавливает циклы событий,
+	 * закрывая открытые соединения. Фреймворк и пул {@code workers} не
+	 * закрываются: ими владеет тот, кто их создал.
+	 */
+	@Override
+	public void close() {
+		closed = true;
+		if (serverChannel != null) {
+			EventLoop.closeQuietly(serverChannel);
+		}
+		for (EventLoop loop : loops) {
+			if (loop != null) {
+				loop.shutdown();
+			}
+		}
+	}
+
+	private void acceptLoop() {
+		int next = 0;
+		while (!closed) {
+			SocketChannel channel;
+			try {
+				channel = serverChannel.accept();
+			} catch (IOException e) {
+				if (closed) {
+					return;
+				}
+				continue;
+			}
+
+			try {
+				channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+			} catch (IOException e) {
+				EventLoop.closeQuietly(channel);
+				continue;
+			}
+			loops[next].register(channel);
+			next = next + 1 == loops.length ? 0 : next + 1;
+		}
+	}
+}
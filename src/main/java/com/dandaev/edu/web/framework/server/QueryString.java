@@ -0,0 +1,58 @@
+package com.dandaev.edu.web.framework.server;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+/**
+ * Разбор строки вида {@code a=1&b=two} (query-часть URL или тело
+ * {@code application/x-www-form-urlencoded}) в карту параметров.
+ */
+final class QueryString {
+
+	private QueryString() {
+	}
+
+	/**
+	 * Добавляет параметры участка строки в карту. Ключи и значения
+	 * декодируются из percent-кодировки в UTF-8; при повторе ключа
+	 * остаётся первое значение, параметр без {@code '='} получает пустое значение.
+	 *
+	 * @param text   исходная строка
+	 * @param from   начало участка (включительно)
+	 * @param to     конец участка (исключительно)
+	 * @param params карта для заполнения
+	 * @throws IllegalArgumentException если percent-кодировка некорректна
+	 */
+	static void parse(String text, int from, int to, Map<String, String> params) {
+		int start = from;
+
+		while (start < to) {
+			int end = text.indexOf('&', start);
+			if (end < 0 || end > to) {
+				end = to;
+			}
+			if (end > start) {
+				int eq = text.indexOf('=', start);
+				String name;
+				String value;
+				if (eq < 0 || eq > end) {
+					name = decode(text.substring(start, end));
+					value = "";
+				} else {
+					name = decode(text.substring(start, eq));
+					value = decode(text.substring(eq + 1, end));
+				}
+				params.putIfAbsent(name, value);
+			}
+			start = end + 1;
+		}
+	}
+
+	private static String decode(String raw) {
+		if (raw.indexOf('%') < 0 && raw.indexOf('+') < 0) {
+			return raw;
+		}
+		return URLDecoder.decode(raw, StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,45 @@
+package com.dandaev.edu.web.framework.server;
+
+import java.util.Map;
+
+/**
+ * Разобранный, но ещё не обработанный HTTP-запрос.
+ */
+final class RawRequest {
+
+	final String method;
+	final String target;
+	final String version;
+
+	/** Заголовки; имена в нижнем регистре. */
+	final Map<String, String> headers;
+
+	final byte[] body;
+
+	RawRequest(String method, String target, String version, Map<String, String> headers, byte[] body) {
+		this.method = method;
+		this.target = target;
+		this.version = version;
+		this.headers = headers;
+		this.body = body;
+	}
+
+	/**
+	 * HTTP/1.1 держит соединение по умолчанию, HTTP/1.0 — только по
+	 * {@code Connection: keep-alive}.
+	 *
+	 * @return остаётся ли соединение открытым после ответа
+	 */
+	boolean isKeepAlive() {
+		String connection = headers.get("connection");
+		if (connection != null) {
+			if (connection.equalsIgnoreCase("close")) {
+				return false;
+			}
+			if (connection.equalsIgnoreCase("keep-alive")) {
+				return true;
+			}
+		}
+		return version.equals("HTTP/1.1");
+	}
+}
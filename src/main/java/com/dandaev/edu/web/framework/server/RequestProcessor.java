@@ -0,0 +1,127 @@
+package com.dandaev.edu.web.framework.server;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import com.dandaev.edu.web.framework.implementation.HttpRequest;
+import com.dandaev.edu.web.framework.implementation.HttpResponse;
+import com.dandaev.edu.web.framework.implementation.WebFramework;
+
+/**
+ * Общая для обоих серверов часть обработки: передача разобранного запроса
+ * в {@link WebFramework} и кодирование строки статуса и заголовков ответа.
+ */
+final class RequestProcessor {
+
+	/** Промежуточный ответ на {@code Expect: 100-continue}. */
+	static final byte[] CONTINUE = "HTTP/1.1 100 Continue\r\n\r\n".getBytes(StandardCharsets.ISO_8859_1);
+
+	private RequestProcessor() {
+	}
+
+	/**
+	 * Вызывает фреймворк и дожидается ответа.
+	 *
+	 * @param framework фреймворк
+	 * @param request   разобранный запрос
+	 * @return ответ (некорректная percent-кодировка — {@code 400})
+	 */
+	static HttpResponse process(WebFramework framework, RawRequest request) {
+		try {
+			return framework.handle(toHttpRequest(request));
+		} catch (IllegalArgumentException e) {
+			return HttpResponse.error(400, e.getMessage());
+		}
+	}
+
+	/**
+	 * Вызывает фреймворк, не дожидаясь асинхронных обработчиков.
+	 *
+	 * @param framework фреймворк
+	 * @param request   разобранный запрос
+	 * @return будущий ответ (некорректная percent-кодировка — {@code 400})
+	 * @see WebFramework#handleAsync
+	 */
+	static CompletableFuture<HttpResponse> processAsync(WebFramework framework, RawRequest request) {
+		try {
+			return framework.handleAsync(toHttpRequest(request));
+		} catch (IllegalArgumentException e) {
+			return CompletableFuture.completedFuture(HttpResponse.error(400, e.getMessage()));
+		}
+	}
+
+	/**
+	 * Собирает параметры из query-строки и тела
+	 * {@code application/x-www-form-urlencoded}.
+	 *
+	 * @throws IllegalArgumentException при некорректной percent-кодировке
+	 */
+	private static HttpRequest toHttpRequest(RawRequest request) {
+		Map<String, String> params = new HashMap<>();
+
+		String target = request.target;
+		int query = target.indexOf('?');
+		if (query >= 0) {
+			QueryString.parse(target, query + 1, target.length(), params);
+		}
+		String contentType = request.headers.get("content-type");
+		if (contentType != null && contentType.startsWith("application/x-www-form-urlencoded")) {
+			String form = new String(request.body, StandardCharsets.UTF_8);
+			QueryString.parse(form, 0, form.length(), params);
+		}
+
+		return new HttpRequest(request.method, target, params, request.headers, request.body);
+	}
+
+	/**
+	 * Собирает потоковое тело ответа в память для сервера, который не может
+	 * ждать генератора. Ошибка генератора превращается в {@code 500}.
+	 *
+	 * @param response ответ
+	 * @return ответ с телом известной длины
+	 */
+	static HttpResponse buffered(HttpResponse response) {
+		if (!response.isStreaming()) {
+			return response;
+		}
+		try {
+			HttpResponse copy = HttpResponse.bytes(response.getStatus(), response.getContentType(), response.getBody());
+			for (Map.Entry<String, String> header : response.getHeaders().entrySet()) {
+				copy = copy.withHeader(header.getKey(), header.getValue());
+			}
+			return copy;
+		} catch (RuntimeException e) {
+			return HttpResponse.error(500, e.getMessage());
+		}
+	}
+
+	/**
+	 * Кодирует строку статуса и заголовки ответа.
+	 *
+	 * @param response      ответ
+	 * @param contentLength длина тела или {@code -1} для передачи частями
+	 *                      ({@code Transfer-Encoding: chunked})
+	 * @param keepAlive     остаётся ли соединение открытым
+	 * @return байты заголовка, включая завершающую пустую строку
+	 */
+	static byte[] encodeHead(HttpResponse response, long contentLength, boolean keepAlive) {
+		StringBuilder head = new StringBuilder(128)
+				.append("HTTP/1.1 ").append(response.getStatus()).append(' ').append(response.getReasonPhrase())
+				.append("\r\n");
+		if (response.getContentType() != null) {
+			head.append("Content-Type: ").append(response.getContentType()).append("\r\n");
+		}
+		for (Map.Entry<String, String> header : response.getHeaders().entrySet()) {
+			head.append(header.getKey()).append(": ").append(header.getValue()).append("\r\n");
+		}
+		if (contentLength >= 0) {
+			head.append("Content-Length: ").append(contentLength).append("\r\n");
+		} else {
+			head.append("Transfer-Encoding: chunked\r\n");
+		}
+		head.append("Connection: ").append(keepAlive ? "keep-alive" : "close").append("\r\n\r\n");
+		return head.toString().getBytes(StandardCharsets.ISO_8859_1);
+	}
+}
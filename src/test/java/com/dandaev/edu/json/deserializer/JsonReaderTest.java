@@ -0,0 +1,243 @@
+package com.dandaev.edu.json.deserializer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class JsonReaderTest {
+
+    @Test
+    void readsNestedDocument() throws IOException {
+        JsonReader reader = new JsonReader("{\"a\": [1, -2.5, true, null], \"b\": {\"c\": \"d\"}}");
+
+        reader.beginObject();
+        assertEquals("a", reader.nextName());
+        reader.beginArray();
+        assertEquals(1, reader.nextInt());
+        assertEquals(-2.5, reader.nextDouble());
+        assertTrue(reader.nextBoolean());
+        reader.nextNull();
+        assertFalse(reader.hasNext());
+        reader.endArray();
+        assertEquals("b", reader.nextName());
+        reader.skipValue();
+        reader.endObject();
+        assertEquals(JsonToken.END_DOCUMENT, reader.peek());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "0", "-0", "1", "-12", "0.5", "-0.0", "1e10", "1E+2", "2.5e-3", "9223372036854775807" })
+    void acceptsValidNumbers(String text) throws IOException {
+        JsonReader reader = new JsonReader(text);
+
+        assertEquals(JsonToken.NUMBER, reader.peek());
+        assertEquals(text, reader.nextNumberText());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "-", "01", "-01", "1.", ".5", "1e", "1e+", "1.e3", "+1", "1-2", "1..2", "1e2e3", "--1" })
+    void rejectsMalformedNumbers(String text) {
+        assertThrows(JsonParseException.class, () -> new JsonReader(text).peek());
+    }
+
+    @Test
+    void parsesLongsOnFastAndSlowPaths() throws IOException {
+        JsonReader reader = new JsonReader("[123456789012345678, -9223372036854775808, 1e3, 9223372036854775807]");
+
+        reader.beginArray();
+        assertEquals(123456789012345678L, reader.nextLong());
+        assertEquals(Long.MIN_VALUE, reader.nextLong());
+        assertEquals(1000L, reader.nextLong());
+        assertEquals(Long.MAX_VALUE, reader.nextLong());
+        reader.endArray();
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "9223372036854775808", "9223372036854775900", "-9223372036854775809",
+            "1e19", "-1e19", "1e400", "2.5" })
+    void rejectsLongOutOfRange(String text) {
+        assertThrows(JsonParseException.class, () -> new JsonReader(text).nextLong());
+        assertThrows(JsonParseException.class, () -> JsonDeserializer.deserialize(text, Long.class));
+        assertThrows(JsonParseException.class, () -> JsonDeserializer.deserialize(text, (Type) long.class));
+    }
+
+    @Test
+    void parsesExactLongsWrittenWithExponent() throws IOException {
+        assertEquals(Long.MIN_VALUE, JsonDeserializer.deserialize("-9.223372036854775808e18", Long.class));
+        assertEquals(120L, JsonDeserializer.deserialize("1.2e2", (Type) long.class));
+        assertEquals(3L, new JsonReader("3.000").nextLong());
+    }
+
+    @Test
+    void treatsNineteenDigitNumbersWithinLongRangeAsIntegral() throws IOException {
+        assertTrue(new JsonReader("1000000000000000000").isIntegral());
+        assertTrue(new JsonReader("9223372036854775807").isIntegral());
+        assertTrue(new JsonReader("-9223372036854775808").isIntegral());
+        assertFalse(new JsonReader("9223372036854775808").isIntegral());
+        assertFalse(new JsonReader("-9223372036854775809").isIntegral());
+        assertFalse(new JsonReader("10000000000000000000").isIntegral());
+
+        assertEquals(1000000000000000000L, JsonDeserializer.deserialize("1000000000000000000", (Type) Object.class));
+        assertEquals(9.223372036854775808E18, JsonDeserializer.deserialize("9223372036854775808", (Type) Object.class));
+    }
+
+    @Test
+    void rejectsNestingDeeperThanLimit() throws IOException {
+        String allowed = "[".repeat(JsonReader.MAX_DEPTH) + "]".repeat(JsonReader.MAX_DEPTH);
+        assertTrue(JsonDeserializer.deserialize(allowed, (Type) Object.class) instanceof List);
+
+        String tooDeep = "[".repeat(JsonReader.MAX_DEPTH + 1) + "]".repeat(JsonReader.MAX_DEPTH + 1);
+        assertThrows(JsonParseException.class, () -> JsonDeserializer.deserialize(tooDeep, (Type) Object.class));
+
+        // Документ обрывается, но разбор останавливается раньше, чем переполнится стек
+        String flood = "{\"a\":".repeat(100_000);
+        assertThrows(JsonParseException.class, () -> JsonDeserializer.deserialize(flood, (Type) Object.class));
+    }
+
+    @Test
+    void rejectsFractionalLong() throws IOException {
+        JsonReader reader = new JsonReader("1.5");
+
+        assertThrows(JsonParseException.class, reader::nextLong);
+    }
+
+    @Test
+    void rejectsIntOverflow() throws IOException {
+        JsonReader reader = new JsonReader("2147483648");
+
+        assertThrows(JsonParseException.class, reader::nextInt);
+    }
+
+    @Test
+    void wrapsNumberFormatExceptionForQuotedNumbers() throws IOException {
+        JsonParseException e = assertThrows(JsonParseException.class, () -> new JsonReader("\"abc\"").nextDouble());
+        assertTrue(e.getMessage().contains("abc"), e.getMessage());
+
+        assertThrows(JsonParseException.class, () -> new JsonReader("\"12x\"").nextLong());
+        assertEquals(42L, new JsonReader("\"42\"").nextLong());
+    }
+
+    @Test
+    void decodesEscapes() throws IOException {
+        JsonReader reader = new JsonReader("\"a\\\"b\\\\c\\/d\\b\\f\\n\\r\\t\\u0416\\u00e9\"");
+
+        assertEquals("a\"b\\c/d\b\f\n\r\t\u0416\u00e9", reader.nextString());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "\"a\nb\"", "\"a\tb\"", "\"\u0001\"", "\"a\\x\"", "\"\\u12g4\"", "\"abc" })
+    void rejectsInvalidStrings(String json) {
+        assertThrows(JsonParseException.class, () -> new JsonReader(json).nextString());
+    }
+
+    @Test
+    void rejectsControlCharacterAfterEscape() {
+        assertThrows(JsonParseException.class, () -> new JsonReader("\"\\n\u001f\"").nextString());
+    }
+
+    @Test
+    void reportsOffsetOfError() {
+        JsonParseException e = assertThrows(JsonParseException.class, () -> {
+            JsonReader reader = new JsonReader("[1, 2, x]");
+            reader.beginArray();
+            reader.nextInt();
+            reader.nextInt();
+            reader.peek();
+        });
+
+        assertTrue(e.getMessage().endsWith("at offset 8"), e.getMessage());
+    }
+
+    @Test
+    void rejectsMissingSeparators() {
+        assertThrows(JsonParseException.class, () -> {
+            JsonReader reader = new JsonReader("[1 2]");
+            reader.beginArray();
+            reader.nextInt();
+            reader.nextInt();
+        });
+        assertThrows(JsonParseException.class, () -> {
+            JsonReader reader = new JsonReader("{\"a\" 1}");
+            reader.beginObject();
+            reader.nextName();
+            reader.nextInt();
+        });
+    }
+
+    @Test
+    void tokensSpanningBufferBoundaryMatchInMemoryReader() throws IOException {
+        StringBuilder json = new StringBuilder("[");
+        String value = "x".repeat(8185) + "\\\"\\u0416" + "y".repeat(9000) + "\\n";
+        json.append('"').append(value).append("\",");
+        int boundary = (json.length() / 8192 + 1) * 8192;
+        json.append(" ".repeat(boundary - json.length() - 3)).append("12345.678e-2,");
+        json.append("\"").append("z".repeat(20_000)).append("\",true,null,-987654321]");
+
+        List<Object> expected = readAll(new JsonReader(json.toString()));
+
+        assertEquals(expected, readAll(new JsonReader(new StringReader(json.toString()))));
+        assertEquals(expected, readAll(new JsonReader(new OneCharReader(json.toString()))));
+        assertEquals("x".repeat(8185) + "\"\u0416" + "y".repeat(9000) + "\n", expected.get(0));
+    }
+
+    @Test
+    void numberAtEndOfStream() throws IOException {
+        assertEquals(-42L, new JsonReader(new OneCharReader("-42")).nextLong());
+        assertThrows(JsonParseException.class, () -> new JsonReader(new OneCharReader("-")).peek());
+    }
+
+    private static List<Object> readAll(JsonReader reader) throws IOException {
+        List<Object> values = new ArrayList<>();
+        reader.beginArray();
+        while (reader.hasNext()) {
+            switch (reader.peek()) {
+                case STRING -> values.add(reader.nextString());
+                case NUMBER -> values.add(reader.nextDouble());
+                case BOOLEAN -> values.add(reader.nextBoolean());
+                case NULL -> {
+                    reader.nextNull();
+                    values.add(null);
+                }
+                default -> throw new AssertionError("Unexpected token " + reader.peek());
+            }
+        }
+        reader.endArray();
+        assertEquals(JsonToken.END_DOCUMENT, reader.peek());
+        return values;
+    }
+
+    /** Источник, отдающий по одному символу за вызов. */
+    private static final class OneCharReader extends Reader {
+        private final String text;
+        private int position;
+
+        OneCharReader(String text) {
+            this.text = text;
+        }
+
+        @Override
+        public int read(char[] buffer, int offset, int length) {
+            if (position == text.length()) {
+                return -1;
+            }
+            buffer[offset] = text.charAt(position++);
+            return 1;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.dandaev.edu.json.serializer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+import java.util.Date;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.dandaev.edu.entities.Product;
+import com.dandaev.edu.entities.User;
+
+class AccessorStrategyTest {
+
+    @AfterEach
+    void resetStrategy() {
+        JsonSerializer.setAccessorStrategy(AccessorStrategy.GENERATED);
+    }
+
+    @Test
+    void writersAreGeneratedForEntities() {
+        assertNotNull(GeneratedWriters.find(Product.class));
+        assertNotNull(GeneratedWriters.find(User.class));
+    }
+
+    @Test
+    void allStrategiesProduceSameProductJson() throws IllegalAccessException {
+        assertSameForAllStrategies(new Product(42L, "Ноутбук \"Pro\"", 1299.99, new Date(1_700_000_000_000L)));
+        assertSameForAllStrategies(new Product(null, null, null, null));
+    }
+
+    @Test
+    void allStrategiesProduceSameUserJson() throws IllegalAccessException {
+        assertSameForAllStrategies(new User("Иван", "ivan@example.com", 30, "secret"));
+        assertSameForAllStrategies(new User(null, null, null, null));
+    }
+
+    private static void assertSameForAllStrategies(Object value) throws IllegalAccessException {
+        JsonSerializer.setAccessorStrategy(AccessorStrategy.REFLECTION);
+        String expected = JsonSerializer.serialize(value);
+        byte[] expectedUtf8 = JsonSerializer.serializeToUtf8(value);
+
+        for (AccessorStrategy strategy : AccessorStrategy.values()) {
+            JsonSerializer.setAccessorStrategy(strategy);
+            assertEquals(expected, JsonSerializer.serialize(value), strategy.name());
+            assertArrayEquals(expectedUtf8, JsonSerializer.serializeToUtf8(value), strategy.name());
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.dandaev.edu.json.serializer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class JsonDateFormatTest {
+
+    private static final String[] FAST_PATTERNS = {
+            "yyyy-MM-dd",
+            "yyyy-MM-dd HH:mm:ss",
+            "yyyy-MM-dd'T'HH:mm:ss",
+            "yyyy-MM-dd HH:mm:ss.SSS",
+            "yyyy-MM-dd'T'HH:mm:ss.SSS"
+    };
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "yyyy-MM-dd",
+            "yyyy-MM-dd HH:mm:ss",
+            "yyyy-MM-dd'T'HH:mm:ss",
+            "yyyy-MM-dd HH:mm:ss.SSS",
+            "yyyy-MM-dd'T'HH:mm:ss.SSS",
+            "dd.MM.yyyy HH:mm"
+    })
+    void fastPathMatchesFormatter(String pattern) {
+        JsonDateFormat format = JsonDateFormat.of(pattern);
+        DateTimeFormatter formatter = formatter(pattern);
+
+        for (long millis : samples()) {
+            String expected = "\"" + formatter.format(Instant.ofEpochMilli(millis)) + "\"";
+            assertEquals(expected, writeQuoted(format, millis), () -> pattern + " at " + millis);
+        }
+    }
+
+    @Test
+    void edgeYearsMatchFormatter() {
+        int[] years = { -1, 0, 1, 999, 1000, 1969, 1970, 9999, 10000 };
+        for (String pattern : FAST_PATTERNS) {
+            JsonDateFormat format = JsonDateFormat.of(pattern);
+            DateTimeFormatter formatter = formatter(pattern);
+            for (int year : years) {
+                long millis = LocalDateTime.of(year, 1, 1, 0, 0)
+                        .atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+                for (long delta : new long[] { -1, 0, 1 }) {
+                    long at = millis + delta;
+                    String expected = "\"" + formatter.format(Instant.ofEpochMilli(at)) + "\"";
+                    assertEquals(expected, writeQuoted(format, at), () -> pattern + " at " + at);
+                }
+            }
+        }
+    }
+
+    @Test
+    void parseReversesFormat() {
+        JsonDateFormat format = JsonDateFormat.of("yyyy-MM-dd HH:mm:ss.SSS");
+        Date date = new Date(1_700_000_123_456L);
+
+        String quoted = writeQuoted(format, date.getTime());
+
+        assertEquals(date, format.parse(quoted.substring(1, quoted.length() - 1)));
+    }
+
+    @Test
+    void parseDateOnlyUsesMidnight() {
+        Date parsed = JsonDateFormat.of("yyyy-MM-dd").parse("2024-02-29");
+
+        Date expected = Date.from(LocalDateTime.of(2024, 2, 29, 0, 0)
+                .atZone(ZoneId.systemDefault()).toInstant());
+        assertEquals(expected, parsed);
+    }
+
+    @Test
+    void formatsAreCachedByPattern() {
+        assertSame(JsonDateFormat.of("yyyy-MM-dd"), JsonDateFormat.of("yyyy-MM-dd"));
+    }
+
+    private static DateTimeFormatter formatter(String pattern) {
+        return DateTimeFormatter.ofPattern(pattern, Locale.getDefault(Locale.Category.FORMAT))
+                .withZone(ZoneId.systemDefault());
+    }
+
+    private static String writeQuoted(JsonDateFormat format, long millis) {
+        CharJsonWriter out = new CharJsonWriter();
+        format.writeQuoted(new Date(millis), out);
+        return out.toString();
+    }
+
+    /** Граничные моменты и случайные моменты с 1 по 9999 год. */
+    private static List<Long> samples() {
+        List<Long> samples = new ArrayList<>(List.of(
+                0L, -1L, 1L, 999L, -999L, -1000L,
+                951_782_400_000L,          // 2000-02-29
+                4_107_542_399_999L,        // 2100-02-28 23:59:59.999 UTC
+                1_700_000_123_456L));
+        long min = LocalDateTime.of(1, 1, 2, 0, 0).toInstant(ZoneOffset.UTC).toEpochMilli();
+        long max = LocalDateTime.of(9999, 12, 30, 0, 0).toInstant(ZoneOffset.UTC).toEpochMilli();
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < 2_000; i++) {
+            samples.add(random.nextLong(min, max));
+        }
+        return samples;
+    }
+}
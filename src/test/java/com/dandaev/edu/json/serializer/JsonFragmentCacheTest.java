@@ -0,0 +1,171 @@
+package com.dandaev.edu.json.serializer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.dandaev.edu.annotations.jsonparser.JsonCacheable;
+import com.dandaev.edu.annotations.jsonparser.JsonField;
+import com.dandaev.edu.annotations.jsonparser.JsonSerializable;
+
+class JsonFragmentCacheTest {
+
+    /**
+     * Неизменяемая снаружи метка: состояние меняется только через
+     * {@link #rename(String)}, который повышает версию.
+     */
+    @JsonSerializable
+    @JsonCacheable(versionField = "version")
+    static final class Tag {
+        @JsonField
+        private String name;
+
+        @JsonField
+        private int version;
+
+        Tag(String name) {
+            this.name = name;
+        }
+
+        void rename(String name) {
+            this.name = name;
+            version++;
+        }
+    }
+
+    @JsonSerializable
+    @JsonCacheable
+    static final class Tagged {
+        @JsonField
+        private final String title;
+
+        @JsonField
+        private final Tag tag;
+
+        Tagged(String title, Tag tag) {
+            this.title = title;
+            this.tag = tag;
+        }
+    }
+
+    @AfterEach
+    void resetCache() {
+        JsonSerializer.setFragmentCache(null);
+    }
+
+    @Test
+    void countsHitsAndMisses() throws IllegalAccessException {
+        JsonFragmentCache cache = install(100);
+        Tag tag = new Tag("java");
+
+        assertEquals("{\"name\":\"java\",\"version\":0}", JsonSerializer.serialize(tag));
+        assertEquals("{\"name\":\"java\",\"version\":0}", JsonSerializer.serialize(tag));
+        assertEquals("{\"name\":\"java\",\"version\":0}", utf8(JsonSerializer.serializeToUtf8(tag)));
+
+        assertEquals(1, cache.getMissCount());
+        assertEquals(2, cache.getHitCount());
+        assertEquals(2.0 / 3, cache.getHitRate(), 1e-9);
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void changedVersionInvalidatesFragment() throws IllegalAccessException {
+        JsonFragmentCache cache = install(100);
+        Tag tag = new Tag("java");
+        JsonSerializer.serialize(tag);
+
+        tag.rename("kotlin");
+
+        assertEquals("{\"name\":\"kotlin\",\"version\":1}", JsonSerializer.serialize(tag));
+        assertEquals("{\"name\":\"kotlin\",\"version\":1}", JsonSerializer.serialize(tag));
+        assertEquals(2, cache.getMissCount());
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedFragment() throws IllegalAccessException {
+        // 32 записи на 16 сегментов — по две в сегменте
+        JsonFragmentCache cache = install(32);
+        List<Tag> sameSegment = tagsInOneSegment(3);
+        Tag first = sameSegment.get(0);
+        Tag second = sameSegment.get(1);
+        Tag third = sameSegment.get(2);
+
+        JsonSerializer.serialize(first);
+        JsonSerializer.serialize(second);
+        JsonSerializer.serialize(first);
+        JsonSerializer.serialize(third);
+
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(2, cache.size());
+
+        long misses = cache.getMissCount();
+        JsonSerializer.serialize(first);
+        assertEquals(misses, cache.getMissCount());
+        JsonSerializer.serialize(second);
+        assertEquals(misses + 1, cache.getMissCount());
+        assertEquals(2, cache.getEvictionCount());
+    }
+
+    @Test
+    void splicesNestedFragmentsIntoCharAndUtf8Output() throws IllegalAccessException {
+        JsonFragmentCache cache = install(100);
+        Tag tag = new Tag("ключ \"😀\"");
+        Tagged tagged = new Tagged("заголовок", tag);
+        String expected = "{\"title\":\"заголовок\",\"tag\":{\"name\":\"ключ \\\"😀\\\"\",\"version\":0}}";
+
+        // Вложенный фрагмент записан в UTF-8 и вставляется в строковый вывод
+        JsonSerializer.serializeToUtf8(tag);
+        assertEquals(expected, JsonSerializer.serialize(tagged));
+        assertEquals(2, cache.getMissCount());
+        assertEquals(1, cache.getHitCount());
+
+        assertArrayEquals(expected.getBytes(StandardCharsets.UTF_8), JsonSerializer.serializeToUtf8(tagged));
+        assertEquals(2, cache.getHitCount());
+
+        // Сброшенный родитель собирается заново из готового вложенного фрагмента
+        cache.invalidate(tagged);
+        assertArrayEquals(expected.getBytes(StandardCharsets.UTF_8), JsonSerializer.serializeToUtf8(tagged));
+        assertEquals("[" + expected + "]", JsonSerializer.serialize(List.of(tagged)));
+        assertEquals(3, cache.getMissCount());
+        assertEquals(4, cache.getHitCount());
+    }
+
+    private static JsonFragmentCache install(int maxEntries) {
+        JsonFragmentCache cache = new JsonFragmentCache(maxEntries);
+        JsonSerializer.setFragmentCache(cache);
+        return cache;
+    }
+
+    /**
+     * Подбирает метки, попадающие в один сегмент кэша (та же формула, что
+     * в {@link JsonFragmentCache}).
+     */
+    private static List<Tag> tagsInOneSegment(int count) {
+        List<Tag> tags = new ArrayList<>();
+        int segment = -1;
+        for (int i = 0; tags.size() < count; i++) {
+            Tag tag = new Tag("tag" + i);
+            int hash = System.identityHashCode(tag);
+            int index = (hash ^ (hash >>> 16)) & 15;
+            if (segment < 0) {
+                segment = index;
+            }
+            if (index == segment) {
+                tags.add(tag);
+            }
+        }
+        return tags;
+    }
+
+    private static String utf8(byte[] bytes) {
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
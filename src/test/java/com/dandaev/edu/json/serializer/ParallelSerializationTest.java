@@ -0,0 +1,120 @@
+package com.dandaev.edu.json.serializer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.dandaev.edu.annotations.jsonparser.JsonField;
+import com.dandaev.edu.annotations.jsonparser.JsonSerializable;
+
+class ParallelSerializationTest {
+
+    private static final ParallelOptions OPTIONS = ParallelOptions.of(8, 3);
+
+    @JsonSerializable
+    static class Item {
+        @JsonField
+        int id;
+
+        @JsonField
+        String name;
+
+        @JsonField
+        List<Integer> tags;
+
+        Item(int id) {
+            this.id = id;
+            this.name = "item \"" + id + "\" я😀";
+            this.tags = List.of(id, id * 2);
+        }
+    }
+
+    @AfterEach
+    void resetOptions() {
+        JsonSerializer.setParallelOptions(null);
+        JsonSerializer.setCycleDetection(false);
+    }
+
+    @Test
+    void listMatchesSequentialOutputInEverySink() throws Exception {
+        assertSameInEverySink(items(50));
+    }
+
+    @Test
+    void objectArrayMatchesSequentialOutputInEverySink() throws Exception {
+        assertSameInEverySink(items(50).toArray());
+    }
+
+    @Test
+    void sizesAroundChunkBoundariesMatchSequentialOutput() throws Exception {
+        for (int size = 7; size <= 13; size++) {
+            assertSameInEverySink(items(size));
+        }
+    }
+
+    @Test
+    void detectsCycleInsideChunk() throws Exception {
+        JsonSerializer.setCycleDetection(true);
+        JsonSerializer.setParallelOptions(OPTIONS);
+
+        List<Object> list = new ArrayList<>(items(20));
+        List<Object> nested = new ArrayList<>(List.of(1, 2));
+        nested.add(list);
+        // Цикл попадает в порцию, которая пишется на исполнителе
+        list.set(15, nested);
+
+        assertThrows(IllegalArgumentException.class, () -> JsonSerializer.serialize(list));
+        assertThrows(IllegalArgumentException.class, () -> JsonSerializer.serializeToUtf8(list));
+
+        // После ошибки в порции сериализатор продолжает работать
+        list.set(15, List.of(1, 2));
+        assertSameInEverySink(list);
+    }
+
+    @Test
+    void sharedElementsInDifferentChunksAreNotCycles() throws Exception {
+        JsonSerializer.setCycleDetection(true);
+        List<Integer> shared = List.of(1);
+        List<Object> list = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            list.add(shared);
+        }
+
+        assertSameInEverySink(list);
+    }
+
+    private static void assertSameInEverySink(Object value) throws IOException, IllegalAccessException {
+        JsonSerializer.setParallelOptions(null);
+        String expected = JsonSerializer.serialize(value);
+
+        JsonSerializer.setParallelOptions(OPTIONS);
+        assertEquals(expected, JsonSerializer.serialize(value));
+
+        StringBuilder appendable = new StringBuilder();
+        JsonSerializer.serialize(value, appendable);
+        assertEquals(expected, appendable.toString());
+
+        ByteArrayOutputStream stream = new ByteArrayOutputStream();
+        JsonSerializer.serialize(value, stream);
+        assertArrayEquals(expected.getBytes(StandardCharsets.UTF_8), stream.toByteArray());
+
+        assertArrayEquals(expected.getBytes(StandardCharsets.UTF_8), JsonSerializer.serializeToUtf8(value));
+    }
+
+    private static List<Item> items(int count) {
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            items.add(new Item(i));
+        }
+        return items;
+    }
+}
@@ -0,0 +1,73 @@
+package com.dandaev.edu.json.serializer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import com.dandaev.edu.annotations.jsonparser.JsonField;
+import com.dandaev.edu.annotations.jsonparser.JsonSerializable;
+
+class SerializationContextTest {
+
+    @JsonSerializable
+    static class Note {
+        @JsonField
+        String text;
+
+        Note(String text) {
+            this.text = text;
+        }
+    }
+
+    @JsonSerializable
+    static class Sized {
+        @JsonField
+        String text = "x".repeat(1000);
+    }
+
+    @Test
+    void matchesJsonSerializer() throws IllegalAccessException {
+        Note note = new Note("привет \"мир\"");
+        try (SerializationContext context = JsonSerializer.openContext()) {
+            assertEquals(JsonSerializer.serialize(note), context.serialize(note));
+            assertEquals(JsonSerializer.serialize(note), utf8(context.serializeToUtf8(note)));
+        }
+    }
+
+    @Test
+    void recordsOutputSizeOfEachClass() throws IllegalAccessException {
+        Sized sized = new Sized();
+        assertEquals(BufferPool.MIN_CAPACITY, OutputSizes.of(sized).expected());
+
+        try (SerializationContext context = JsonSerializer.openContext()) {
+            context.serialize(new Note("first"));
+            context.serializeToUtf8(sized);
+        }
+
+        assertNotEquals(BufferPool.MIN_CAPACITY, OutputSizes.of(sized).expected());
+    }
+
+    @Test
+    void releasesOversizedBufferAfterCall() throws IllegalAccessException {
+        Note large = new Note("a".repeat(BufferPool.MAX_POOLED_CAPACITY * 2));
+        try (SerializationContext context = JsonSerializer.openContext()) {
+            ByteBuffer first = context.serializeToUtf8(large);
+            String expected = JsonSerializer.serialize(large);
+
+            // Отпущенный большой буфер не переиспользуется следующим вызовом
+            assertEquals("{\"text\":\"b\"}", utf8(context.serializeToUtf8(new Note("b"))));
+            assertEquals(expected, utf8(first));
+
+            assertEquals(expected, context.serialize(large));
+            assertEquals("{\"text\":\"c\"}", context.serialize(new Note("c")));
+        }
+    }
+
+    private static String utf8(ByteBuffer buffer) {
+        return StandardCharsets.UTF_8.decode(buffer.duplicate()).toString();
+    }
+}
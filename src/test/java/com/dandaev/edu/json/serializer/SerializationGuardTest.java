@@ -0,0 +1,87 @@
+package com.dandaev.edu.json.serializer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class SerializationGuardTest {
+
+    @AfterEach
+    void resetLimits() {
+        JsonSerializer.setCycleDetection(false);
+        JsonSerializer.setMaxDepth(0);
+    }
+
+    @Test
+    void rejectsSelfReferencingList() {
+        JsonSerializer.setCycleDetection(true);
+        List<Object> list = new ArrayList<>();
+        list.add(1);
+        list.add(list);
+
+        assertThrows(IllegalArgumentException.class, () -> JsonSerializer.serialize(list));
+        assertThrows(IllegalArgumentException.class, () -> JsonSerializer.serializeToUtf8(list));
+    }
+
+    @Test
+    void rejectsSelfReferencingMap() {
+        JsonSerializer.setCycleDetection(true);
+        Map<String, Object> map = new HashMap<>();
+        map.put("self", map);
+
+        assertThrows(IllegalArgumentException.class, () -> JsonSerializer.serialize(map));
+    }
+
+    @Test
+    void serializesSharedSubtrees() throws IllegalAccessException {
+        JsonSerializer.setCycleDetection(true);
+        List<Integer> shared = List.of(1);
+
+        assertEquals("[[1],[1]]", JsonSerializer.serialize(List.of(shared, shared)));
+
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("a", shared);
+        map.put("b", shared);
+        assertEquals("{\"a\":[1],\"b\":[1]}", JsonSerializer.serialize(map));
+    }
+
+    @Test
+    void limitsDepth() throws IllegalAccessException {
+        JsonSerializer.setMaxDepth(3);
+
+        assertEquals("[[[1]]]", JsonSerializer.serialize(List.of(List.of(List.of(1)))));
+        assertThrows(IllegalArgumentException.class,
+                () -> JsonSerializer.serialize(List.of(List.of(List.of(List.of(1))))));
+    }
+
+    @Test
+    void guardIsReusableAfterCycle() throws IllegalAccessException {
+        JsonSerializer.setCycleDetection(true);
+        SerializationGuard pooled = SerializationGuard.acquire(true, 0);
+        pooled.release();
+
+        List<Object> inner = new ArrayList<>();
+        List<Object> outer = new ArrayList<>(List.of(inner));
+        inner.add(outer);
+        assertThrows(IllegalArgumentException.class, () -> JsonSerializer.serialize(outer));
+
+        // Путь очищен: те же списки без цикла больше не считаются циклом
+        inner.clear();
+        inner.add(2);
+        assertEquals("[[2]]", JsonSerializer.serialize(outer));
+        assertEquals("[[2],[2]]", JsonSerializer.serialize(List.of(inner, inner)));
+
+        SerializationGuard next = SerializationGuard.acquire(true, 0);
+        assertSame(pooled, next);
+        next.release();
+    }
+}
@@ -0,0 +1,78 @@
+package com.dandaev.edu.json.serializer;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import com.dandaev.edu.annotations.jsonparser.JsonField;
+import com.dandaev.edu.annotations.jsonparser.JsonSerializable;
+
+class Utf8JsonWriterTest {
+
+    private static final String[] SAMPLES = {
+            "plain ascii",
+            "кириллица и ü",
+            "中文字符",
+            "\uD83D\uDE00",
+            "a\uD83D\uDE00b\uD834\uDD1Ec",
+            "\uDBFF\uDFFF\uD800\uDC00",
+            "\uD83D",
+            "x\uDE00y",
+            "\uDE00\uD83D"
+    };
+
+    @JsonSerializable
+    static class Text {
+        @JsonField
+        String value;
+
+        Text(String value) {
+            this.value = value;
+        }
+    }
+
+    @Test
+    void rawTextMatchesStringGetBytes() {
+        for (String sample : SAMPLES) {
+            Utf8JsonWriter writer = new Utf8JsonWriter();
+            writer.write(sample, 0, sample.length());
+
+            assertArrayEquals(sample.getBytes(StandardCharsets.UTF_8), writer.toByteArray(), sample);
+        }
+    }
+
+    @Test
+    void surrogatePairsAcrossFlushedBuffersMatchStringGetBytes() {
+        // Строка длиннее буфера: пары попадают на границы сброса
+        String text = "a" + "\uD83D\uDE00я".repeat(5_000);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Utf8JsonWriter writer = new Utf8JsonWriter(out);
+        writer.write(text, 0, text.length());
+        writer.flush();
+        writer.release();
+
+        assertArrayEquals(text.getBytes(StandardCharsets.UTF_8), out.toByteArray());
+    }
+
+    @Test
+    void serializedStringsMatchCharOutputEncoded() throws IllegalAccessException {
+        for (String sample : SAMPLES) {
+            Text text = new Text(sample);
+            String json = JsonSerializer.serialize(text);
+
+            assertArrayEquals(json.getBytes(StandardCharsets.UTF_8), JsonSerializer.serializeToUtf8(text), sample);
+        }
+    }
+
+    @Test
+    void loneSurrogatesInValuesAreEscaped() throws IllegalAccessException {
+        assertEquals("{\"value\":\"x\\ude00y\"}",
+                new String(JsonSerializer.serializeToUtf8(new Text("x\uDE00y")), StandardCharsets.UTF_8));
+        assertEquals("{\"value\":\"\\ud83d\"}",
+                new String(JsonSerializer.serializeToUtf8(new Text("\uD83D")), StandardCharsets.UTF_8));
+    }
+}
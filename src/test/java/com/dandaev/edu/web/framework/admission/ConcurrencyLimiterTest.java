@@ -0,0 +1,136 @@
+package com.dandaev.edu.web.framework.admission;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class ConcurrencyLimiterTest {
+
+	private static final long FAST = TimeUnit.MILLISECONDS.toNanos(1);
+	private static final long SLOW = TimeUnit.MILLISECONDS.toNanos(500);
+
+	@Test
+	void fixedLimitAdmitsUpToLimit() {
+		ConcurrencyLimiter limiter = ConcurrencyLimiter.fixed(2);
+
+		assertTrue(limiter.tryAcquire());
+		assertTrue(limiter.tryAcquire());
+		assertFalse(limiter.tryAcquire());
+		assertEquals(2, limiter.getInFlight());
+
+		limiter.release(SLOW, true);
+		assertEquals(2, limiter.getLimit());
+		assertTrue(limiter.tryAcquire());
+		limiter.release();
+		limiter.release();
+		assertEquals(0, limiter.getInFlight());
+	}
+
+	@Test
+	void adaptiveLimitBacksOffOnSlowOrOverloadedRequests() {
+		ConcurrencyLimiter limiter = ConcurrencyLimiter.adaptive(2, 20, 100);
+		assertEquals(20, limiter.getLimit());
+
+		assertTrue(limiter.tryAcquire());
+		limiter.release(SLOW, false);
+		assertEquals(18, limiter.getLimit());
+
+		assertTrue(limiter.tryAcquire());
+		limiter.release(FAST, true);
+		assertEquals(16, limiter.getLimit());
+
+		for (int i = 0; i < 50; i++) {
+			assertTrue(limiter.tryAcquire());
+			limiter.release(SLOW, false);
+		}
+		assertEquals(2, limiter.getLimit());
+	}
+
+	@Test
+	void adaptiveLimitGrowsOnlyWhenUtilized() {
+		ConcurrencyLimiter limiter = ConcurrencyLimiter.adaptive(4, 10, 100);
+		for (int i = 0; i < 10; i++) {
+			assertTrue(limiter.tryAcquire());
+			limiter.release(SLOW, false);
+		}
+		int low = limiter.getLimit();
+		assertEquals(4, low);
+
+		// Один запрос при пределе 4 — загрузка ниже половины
+		assertTrue(limiter.tryAcquire());
+		limiter.release(FAST, false);
+		assertEquals(low, limiter.getLimit());
+
+		for (int i = 0; i < low; i++) {
+			assertTrue(limiter.tryAcquire());
+		}
+		limiter.release(FAST, false);
+		assertEquals(low + 1, limiter.getLimit());
+		for (int i = 1; i < low; i++) {
+			limiter.release(FAST, false);
+		}
+		assertEquals(0, limiter.getInFlight());
+	}
+
+	@Test
+	void adaptiveLimitStaysWithinBounds() {
+		ConcurrencyLimiter limiter = ConcurrencyLimiter.adaptive(1, 3, 100);
+
+		for (int i = 0; i < 10; i++) {
+			assertTrue(limiter.tryAcquire());
+			assertTrue(limiter.tryAcquire());
+			limiter.release(FAST, false);
+			limiter.release(FAST, false);
+		}
+		assertEquals(3, limiter.getLimit());
+	}
+
+	@Test
+	void concurrentCallersNeverExceedLimit() throws InterruptedException {
+		ConcurrencyLimiter limiter = ConcurrencyLimiter.fixed(3);
+		AtomicInteger active = new AtomicInteger();
+		AtomicInteger peak = new AtomicInteger();
+		CountDownLatch start = new CountDownLatch(1);
+		Thread[] threads = new Thread[8];
+
+		for (int t = 0; t < threads.length; t++) {
+			threads[t] = new Thread(() -> {
+				try {
+					start.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+				for (int i = 0; i < 10_000; i++) {
+					if (limiter.tryAcquire()) {
+						peak.accumulateAndGet(active.incrementAndGet(), Math::max);
+						active.decrementAndGet();
+						limiter.release();
+					}
+				}
+			});
+			threads[t].start();
+		}
+		start.countDown();
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		assertTrue(peak.get() <= 3, "peak " + peak.get());
+		assertEquals(0, limiter.getInFlight());
+	}
+
+	@Test
+	void rejectsInvalidSettings() {
+		assertThrows(IllegalArgumentException.class, () -> ConcurrencyLimiter.fixed(0));
+		assertThrows(IllegalArgumentException.class, () -> ConcurrencyLimiter.adaptive(5, 4, 100));
+		assertThrows(IllegalArgumentException.class, () -> ConcurrencyLimiter.adaptive(1, 4, 0));
+	}
+}
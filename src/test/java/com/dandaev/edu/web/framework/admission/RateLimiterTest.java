@@ -0,0 +1,104 @@
+package com.dandaev.edu.web.framework.admission;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class RateLimiterTest {
+
+	private static final long INTERVAL = TimeUnit.MILLISECONDS.toNanos(100);
+
+	@Test
+	void admitsBurstThenRejects() {
+		RateLimiter limiter = new RateLimiter(10, 3);
+		long now = System.nanoTime();
+
+		assertTrue(limiter.tryAcquire(now));
+		assertTrue(limiter.tryAcquire(now));
+		assertTrue(limiter.tryAcquire(now));
+		assertFalse(limiter.tryAcquire(now));
+		assertEquals(INTERVAL, limiter.nanosUntilPermit(now));
+	}
+
+	@Test
+	void refillsOnePermitPerInterval() {
+		RateLimiter limiter = new RateLimiter(10, 1);
+		long now = System.nanoTime();
+
+		assertTrue(limiter.tryAcquire(now));
+		assertFalse(limiter.tryAcquire(now + INTERVAL - 1));
+		assertEquals(1, limiter.nanosUntilPermit(now + INTERVAL - 1));
+		assertTrue(limiter.tryAcquire(now + INTERVAL));
+		assertFalse(limiter.tryAcquire(now + INTERVAL));
+		assertEquals(0, limiter.nanosUntilPermit(now + 2 * INTERVAL));
+	}
+
+	@Test
+	void idleTimeDoesNotAccumulateBeyondBurst() {
+		RateLimiter limiter = new RateLimiter(10, 2);
+		long later = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+
+		assertTrue(limiter.tryAcquire(later));
+		assertTrue(limiter.tryAcquire(later));
+		assertFalse(limiter.tryAcquire(later));
+	}
+
+	@Test
+	void rejectedAttemptsDoNotConsumePermits() {
+		RateLimiter limiter = new RateLimiter(10, 1);
+		long now = System.nanoTime();
+
+		assertTrue(limiter.tryAcquire(now));
+		for (int i = 0; i < 100; i++) {
+			assertFalse(limiter.tryAcquire(now));
+		}
+		assertTrue(limiter.tryAcquire(now + INTERVAL));
+	}
+
+	@Test
+	void concurrentCallersShareBurstExactly() throws InterruptedException {
+		int burst = 50;
+		RateLimiter limiter = new RateLimiter(1, burst);
+		long now = System.nanoTime();
+		AtomicInteger admitted = new AtomicInteger();
+		CountDownLatch start = new CountDownLatch(1);
+		Thread[] threads = new Thread[8];
+
+		for (int t = 0; t < threads.length; t++) {
+			threads[t] = new Thread(() -> {
+				try {
+					start.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					return;
+				}
+				for (int i = 0; i < 1_000; i++) {
+					if (limiter.tryAcquire(now)) {
+						admitted.incrementAndGet();
+					}
+				}
+			});
+			threads[t].start();
+		}
+		start.countDown();
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		assertEquals(burst, admitted.get());
+	}
+
+	@Test
+	void rejectsInvalidSettings() {
+		assertThrows(IllegalArgumentException.class, () -> new RateLimiter(0, 1));
+		assertThrows(IllegalArgumentException.class, () -> new RateLimiter(Double.NaN, 1));
+		assertThrows(IllegalArgumentException.class, () -> new RateLimiter(1, 0));
+	}
+}
@@ -0,0 +1,116 @@
+package com.dandaev.edu.web.framework.implementation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.dandaev.edu.annotations.web.framework.Async;
+import com.dandaev.edu.annotations.web.framework.RequestMapping;
+import com.dandaev.edu.annotations.web.framework.RestController;
+
+class AsyncHandlerTest {
+
+	@RestController(path = "/async")
+	public static class Handlers {
+		final CountDownLatch started = new CountDownLatch(1);
+		final CountDownLatch interrupted = new CountDownLatch(1);
+		final CompletableFuture<String> never = new CompletableFuture<>();
+
+		@Async(timeoutMillis = 50)
+		@RequestMapping(path = "/async/slow", method = "GET")
+		public String slow() throws InterruptedException {
+			Thread.sleep(10_000);
+			return "slow";
+		}
+
+		@RequestMapping(path = "/async/never", method = "GET")
+		public CompletableFuture<String> never() {
+			return never;
+		}
+
+		@Async(timeoutMillis = 10_000)
+		@RequestMapping(path = "/async/blocking", method = "GET")
+		public CompletableFuture<String> blocking() {
+			started.countDown();
+			try {
+				Thread.sleep(10_000);
+			} catch (InterruptedException e) {
+				interrupted.countDown();
+			}
+			return never;
+		}
+	}
+
+	@Test
+	void asyncTimeoutAnswers503() {
+		try (WebFramework framework = new WebFramework()) {
+			framework.registerController(new Handlers());
+
+			HttpResponse response = framework.handleAsync(get("/async/slow")).join();
+
+			assertEquals(503, response.getStatus());
+			assertTrue(response.getBodyAsString().endsWith("Request timed out"), response.getBodyAsString());
+		}
+	}
+
+	@Test
+	void neverCompletingFutureTimesOutAtFrameworkTimeout() {
+		Handlers handlers = new Handlers();
+		try (WebFramework framework = new WebFramework()) {
+			framework.registerController(handlers);
+			framework.setAsyncTimeout(Duration.ofMillis(50));
+
+			long start = System.nanoTime();
+			HttpResponse response = framework.handleAsync(get("/async/never")).join();
+			long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+			assertEquals(503, response.getStatus());
+			assertTrue(response.getBodyAsString().endsWith("Request timed out"), response.getBodyAsString());
+			assertTrue(elapsed >= 50 && elapsed < 5_000, "elapsed " + elapsed);
+			// Будущий результат контроллера не завершается таймаутом фреймворка
+			assertFalse(handlers.never.isDone());
+		}
+	}
+
+	@Test
+	void cancellingResponseInterruptsAsyncThreadOnly() throws InterruptedException {
+		Handlers handlers = new Handlers();
+		try (WebFramework framework = new WebFramework()) {
+			framework.registerController(handlers);
+
+			CompletableFuture<HttpResponse> response = framework.handleAsync(get("/async/blocking"));
+			assertTrue(handlers.started.await(5, TimeUnit.SECONDS));
+
+			response.cancel(true);
+
+			assertTrue(handlers.interrupted.await(5, TimeUnit.SECONDS));
+			assertFalse(handlers.never.isDone());
+		}
+	}
+
+	@Test
+	void cancellingResponseDoesNotCompleteControllerFuture() {
+		Handlers handlers = new Handlers();
+		try (WebFramework framework = new WebFramework()) {
+			framework.registerController(handlers);
+
+			CompletableFuture<HttpResponse> response = framework.handleAsync(get("/async/never"));
+			response.cancel(true);
+
+			assertTrue(response.isCancelled());
+			assertFalse(handlers.never.isDone());
+		}
+	}
+
+	private static HttpRequest get(String path) {
+		return new HttpRequest("GET", path, Map.of(), Map.of(), (byte[]) null);
+	}
+}
@@ -0,0 +1,120 @@
+package com.dandaev.edu.web.framework.implementation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.dandaev.edu.annotations.jsonparser.JsonField;
+import com.dandaev.edu.annotations.jsonparser.JsonSerializable;
+import com.dandaev.edu.annotations.web.framework.RequestBody;
+import com.dandaev.edu.annotations.web.framework.RequestMapping;
+import com.dandaev.edu.annotations.web.framework.RestController;
+
+class RequestBodyTest {
+
+	@JsonSerializable
+	public static class Point {
+		@JsonField
+		int x;
+
+		@JsonField
+		String label;
+
+		Point() {
+		}
+	}
+
+	@RestController(path = "/body")
+	public static class Handlers {
+		Point stored;
+
+		@RequestMapping(path = "/body/point", method = "POST")
+		public Point echo(@RequestBody Point point) {
+			return point;
+		}
+
+		@RequestMapping(path = "/body/sum", method = "POST")
+		public String sum(@RequestBody List<Integer> numbers) {
+			int sum = 0;
+			for (Integer number : numbers) {
+				sum += number;
+			}
+			return "sum " + sum;
+		}
+
+		@RequestMapping(path = "/body/store", method = "POST")
+		public void store(@RequestBody Point point) {
+			stored = point;
+		}
+	}
+
+	@Test
+	void bindsDtoAndServesItAsJson() {
+		try (WebFramework framework = framework(new Handlers())) {
+			HttpResponse response = post(framework, "/body/point", "{\"x\":3,\"label\":\"точка\"}");
+
+			assertEquals(200, response.getStatus());
+			assertEquals(HttpResponse.APPLICATION_JSON, response.getContentType());
+			assertEquals("{\"x\":3,\"label\":\"точка\"}", response.getBodyAsString());
+		}
+	}
+
+	@Test
+	void bindsGenericList() {
+		try (WebFramework framework = framework(new Handlers())) {
+			assertEquals("sum 6", post(framework, "/body/sum", "[1,2,3]").getBodyAsString());
+		}
+	}
+
+	@Test
+	void malformedJsonIsBadRequest() {
+		try (WebFramework framework = framework(new Handlers())) {
+			assertEquals(400, post(framework, "/body/point", "{\"x\":").getStatus());
+			assertEquals(400, post(framework, "/body/sum", "[1,2").getStatus());
+		}
+	}
+
+	@Test
+	void emptyBodyIsBadRequest() {
+		try (WebFramework framework = framework(new Handlers())) {
+			HttpResponse response = post(framework, "/body/point", "");
+
+			assertEquals(400, response.getStatus());
+			assertTrue(response.getBodyAsString().endsWith("Request body is required"), response.getBodyAsString());
+		}
+	}
+
+	@Test
+	void typeMismatchIsBadRequest() {
+		try (WebFramework framework = framework(new Handlers())) {
+			assertEquals(400, post(framework, "/body/sum", "[1,\"x\"]").getStatus());
+			assertEquals(400, post(framework, "/body/point", "{\"x\":\"three\"}").getStatus());
+		}
+	}
+
+	@Test
+	void voidHandlerAnswers204() {
+		Handlers handlers = new Handlers();
+		try (WebFramework framework = framework(handlers)) {
+			assertEquals(204, post(framework, "/body/store", "{\"x\":7,\"label\":\"saved\"}").getStatus());
+			assertEquals(7, handlers.stored.x);
+			assertEquals("saved", handlers.stored.label);
+		}
+	}
+
+	private static WebFramework framework(Object controller) {
+		WebFramework framework = new WebFramework();
+		framework.registerController(controller);
+		return framework;
+	}
+
+	private static HttpResponse post(WebFramework framework, String path, String body) {
+		return framework.handle(new HttpRequest("POST", path, Map.of(), Map.of(),
+				body.getBytes(StandardCharsets.UTF_8)));
+	}
+}
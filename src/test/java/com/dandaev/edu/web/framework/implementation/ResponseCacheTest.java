@@ -0,0 +1,188 @@
+package com.dandaev.edu.web.framework.implementation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import com.dandaev.edu.annotations.web.framework.CacheEvict;
+import com.dandaev.edu.annotations.web.framework.Cacheable;
+import com.dandaev.edu.annotations.web.framework.RequestMapping;
+import com.dandaev.edu.annotations.web.framework.RequestParam;
+import com.dandaev.edu.annotations.web.framework.RestController;
+
+class ResponseCacheTest {
+
+	private static final Object[] KEY = { "key" };
+
+	@RestController(path = "/items")
+	public static class Items {
+		final AtomicInteger loads = new AtomicInteger();
+
+		@Cacheable(value = "items", ttlMillis = 60_000)
+		@RequestMapping(path = "/items", method = "GET")
+		public String list() {
+			return "items " + loads.incrementAndGet();
+		}
+
+		@CacheEvict("items")
+		@RequestMapping(path = "/items", method = "POST")
+		public HttpResponse update(@RequestParam("status") Integer status) {
+			return HttpResponse.text(status, "updated");
+		}
+	}
+
+	@Test
+	void servesCachedResponseUntilTtlExpires() throws InterruptedException {
+		ResponseCache cache = new ResponseCache("test", 50, 10);
+		AtomicInteger loads = new AtomicInteger();
+
+		HttpResponse first = cache.get(KEY, () -> load(loads, 200)).join();
+		assertSame(first, cache.get(KEY, () -> load(loads, 200)).join());
+		assertEquals(1, loads.get());
+
+		Thread.sleep(100);
+
+		cache.get(KEY, () -> load(loads, 200)).join();
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	void concurrentMissesRunLoaderOnce() throws Exception {
+		ResponseCache cache = new ResponseCache("test", 60_000, 10);
+		AtomicInteger loads = new AtomicInteger();
+		CompletableFuture<HttpResponse> flight = new CompletableFuture<>();
+		int threads = 8;
+		CountDownLatch ready = new CountDownLatch(threads);
+
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<CompletableFuture<HttpResponse>>> calls = new ArrayList<>();
+			for (int i = 0; i < threads; i++) {
+				calls.add(executor.submit(() -> {
+					ready.countDown();
+					ready.await();
+					return cache.get(KEY, () -> {
+						loads.incrementAndGet();
+						return flight;
+					});
+				}));
+			}
+			List<CompletableFuture<HttpResponse>> responses = new ArrayList<>();
+			for (Future<CompletableFuture<HttpResponse>> call : calls) {
+				responses.add(call.get(5, TimeUnit.SECONDS));
+			}
+
+			HttpResponse response = HttpResponse.ok("loaded");
+			flight.complete(response);
+			for (CompletableFuture<HttpResponse> result : responses) {
+				assertSame(response, result.get(5, TimeUnit.SECONDS));
+			}
+			assertEquals(1, loads.get());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	@Test
+	void cancellingOneWaiterDoesNotCancelLoad() {
+		ResponseCache cache = new ResponseCache("test", 60_000, 10);
+		CompletableFuture<HttpResponse> flight = new CompletableFuture<>();
+
+		CompletableFuture<HttpResponse> first = cache.get(KEY, () -> flight);
+		CompletableFuture<HttpResponse> second = cache.get(KEY, () -> flight);
+		first.cancel(true);
+
+		HttpResponse response = HttpResponse.ok("loaded");
+		flight.complete(response);
+		assertSame(response, second.join());
+	}
+
+	@Test
+	void doesNotCacheErrorResponses() {
+		ResponseCache cache = new ResponseCache("test", 60_000, 10);
+		AtomicInteger loads = new AtomicInteger();
+
+		assertEquals(404, cache.get(KEY, () -> load(loads, 404)).join().getStatus());
+		assertEquals(500, cache.get(KEY, () -> load(loads, 500)).join().getStatus());
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	void doesNotCacheStreamingResponses() {
+		ResponseCache cache = new ResponseCache("test", 60_000, 10);
+		AtomicInteger loads = new AtomicInteger();
+
+		for (int i = 0; i < 2; i++) {
+			cache.get(KEY, () -> {
+				loads.incrementAndGet();
+				return CompletableFuture.completedFuture(
+						HttpResponse.stream(200, "text/plain", out -> out.write('x')));
+			}).join();
+		}
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	void clearDropsEntriesAndResultOfLoadStartedBefore() {
+		ResponseCache cache = new ResponseCache("test", 60_000, 10);
+		AtomicInteger loads = new AtomicInteger();
+		CompletableFuture<HttpResponse> flight = new CompletableFuture<>();
+
+		CompletableFuture<HttpResponse> waiting = cache.get(KEY, () -> {
+			loads.incrementAndGet();
+			return flight;
+		});
+		cache.clear();
+		flight.complete(HttpResponse.ok("stale"));
+		assertEquals("stale", waiting.join().getBodyAsString());
+
+		cache.get(KEY, () -> load(loads, 200)).join();
+		assertEquals(2, loads.get());
+	}
+
+	@Test
+	void evictsOnlyAfterSuccessfulResponse() {
+		Items items = new Items();
+		try (WebFramework framework = new WebFramework()) {
+			framework.registerController(items);
+
+			assertEquals("items 1", get(framework));
+			assertEquals("items 1", get(framework));
+
+			assertEquals(400, post(framework, 400));
+			assertEquals(500, post(framework, 500));
+			assertEquals("items 1", get(framework));
+
+			assertEquals(204, post(framework, 204));
+			assertEquals("items 2", get(framework));
+			assertEquals(2, items.loads.get());
+		}
+	}
+
+	private static CompletableFuture<HttpResponse> load(AtomicInteger loads, int status) {
+		loads.incrementAndGet();
+		return CompletableFuture.completedFuture(HttpResponse.text(status, "load " + loads.get()));
+	}
+
+	private static String get(WebFramework framework) {
+		return framework.handle(new HttpRequest("GET", "/items", Map.of(), Map.of(), (byte[]) null))
+				.getBodyAsString();
+	}
+
+	private static int post(WebFramework framework, int status) {
+		return framework.handle(new HttpRequest("POST", "/items", Map.of("status", String.valueOf(status)),
+				Map.of(), (byte[]) null)).getStatus();
+	}
+}
@@ -0,0 +1,100 @@
+package com.dandaev.edu.web.framework.implementation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+class RouteTrieTest {
+
+	@Test
+	void findsLiteralAndVariableRoutes() {
+		RouteTrie<String> trie = new RouteTrie<>();
+		trie.add("GET", "/api/users", "list");
+		trie.add("GET", "/api/users/{id}", "get");
+		trie.add("GET", "/api/users/{id}/orders/{orderId}", "order");
+
+		assertEquals("list", trie.find("GET", "/api/users"));
+		assertEquals("get", trie.find("GET", "/api/users/42"));
+		assertEquals("order", trie.find("GET", "/api/users/42/orders/7"));
+		assertNull(trie.find("GET", "/api/users/42/orders"));
+		assertNull(trie.find("GET", "/api"));
+		assertNull(trie.find("GET", "/api/products"));
+	}
+
+	@Test
+	void literalTakesPriorityOverVariable() {
+		RouteTrie<String> trie = new RouteTrie<>();
+		trie.add("GET", "/api/users/{id}", "get");
+		trie.add("GET", "/api/users/search", "search");
+
+		assertEquals("search", trie.find("GET", "/api/users/search"));
+		assertEquals("get", trie.find("GET", "/api/users/searches"));
+	}
+
+	@Test
+	void backtracksToVariableWhenLiteralBranchFails() {
+		RouteTrie<String> trie = new RouteTrie<>();
+		trie.add("GET", "/api/users/search/recent", "recent");
+		trie.add("GET", "/api/users/{id}/profile", "profile");
+
+		assertEquals("profile", trie.find("GET", "/api/users/search/profile"));
+		assertEquals("recent", trie.find("GET", "/api/users/search/recent"));
+		assertNull(trie.find("GET", "/api/users/search"));
+	}
+
+	@Test
+	void variableDoesNotMatchEmptySegment() {
+		RouteTrie<String> trie = new RouteTrie<>();
+		trie.add("GET", "/api/users/{id}/orders", "orders");
+
+		assertNull(trie.find("GET", "/api/users//orders"));
+	}
+
+	@Test
+	void methodIsCaseInsensitiveAndSeparate() {
+		RouteTrie<String> trie = new RouteTrie<>();
+		trie.add("get", "/api/users", "list");
+		trie.add("POST", "/api/users", "create");
+
+		assertEquals("list", trie.find("GET", "/api/users"));
+		assertEquals("list", trie.find("get", "/api/users"));
+		assertEquals("create", trie.find("post", "/api/users"));
+		assertNull(trie.find("DELETE", "/api/users"));
+	}
+
+	@Test
+	void ignoresQueryString() {
+		RouteTrie<String> trie = new RouteTrie<>();
+		trie.add("GET", "/api/users/{id}", "get");
+
+		assertEquals("get", trie.find("GET", "/api/users/42?fields=name&x=/y"));
+	}
+
+	@Test
+	void rejectsDuplicateRoutes() {
+		RouteTrie<String> trie = new RouteTrie<>();
+		trie.add("GET", "/api/users/{id}", "get");
+
+		assertThrows(IllegalArgumentException.class, () -> trie.add("GET", "/api/users/{id}", "again"));
+		assertThrows(IllegalArgumentException.class, () -> trie.add("get", "/api/users/{name}", "renamed"));
+		trie.add("DELETE", "/api/users/{id}", "delete");
+	}
+
+	@Test
+	void handlesManyRoutesWithCollidingPrefixes() {
+		RouteTrie<Integer> trie = new RouteTrie<>();
+		for (int i = 0; i < 1_000; i++) {
+			trie.add("GET", "/api/resource" + i + "/{id}", i);
+			trie.add("GET", "/api/resource" + i + "/{id}/items/" + i, -i - 1);
+		}
+
+		for (int i = 0; i < 1_000; i++) {
+			assertEquals(i, trie.find("GET", "/api/resource" + i + "/x"));
+			assertEquals(-i - 1, trie.find("GET", "/api/resource" + i + "/x/items/" + i));
+			assertNull(trie.find("GET", "/api/resource" + i + "/x/items/" + (i + 1)));
+		}
+		assertNull(trie.find("GET", "/api/resource1000/x"));
+	}
+}
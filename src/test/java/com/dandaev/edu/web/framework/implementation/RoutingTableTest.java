@@ -0,0 +1,208 @@
+package com.dandaev.edu.web.framework.implementation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.jupiter.api.Test;
+
+import com.dandaev.edu.annotations.web.framework.PathVariable;
+import com.dandaev.edu.annotations.web.framework.RequestMapping;
+import com.dandaev.edu.annotations.web.framework.RestController;
+import com.dandaev.edu.web.framework.metrics.RouteMetrics;
+
+class RoutingTableTest {
+
+	@RestController(path = "/api/users")
+	public static class Users {
+		@RequestMapping(path = "/api/users/{id}", method = "GET")
+		public String get(@PathVariable("id") String id) {
+			return "user " + id;
+		}
+
+		@RequestMapping(path = "/api/users/search", method = "GET")
+		public String search() {
+			return "search";
+		}
+	}
+
+	@RestController(path = "/api/users")
+	public static class OtherUsers {
+		@RequestMapping(path = "/api/users/all", method = "GET")
+		public String all() {
+			return "all";
+		}
+	}
+
+	@RestController(path = "/api/people")
+	public static class People {
+		@RequestMapping(path = "/api/people/{id}", method = "GET")
+		public String get(@PathVariable("id") String id) {
+			return "person " + id;
+		}
+
+		@RequestMapping(path = "/api/users/{name}", method = "get")
+		public String byName(@PathVariable("name") String name) {
+			return "name " + name;
+		}
+	}
+
+	@RestController(path = "/api/orders")
+	public static class Orders {
+		@RequestMapping(path = "/api/orders/{id}", method = "GET")
+		public String get(@PathVariable("id") String id) {
+			return "order " + id;
+		}
+
+		@RequestMapping(path = "/api/orders/{orderId}", method = "GET")
+		public String again(@PathVariable("orderId") String id) {
+			return "again " + id;
+		}
+	}
+
+	@Test
+	void routesRequestsToRegisteredControllers() {
+		try (WebFramework framework = new WebFramework()) {
+			framework.registerController(new Users());
+
+			assertEquals("user 42", framework.handleRequest("GET", "/api/users/42", Map.of(), null));
+			assertEquals("search", framework.handleRequest("GET", "/api/users/search", Map.of(), null));
+		}
+	}
+
+	@Test
+	void rejectsSameBasePathAndKeepsFirstController() {
+		try (WebFramework framework = new WebFramework()) {
+			framework.registerController(new Users());
+
+			IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+					() -> framework.registerController(new OtherUsers()));
+			assertTrue(e.getMessage().contains("base path '/api/users'"), e.getMessage());
+
+			assertEquals("user 1", framework.handleRequest("GET", "/api/users/1", Map.of(), null));
+			assertEquals("user all", framework.handleRequest("GET", "/api/users/all", Map.of(), null));
+		}
+	}
+
+	@Test
+	void rejectsRoutesDifferingOnlyInVariableNames() {
+		try (WebFramework framework = new WebFramework()) {
+			framework.registerController(new Users());
+
+			IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+					() -> framework.registerController(new People()));
+			assertTrue(e.getMessage().contains("GET /api/users/{name} (People.byName)"), e.getMessage());
+			assertTrue(e.getMessage().contains("GET /api/users/{id} (Users.get)"), e.getMessage());
+
+			assertEquals(404, framework.dispatch("GET", "/api/people/1", Map.of(), null).getStatus());
+		}
+	}
+
+	@Test
+	void rejectsConflictsWithinOneController() {
+		try (WebFramework framework = new WebFramework()) {
+			IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+					() -> framework.registerController(new Orders()));
+			assertTrue(e.getMessage().contains("conflicts with"), e.getMessage());
+		}
+	}
+
+	@Test
+	void asyncRegistrationReportsConflicts() throws Exception {
+		try (WebFramework framework = new WebFramework()) {
+			framework.registerControllerAsync(new Users()).get();
+
+			ExecutionException e = assertThrows(ExecutionException.class,
+					() -> framework.registerControllerAsync(new OtherUsers()).get());
+			assertTrue(e.getCause() instanceof IllegalArgumentException, String.valueOf(e.getCause()));
+		}
+	}
+
+	@Test
+	void unregisterFreesBasePathAndRoutes() throws Exception {
+		try (WebFramework framework = new WebFramework()) {
+			Users users = new Users();
+			framework.registerController(users);
+
+			assertTrue(framework.unregisterController(users));
+			assertFalse(framework.unregisterController(users));
+			assertEquals(404, framework.dispatch("GET", "/api/users/1", Map.of(), null).getStatus());
+
+			framework.registerController(new OtherUsers());
+			framework.registerController(new People());
+			assertEquals("all", framework.handleRequest("GET", "/api/users/all", Map.of(), null));
+			assertEquals("name bob", framework.handleRequest("GET", "/api/users/bob", Map.of(), null));
+			assertFalse(framework.unregisterControllerAsync(new People()).get());
+		}
+	}
+
+	@Test
+	void failedAddLeavesBuilderUnchanged() {
+		RoutingTable.Registration users = registration(new Users(), "/api/users");
+		RoutingTable.Builder builder = RoutingTable.EMPTY.toBuilder();
+		builder.add(users);
+
+		assertThrows(IllegalArgumentException.class, () -> builder.add(registration(new People(), "/api/people")));
+		builder.add(registration(new Orders(), "/api/orders", "get"));
+		RoutingTable table = builder.build();
+
+		assertNull(table.find("GET", "/api/people/1"));
+		assertSame(handler(users, "/api/users/{id}"), table.find("GET", "/api/users/1"));
+		assertEquals(3, table.handlers().size());
+	}
+
+	@Test
+	void snapshotsAreIndependent() {
+		RoutingTable.Registration users = registration(new Users(), "/api/users");
+		RoutingTable.Builder builder = RoutingTable.EMPTY.toBuilder();
+		builder.add(users);
+		RoutingTable first = builder.build();
+
+		RoutingTable.Builder next = first.toBuilder();
+		assertTrue(next.remove(users.controller));
+		assertFalse(next.remove(users.controller));
+		RoutingTable.Registration people = registration(new People(), "/api/people");
+		next.add(people);
+		RoutingTable second = next.build();
+
+		assertEquals(2, first.handlers().size());
+		assertSame(handler(users, "/api/users/search"), first.find("GET", "/api/users/search"));
+		assertEquals(2, second.handlers().size());
+		assertSame(handler(people, "/api/users/{name}"), second.find("GET", "/api/users/search"));
+		assertTrue(RoutingTable.EMPTY.handlers().isEmpty());
+	}
+
+	/** Регистрация, как её строит {@link WebFramework}, с отбором методов по имени. */
+	private static RoutingTable.Registration registration(Object controller, String basePath, String... only) {
+		List<RoutingTable.Route> routes = new ArrayList<>();
+		for (Method method : controller.getClass().getDeclaredMethods()) {
+			RequestMapping mapping = method.getAnnotation(RequestMapping.class);
+			if (mapping == null || (only.length > 0 && !List.of(only).contains(method.getName()))) {
+				continue;
+			}
+			RouteHandler handler = new RouteHandler(controller, method, mapping.path(),
+					new RouteMetrics(mapping.method(), mapping.path()));
+			routes.add(new RoutingTable.Route(mapping.method(), mapping.path(), handler,
+					controller.getClass().getSimpleName() + "." + method.getName()));
+		}
+		return new RoutingTable.Registration(controller, basePath, routes);
+	}
+
+	private static RouteHandler handler(RoutingTable.Registration registration, String pattern) {
+		for (RoutingTable.Route route : registration.routes) {
+			if (route.pattern.equals(pattern)) {
+				return route.handler;
+			}
+		}
+		throw new AssertionError("No route " + pattern);
+	}
+}
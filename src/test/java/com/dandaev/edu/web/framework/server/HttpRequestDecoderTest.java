@@ -0,0 +1,191 @@
+package com.dandaev.edu.web.framework.server;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+class HttpRequestDecoderTest {
+
+	private static final String POST = "POST /api/users/json?x=1 HTTP/1.1\r\n"
+			+ "Host: localhost\r\n"
+			+ "Content-Type: application/json\r\n"
+			+ "Content-Length: 14\r\n"
+			+ "\r\n"
+			+ "{\"name\":\"Ann\"}";
+
+	private static final String GET = "GET /api/users HTTP/1.1\r\nHost: localhost\r\n\r\n";
+
+	@Test
+	void decodesWholeRequest() throws HttpProtocolException {
+		HttpRequestDecoder decoder = new HttpRequestDecoder();
+		ByteBuffer in = bytes(POST);
+
+		RawRequest request = decoder.decode(in);
+
+		assertPost(request);
+		assertFalse(in.hasRemaining());
+		assertFalse(decoder.hasPartialRequest());
+	}
+
+	@Test
+	void decodesRequestArrivingByteByByte() throws HttpProtocolException {
+		HttpRequestDecoder decoder = new HttpRequestDecoder();
+		byte[] data = POST.getBytes(StandardCharsets.ISO_8859_1);
+
+		for (int i = 0; i < data.length - 1; i++) {
+			assertNull(decoder.decode(ByteBuffer.wrap(data, i, 1)), "completed early at byte " + i);
+			assertTrue(decoder.hasPartialRequest());
+		}
+		assertPost(decoder.decode(ByteBuffer.wrap(data, data.length - 1, 1)));
+		assertFalse(decoder.hasPartialRequest());
+	}
+
+	@Test
+	void decodesRequestSplitAtEveryPosition() throws HttpProtocolException {
+		byte[] data = POST.getBytes(StandardCharsets.ISO_8859_1);
+
+		for (int split = 1; split < data.length; split++) {
+			HttpRequestDecoder decoder = new HttpRequestDecoder();
+			assertNull(decoder.decode(ByteBuffer.wrap(data, 0, split)), "completed early at split " + split);
+			assertPost(decoder.decode(ByteBuffer.wrap(data, split, data.length - split)));
+		}
+	}
+
+	@Test
+	void decodesPipelinedRequests() throws HttpProtocolException {
+		HttpRequestDecoder decoder = new HttpRequestDecoder();
+		ByteBuffer in = bytes(POST + GET + POST);
+
+		assertPost(decoder.decode(in));
+		RawRequest get = decoder.decode(in);
+		assertEquals("GET", get.method);
+		assertEquals("/api/users", get.target);
+		assertEquals(0, get.body.length);
+		assertPost(decoder.decode(in));
+		assertFalse(in.hasRemaining());
+		assertNull(decoder.decode(in));
+	}
+
+	@Test
+	void keepsPartialPipelinedRequestForNextRead() throws HttpProtocolException {
+		HttpRequestDecoder decoder = new HttpRequestDecoder();
+		String second = POST.substring(0, 40);
+
+		ByteBuffer in = bytes(GET + second);
+
+		assertNotNull(decoder.decode(in));
+		assertEquals(second.length(), in.remaining());
+		assertNull(decoder.decode(in));
+		assertFalse(in.hasRemaining());
+		assertTrue(decoder.hasPartialRequest());
+		assertPost(decoder.decode(bytes(POST.substring(40))));
+	}
+
+	@Test
+	void skipsBlankLinesBetweenRequests() throws HttpProtocolException {
+		HttpRequestDecoder decoder = new HttpRequestDecoder();
+		ByteBuffer in = bytes(GET + "\r\n\r\n" + GET);
+
+		assertNotNull(decoder.decode(in));
+		assertNotNull(decoder.decode(in));
+		assertFalse(decoder.hasPartialRequest());
+	}
+
+	@Test
+	void acceptsBareLineFeeds() throws HttpProtocolException {
+		RawRequest request = new HttpRequestDecoder().decode(bytes("GET / HTTP/1.0\nHost: a\n\n"));
+
+		assertEquals("HTTP/1.0", request.version);
+		assertEquals("a", request.headers.get("host"));
+	}
+
+	@Test
+	void signalsContinueOnceAfterHeaders() throws HttpProtocolException {
+		HttpRequestDecoder decoder = new HttpRequestDecoder();
+		String head = "POST /upload HTTP/1.1\r\nExpect: 100-continue\r\nContent-Length: 3\r\n\r\n";
+
+		assertNull(decoder.decode(bytes(head)));
+		assertTrue(decoder.takeContinueExpected());
+		assertFalse(decoder.takeContinueExpected());
+
+		RawRequest request = decoder.decode(bytes("abc"));
+		assertArrayEquals("abc".getBytes(StandardCharsets.ISO_8859_1), request.body);
+		assertFalse(decoder.takeContinueExpected());
+	}
+
+	@Test
+	void ignoresContinueWithoutBody() throws HttpProtocolException {
+		HttpRequestDecoder decoder = new HttpRequestDecoder();
+
+		assertNotNull(decoder.decode(bytes("GET / HTTP/1.1\r\nExpect: 100-continue\r\n\r\n")));
+		assertFalse(decoder.takeContinueExpected());
+	}
+
+	@Test
+	void rejectsDuplicateContentLength() {
+		assertStatus(400, "POST / HTTP/1.1\r\nContent-Length: 3\r\ncontent-length: 3\r\n\r\nabc");
+		assertStatus(400, "POST / HTTP/1.1\r\nContent-Length: 3\r\nContent-Length: 30\r\n\r\nabc");
+	}
+
+	@Test
+	void rejectsInvalidContentLength() {
+		assertStatus(400, "POST / HTTP/1.1\r\nContent-Length: +3\r\n\r\nabc");
+		assertStatus(400, "POST / HTTP/1.1\r\nContent-Length: -1\r\n\r\n");
+		assertStatus(400, "POST / HTTP/1.1\r\nContent-Length: \r\n\r\n");
+		assertStatus(413, "POST / HTTP/1.1\r\nContent-Length: 99999999999999999999\r\n\r\n");
+		assertStatus(413, "POST / HTTP/1.1\r\nContent-Length: " + (HttpRequestDecoder.MAX_BODY_BYTES + 1) + "\r\n\r\n");
+	}
+
+	@Test
+	void rejectsMalformedRequests() {
+		assertStatus(400, "GET\r\n\r\n");
+		assertStatus(400, "GET / HTTP/1.1\r\nNoColon\r\n\r\n");
+		assertStatus(505, "GET / HTTP/2.0\r\n\r\n");
+		assertStatus(501, "POST / HTTP/1.1\r\nTransfer-Encoding: chunked\r\n\r\n");
+		assertStatus(431, "GET / HTTP/1.1\r\nX-Big: " + "a".repeat(HttpRequestDecoder.MAX_HEADER_BYTES) + "\r\n\r\n");
+	}
+
+	@Test
+	void doesNotAllocateDeclaredBodyUpFront() throws HttpProtocolException {
+		HttpRequestDecoder decoder = new HttpRequestDecoder();
+		int length = HttpRequestDecoder.MAX_BODY_BYTES;
+
+		assertNull(decoder.decode(bytes("POST / HTTP/1.1\r\nContent-Length: " + length + "\r\n\r\n")));
+		byte[] chunk = new byte[64 * 1024];
+		RawRequest request = null;
+		for (int sent = 0; sent < length; sent += chunk.length) {
+			request = decoder.decode(ByteBuffer.wrap(chunk, 0, Math.min(chunk.length, length - sent)));
+		}
+		assertNotNull(request);
+		assertEquals(length, request.body.length);
+	}
+
+	private static void assertStatus(int status, String request) {
+		HttpProtocolException e = assertThrows(HttpProtocolException.class,
+				() -> new HttpRequestDecoder().decode(bytes(request)));
+		assertEquals(status, e.status);
+	}
+
+	private static void assertPost(RawRequest request) {
+		assertNotNull(request);
+		assertEquals("POST", request.method);
+		assertEquals("/api/users/json?x=1", request.target);
+		assertEquals("HTTP/1.1", request.version);
+		assertEquals("localhost", request.headers.get("host"));
+		assertEquals("application/json", request.headers.get("content-type"));
+		assertEquals("{\"name\":\"Ann\"}", new String(request.body, StandardCharsets.UTF_8));
+	}
+
+	private static ByteBuffer bytes(String text) {
+		return ByteBuffer.wrap(text.getBytes(StandardCharsets.ISO_8859_1));
+	}
+}